@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Compares the embedded servers over HTTP/1.1 and h2c (see "Embedded Server and HTTP/2" in README.md).
+#
+#   scripts/server-benchmark.sh [scenario] [rates] [extra LoadTest args]
+#
+# Runs the scenario (default read-heavy) once per server, protocol and offered rate (default
+# "500 1000 2000") and prints the achieved throughput and GET p99 of each run.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+SCENARIO=${1:-read-heavy}
+RATES=${2:-500 1000 2000}
+shift $(( $# < 2 ? $# : 2 ))
+SERVERS=${SERVERS:-tomcat jetty undertow}
+RESULTS=target/loadtest/server-benchmark
+SUMMARY=target/loadtest/$SCENARIO-summary.properties
+mkdir -p "$RESULTS"
+
+printf '%-9s %-5s %6s %12s %12s %8s\n' server http rate "requests/s" "read p99 us" dropped
+for server in $SERVERS; do
+  mvn -B -q -Dweb.server="$server" test-compile
+  for http in 1.1 2; do
+    for rate in $RATES; do
+      log="$RESULTS/$server-http$http-$rate.log"
+      mvn -B -q -Dweb.server="$server" exec:java -Dexec.classpathScope=test \
+          -Dexec.mainClass=com.example.customermanagement.loadtest.LoadTest \
+          -Dexec.args="$SCENARIO rate=$rate http=$http $*" > "$log" 2>&1 || { echo "$server http$http rate $rate failed, see $log" >&2; continue; }
+      cp "$SUMMARY" "$RESULTS/$server-http$http-$rate.properties"
+      value() { grep "^$1=" "$SUMMARY" | cut -d= -f2; }
+      printf '%-9s %-5s %6s %12s %12s %8s\n' "$server" "$http" "$rate" "$(value throughput)" "$(value read.p99)" "$(value dropped)"
+    done
+  done
+done
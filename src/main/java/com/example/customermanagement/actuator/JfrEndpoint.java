@@ -0,0 +1,168 @@
+package com.example.customermanagement.actuator;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import com.example.customermanagement.config.JfrProperties;
+import com.example.customermanagement.jfr.CustomerOperationEvent;
+import com.example.customermanagement.jfr.SampleEveryControl;
+import com.example.customermanagement.jfr.TierCalculationEvent;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Controls one on-demand flight recording:
+ * <ul>
+ * <li>GET /actuator/jfr - state of the current (or last) recording</li>
+ * <li>POST /actuator/jfr/start {"settings": "profile", "tierSampleEvery": 10} - starts a recording,
+ * discarding the previous one</li>
+ * <li>POST /actuator/jfr/stop - stops it, the data stays available for a dump</li>
+ * <li>GET /actuator/jfr/dump - downloads the recording as a .jfr file, also while it is running</li>
+ * </ul>
+ * Not exposed by default: the endpoint has no authentication of its own. Events that copy the
+ * process environment, system properties and JVM arguments are left out of every recording, as
+ * they routinely carry credentials.
+ */
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrEndpoint.class);
+
+    static final List<String> SECRET_BEARING_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final JfrProperties properties;
+
+    private Recording recording;
+
+    public JfrEndpoint(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized RecordingStatus status() {
+        return RecordingStatus.of(recording);
+    }
+
+    @WriteOperation
+    public synchronized RecordingStatus control(@Selector String action, @Nullable String settings,
+            @Nullable Integer tierSampleEvery) {
+        return switch (action) {
+            case "start" -> start(settings != null ? settings : properties.getSettings(),
+                    tierSampleEvery != null ? tierSampleEvery : properties.getTierSampleEvery());
+            case "stop" -> stop();
+            default -> throw new InvalidEndpointRequestException("Unknown action: " + action, "Unknown action");
+        };
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String action) throws IOException {
+        if (!"dump".equals(action)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("customer-management-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    private RecordingStatus start(String settings, int tierSampleEvery) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException ex) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settings, "Unknown settings");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        recording = new Recording(configuration);
+        recording.setName("customer-management");
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        SECRET_BEARING_EVENTS.forEach(recording::disable);
+        recording.enable(CustomerOperationEvent.NAME);
+        recording.enable(TierCalculationEvent.NAME).with(SampleEveryControl.NAME, String.valueOf(tierSampleEvery));
+        recording.start();
+        log.info("Started flight recording {} with '{}' settings, tier calculations sampled 1 in {}",
+                recording.getId(), settings, tierSampleEvery);
+        return RecordingStatus.of(recording);
+    }
+
+    private RecordingStatus stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped flight recording {}", recording.getId());
+        }
+        return RecordingStatus.of(recording);
+    }
+
+    public record RecordingStatus(String state, Long id, Instant startTime, Instant stopTime, Duration maxAge,
+            long sizeBytes) {
+
+        static RecordingStatus of(Recording recording) {
+            if (recording == null) {
+                return new RecordingStatus("NONE", null, null, null, null, 0);
+            }
+            return new RecordingStatus(recording.getState().name(), recording.getId(), recording.getStartTime(),
+                    recording.getStopTime(), recording.getMaxAge(), recording.getSize());
+        }
+    }
+
+    // Deleted once the response has been streamed
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // Keeps the actuator from serving the file without going through getInputStream()
+            return false;
+        }
+    }
+}
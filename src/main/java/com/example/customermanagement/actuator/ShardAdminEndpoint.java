@@ -0,0 +1,35 @@
+package com.example.customermanagement.actuator;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import com.example.customermanagement.repository.shard.ShardRebalancer;
+import com.example.customermanagement.repository.shard.ShardRebalancer.RebalanceReport;
+import com.example.customermanagement.repository.shard.ShardStats;
+import com.example.customermanagement.repository.shard.ShardedCustomerStore;
+
+// GET /actuator/shards for per-shard stats, POST /actuator/shards {"activeShards": n} to rebalance
+@Endpoint(id = "shards")
+public class ShardAdminEndpoint {
+
+    private final ShardedCustomerStore store;
+    private final ShardRebalancer rebalancer;
+
+    public ShardAdminEndpoint(ShardedCustomerStore store, ShardRebalancer rebalancer) {
+        this.store = store;
+        this.rebalancer = rebalancer;
+    }
+
+    @ReadOperation
+    public List<ShardStats> stats() {
+        return store.stats();
+    }
+
+    @WriteOperation
+    public RebalanceReport rebalance(int activeShards) {
+        return rebalancer.rebalance(activeShards);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.customermanagement.actuator;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import com.example.customermanagement.service.SnapshotService;
+import com.example.customermanagement.service.SnapshotService.Report;
+import com.example.customermanagement.service.SnapshotService.Status;
+
+// GET /actuator/snapshot for the file on disk, POST /actuator/snapshot/take or /restore (empty table only)
+@Endpoint(id = "snapshot")
+public class SnapshotEndpoint {
+
+    private final SnapshotService snapshotService;
+
+    public SnapshotEndpoint(SnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @ReadOperation
+    public Status status() {
+        return snapshotService.status();
+    }
+
+    @WriteOperation
+    public Report run(@Selector String action) {
+        return switch (action) {
+            case "take" -> snapshotService.snapshot();
+            case "restore" -> snapshotService.restore();
+            default -> throw new InvalidEndpointRequestException("Unknown action: " + action, "Unknown action");
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.customermanagement.actuator;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import com.example.customermanagement.service.TierSnapshotService;
+import com.example.customermanagement.service.TierSnapshotService.Report;
+import com.example.customermanagement.service.TierSnapshotService.Status;
+
+// GET /actuator/tiersnapshot for per-range progress, POST to run or resume today's snapshot
+@Endpoint(id = "tiersnapshot")
+public class TierSnapshotEndpoint {
+
+    private final TierSnapshotService tierSnapshotService;
+
+    public TierSnapshotEndpoint(TierSnapshotService tierSnapshotService) {
+        this.tierSnapshotService = tierSnapshotService;
+    }
+
+    @ReadOperation
+    public Status status() {
+        return tierSnapshotService.status();
+    }
+
+    @WriteOperation
+    public Report run() {
+        return tierSnapshotService.snapshot();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.customermanagement.admission;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.customermanagement.config.AdmissionProperties;
+import com.example.customermanagement.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds load before it reaches the controllers. Requests are classified as READ, WRITE or BULK and
+ * admitted against that class's adaptive limit; anything over the limit gets an immediate 503
+ * with Retry-After instead of queueing on a Tomcat thread behind a slow database.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<EndpointClass, GradientLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            AdmissionProperties.Limit limit = properties.limitFor(endpointClass);
+            GradientLimiter limiter = new GradientLimiter(limit.getInitial(), limit.getMin(), limit.getMax(),
+                    limit.getSmoothing(), limit.getBaselineWindow(), limit.getBackoffRatio());
+            limiters.put(endpointClass, limiter);
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("customers.admission.limit", limiter, GradientLimiter::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("customers.admission.inflight", limiter, GradientLimiter::inFlight)
+                    .description("Requests currently admitted")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejections.put(endpointClass, Counter.builder("customers.admission.rejected")
+                    .description("Requests shed with 503 by admission control")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return properties.getBypassPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        GradientLimiter limiter = limiters.get(endpointClass);
+        boolean shedBulk = endpointClass == EndpointClass.BULK
+                && limiters.get(EndpointClass.READ).utilization() >= properties.getBulkShedUtilization();
+        if (shedBulk || !limiter.tryAcquire()) {
+            reject(request, response, endpointClass);
+            return;
+        }
+
+        long started = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - started, dropped);
+        }
+    }
+
+    GradientLimiter limiter(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    private EndpointClass classify(HttpServletRequest request) {
+        String path = path(request);
+        if (properties.getBulkPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return EndpointClass.BULK;
+        }
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, EndpointClass endpointClass) throws IOException {
+        rejections.get(endpointClass).increment();
+        log.debug("Shedding {} request {} {} (limit {})", endpointClass, request.getMethod(), request.getRequestURI(),
+                limiters.get(endpointClass).limit());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable",
+                "The service is overloaded, please retry later.", request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.customermanagement.admission;
+
+// Each class gets its own limiter; BULK is shed first when reads run hot
+public enum EndpointClass {
+    READ,
+    WRITE,
+    BULK
+}
@@ -0,0 +1,100 @@
+package com.example.customermanagement.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit in the style of the gradient / TCP Vegas limiters: the limit follows
+ * the ratio between the long-term (baseline) and the current request latency. While latency stays
+ * near its baseline the limit grows by a small queue allowance; when requests start queueing in the
+ * database the ratio drops below one and the limit shrinks proportionally. Server errors count as
+ * drops and back the limit off multiplicatively.
+ */
+public class GradientLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final double baselineDecay;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Guarded by this
+    private double limit;
+    private double baselineRttNanos;
+    private double shortRttNanos;
+
+    private volatile int currentLimit;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, int baselineWindow, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.baselineDecay = 2.0 / (baselineWindow + 1);
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit and feeds its latency into the limit. {@code dropped} marks a request that
+     * failed in a way that suggests overload (5xx, timeout).
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtStart = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (dropped) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else {
+                update(rttNanos, inFlightAtStart);
+            }
+            currentLimit = (int) limit;
+        }
+    }
+
+    public int limit() {
+        return currentLimit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public double utilization() {
+        return (double) inFlight.get() / currentLimit;
+    }
+
+    private void update(long rttNanos, int inFlightAtStart) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos = shortRttNanos * 0.5 + rttNanos * 0.5;
+        baselineRttNanos = baselineRttNanos * (1 - baselineDecay) + rttNanos * baselineDecay;
+        // Let the baseline recover quickly once latency improves, so a past slowdown isn't locked in
+        if (baselineRttNanos > shortRttNanos * 2) {
+            baselineRttNanos *= 0.95;
+        }
+
+        // Don't grow the limit on latency observed while most of it was unused
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, baselineRttNanos / shortRttNanos));
+        double queueAllowance = Math.sqrt(limit);
+        double target = limit * gradient + queueAllowance;
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.customermanagement.config;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.example.customermanagement.admission.EndpointClass;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    // Never limited: health checks, docs, long-lived streams
+    private List<String> bypassPaths = new ArrayList<>(List.of("/actuator/**", "/customers/tier-changes"));
+
+    // Classified as BULK regardless of method
+    private List<String> bulkPaths = new ArrayList<>(List.of("/customers/changes", "/customers/export"));
+
+    // BULK requests are rejected while the READ limiter is at least this utilized
+    private double bulkShedUtilization = 0.75;
+
+    private int retryAfterSeconds = 1;
+
+    private Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+
+    public Limit limitFor(EndpointClass endpointClass) {
+        return limits.computeIfAbsent(endpointClass, key -> new Limit());
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int initial = 20;
+        private int min = 4;
+        private int max = 200;
+        // Weight of each new latency sample when moving the limit
+        private double smoothing = 0.2;
+        // Number of samples the baseline latency averages over
+        private int baselineWindow = 600;
+        // Multiplier applied to the limit when a request fails with a server error
+        private double backoffRatio = 0.9;
+    }
+}
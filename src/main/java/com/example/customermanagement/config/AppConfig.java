@@ -8,6 +8,6 @@ import org.springframework.context.annotation.Configuration;
 public class AppConfig {
     @Bean
     public ModelMapper modelMapper() {
-        return new ModelMapper();
+        return new CustomerModelMapper();
     }
 }
@@ -0,0 +1,53 @@
+package com.example.customermanagement.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Separate connection pool for bulk, export and import workloads so a long scan can exhaust only
+ * its own connections, never the ones the interactive endpoints need. The beans are not default
+ * candidates: they are injected only where asked for with {@code @Qualifier(BulkheadConfig.BULK)}
+ * and leave the auto-configured DataSource, JdbcTemplate and JPA transaction manager untouched.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    public static final String BULK = "bulk";
+
+    @Bean(defaultCandidate = false)
+    @Qualifier(BULK)
+    public DataSource bulkDataSource(DataSourceProperties dataSourceProperties, BulkheadProperties properties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("bulk");
+        dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    @Qualifier(BULK)
+    public JdbcTemplate bulkJdbcTemplate(@Qualifier(BULK) DataSource bulkDataSource, BulkheadProperties properties) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(bulkDataSource);
+        jdbcTemplate.setQueryTimeout((int) properties.getQueryTimeout().toSeconds());
+        jdbcTemplate.setFetchSize(1000);
+        return jdbcTemplate;
+    }
+
+    @Bean(defaultCandidate = false)
+    @Qualifier(BULK)
+    public TransactionTemplate bulkTransactionTemplate(@Qualifier(BULK) DataSource bulkDataSource, BulkheadProperties properties) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(bulkDataSource));
+        transactionTemplate.setTimeout((int) properties.getTransactionTimeout().toSeconds());
+        return transactionTemplate;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.customermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    // Connections reserved for bulk, export and import work, separate from the interactive pool
+    private int maximumPoolSize = 4;
+
+    // How long bulk work waits for one of those connections
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+
+    private Duration queryTimeout = Duration.ofSeconds(60);
+
+    private Duration transactionTimeout = Duration.ofMinutes(5);
+}
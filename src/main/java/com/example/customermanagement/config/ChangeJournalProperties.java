@@ -0,0 +1,46 @@
+package com.example.customermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.change-journal")
+public class ChangeJournalProperties {
+
+    private String directory = "data/change-journal";
+
+    // Size of each memory-mapped segment file
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    // Retry interval after a failed relay; committed changes wake the relay straight away
+    private long relayIntervalMs = 1000;
+
+    // Upper bound on records returned by one change feed read, and on outbox rows relayed per journal force
+    private int maxBatchSize = 1000;
+
+    private Retention retention = new Retention();
+
+    private Compaction compaction = new Compaction();
+
+    @Getter
+    @Setter
+    public static class Retention {
+        // Sealed segments whose newest record is older than this are deleted
+        private Duration maxAge = Duration.ofDays(7);
+        private int maxSegments = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Compaction {
+        private boolean enabled = true;
+        // Rewrite a sealed segment once this share of its records is superseded by newer ones
+        private double minGarbageRatio = 0.5;
+    }
+}
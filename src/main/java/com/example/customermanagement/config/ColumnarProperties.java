@@ -0,0 +1,24 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.columnar")
+public class ColumnarProperties {
+
+    // Off-heap column replica behind GET /customers/segments; not available with sharding
+    private boolean enabled = true;
+
+    // Fork-join parallelism of segment scans
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // Upper bound on customer ids returned by one segment query
+    private int maxIds = 1000;
+
+    // Tiers depend on today's date, so the tier column is recomputed daily
+    private String tierRefreshCron = "0 5 0 * * *";
+}
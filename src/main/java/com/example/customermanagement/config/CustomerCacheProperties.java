@@ -0,0 +1,21 @@
+package com.example.customermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.customer-cache")
+public class CustomerCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maxSize = 10_000;
+
+    // Safety net only; every change through the service or the bulk update paths evicts the entry
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,52 @@
+package com.example.customermanagement.config;
+
+import org.modelmapper.ModelMapper;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.model.Customer;
+
+/**
+ * ModelMapper with hand-written mappings for the customer types. Plain ModelMapper introspects
+ * each source/destination pair the first time it is mapped, which puts that reflective work on
+ * the first requests after startup. These mappings copy the same properties as ModelMapper's
+ * standard matching (including nulls). Any other pair falls back to ModelMapper.
+ */
+public class CustomerModelMapper extends ModelMapper {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <D> D map(Object source, Class<D> destinationType) {
+        if (source instanceof CustomerRequest request && destinationType == Customer.class) {
+            Customer customer = new Customer();
+            copy(request, customer);
+            return (D) customer;
+        }
+        if (source instanceof Customer customer && destinationType == CustomerResponse.class) {
+            CustomerResponse response = new CustomerResponse();
+            response.setId(customer.getId());
+            response.setName(customer.getName());
+            response.setEmail(customer.getEmail());
+            response.setAnnualSpend(customer.getAnnualSpend());
+            response.setLastPurchaseDate(customer.getLastPurchaseDate());
+            return (D) response;
+        }
+        return super.map(source, destinationType);
+    }
+
+    @Override
+    public void map(Object source, Object destination) {
+        if (source instanceof CustomerRequest request && destination instanceof Customer customer) {
+            copy(request, customer);
+            return;
+        }
+        super.map(source, destination);
+    }
+
+    private static void copy(CustomerRequest request, Customer customer) {
+        customer.setName(request.getName());
+        customer.setEmail(request.getEmail());
+        customer.setAnnualSpend(request.getAnnualSpend());
+        customer.setLastPurchaseDate(request.getLastPurchaseDate());
+    }
+}
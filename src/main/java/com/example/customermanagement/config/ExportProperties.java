@@ -0,0 +1,28 @@
+package com.example.customermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+
+    private boolean enabled = true;
+
+    // Export files are written here, one per build
+    private String directory = "data/export";
+
+    // An export file older than this is rebuilt by the next request; zero rebuilds on every request
+    private Duration maxAge = Duration.ofMinutes(15);
+
+    // Scheduled builds ahead of the warehouse load; "-" disables them
+    private String cron = "-";
+
+    // Rows per row group; the writer buffers one row group in memory
+    private int rowGroupSize = 65_536;
+}
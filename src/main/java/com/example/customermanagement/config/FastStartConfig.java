@@ -0,0 +1,38 @@
+package com.example.customermanagement.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Enabled by the fast-start profile (application-fast-start.yaml)
+@Configuration
+@ConditionalOnProperty(prefix = "app.fast-start", name = "lazy-api-docs", havingValue = "true")
+public class FastStartConfig {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    // The API docs are only needed once someone opens them, so springdoc and OpenApiConfig beans
+    // are created on first use instead of during startup
+    @Bean
+    public static BeanFactoryPostProcessor lazyApiDocsPostProcessor() {
+        return FastStartConfig::makeApiDocsLazy;
+    }
+
+    static void makeApiDocsLazy(ConfigurableListableBeanFactory beanFactory) {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            String declaringClass = definition.getBeanClassName();
+            if (declaringClass == null && definition.getFactoryBeanName() != null
+                    && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+                declaringClass = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+            }
+            if (declaringClass != null && (declaringClass.startsWith(SPRINGDOC_PACKAGE)
+                    || declaringClass.equals(OpenApiConfig.class.getName()))) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+}
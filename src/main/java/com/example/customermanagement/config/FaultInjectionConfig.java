@@ -0,0 +1,30 @@
+package com.example.customermanagement.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.example.customermanagement.fault.LatencyInjectingDataSource;
+
+// Local stress testing only: activate with --spring.profiles.active=fault-injection
+@Configuration
+@Profile("fault-injection")
+public class FaultInjectionConfig {
+
+    @Bean
+    public static BeanPostProcessor latencyInjectingDataSourcePostProcessor(ObjectProvider<FaultInjectionProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LatencyInjectingDataSource)) {
+                    return new LatencyInjectingDataSource(dataSource, properties.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
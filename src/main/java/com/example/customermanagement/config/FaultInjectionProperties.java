@@ -0,0 +1,26 @@
+package com.example.customermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.fault-injection")
+public class FaultInjectionProperties {
+
+    // Added before every matching statement execution
+    private Duration latency = Duration.ofMillis(200);
+
+    // Uniform random extra latency on top, to produce a tail
+    private Duration jitter = Duration.ZERO;
+
+    // Share of matching statements that are delayed
+    private double probability = 1.0;
+
+    // Only statements whose SQL matches this regex are delayed
+    private String sqlPattern = ".*";
+}
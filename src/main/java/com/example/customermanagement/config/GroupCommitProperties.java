@@ -0,0 +1,34 @@
+package com.example.customermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.group-commit")
+public class GroupCommitProperties {
+
+    // Queue creates and updates and commit them in groups; not available with sharding
+    private boolean enabled = false;
+
+    // Size trigger: a group is committed as soon as it holds this many writes
+    private int maxGroupSize = 64;
+
+    // Time trigger: a group is committed at most this long after its first write was taken
+    private long maxWaitMicros = 2000;
+
+    // Writes waiting for the writer; further writes are rejected with 503
+    private int queueCapacity = 10_000;
+
+    // Deadline for one group's transaction
+    private Duration transactionTimeout = Duration.ofSeconds(5);
+
+    // How long the outcome of a 202-accepted write stays available at its status URL
+    private Duration statusRetention = Duration.ofMinutes(10);
+
+    private int maxTrackedStatuses = 100_000;
+}
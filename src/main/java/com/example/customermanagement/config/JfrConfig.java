@@ -0,0 +1,15 @@
+package com.example.customermanagement.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.customermanagement.actuator.JfrEndpoint;
+
+@Configuration
+public class JfrConfig {
+
+    @Bean
+    public JfrEndpoint jfrEndpoint(JfrProperties properties) {
+        return new JfrEndpoint(properties);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.customermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.jfr")
+public class JfrProperties {
+
+    // JDK settings file a recording started from /actuator/jfr is based on: "default" or "profile"
+    private String settings = "default";
+
+    private Duration maxAge = Duration.ofMinutes(15);
+
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    // Record one in this many tier calculations
+    private int tierSampleEvery = 100;
+}
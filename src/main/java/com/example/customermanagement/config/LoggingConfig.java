@@ -0,0 +1,30 @@
+package com.example.customermanagement.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.example.customermanagement.logging.RequestSummaryFilter;
+import com.example.customermanagement.logging.SqlStatementCounter;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.logging", name = "request-summary", havingValue = "true")
+public class LoggingConfig {
+
+    // Just inside admission control, so shed requests aren't summarized but everything else is
+    @Bean
+    public FilterRegistrationBean<RequestSummaryFilter> requestSummaryFilter() {
+        FilterRegistrationBean<RequestSummaryFilter> registration = new FilterRegistrationBean<>(new RequestSummaryFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.customermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.lookup-coalescing")
+public class LookupCoalescingProperties {
+
+    private boolean enabled = true;
+
+    // How long a caller waits on an identical in-flight lookup before running its own
+    private Duration maxWait = Duration.ofSeconds(2);
+}
@@ -0,0 +1,30 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.purchases")
+public class PurchaseIngestionProperties {
+
+    // Not available with sharding: purchases are applied to the primary datasource
+    private boolean enabled = true;
+
+    // Time trigger: buffered events are flushed at least this often
+    private long flushIntervalMs = 1000;
+
+    // Size trigger: a flush is started as soon as this many events are pending
+    private int flushThreshold = 10_000;
+
+    // Rows per JDBC batch when writing coalesced updates
+    private int batchSize = 500;
+
+    private String journalDirectory = "data/purchase-journal";
+
+    // Acknowledge an event only once the journal is forced to disk. Concurrent appends share one
+    // force; turning this off loses events accepted since the last flush if the host crashes.
+    private boolean syncWrites = true;
+}
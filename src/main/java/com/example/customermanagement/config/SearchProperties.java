@@ -0,0 +1,21 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    // In-memory trigram index behind /customers/search; not available with sharding
+    private boolean enabled = true;
+
+    // Upper bound on results returned by one query
+    private int maxResults = 100;
+
+    // Threads building the index on startup; defaults to the number of processors
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
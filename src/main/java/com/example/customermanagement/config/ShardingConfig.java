@@ -0,0 +1,71 @@
+package com.example.customermanagement.config;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.example.customermanagement.actuator.ShardAdminEndpoint;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.repository.shard.ShardRebalancer;
+import com.example.customermanagement.repository.shard.ShardedCustomerRepositoryHandler;
+import com.example.customermanagement.repository.shard.ShardedCustomerStore;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Bean
+    public ShardedCustomerStore shardedCustomerStore(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("app.sharding.enabled is true but no app.sharding.shards are configured");
+        }
+        List<DataSource> dataSources = properties.getShards().stream()
+                .map(shard -> (DataSource) DataSourceBuilder.create()
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build())
+                .toList();
+        int activeShards = properties.getActiveShards() != null ? properties.getActiveShards() : dataSources.size();
+        // Fan-out work is blocking JDBC, so one virtual thread per shard query is the cheapest option
+        ShardedCustomerStore store = new ShardedCustomerStore(dataSources, activeShards, Executors.newVirtualThreadPerTaskExecutor());
+        store.initializeSchema();
+        int orphans = store.removeOrphanedRoutes();
+        if (orphans > 0) {
+            log.warn("Removed {} routing entries left behind by interrupted saves", orphans);
+        }
+        return store;
+    }
+
+    // Replaces the JPA repository for every injection point while sharding is on
+    @Bean
+    @Primary
+    public CustomerRepository shardedCustomerRepository(ShardedCustomerStore store) {
+        return (CustomerRepository) Proxy.newProxyInstance(
+                CustomerRepository.class.getClassLoader(),
+                new Class<?>[] { CustomerRepository.class },
+                new ShardedCustomerRepositoryHandler(store));
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardedCustomerStore store, ShardingProperties properties) {
+        return new ShardRebalancer(store, properties.getRebalanceBatchSize());
+    }
+
+    @Bean
+    public ShardAdminEndpoint shardAdminEndpoint(ShardedCustomerStore store, ShardRebalancer rebalancer) {
+        return new ShardAdminEndpoint(store, rebalancer);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.customermanagement.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    // Number of shards customers are currently hashed across. Defaults to every configured shard;
+    // lower it to keep spare datasources ready for a later rebalance. After a rebalance, set it to
+    // the new count: startup fails while it disagrees with the layout recorded on shard 0.
+    private Integer activeShards;
+
+    // Rows copied per keyset page while rebalancing
+    private int rebalanceBatchSize = 500;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+    }
+}
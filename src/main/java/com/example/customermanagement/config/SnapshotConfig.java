@@ -0,0 +1,37 @@
+package com.example.customermanagement.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.customermanagement.actuator.SnapshotEndpoint;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.SnapshotService;
+import com.example.customermanagement.service.impl.SnapshotServiceImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotConfig {
+
+    @Bean
+    public SnapshotServiceImpl snapshotService(SnapshotProperties properties, ShardingProperties shardingProperties,
+            @Qualifier(BulkheadConfig.BULK) JdbcTemplate bulkJdbcTemplate,
+            @Qualifier(BulkheadConfig.BULK) TransactionTemplate bulkTransactionTemplate,
+            PurchaseLedgerService purchaseLedgerService, MeterRegistry meterRegistry) {
+        if (shardingProperties.isEnabled()) {
+            throw new IllegalStateException("app.snapshot.enabled is not supported together with app.sharding.enabled");
+        }
+        return new SnapshotServiceImpl(properties, bulkJdbcTemplate, bulkTransactionTemplate, purchaseLedgerService,
+                meterRegistry);
+    }
+
+    @Bean
+    public SnapshotEndpoint snapshotEndpoint(SnapshotService snapshotService) {
+        return new SnapshotEndpoint(snapshotService);
+    }
+}
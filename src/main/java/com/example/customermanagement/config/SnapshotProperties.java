@@ -0,0 +1,31 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+
+    private String file = "data/snapshot/customers.snap";
+
+    // Load the snapshot into the empty customers and ledger tables before the application reports ready
+    private boolean restoreOnStartup = true;
+
+    // Take a snapshot when the application shuts down
+    private boolean onShutdown = true;
+
+    // Scheduled snapshots; "-" disables them
+    private String cron = "-";
+
+    // Rows per JDBC batch on restore
+    private int batchSize = 1000;
+
+    // Rows per restore transaction
+    private int rowsPerTransaction = 5000;
+}
@@ -0,0 +1,24 @@
+package com.example.customermanagement.config;
+
+import java.math.BigDecimal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.spend-ranking")
+public class SpendRankingProperties {
+
+    // In-memory spend index behind /customers/top-spenders and /customers/near-threshold;
+    // not available with sharding
+    private boolean enabled = true;
+
+    // Upper bound on customers returned by one query
+    private int maxResults = 1000;
+
+    // Default distance below a tier's spend threshold for /customers/near-threshold
+    private BigDecimal defaultWithin = new BigDecimal("500");
+}
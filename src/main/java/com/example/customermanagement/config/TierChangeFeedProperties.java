@@ -0,0 +1,28 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tier-changes")
+public class TierChangeFeedProperties {
+
+    public enum LagPolicy {
+        // Jump the subscriber to the oldest retained event and tell it how many it missed
+        SKIP,
+        // Close the stream; the client reconnects with Last-Event-ID and resumes if it can
+        DISCONNECT
+    }
+
+    // Events retained for slow subscribers and Last-Event-ID resume; must be a power of two
+    private int bufferSize = 4096;
+
+    private LagPolicy lagPolicy = LagPolicy.SKIP;
+
+    private int maxSubscribers = 1000;
+
+    private long heartbeatIntervalMs = 15_000;
+}
@@ -0,0 +1,22 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tier-expiry")
+public class TierExpiryProperties {
+
+    // GET /customers/tier-expiring and the daily tier decay job; not available with sharding
+    private boolean enabled = true;
+
+    // Publishes tier changes for customers whose recency window closed since the last run
+    private String cron = "0 1 0 * * *";
+
+    private int maxWithinDays = 180;
+
+    private int maxPageSize = 1000;
+}
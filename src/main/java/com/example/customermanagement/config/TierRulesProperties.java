@@ -0,0 +1,53 @@
+package com.example.customermanagement.config;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.example.customermanagement.enums.Tier;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tier-rules")
+public class TierRulesProperties {
+
+    // Tier of customers no rule matches and of customers with incomplete data
+    private Tier defaultTier = Tier.SILVER;
+
+    // Checked from the highest tier down; the first rule a customer meets gives the tier
+    private List<Rule> rules = new ArrayList<>(List.of(
+            rule(Tier.PLATINUM, new BigDecimal("10000"), 6),
+            rule(Tier.GOLD, new BigDecimal("1000"), 12)));
+
+    // Optional YAML file with the same app.tier-rules keys; replaces the rules above while it exists
+    // and is reloaded when it changes
+    private String file;
+
+    private long reloadIntervalMs = 10000;
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        private Tier tier;
+
+        // Annual spend at or above which the tier applies
+        private BigDecimal minSpend;
+
+        // Months the tier holds after the last purchase; unset for a tier that does not lapse
+        private Integer recencyMonths;
+    }
+
+    private static Rule rule(Tier tier, BigDecimal minSpend, Integer recencyMonths) {
+        Rule rule = new Rule();
+        rule.setTier(tier);
+        rule.setMinSpend(minSpend);
+        rule.setRecencyMonths(recencyMonths);
+        return rule;
+    }
+}
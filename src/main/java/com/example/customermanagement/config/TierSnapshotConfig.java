@@ -0,0 +1,18 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.customermanagement.actuator.TierSnapshotEndpoint;
+import com.example.customermanagement.service.TierSnapshotService;
+
+@Configuration
+@ConditionalOnExpression("${app.tier-snapshot.enabled:true} and !${app.sharding.enabled:false}")
+public class TierSnapshotConfig {
+
+    @Bean
+    public TierSnapshotEndpoint tierSnapshotEndpoint(TierSnapshotService tierSnapshotService) {
+        return new TierSnapshotEndpoint(tierSnapshotService);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.customermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tier-snapshot")
+public class TierSnapshotProperties {
+
+    // Daily tier_history snapshot; not available with sharding
+    private boolean enabled = true;
+
+    // After the tier expiry job and the columnar tier refresh, so the snapshot sees the day's tiers
+    private String cron = "0 30 0 * * *";
+
+    // Keyset ranges the id space is split into; each is copied, committed and resumed on its own
+    private int ranges = 16;
+
+    // Ranges copied at once; each holds two bulk connections, a cursor and a writer. Startup fails if
+    // app.bulkhead.maximum-pool-size has fewer than twice this many.
+    private int parallelism = 1;
+
+    // Rows per JDBC batch, committed together with the range's progress
+    private int batchSize = 1000;
+}
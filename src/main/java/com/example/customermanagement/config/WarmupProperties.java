@@ -0,0 +1,41 @@
+package com.example.customermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    // How long the synthetic tier/mapping/serialization loop runs before readiness turns UP
+    private Duration duration = Duration.ofSeconds(1);
+
+    private Preload preload = new Preload();
+
+    @Getter
+    @Setter
+    public static class Preload {
+
+        public enum Source {
+            // Ids the previous run's cache ranked hottest, falling back to TOP_SPEND without a log
+            ACCESS_LOG,
+            TOP_SPEND
+        }
+
+        private Source source = Source.ACCESS_LOG;
+
+        private int size = 1000;
+
+        private String accessLog = "data/warmup/hot-customers.txt";
+
+        // How often the current hottest ids are written to the access log (also written on shutdown)
+        private long recordIntervalMs = 300_000;
+    }
+}
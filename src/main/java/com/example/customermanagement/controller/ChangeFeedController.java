@@ -0,0 +1,38 @@
+package com.example.customermanagement.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.customermanagement.dto.ChangeFeedResponse;
+import com.example.customermanagement.service.ChangeFeedService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/customers")
+@Tag(name = "Change Feed", description = "Replayable journal of customer creates, updates and deletes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @Operation(summary = "Read customer changes", description = "Returns changes with sequence >= since, oldest first. Continue from nextSince. If since is older than oldestAvailable, changes were dropped by retention.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully") })
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @Parameter(description = "First sequence to return") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum number of changes to return") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(changeFeedService.readChanges(since, limit));
+    }
+}
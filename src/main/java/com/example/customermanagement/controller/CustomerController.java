@@ -1,10 +1,12 @@
 package com.example.customermanagement.controller;
 
 import java.net.URI;
+import java.util.Locale;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,7 +22,12 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.example.customermanagement.dto.CustomerRequest;
 import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.WriteStatusResponse;
+import com.example.customermanagement.exception.NotFoundResponse;
+import com.example.customermanagement.exception.NotFoundResponse.Lookup;
 import com.example.customermanagement.service.CustomerService; // Service interface
+import com.example.customermanagement.service.CustomerWriteService;
+import com.example.customermanagement.service.write.PendingWrite;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -28,6 +36,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -38,21 +47,38 @@ public class CustomerController {
     private static final Logger log = LoggerFactory.getLogger(CustomerController.class);
 
     private final CustomerService customerService;
+    // Only present with app.group-commit.enabled; creates and updates then go through the group commit queue
+    private final CustomerWriteService customerWriteService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, ObjectProvider<CustomerWriteService> customerWriteService) {
         this.customerService = customerService;
+        this.customerWriteService = customerWriteService.getIfAvailable();
     }
 
-    @Operation(summary = "Create a new customer", description = "Creates a new customer based on the provided data.")
+    @Operation(summary = "Create a new customer", description = "Creates a new customer based on the provided data. With group commit enabled, 'Prefer: respond-async' answers 202 with a status URL instead of waiting for the commit.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Customer created successfully", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerResponse.class)) }),
+            @ApiResponse(responseCode = "202", description = "Create queued for the next group commit; poll the Location header", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = WriteStatusResponse.class)) }),
             @ApiResponse(responseCode = "400", description = "Invalid input provided", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Name or email already in use", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Group commit queue is full", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))) })
     @PostMapping
-    public ResponseEntity<CustomerResponse> createCustomer(@Valid @RequestBody CustomerRequest customerRequest) {
+    public ResponseEntity<?> createCustomer(@Valid @RequestBody CustomerRequest customerRequest,
+            @Parameter(description = "respond-async for 202 Accepted (group commit only)") @RequestHeader(value = "Prefer", required = false) String prefer) {
         log.info("Received request to create customer: {}", customerRequest);
-        CustomerResponse createdCustomerResponse = customerService.createCustomer(customerRequest);
+        CustomerResponse createdCustomerResponse;
+        if (customerWriteService != null) {
+            PendingWrite write = customerWriteService.submitCreate(customerRequest);
+            if (respondAsync(prefer)) {
+                return accepted(write);
+            }
+            createdCustomerResponse = write.await();
+        } else {
+            createdCustomerResponse = customerService.createCustomer(customerRequest);
+        }
 
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -70,12 +96,14 @@ public class CustomerController {
             @ApiResponse(responseCode = "404", description = "Customer with the specified ID not found", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))) })
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponse> getCustomerById(
-            @Parameter(description = "Unique ID of the customer to be retrieved", example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id) {
+    public ResponseEntity<?> getCustomerById(
+            @Parameter(description = "Unique ID of the customer to be retrieved", example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id,
+            HttpServletRequest request) {
         log.info("Received request to get customer by ID: {}", id);
-        CustomerResponse customerResponse = customerService.getCustomerById(id);
-        log.info("Returning customer with ID: {}", id);
-        return ResponseEntity.ok(customerResponse);
+        // Misses are common, so they return the 404 directly instead of throwing
+        return customerService.findCustomerById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> NotFoundResponse.customer(Lookup.ID, id.toString(), request.getRequestURI()));
     }
 
     @Operation(summary = "Get a customer by name", description = "Retrieves a customer by their name. Assumes names are unique for simplicity in this example; otherwise, this might return a list.")
@@ -85,12 +113,13 @@ public class CustomerController {
             @ApiResponse(responseCode = "404", description = "Customer with the specified name not found", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))) })
     @GetMapping(params = "name")
-    public ResponseEntity<CustomerResponse> getCustomerByName(
-            @Parameter(description = "Name of the customer to filter by", required = true, example = "John Doe") @RequestParam String name) {
+    public ResponseEntity<?> getCustomerByName(
+            @Parameter(description = "Name of the customer to filter by", required = true, example = "John Doe") @RequestParam String name,
+            HttpServletRequest request) {
         log.info("Received request to get customer by name: {}", name);
-        CustomerResponse customerResponse = customerService.getCustomerByName(name);
-        log.info("Returning customer with name: {}", name);
-        return ResponseEntity.ok(customerResponse);
+        return customerService.findCustomerByName(name)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> NotFoundResponse.customer(Lookup.NAME, name, request.getRequestURI()));
     }
 
     @Operation(summary = "Get a customer by email", description = "Retrieves a customer by their email address. Assumes email addresses are unique.")
@@ -100,27 +129,42 @@ public class CustomerController {
             @ApiResponse(responseCode = "404", description = "Customer with the specified email not found", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))) })
     @GetMapping(value = "/", params = "email")
-    public ResponseEntity<CustomerResponse> getCustomerByEmail(
-            @Parameter(description = "Email address of the customer to filter by", required = true, example = "john.doe@example.com") @RequestParam String email) {
+    public ResponseEntity<?> getCustomerByEmail(
+            @Parameter(description = "Email address of the customer to filter by", required = true, example = "john.doe@example.com") @RequestParam String email,
+            HttpServletRequest request) {
         log.info("Received request to get customer by email: {}", email);
-        CustomerResponse customerResponse = customerService.getCustomerByEmail(email);
-        log.info("Returning customer with email: {}", email);
-        return ResponseEntity.ok(customerResponse);
+        return customerService.findCustomerByEmail(email)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> NotFoundResponse.customer(Lookup.EMAIL, email, request.getRequestURI()));
     }
 
-    @Operation(summary = "Update an existing customer", description = "Updates the details of an existing customer identified by their ID.")
+    @Operation(summary = "Update an existing customer", description = "Updates the details of an existing customer identified by their ID. With group commit enabled, 'Prefer: respond-async' answers 202 with a status URL instead of waiting for the commit.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Customer updated successfully", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerResponse.class)) }),
+            @ApiResponse(responseCode = "202", description = "Update queued for the next group commit; poll the Location header", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = WriteStatusResponse.class)) }),
             @ApiResponse(responseCode = "400", description = "Invalid input provided", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Customer with the specified ID not found", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Name or email already in use", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Group commit queue is full", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))) })
     @PutMapping("/{id}")
-    public ResponseEntity<CustomerResponse> updateCustomer(
+    public ResponseEntity<?> updateCustomer(
             @Parameter(description = "Unique ID of the customer to be updated", example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id,
-            @Valid @RequestBody CustomerRequest customerRequest) {
+            @Valid @RequestBody CustomerRequest customerRequest,
+            @Parameter(description = "respond-async for 202 Accepted (group commit only)") @RequestHeader(value = "Prefer", required = false) String prefer) {
         log.info("Received request to update customer with ID: {}. Request body: {}", id, customerRequest);
-        CustomerResponse updatedCustomerResponse = customerService.updateCustomer(id, customerRequest);
+        CustomerResponse updatedCustomerResponse;
+        if (customerWriteService != null) {
+            PendingWrite write = customerWriteService.submitUpdate(id, customerRequest);
+            if (respondAsync(prefer)) {
+                return accepted(write);
+            }
+            updatedCustomerResponse = write.await();
+        } else {
+            updatedCustomerResponse = customerService.updateCustomer(id, customerRequest);
+        }
         log.info("Customer with ID: {} updated successfully.", id);
         return ResponseEntity.ok(updatedCustomerResponse);
     }
@@ -138,4 +182,20 @@ public class CustomerController {
         log.info("Customer with ID: {} deleted successfully.", id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private static boolean respondAsync(String prefer) {
+        return prefer != null && prefer.toLowerCase(Locale.ROOT).contains("respond-async");
+    }
+
+    private ResponseEntity<WriteStatusResponse> accepted(PendingWrite write) {
+        URI status = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/customers/writes/{ticket}")
+                .buildAndExpand(write.ticket())
+                .toUri();
+        log.info("Write queued with ticket {}. Status: {}", write.ticket(), status);
+        return ResponseEntity.accepted()
+                .location(status)
+                .header("Preference-Applied", "respond-async")
+                .body(customerWriteService.track(write));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.customermanagement.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.customermanagement.dto.CustomerSearchResponse;
+import com.example.customermanagement.service.CustomerSearchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/customers")
+@ConditionalOnExpression("${app.search.enabled:true} and !${app.sharding.enabled:false}")
+@Tag(name = "Customer Search", description = "Prefix and typo-tolerant search over names and emails")
+public class CustomerSearchController {
+
+    private final CustomerSearchService customerSearchService;
+
+    public CustomerSearchController(CustomerSearchService customerSearchService) {
+        this.customerSearchService = customerSearchService;
+    }
+
+    @Operation(summary = "Search customers", description = "Every word of q must match a word of the customer's name or email, as a prefix or with up to one typo (two for words of 9+ characters). Best match first; typo matches follow all others.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed"),
+            @ApiResponse(responseCode = "400", description = "Blank query or invalid limit") })
+    @GetMapping("/search")
+    public ResponseEntity<CustomerSearchResponse> search(
+            @Parameter(description = "Search words, e.g. 'jon smi'") @RequestParam String q,
+            @Parameter(description = "Number of results (capped by app.search.max-results)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(customerSearchService.search(q, limit));
+    }
+}
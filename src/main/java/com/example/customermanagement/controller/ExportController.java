@@ -0,0 +1,78 @@
+package com.example.customermanagement.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.customermanagement.service.ExportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/customers")
+@ConditionalOnExpression("${app.export.enabled:true} and !${app.sharding.enabled:false}")
+@Tag(name = "Export", description = "Full customer exports for warehouse loads")
+public class ExportController {
+
+    // Tomcat's NIO connector sends a file named in these request attributes with sendfile once the
+    // servlet returns, so the bytes go from the page cache to the socket without passing the heap
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Operation(summary = "Export all customers", description = "Downloads every customer in a self-describing columnar binary file. The file is rebuilt when it is older than app.export.max-age, otherwise the last build is served as is.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export file"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format") })
+    @GetMapping("/export")
+    public void export(@Parameter(description = "Export format; only 'columnar' is supported") @RequestParam(defaultValue = "columnar") String format,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!"columnar".equals(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+        ExportService.ExportFile file = exportService.columnar();
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(file.bytes());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.path().getFileName().toString()).build().toString());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, file.bytes());
+            return;
+        }
+        // Elsewhere the servlet stream hides the socket, so transferTo falls back to a buffered copy
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long done = 0; done < file.bytes();) {
+                done += channel.transferTo(done, file.bytes() - done, out);
+            }
+        }
+    }
+}
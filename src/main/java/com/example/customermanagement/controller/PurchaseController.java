@@ -0,0 +1,54 @@
+package com.example.customermanagement.controller;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.customermanagement.dto.PurchaseEventRequest;
+import com.example.customermanagement.service.PurchaseService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@ConditionalOnExpression("${app.purchases.enabled:true} and !${app.sharding.enabled:false}")
+@RequestMapping("/customers")
+@Tag(name = "Purchase API", description = "API for recording customer purchases")
+public class PurchaseController {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseController.class);
+
+    private final PurchaseService purchaseService;
+
+    public PurchaseController(PurchaseService purchaseService) {
+        this.purchaseService = purchaseService;
+    }
+
+    @Operation(summary = "Record a purchase", description = "Accepts a purchase event for a customer. Spend and last purchase date are updated asynchronously in batches; the event is journaled locally before it is acknowledged.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Purchase accepted", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid input provided", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = com.example.customermanagement.dto.ErrorResponse.class))) })
+    @PostMapping("/{id}/purchases")
+    public ResponseEntity<Void> recordPurchase(
+            @Parameter(description = "Unique ID of the customer who made the purchase", example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID id,
+            @Valid @RequestBody PurchaseEventRequest purchaseEventRequest) {
+        log.debug("Received purchase event for customer ID: {}", id);
+        purchaseService.recordPurchase(id, purchaseEventRequest);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.customermanagement.controller;
+
+import java.math.BigDecimal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.customermanagement.dto.SegmentResponse;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.SegmentService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/customers")
+@ConditionalOnExpression("${app.columnar.enabled:true} and !${app.sharding.enabled:false}")
+@Tag(name = "Segments", description = "Analytics over the in-memory columnar customer replica")
+public class SegmentController {
+
+    private final SegmentService segmentService;
+
+    public SegmentController(SegmentService segmentService) {
+        this.segmentService = segmentService;
+    }
+
+    @Operation(summary = "Query a customer segment", description = "Counts and sums the customers matching all given filters and returns up to limit of their ids. Bounded filters exclude customers with no spend or purchase date.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Segment computed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter") })
+    @GetMapping("/segments")
+    public ResponseEntity<SegmentResponse> getSegment(
+            @Parameter(description = "Minimum annual spend, inclusive") @RequestParam(required = false) BigDecimal minSpend,
+            @Parameter(description = "Maximum annual spend, inclusive") @RequestParam(required = false) BigDecimal maxSpend,
+            @Parameter(description = "Last purchase no more than this many days ago") @RequestParam(required = false) Integer purchasedWithinDays,
+            @Parameter(description = "Current tier") @RequestParam(required = false) Tier tier,
+            @Parameter(description = "Maximum number of customer ids to return (capped by app.columnar.max-ids)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(segmentService.findSegment(minSpend, maxSpend, purchasedWithinDays, tier, limit));
+    }
+}
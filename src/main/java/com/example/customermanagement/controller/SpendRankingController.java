@@ -0,0 +1,58 @@
+package com.example.customermanagement.controller;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.customermanagement.dto.NearThresholdResponse;
+import com.example.customermanagement.dto.RankedCustomerResponse;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.SpendRankingService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/customers")
+@ConditionalOnExpression("${app.spend-ranking.enabled:true} and !${app.sharding.enabled:false}")
+@Tag(name = "Spend Ranking", description = "Customers ranked by stored annual spend")
+public class SpendRankingController {
+
+    private final SpendRankingService spendRankingService;
+
+    public SpendRankingController(SpendRankingService spendRankingService) {
+        this.spendRankingService = spendRankingService;
+    }
+
+    @Operation(summary = "Top spenders", description = "Customers with the highest annual spend, highest first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranking retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit") })
+    @GetMapping("/top-spenders")
+    public ResponseEntity<List<RankedCustomerResponse>> getTopSpenders(
+            @Parameter(description = "Number of customers (capped by app.spend-ranking.max-results)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(spendRankingService.topSpenders(limit));
+    }
+
+    @Operation(summary = "Customers near a tier threshold", description = "Customers whose annual spend is below the spend threshold of the target tier by at most 'within', closest first. Use currentTier to keep only customers in that tier, e.g. tier=PLATINUM&currentTier=GOLD.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Tier without a spend threshold or invalid within/limit") })
+    @GetMapping("/near-threshold")
+    public ResponseEntity<NearThresholdResponse> getNearThreshold(
+            @Parameter(description = "Tier whose spend threshold is approached (GOLD or PLATINUM)") @RequestParam Tier tier,
+            @Parameter(description = "Maximum distance below the threshold (default app.spend-ranking.default-within)") @RequestParam(required = false) BigDecimal within,
+            @Parameter(description = "Only customers currently in this tier") @RequestParam(required = false) Tier currentTier,
+            @Parameter(description = "Number of customers (capped by app.spend-ranking.max-results)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(spendRankingService.nearThreshold(tier, within, currentTier, limit));
+    }
+}
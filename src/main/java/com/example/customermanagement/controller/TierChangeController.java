@@ -0,0 +1,38 @@
+package com.example.customermanagement.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.customermanagement.service.feed.TierChangeBroadcaster;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/customers")
+@Tag(name = "Tier Change Feed", description = "Server-Sent Events stream of customer tier changes")
+public class TierChangeController {
+
+    private final TierChangeBroadcaster tierChangeBroadcaster;
+
+    public TierChangeController(TierChangeBroadcaster tierChangeBroadcaster) {
+        this.tierChangeBroadcaster = tierChangeBroadcaster;
+    }
+
+    @Operation(summary = "Stream tier changes", description = "Emits a 'tier-change' event whenever a customer's calculated tier changes. Reconnect with Last-Event-ID to resume; a 'lagged' event reports how many events were missed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "503", description = "Subscriber limit reached") })
+    @GetMapping(value = "/tier-changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTierChanges(
+            @Parameter(description = "Id of the last event received, to resume after a disconnect") @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return tierChangeBroadcaster.subscribe(lastEventId);
+    }
+}
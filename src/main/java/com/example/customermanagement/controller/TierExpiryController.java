@@ -0,0 +1,42 @@
+package com.example.customermanagement.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.customermanagement.dto.TierExpiringResponse;
+import com.example.customermanagement.service.TierExpiryService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/customers")
+@ConditionalOnExpression("${app.tier-expiry.enabled:true} and !${app.sharding.enabled:false}")
+@Tag(name = "Tier Expiry", description = "Customers whose tier lapses soon without a new purchase")
+public class TierExpiryController {
+
+    private final TierExpiryService tierExpiryService;
+
+    public TierExpiryController(TierExpiryService tierExpiryService) {
+        this.tierExpiryService = tierExpiryService;
+    }
+
+    @Operation(summary = "Customers about to drop a tier", description = "PLATINUM and GOLD customers whose recency window closes within withinDays, unless they purchase again. Page through with nextCursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid withinDays, limit or cursor") })
+    @GetMapping("/tier-expiring")
+    public ResponseEntity<TierExpiringResponse> getTierExpiring(
+            @Parameter(description = "Days ahead to look (capped by app.tier-expiry.max-within-days)") @RequestParam int withinDays,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by app.tier-expiry.max-page-size)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(tierExpiryService.findExpiring(withinDays, cursor, limit));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.customermanagement.controller;
+
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.customermanagement.dto.WriteStatusResponse;
+import com.example.customermanagement.service.CustomerWriteService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/customers/writes")
+@ConditionalOnExpression("${app.group-commit.enabled:false} and !${app.sharding.enabled:false}")
+@Tag(name = "Customer API", description = "API for managing customers")
+public class WriteStatusController {
+
+    private final CustomerWriteService customerWriteService;
+
+    public WriteStatusController(CustomerWriteService customerWriteService) {
+        this.customerWriteService = customerWriteService;
+    }
+
+    @Operation(summary = "Status of a queued write", description = "Outcome of a create or update accepted with 'Prefer: respond-async': PENDING until its group commits, then COMMITTED with the customer or FAILED with the error the synchronous request would have received.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Unknown ticket, or its status is no longer retained") })
+    @GetMapping("/{ticket}")
+    public ResponseEntity<WriteStatusResponse> getWriteStatus(
+            @Parameter(description = "Ticket from the 202 response") @PathVariable UUID ticket) {
+        return customerWriteService.status(ticket)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No write with ticket " + ticket));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.customermanagement.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChangeFeedResponse {
+    private List<ChangeRecordResponse> changes;
+
+    // Pass as 'since' on the next call
+    private long nextSince;
+
+    // Oldest sequence still retained; a consumer behind this has missed changes and should re-export
+    private long oldestAvailable;
+
+    private long lastSequence;
+}
@@ -0,0 +1,27 @@
+package com.example.customermanagement.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChangeRecordResponse {
+    private long sequence;
+    private Instant changedAt;
+    private CustomerChangedEvent.Type type;
+    private UUID customerId;
+
+    // Customer state as stored in the journal, emitted without re-parsing. Absent for deletes.
+    @JsonRawValue
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String customer;
+}
@@ -0,0 +1,19 @@
+package com.example.customermanagement.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CustomerSearchResponse {
+    private String query;
+
+    // Best match first
+    private List<SearchHitResponse> results;
+
+    private long tookMicros;
+}
@@ -0,0 +1,25 @@
+package com.example.customermanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.example.customermanagement.enums.Tier;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ExpiringCustomerResponse {
+    private UUID id;
+    private BigDecimal annualSpend;
+    private LocalDate lastPurchaseDate;
+    private Tier currentTier;
+
+    // Tier from dropsOn on, unless the customer purchases again before then
+    private Tier nextTier;
+    private LocalDate dropsOn;
+}
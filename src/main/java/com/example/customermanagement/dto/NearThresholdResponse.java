@@ -0,0 +1,25 @@
+package com.example.customermanagement.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.example.customermanagement.enums.Tier;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class NearThresholdResponse {
+    private Tier targetTier;
+
+    private BigDecimal threshold;
+
+    // Customers listed have threshold - within <= annualSpend < threshold
+    private BigDecimal within;
+
+    // Closest to the threshold first
+    private List<RankedCustomerResponse> customers;
+}
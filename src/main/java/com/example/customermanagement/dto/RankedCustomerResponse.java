@@ -0,0 +1,25 @@
+package com.example.customermanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.example.customermanagement.enums.Tier;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RankedCustomerResponse {
+    private UUID id;
+
+    // Stored annual spend the customer is ranked on
+    private BigDecimal annualSpend;
+
+    private LocalDate lastPurchaseDate;
+
+    private Tier tier;
+}
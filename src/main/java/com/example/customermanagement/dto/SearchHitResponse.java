@@ -0,0 +1,24 @@
+package com.example.customermanagement.dto;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SearchHitResponse {
+    private UUID id;
+
+    private String name;
+
+    private String email;
+
+    // Higher is better: exact words over prefixes over typo matches, name matches over email matches
+    private int score;
+
+    // Some query word only matched with a typo; these follow all hits without typos
+    private boolean typo;
+}
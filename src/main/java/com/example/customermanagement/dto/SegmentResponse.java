@@ -0,0 +1,29 @@
+package com.example.customermanagement.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SegmentResponse {
+    // Customers matching the segment, not just the ids returned
+    private long count;
+
+    private BigDecimal totalSpend;
+
+    private BigDecimal averageSpend;
+
+    // At most 'limit' ids, in no particular order
+    private List<UUID> customerIds;
+
+    // Rows in the columnar replica at the time of the scan
+    private long scanned;
+
+    private long tookMicros;
+}
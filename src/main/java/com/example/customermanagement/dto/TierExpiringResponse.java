@@ -0,0 +1,22 @@
+package com.example.customermanagement.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class TierExpiringResponse {
+    // Customers dropping on or before this date are included
+    private LocalDate horizon;
+
+    // PLATINUM expiries first, then GOLD; each in order of drop date
+    private List<ExpiringCustomerResponse> customers;
+
+    // Pass as 'cursor' for the next page; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.example.customermanagement.dto;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class WriteStatusResponse {
+
+    public enum State {
+        PENDING,
+        COMMITTED,
+        FAILED
+    }
+
+    private UUID ticket;
+
+    private State state;
+
+    // Set once COMMITTED
+    private CustomerResponse customer;
+
+    // Set once FAILED; the response the synchronous request would have received
+    private ErrorResponse error;
+}
@@ -0,0 +1,37 @@
+package com.example.customermanagement.event;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keeps one after-commit listener from applying a customer's changes out of order. Two commits of
+ * the same customer can reach the listener on different threads in either order; the one with the
+ * lower {@link CustomerChangedEvent#version()} is dropped if the newer one got there first, and a
+ * customer's changes are applied one at a time.
+ *
+ * Versions are remembered for a minute after the last change, far longer than commits of the same
+ * customer can overtake each other.
+ */
+public final class CustomerChangeOrder {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final Cache<UUID, Long> applied = Caffeine.newBuilder().expireAfterWrite(WINDOW).build();
+
+    // Runs apply unless a newer change of the customer was already applied; returns whether it ran
+    public boolean applyIfNewer(CustomerChangedEvent event, Runnable apply) {
+        boolean[] ran = new boolean[1];
+        applied.asMap().compute(event.customerId(), (id, latest) -> {
+            if (latest != null && latest > event.version()) {
+                return latest;
+            }
+            apply.run();
+            ran[0] = true;
+            return event.version();
+        });
+        return ran[0];
+    }
+}
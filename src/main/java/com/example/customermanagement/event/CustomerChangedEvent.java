@@ -0,0 +1,45 @@
+package com.example.customermanagement.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.customermanagement.model.Customer;
+
+/**
+ * Published inside the unit of work that changed the customer. For DELETED only customerId is set.
+ *
+ * The version is drawn when the event is created, after the row was written and while the unit of
+ * work still holds its lock, so a customer's events are versioned in commit order even when
+ * after-commit listeners receive them out of order; see {@link CustomerChangeOrder}.
+ */
+public record CustomerChangedEvent(
+        Type type,
+        UUID customerId,
+        String name,
+        String email,
+        BigDecimal annualSpend,
+        LocalDate lastPurchaseDate,
+        Instant changedAt,
+        long version) {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static CustomerChangedEvent of(Type type, Customer customer) {
+        return new CustomerChangedEvent(type, customer.getId(), customer.getName(), customer.getEmail(),
+                customer.getAnnualSpend(), customer.getLastPurchaseDate(), Instant.now(), VERSIONS.incrementAndGet());
+    }
+
+    public static CustomerChangedEvent deleted(UUID customerId) {
+        return new CustomerChangedEvent(Type.DELETED, customerId, null, null, null, null, Instant.now(),
+                VERSIONS.incrementAndGet());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.customermanagement.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.example.customermanagement.enums.Tier;
+
+// Published whenever a write or recompute changes the tier calculateTier returns for a customer.
+// previousTier is null for newly created customers.
+public record TierChangedEvent(UUID customerId, Tier previousTier, Tier currentTier, Instant changedAt) {
+}
@@ -0,0 +1,9 @@
+package com.example.customermanagement.event;
+
+import java.time.Instant;
+
+import com.example.customermanagement.service.tier.TierDecisionTable;
+
+// Published after new tier rules replace the old ones, for components that keep tiers computed ahead
+public record TierRulesChangedEvent(TierDecisionTable previous, TierDecisionTable rules, Instant changedAt) {
+}
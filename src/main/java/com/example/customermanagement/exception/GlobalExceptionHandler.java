@@ -10,7 +10,10 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -90,7 +93,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
                         ResourceNotFoundException ex, WebRequest request) {
                 String path = getRequestPath(request);
-                log.info("Handling ResourceNotFoundException: {} for path: {}", ex.getMessage(), path); // Added logging
+                log.debug("Handling ResourceNotFoundException: {} for path: {}", ex.getMessage(), path);
 
                 ErrorResponse errorResponse = new ErrorResponse(
                                 HttpStatus.NOT_FOUND.value(),
@@ -140,6 +143,39 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 return new ResponseEntity<>(errorResponse, errorResponse.getStatusCode());
         }
 
+        // Handle unique and other database constraint violations, e.g. a duplicate name or email
+        @ExceptionHandler(DataIntegrityViolationException.class)
+        public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(
+                        DataIntegrityViolationException ex, WebRequest request) {
+
+                String path = getRequestPath(request);
+                log.info("Handling DataIntegrityViolationException for path: {}. Message: {}", path, ex.getMostSpecificCause().getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                HttpStatus.CONFLICT.value(),
+                                "Conflict",
+                                "The customer conflicts with existing data, e.g. a name or email already in use.",
+                                path);
+                return new ResponseEntity<>(errorResponse, errorResponse.getStatusCode());
+        }
+
+        // Handle statement timeouts and exceeded transaction deadlines
+        @ExceptionHandler({ QueryTimeoutException.class, TransactionTimedOutException.class,
+                        jakarta.persistence.QueryTimeoutException.class })
+        public ResponseEntity<ErrorResponse> handleDatabaseTimeout(
+                        Exception ex, WebRequest request) {
+
+                String path = getRequestPath(request);
+                log.warn("Database timeout for path: {}. Message: {}", path, ex.getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                HttpStatus.GATEWAY_TIMEOUT.value(),
+                                "Database Timeout",
+                                "The request took too long to complete in the database. Please retry later.",
+                                path);
+                return new ResponseEntity<>(errorResponse, errorResponse.getStatusCode());
+        }
+
         // Handle all other exceptions
         @ExceptionHandler(Exception.class)
         public ResponseEntity<ErrorResponse> handleAllUncaughtExceptions( // Renamed for clarity
@@ -0,0 +1,35 @@
+package com.example.customermanagement.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.customermanagement.dto.ErrorResponse;
+
+/**
+ * Builds the 404 for customer lookups without throwing. The body is the same {@link ErrorResponse}
+ * {@link GlobalExceptionHandler} produces for a {@link ResourceNotFoundException} and goes through
+ * the usual Jackson converter; a miss only skips creating and unwinding the exception.
+ */
+public final class NotFoundResponse {
+
+    public enum Lookup {
+        ID("id"),
+        NAME("name"),
+        EMAIL("email");
+
+        private final String messagePrefix;
+
+        Lookup(String field) {
+            this.messagePrefix = "Customer not found with " + field + ": ";
+        }
+    }
+
+    private NotFoundResponse() {
+    }
+
+    public static ResponseEntity<ErrorResponse> customer(Lookup lookup, String value, String path) {
+        ErrorResponse body = new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Resource Not Found",
+                lookup.messagePrefix + value, path);
+        return new ResponseEntity<>(body, body.getStatusCode());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.customermanagement.fault;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.example.customermanagement.config.FaultInjectionProperties;
+
+/**
+ * Delays statement execution to simulate a slow database. The delay honours the statement's
+ * query timeout the way a real driver would: if the injected latency exceeds it, the call waits
+ * for the timeout and then fails with {@link SQLTimeoutException}.
+ */
+public class LatencyInjectingDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyInjectingDataSource.class);
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double probability;
+    private final Pattern sqlPattern;
+
+    public LatencyInjectingDataSource(DataSource target, FaultInjectionProperties properties) {
+        super(target);
+        this.latencyMillis = properties.getLatency().toMillis();
+        this.jitterMillis = properties.getJitter().toMillis();
+        this.probability = properties.getProbability();
+        this.sqlPattern = Pattern.compile(properties.getSqlPattern(), Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+        log.warn("Fault injection active: {} ms (+ up to {} ms) on {} of statements matching '{}'",
+                latencyMillis, jitterMillis, probability, properties.getSqlPattern());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                // Prepared statements carry their SQL from here; plain statements get it per execute call
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrap(statement, method.getReturnType(), sql);
+            }
+            return result;
+        });
+    }
+
+    private Object wrap(Statement statement, Class<?> type, String preparedSql) {
+        return proxy(type, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                delay(statement, sql);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private void delay(Statement statement, String sql) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (sql == null || !sqlPattern.matcher(sql).find() || random.nextDouble() >= probability) {
+            return;
+        }
+        long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0);
+        long timeoutMillis = statement.getQueryTimeout() * 1000L;
+        try {
+            if (timeoutMillis > 0 && delay > timeoutMillis) {
+                Thread.sleep(timeoutMillis);
+                throw new SQLTimeoutException("Injected latency of " + delay + " ms exceeded the query timeout of "
+                        + statement.getQueryTimeout() + " s", "57014");
+            }
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted during injected latency", ex);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(LatencyInjectingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.customermanagement.jfr;
+
+import java.util.UUID;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One customer create/get/update/delete as seen by the service layer, with the time split between
+ * repository calls and entity/DTO mapping. Transaction commit happens after the service method
+ * returns and is not part of the event.
+ *
+ * When no recording has the event enabled, {@link #mark()}, {@link #database(long)} and
+ * {@link #mapping(long)} skip the clock reads and {@link #complete(String, UUID)} does nothing.
+ */
+@Name(CustomerOperationEvent.NAME)
+@Label("Customer Operation")
+@Category({ "Customer Management" })
+@Description("A customer create, get, update or delete handled by the service layer")
+@StackTrace(false)
+public class CustomerOperationEvent extends Event {
+
+    public static final String NAME = "com.example.customermanagement.CustomerOperation";
+
+    public static final String SUCCESS = "success";
+    public static final String NOT_FOUND = "not_found";
+    public static final String ERROR = "error";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Lookup Key")
+    @Description("Which key a get looked the customer up by: id, name or email")
+    private String lookup;
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Customer Id")
+    private String customerId;
+
+    @Label("Database Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long databaseTime;
+
+    @Label("Mapping Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long mappingTime;
+
+    private CustomerOperationEvent(String operation, String lookup) {
+        this.operation = operation;
+        this.lookup = lookup;
+    }
+
+    public static CustomerOperationEvent begin(String operation, String lookup) {
+        CustomerOperationEvent event = new CustomerOperationEvent(operation, lookup);
+        event.begin();
+        return event;
+    }
+
+    // Start of the next timed phase; pass the returned value to database() or mapping()
+    public long mark() {
+        return isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    public long database(long mark) {
+        if (!isEnabled()) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        databaseTime += now - mark;
+        return now;
+    }
+
+    public long mapping(long mark) {
+        if (!isEnabled()) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        mappingTime += now - mark;
+        return now;
+    }
+
+    public void complete(String outcome, UUID customerId) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.customerId = customerId == null ? null : customerId.toString();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.customermanagement.jfr;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jdk.jfr.SettingControl;
+
+/**
+ * Recording setting that keeps roughly one event in N, e.g.
+ * {@code recording.enable(TierCalculationEvent.NAME).with("sampleEvery", "1000")}. When several
+ * recordings set different values the densest one wins.
+ */
+public class SampleEveryControl extends SettingControl {
+
+    public static final String NAME = "sampleEvery";
+
+    static final int DEFAULT = 100;
+
+    private volatile int every = DEFAULT;
+
+    @Override
+    public String combine(Set<String> values) {
+        int densest = Integer.MAX_VALUE;
+        for (String value : values) {
+            densest = Math.min(densest, parse(value));
+        }
+        return String.valueOf(densest == Integer.MAX_VALUE ? DEFAULT : densest);
+    }
+
+    @Override
+    public void setValue(String value) {
+        every = parse(value);
+    }
+
+    @Override
+    public String getValue() {
+        return String.valueOf(every);
+    }
+
+    boolean sample() {
+        int n = every;
+        return n <= 1 || ThreadLocalRandom.current().nextInt(n) == 0;
+    }
+
+    private static int parse(String value) {
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException ex) {
+            return DEFAULT;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.customermanagement.jfr;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.customermanagement.enums.Tier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * A single tier calculation. calculateTier runs for every customer read and every bulk recompute,
+ * so only one in {@code sampleEvery} calculations is recorded (default 100, see
+ * {@link SampleEveryControl}).
+ */
+@Name(TierCalculationEvent.NAME)
+@Label("Tier Calculation")
+@Category({ "Customer Management" })
+@Description("A sampled membership tier calculation")
+@StackTrace(false)
+public class TierCalculationEvent extends Event {
+
+    public static final String NAME = "com.example.customermanagement.TierCalculation";
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    @Label("Annual Spend")
+    private double annualSpend;
+
+    @Label("Last Purchase Date")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    private long lastPurchaseDate;
+
+    @Label("Tier")
+    private String tier;
+
+    public void complete(BigDecimal annualSpend, LocalDate lastPurchaseDate, Tier tier) {
+        end();
+        // Not shouldCommit(): commit() evaluates the sampleEvery setting again, which would sample twice
+        if (isEnabled()) {
+            this.annualSpend = annualSpend == null ? Double.NaN : annualSpend.doubleValue();
+            this.lastPurchaseDate = lastPurchaseDate == null ? Long.MIN_VALUE : lastPurchaseDate.toEpochDay() * MILLIS_PER_DAY;
+            this.tier = tier.name();
+            commit();
+        }
+    }
+
+    @Name(SampleEveryControl.NAME)
+    @Label("Sample Every")
+    @Description("Record one in this many tier calculations")
+    @SettingDefinition
+    protected boolean sampleEvery(SampleEveryControl control) {
+        return control.sample();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.customermanagement.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through at most {@code permitsPerSecond} log lines per second and counts the rest, so a
+ * hot-path message stays visible without costing a write per call. The next admitted line reports
+ * how many were suppressed since the previous one.
+ */
+public class LogRateLimiter {
+
+    private final int permitsPerSecond;
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicLong admittedInWindow = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogRateLimiter(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public boolean tryAcquire() {
+        long second = System.currentTimeMillis() / 1000;
+        long current = window.get();
+        if (second != current && window.compareAndSet(current, second)) {
+            admittedInWindow.set(0);
+        }
+        if (admittedInWindow.incrementAndGet() <= permitsPerSecond) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    // Call only after tryAcquire() returned true; resets the suppressed count
+    public String suppressedSuffix() {
+        long count = suppressed.getAndSet(0);
+        return count == 0 ? "" : " (" + count + " similar messages suppressed)";
+    }
+}
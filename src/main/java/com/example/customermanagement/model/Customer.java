@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -17,7 +18,8 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "customers")
+// last_purchase_date is range-scanned by the tier expiry forecast
+@Table(name = "customers", indexes = @Index(name = "idx_customers_last_purchase_date", columnList = "last_purchase_date"))
 @Getter
 @Setter
 public class Customer {
@@ -0,0 +1,44 @@
+package com.example.customermanagement.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One row per customer per month: the ledger stays compact no matter how many orders a customer places
+@Entity
+@Table(name = "purchase_ledger")
+@Getter
+@Setter
+public class PurchaseLedgerEntry {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "spend", precision = 12, scale = 2, nullable = false)
+    private BigDecimal spend;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "customer_id", nullable = false)
+        private UUID customerId;
+
+        // Months since 1970-01
+        @Column(name = "period_month", nullable = false)
+        private int periodMonth;
+    }
+}
@@ -1,17 +1,44 @@
 package com.example.customermanagement.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.customermanagement.model.Customer;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
+
+    // Declared as a query so the configured statement timeout applies; EntityManager.find ignores it
+    @Override
+    @Query("SELECT c FROM Customer c WHERE c.id = :id")
+    Optional<Customer> findById(@Param("id") UUID id);
     
     Optional<Customer> findByName(String name);
     
     Optional<Customer> findByEmail(String email);
+
+    // Highest annual spend first, for cache preloading
+    List<Customer> findByAnnualSpendNotNullOrderByAnnualSpendDesc(Limit limit);
+
+    @Query("SELECT c.id AS id, c.annualSpend AS annualSpend, c.lastPurchaseDate AS lastPurchaseDate FROM Customer c WHERE c.id IN :ids")
+    List<CustomerTierView> findTierViewsByIdIn(Collection<UUID> ids);
+
+    // Keyset page over idx_customers_last_purchase_date: rows between firstDate and lastDate after (afterDate, afterId)
+    @Query("SELECT c.id AS id, c.annualSpend AS annualSpend, c.lastPurchaseDate AS lastPurchaseDate FROM Customer c "
+            + "WHERE c.annualSpend >= :minSpend AND c.lastPurchaseDate BETWEEN :firstDate AND :lastDate "
+            + "AND (c.lastPurchaseDate > :afterDate OR (c.lastPurchaseDate = :afterDate AND c.id > :afterId)) "
+            + "ORDER BY c.lastPurchaseDate, c.id")
+    List<CustomerTierView> findTierViewsByLastPurchaseDateBetween(@Param("minSpend") BigDecimal minSpend,
+            @Param("firstDate") LocalDate firstDate, @Param("lastDate") LocalDate lastDate,
+            @Param("afterDate") LocalDate afterDate, @Param("afterId") UUID afterId, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.customermanagement.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Projection with just the columns tier calculation needs
+public interface CustomerTierView {
+
+    UUID getId();
+
+    BigDecimal getAnnualSpend();
+
+    LocalDate getLastPurchaseDate();
+}
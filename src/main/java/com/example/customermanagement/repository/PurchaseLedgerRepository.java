@@ -0,0 +1,25 @@
+package com.example.customermanagement.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.customermanagement.model.PurchaseLedgerEntry;
+
+@Repository
+public interface PurchaseLedgerRepository extends JpaRepository<PurchaseLedgerEntry, PurchaseLedgerEntry.Key> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PurchaseLedgerEntry e WHERE e.key.customerId = :customerId")
+    int deleteByCustomerId(UUID customerId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PurchaseLedgerEntry e WHERE e.key.periodMonth < :periodMonth")
+    int deleteOlderThan(int periodMonth);
+}
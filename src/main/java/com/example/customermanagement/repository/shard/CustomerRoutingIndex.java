@@ -0,0 +1,61 @@
+package com.example.customermanagement.repository.shard;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Global name/email -> id directory. Lookups by id never touch it; name and email lookups
+ * resolve the id here and then go to the owning shard. The unique constraints on this table
+ * are what keep name and email unique across all shards.
+ */
+public class CustomerRoutingIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerRoutingIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void initializeSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS customer_routing ("
+                + "id UUID PRIMARY KEY, "
+                + "name VARCHAR(100) NOT NULL UNIQUE, "
+                + "email VARCHAR(255) NOT NULL UNIQUE)");
+    }
+
+    // Registers or re-keys a customer in one statement, so repeating it is harmless
+    public void register(UUID id, String name, String email) {
+        jdbcTemplate.update("MERGE INTO customer_routing (id, name, email) KEY (id) VALUES (?, ?, ?)", id, name, email);
+    }
+
+    public boolean contains(UUID id) {
+        return !jdbcTemplate.queryForList("SELECT id FROM customer_routing WHERE id = ?", UUID.class, id).isEmpty();
+    }
+
+    public Optional<UUID> findIdByName(String name) {
+        return single(jdbcTemplate.queryForList("SELECT id FROM customer_routing WHERE name = ?", UUID.class, name));
+    }
+
+    public Optional<UUID> findIdByEmail(String email) {
+        return single(jdbcTemplate.queryForList("SELECT id FROM customer_routing WHERE email = ?", UUID.class, email));
+    }
+
+    List<UUID> idsAfter(UUID after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.queryForList("SELECT id FROM customer_routing ORDER BY id LIMIT ?", UUID.class, limit);
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM customer_routing WHERE id > ? ORDER BY id LIMIT ?", UUID.class,
+                after, limit);
+    }
+
+    public void remove(UUID id) {
+        jdbcTemplate.update("DELETE FROM customer_routing WHERE id = ?", id);
+    }
+
+    private static Optional<UUID> single(List<UUID> ids) {
+        return ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(0));
+    }
+}
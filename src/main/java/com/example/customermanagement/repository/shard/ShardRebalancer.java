@@ -0,0 +1,72 @@
+package com.example.customermanagement.repository.shard;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.customermanagement.model.Customer;
+
+/**
+ * Moves customers onto a new shard layout while the store keeps serving traffic. Each shard is
+ * walked in keyset pages; rows whose owner changes are copied to the new shard and then removed
+ * from the old one. A move that fails leaves the store routing through both layouts; running it
+ * again with the same target picks up the rows still on their old shard.
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private final ShardedCustomerStore store;
+    private final int batchSize;
+
+    public ShardRebalancer(ShardedCustomerStore store, int batchSize) {
+        this.store = store;
+        this.batchSize = batchSize;
+    }
+
+    public synchronized RebalanceReport rebalance(int targetShards) {
+        ShardRouter target = new ShardRouter(targetShards);
+        ShardRouter current = store.beginMigration(target);
+        log.info("Rebalancing customers from {} to {} shards", current.shardCount(), targetShards);
+        long started = System.nanoTime();
+
+        long scanned = 0;
+        long moved = 0;
+        try {
+            int shardsToScan = Math.max(current.shardCount(), targetShards);
+            for (int shard = 0; shard < shardsToScan; shard++) {
+                UUID after = null;
+                List<Customer> page;
+                do {
+                    page = store.scanShard(shard, after, batchSize);
+                    for (Customer customer : page) {
+                        int owner = target.shardFor(customer.getId());
+                        if (owner != shard && store.moveRow(customer, shard, owner)) {
+                            moved++;
+                        }
+                    }
+                    scanned += page.size();
+                    if (!page.isEmpty()) {
+                        after = page.get(page.size() - 1).getId();
+                    }
+                } while (page.size() == batchSize);
+                log.debug("Rebalance finished scanning shard {}", shard);
+            }
+        } catch (RuntimeException ex) {
+            // Both layouts stay live, so rows not yet moved are still found on their old shard
+            log.error("Rebalance to {} shards failed after moving {} customers; retry it to finish the move",
+                    targetShards, moved, ex);
+            throw ex;
+        }
+        store.completeMigration();
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Rebalance to {} shards complete: scanned {}, moved {} in {} ms", targetShards, scanned, moved, elapsedMillis);
+        return new RebalanceReport(current.shardCount(), targetShards, scanned, moved, elapsedMillis);
+    }
+
+    public record RebalanceReport(int fromShards, int toShards, long scanned, long moved, long elapsedMillis) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.customermanagement.repository.shard;
+
+import java.util.UUID;
+
+/**
+ * Maps a customer id to the shard that owns it. Ids are random UUIDs, but the bits are
+ * still mixed so that the low-order bits alone never decide placement.
+ */
+public final class ShardRouter {
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1, was " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardFor(UUID id) {
+        long hash = mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+        return (int) Long.remainderUnsigned(hash, shardCount);
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.customermanagement.repository.shard;
+
+import java.math.BigDecimal;
+
+public record ShardStats(int shard, long customers, BigDecimal totalAnnualSpend) {
+}
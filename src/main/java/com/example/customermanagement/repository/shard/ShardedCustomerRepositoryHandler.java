@@ -0,0 +1,79 @@
+package com.example.customermanagement.repository.shard;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+
+import com.example.customermanagement.model.Customer;
+
+/**
+ * Backs a {@code CustomerRepository} proxy with the sharded store, so the service layer keeps
+ * talking to the same repository interface. Every operation called by a bean that is active with
+ * sharding is routed; the rest of the JPA surface has no sharded equivalent and throws.
+ */
+public class ShardedCustomerRepositoryHandler implements InvocationHandler {
+
+    private final ShardedCustomerStore store;
+
+    public ShardedCustomerRepositoryHandler(ShardedCustomerStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        int arity = args == null ? 0 : args.length;
+        return switch (name) {
+            case "save" -> store.save((Customer) args[0]);
+            case "findById" -> store.findById((UUID) args[0]);
+            case "findByName" -> store.findByName((String) args[0]);
+            case "findByEmail" -> store.findByEmail((String) args[0]);
+            case "existsById" -> store.existsById((UUID) args[0]);
+            case "findAllById" -> store.findAllById(ids(args[0]));
+            case "findTierViewsByIdIn" -> store.findTierViewsByIdIn(ids(args[0]));
+            case "findByAnnualSpendNotNullOrderByAnnualSpendDesc" -> store.findTopBySpend(((Limit) args[0]).max());
+            case "deleteById" -> {
+                store.deleteById((UUID) args[0]);
+                yield null;
+            }
+            // Shard writes go straight through JDBC, there is nothing to flush
+            case "flush" -> null;
+            case "findAll" -> {
+                if (arity != 0) {
+                    throw unsupported(method);
+                }
+                yield store.findAll();
+            }
+            case "count" -> {
+                if (arity != 0) {
+                    throw unsupported(method);
+                }
+                yield store.count();
+            }
+            case "toString" -> "ShardedCustomerRepository";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw unsupported(method);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<UUID> ids(Object ids) {
+        if (ids instanceof Collection<?> collection) {
+            return (Collection<UUID>) collection;
+        }
+        List<UUID> copy = new ArrayList<>();
+        ((Iterable<UUID>) ids).forEach(copy::add);
+        return copy;
+    }
+
+    private static UnsupportedOperationException unsupported(Method method) {
+        return new UnsupportedOperationException("CustomerRepository." + method.getName()
+                + " is not supported when sharding is enabled");
+    }
+}
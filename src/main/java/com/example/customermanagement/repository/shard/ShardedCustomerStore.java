@@ -0,0 +1,433 @@
+package com.example.customermanagement.repository.shard;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerTierView;
+
+/**
+ * Customer storage hash-partitioned by id across several datasources.
+ *
+ * Point operations by id go straight to the owning shard. Name and email lookups resolve the id
+ * through the {@link CustomerRoutingIndex} kept on shard 0. Whole-table operations (list, count,
+ * stats) fan out to every shard in parallel and merge the results.
+ *
+ * While a rebalance is running two routers are live: rows are written to the new owner and reads
+ * fall back to the previous owner until the {@link ShardRebalancer} has moved them. Both layouts
+ * are recorded in shard_layout on shard 0, so a rebalance that fails or is cut off by a restart
+ * keeps both routers live until it is retried, and a restart never hashes customers with a shard
+ * count other than the one their rows were moved for.
+ *
+ * The routing index and the shards are separate datasources, so a save is two commits: the
+ * routing entry first, then the shard row. Both are keyed merges, so retrying a save that failed
+ * or was cut off in between converges on the same state. A routing entry whose shard row never
+ * made it is removed by {@link #removeOrphanedRoutes()} on startup.
+ */
+public class ShardedCustomerStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedCustomerStore.class);
+
+    private static final String SELECT_CUSTOMER = "SELECT id, name, email, annual_spend, last_purchase_date FROM customers";
+
+    private static final String MERGE_CUSTOMER = "MERGE INTO customers (id, name, email, annual_spend, last_purchase_date) "
+            + "KEY (id) VALUES (?, ?, ?, ?, ?)";
+
+    // Used by the rebalancer: never overwrite a row a concurrent writer already placed on the new shard
+    private static final String INSERT_IF_ABSENT = "INSERT INTO customers (id, name, email, annual_spend, last_purchase_date) "
+            + "SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM customers WHERE id = ?)";
+
+    static final RowMapper<Customer> CUSTOMER_ROW_MAPPER = ShardedCustomerStore::mapCustomer;
+
+    private static final int ROUTES_PER_PAGE = 1000;
+
+    private static final String SAVE_LAYOUT = "MERGE INTO shard_layout (id, active_shards, previous_shards) KEY (id) "
+            + "VALUES (1, ?, ?)";
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards;
+    private final CustomerRoutingIndex routingIndex;
+    private final ExecutorService fanOutExecutor;
+
+    private volatile ShardRouter router;
+    private volatile ShardRouter previousRouter;
+
+    public ShardedCustomerStore(List<DataSource> dataSources, int activeShards, ExecutorService fanOutExecutor) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard datasource is required");
+        }
+        if (activeShards > dataSources.size()) {
+            throw new IllegalArgumentException("activeShards (" + activeShards + ") exceeds configured shards (" + dataSources.size() + ")");
+        }
+        this.dataSources = List.copyOf(dataSources);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+        this.routingIndex = new CustomerRoutingIndex(shards.get(0));
+        this.fanOutExecutor = fanOutExecutor;
+        this.router = new ShardRouter(activeShards);
+    }
+
+    public void initializeSchema() {
+        for (JdbcTemplate shard : shards) {
+            shard.execute("CREATE TABLE IF NOT EXISTS customers ("
+                    + "id UUID PRIMARY KEY, "
+                    + "name VARCHAR(100) NOT NULL, "
+                    + "email VARCHAR(255) NOT NULL, "
+                    + "annual_spend NUMERIC(10, 2), "
+                    + "last_purchase_date DATE)");
+        }
+        routingIndex.initializeSchema();
+        shards.get(0).execute("CREATE TABLE IF NOT EXISTS shard_layout ("
+                + "id INT PRIMARY KEY, "
+                + "active_shards INT NOT NULL, "
+                + "previous_shards INT)");
+        loadLayout();
+        log.info("Initialized {} customer shards ({} active)", shards.size(), router.shardCount());
+    }
+
+    // The recorded layout wins over a silent change of configuration: rows sit where it put them
+    private void loadLayout() {
+        List<int[]> layout = shards.get(0).query("SELECT active_shards, previous_shards FROM shard_layout WHERE id = 1",
+                (rs, rowNum) -> new int[] { rs.getInt(1), rs.getObject(2) == null ? 0 : rs.getInt(2) });
+        if (layout.isEmpty()) {
+            shards.get(0).update(SAVE_LAYOUT, router.shardCount(), null);
+            return;
+        }
+        int recorded = layout.get(0)[0];
+        int previous = layout.get(0)[1];
+        if (recorded != router.shardCount()) {
+            throw new IllegalStateException("Customers are laid out across " + recorded
+                    + " shards, but app.sharding.active-shards resolves to " + router.shardCount()
+                    + "; set app.sharding.active-shards=" + recorded + " or rebalance to change the layout");
+        }
+        if (previous > 0) {
+            if (previous > shards.size()) {
+                throw new IllegalStateException("An unfinished rebalance started from " + previous
+                        + " shards, but only " + shards.size() + " are configured");
+            }
+            previousRouter = new ShardRouter(previous);
+            log.warn("A rebalance from {} to {} shards did not finish; reads fall back to the old layout until it is retried",
+                    previous, recorded);
+        }
+    }
+
+    public Customer save(Customer customer) {
+        if (customer.getId() == null) {
+            customer.setId(UUID.randomUUID());
+        }
+        UUID id = customer.getId();
+        boolean created = !routingIndex.contains(id);
+        routingIndex.register(id, customer.getName(), customer.getEmail());
+        int owner = router.shardFor(id);
+        try {
+            shards.get(owner).update(MERGE_CUSTOMER, id, customer.getName(), customer.getEmail(),
+                    customer.getAnnualSpend(), customer.getLastPurchaseDate());
+        } catch (RuntimeException ex) {
+            if (created) {
+                routingIndex.remove(id);
+            }
+            throw ex;
+        }
+        ShardRouter previous = previousRouter;
+        if (previous != null && previous.shardFor(id) != owner) {
+            shards.get(previous.shardFor(id)).update("DELETE FROM customers WHERE id = ?", id);
+        }
+        return customer;
+    }
+
+    public Optional<Customer> findById(UUID id) {
+        Optional<Customer> customer = findOnShard(router.shardFor(id), id);
+        ShardRouter previous = previousRouter;
+        if (customer.isEmpty() && previous != null) {
+            return findOnShard(previous.shardFor(id), id);
+        }
+        return customer;
+    }
+
+    public Optional<Customer> findByName(String name) {
+        return routingIndex.findIdByName(name).flatMap(this::findById);
+    }
+
+    public Optional<Customer> findByEmail(String email) {
+        return routingIndex.findIdByEmail(email).flatMap(this::findById);
+    }
+
+    /**
+     * Loads the given customers with one query per owning shard. During a rebalance, ids not yet
+     * found on their new owner are looked up on the previous one.
+     */
+    public List<Customer> findAllById(Collection<UUID> ids) {
+        List<Customer> found = findOnOwners(router, ids);
+        ShardRouter previous = previousRouter;
+        if (previous != null && found.size() < ids.size()) {
+            Set<UUID> missing = new HashSet<>(ids);
+            found.forEach(customer -> missing.remove(customer.getId()));
+            found = new ArrayList<>(found);
+            found.addAll(findOnOwners(previous, missing));
+        }
+        return found;
+    }
+
+    public List<CustomerTierView> findTierViewsByIdIn(Collection<UUID> ids) {
+        return findAllById(ids).stream()
+                .map(c -> (CustomerTierView) new TierView(c.getId(), c.getAnnualSpend(), c.getLastPurchaseDate()))
+                .toList();
+    }
+
+    // Top of each shard, merged: the global top n is always within the union of the per-shard top n
+    public List<Customer> findTopBySpend(int limit) {
+        List<List<Customer>> perShard = scatter(shard -> shard.query(SELECT_CUSTOMER
+                + " WHERE annual_spend IS NOT NULL ORDER BY annual_spend DESC LIMIT ?", CUSTOMER_ROW_MAPPER, limit));
+        Map<UUID, Customer> merged = new LinkedHashMap<>();
+        perShard.forEach(customers -> customers.forEach(c -> merged.putIfAbsent(c.getId(), c)));
+        return merged.values().stream()
+                .sorted(Comparator.comparing(Customer::getAnnualSpend).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public boolean existsById(UUID id) {
+        return routingIndex.contains(id);
+    }
+
+    public void deleteById(UUID id) {
+        shards.get(router.shardFor(id)).update("DELETE FROM customers WHERE id = ?", id);
+        ShardRouter previous = previousRouter;
+        if (previous != null) {
+            shards.get(previous.shardFor(id)).update("DELETE FROM customers WHERE id = ?", id);
+        }
+        routingIndex.remove(id);
+    }
+
+    public List<Customer> findAll() {
+        List<List<Customer>> perShard = scatter(shard -> shard.query(SELECT_CUSTOMER, CUSTOMER_ROW_MAPPER));
+        if (previousRouter == null) {
+            return perShard.stream().flatMap(List::stream).toList();
+        }
+        // A row being moved can briefly exist on both shards
+        Map<UUID, Customer> merged = new LinkedHashMap<>();
+        perShard.forEach(customers -> customers.forEach(c -> merged.putIfAbsent(c.getId(), c)));
+        return new ArrayList<>(merged.values());
+    }
+
+    public long count() {
+        if (previousRouter != null) {
+            return findAll().size();
+        }
+        return scatter(shard -> shard.queryForObject("SELECT COUNT(*) FROM customers", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Deletes routing entries that have no customer row on any shard, left behind when a save
+     * was cut off between its routing and shard writes. Run before traffic is served: a create
+     * in flight looks exactly like an orphan.
+     */
+    public int removeOrphanedRoutes() {
+        int removed = 0;
+        UUID after = null;
+        while (true) {
+            List<UUID> page = routingIndex.idsAfter(after, ROUTES_PER_PAGE);
+            if (page.isEmpty()) {
+                return removed;
+            }
+            Set<UUID> orphans = new HashSet<>(page);
+            findAllById(page).forEach(customer -> orphans.remove(customer.getId()));
+            for (UUID id : orphans) {
+                routingIndex.remove(id);
+                removed++;
+            }
+            after = page.get(page.size() - 1);
+        }
+    }
+
+    public List<ShardStats> stats() {
+        List<JdbcTemplate> targets = shardsInUse();
+        List<CompletableFuture<ShardStats>> futures = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            int shard = i;
+            JdbcTemplate jdbc = targets.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> jdbc.queryForObject(
+                    "SELECT COUNT(*), COALESCE(SUM(annual_spend), 0) FROM customers",
+                    (rs, rowNum) -> new ShardStats(shard, rs.getLong(1), rs.getBigDecimal(2))), fanOutExecutor));
+        }
+        return joinAll(futures);
+    }
+
+    @Override
+    public void close() {
+        fanOutExecutor.shutdown();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close shard datasource: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+    // --- rebalancing support, used by ShardRebalancer ---
+
+    int configuredShards() {
+        return shards.size();
+    }
+
+    ShardRouter router() {
+        return router;
+    }
+
+    CustomerRoutingIndex routingIndex() {
+        return routingIndex;
+    }
+
+    /**
+     * Switches writes to {@code target} and returns the layout rows are moved from. A migration
+     * left unfinished can only be resumed, by passing the same target again.
+     */
+    synchronized ShardRouter beginMigration(ShardRouter target) {
+        if (previousRouter != null) {
+            if (target.shardCount() != router.shardCount()) {
+                throw new IllegalStateException("The rebalance from " + previousRouter.shardCount() + " to "
+                        + router.shardCount() + " shards has not finished; retry it before changing the layout again");
+            }
+            return previousRouter;
+        }
+        if (target.shardCount() > shards.size()) {
+            throw new IllegalArgumentException("Cannot rebalance onto " + target.shardCount()
+                    + " shards; only " + shards.size() + " are configured");
+        }
+        // Recorded first, so a restart in the middle of the move comes back with both layouts
+        shards.get(0).update(SAVE_LAYOUT, target.shardCount(), router.shardCount());
+        previousRouter = router;
+        router = target;
+        return previousRouter;
+    }
+
+    synchronized void completeMigration() {
+        shards.get(0).update(SAVE_LAYOUT, router.shardCount(), null);
+        previousRouter = null;
+    }
+
+    List<Customer> scanShard(int shard, UUID after, int limit) {
+        if (after == null) {
+            return shards.get(shard).query(SELECT_CUSTOMER + " ORDER BY id LIMIT ?", CUSTOMER_ROW_MAPPER, limit);
+        }
+        return shards.get(shard).query(SELECT_CUSTOMER + " WHERE id > ? ORDER BY id LIMIT ?", CUSTOMER_ROW_MAPPER, after, limit);
+    }
+
+    /**
+     * Copies a row to its new shard and removes it from the old one. Returns false if the row
+     * was concurrently deleted and should not be counted as moved.
+     */
+    boolean moveRow(Customer customer, int from, int to) {
+        UUID id = customer.getId();
+        shards.get(to).update(INSERT_IF_ABSENT, id, customer.getName(), customer.getEmail(),
+                customer.getAnnualSpend(), customer.getLastPurchaseDate(), id);
+        shards.get(from).update("DELETE FROM customers WHERE id = ?", id);
+        if (!routingIndex.contains(id)) {
+            // Deleted while we were copying it; don't resurrect it on the new shard
+            shards.get(to).update("DELETE FROM customers WHERE id = ?", id);
+            return false;
+        }
+        return true;
+    }
+
+    private List<Customer> findOnOwners(ShardRouter owners, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, List<UUID>> byShard = new HashMap<>();
+        for (UUID id : ids) {
+            byShard.computeIfAbsent(owners.shardFor(id), shard -> new ArrayList<>()).add(id);
+        }
+        List<CompletableFuture<List<Customer>>> futures = byShard.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> shards.get(entry.getKey()).query(
+                        SELECT_CUSTOMER + " WHERE id IN (" + String.join(", ", Collections.nCopies(entry.getValue().size(), "?")) + ")",
+                        CUSTOMER_ROW_MAPPER, entry.getValue().toArray()), fanOutExecutor))
+                .toList();
+        return joinAll(futures).stream().flatMap(List::stream).toList();
+    }
+
+    private Optional<Customer> findOnShard(int shard, UUID id) {
+        List<Customer> rows = shards.get(shard).query(SELECT_CUSTOMER + " WHERE id = ?", CUSTOMER_ROW_MAPPER, id);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private List<JdbcTemplate> shardsInUse() {
+        ShardRouter previous = previousRouter;
+        int inUse = previous == null ? router.shardCount() : Math.max(router.shardCount(), previous.shardCount());
+        return shards.subList(0, inUse);
+    }
+
+    private <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = shardsInUse().stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), fanOutExecutor))
+                .toList();
+        return joinAll(futures);
+    }
+
+    private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Customer mapCustomer(ResultSet rs, int rowNum) throws SQLException {
+        Customer customer = new Customer(
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getBigDecimal("annual_spend"),
+                rs.getObject("last_purchase_date", LocalDate.class));
+        customer.setId(rs.getObject("id", UUID.class));
+        return customer;
+    }
+
+    private record TierView(UUID id, BigDecimal annualSpend, LocalDate lastPurchaseDate) implements CustomerTierView {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public BigDecimal getAnnualSpend() {
+            return annualSpend;
+        }
+
+        @Override
+        public LocalDate getLastPurchaseDate() {
+            return lastPurchaseDate;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.dto.ChangeFeedResponse;
+
+public interface ChangeFeedService {
+
+    ChangeFeedResponse readChanges(long since, Integer limit);
+}
@@ -0,0 +1,8 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.dto.CustomerSearchResponse;
+
+public interface CustomerSearchService {
+
+    CustomerSearchResponse search(String query, Integer limit);
+}
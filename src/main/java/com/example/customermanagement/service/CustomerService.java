@@ -2,6 +2,7 @@ package com.example.customermanagement.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Optional;
 import java.util.UUID;
 
 import com.example.customermanagement.dto.CustomerRequest;
@@ -12,10 +13,25 @@ public interface CustomerService {
 
     Tier calculateTier(BigDecimal annualSpend, LocalDate lastPurchaseDate);
 
+    // Minimum annual spend for a tier, or null if the tier has no spend requirement
+    BigDecimal spendThreshold(Tier tier);
+
+    // Months a tier holds after the last purchase, or null if the tier does not lapse
+    Integer recencyMonths(Tier tier);
+
+    // Tier of customers no rule matches and of customers with incomplete data
+    Tier defaultTier();
+
     CustomerResponse createCustomer(CustomerRequest customerRequest);
     CustomerResponse getCustomerById(UUID id);
     CustomerResponse getCustomerByName(String name);
     CustomerResponse getCustomerByEmail(String email);
+
+    // Variants for callers that treat absence as a normal outcome rather than an error
+    Optional<CustomerResponse> findCustomerById(UUID id);
+    Optional<CustomerResponse> findCustomerByName(String name);
+    Optional<CustomerResponse> findCustomerByEmail(String email);
+
     CustomerResponse updateCustomer(UUID id, CustomerRequest customerRequest);
     void deleteCustomer(UUID id);
 }
@@ -0,0 +1,21 @@
+package com.example.customermanagement.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.WriteStatusResponse;
+import com.example.customermanagement.service.write.PendingWrite;
+
+public interface CustomerWriteService {
+
+    // Queue the write for the next group commit; rejected with 503 when the queue is full
+    PendingWrite submitCreate(CustomerRequest customerRequest);
+
+    PendingWrite submitUpdate(UUID id, CustomerRequest customerRequest);
+
+    // Keeps the write's outcome available through status() and returns its current state
+    WriteStatusResponse track(PendingWrite write);
+
+    Optional<WriteStatusResponse> status(UUID ticket);
+}
@@ -0,0 +1,16 @@
+package com.example.customermanagement.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+public interface ExportService {
+
+    // The current columnar export, rebuilt first if it is older than app.export.max-age
+    ExportFile columnar();
+
+    // Builds a new columnar export regardless of the age of the current one
+    ExportFile rebuildColumnar();
+
+    record ExportFile(Path path, int rows, long bytes, Instant createdAt) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.customermanagement.service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.example.customermanagement.service.purchase.PendingPurchase;
+
+public interface PurchaseLedgerService {
+
+    // Trailing twelve-month spend, or empty if the customer has no ledger history
+    Optional<BigDecimal> trailingTwelveMonthSpend(UUID customerId);
+
+    // Books flushed purchases into the ledger table and refreshes annual_spend, inside the caller's transaction
+    void book(Map<UUID, PendingPurchase> purchases);
+
+    // Applies booked purchases to the in-memory totals once the flush has committed
+    void applyBooked(Map<UUID, PendingPurchase> purchases);
+
+    // First epoch month inside the trailing window
+    int windowStartMonth();
+
+    void removeCustomer(UUID customerId);
+
+    int ageOutExpiredMonths();
+
+    // Reloads the in-memory totals from the ledger table, e.g. after a snapshot restore has refilled it
+    void rebuild();
+}
@@ -0,0 +1,12 @@
+package com.example.customermanagement.service;
+
+import java.util.UUID;
+
+import com.example.customermanagement.dto.PurchaseEventRequest;
+
+public interface PurchaseService {
+
+    void recordPurchase(UUID customerId, PurchaseEventRequest purchaseEventRequest);
+
+    int flush();
+}
@@ -0,0 +1,12 @@
+package com.example.customermanagement.service;
+
+import java.math.BigDecimal;
+
+import com.example.customermanagement.dto.SegmentResponse;
+import com.example.customermanagement.enums.Tier;
+
+public interface SegmentService {
+
+    SegmentResponse findSegment(BigDecimal minSpend, BigDecimal maxSpend, Integer purchasedWithinDays, Tier tier,
+            Integer limit);
+}
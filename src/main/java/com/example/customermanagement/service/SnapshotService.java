@@ -0,0 +1,21 @@
+package com.example.customermanagement.service;
+
+import java.time.Instant;
+
+public interface SnapshotService {
+
+    // Dumps the customers table and the purchase ledger to the snapshot file
+    Report snapshot();
+
+    // Loads the snapshot file into the customers table and the purchase ledger, which must both be empty
+    Report restore();
+
+    Status status();
+
+    record Report(int rows, int ledgerRows, long bytes, long millis, Instant completedAt) {
+    }
+
+    record Status(String file, boolean exists, Integer rows, Integer ledgerRows, Long bytes, Instant createdAt,
+            Report lastSnapshot, Report lastRestore) {
+    }
+}
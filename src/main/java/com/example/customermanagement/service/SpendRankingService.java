@@ -0,0 +1,15 @@
+package com.example.customermanagement.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.example.customermanagement.dto.NearThresholdResponse;
+import com.example.customermanagement.dto.RankedCustomerResponse;
+import com.example.customermanagement.enums.Tier;
+
+public interface SpendRankingService {
+
+    List<RankedCustomerResponse> topSpenders(Integer limit);
+
+    NearThresholdResponse nearThreshold(Tier targetTier, BigDecimal within, Tier currentTier, Integer limit);
+}
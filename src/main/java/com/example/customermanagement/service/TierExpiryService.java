@@ -0,0 +1,11 @@
+package com.example.customermanagement.service;
+
+import com.example.customermanagement.dto.TierExpiringResponse;
+
+public interface TierExpiryService {
+
+    TierExpiringResponse findExpiring(int withinDays, String cursor, Integer limit);
+
+    // Publishes tier changes for customers whose drop date has arrived; returns how many changed
+    int expireDue();
+}
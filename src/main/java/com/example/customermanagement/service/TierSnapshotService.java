@@ -0,0 +1,28 @@
+package com.example.customermanagement.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface TierSnapshotService {
+
+    // Finishes earlier days left incomplete, then writes today's tier of every customer to tier_history,
+    // resuming the ranges an earlier run left unfinished. Returns today's report.
+    Report snapshot();
+
+    // Progress of the most recent snapshot
+    Status status();
+
+    record Report(LocalDate snapshotDate, int ranges, int completedRanges, int failedRanges, long rows, long millis,
+            Instant finishedAt) {
+    }
+
+    record RangeProgress(int range, UUID lowerId, UUID upperId, UUID lastId, long rows, Instant completedAt) {
+    }
+
+    // incompleteDates lists earlier days with ranges still to resume
+    record Status(LocalDate snapshotDate, int ranges, int completedRanges, long rows, List<RangeProgress> progress,
+            List<LocalDate> incompleteDates, Report lastRun) {
+    }
+}
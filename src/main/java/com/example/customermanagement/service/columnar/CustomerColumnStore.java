@@ -0,0 +1,376 @@
+package com.example.customermanagement.service.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.example.customermanagement.enums.Tier;
+
+/**
+ * Off-heap, column-oriented copy of the customer fields segment queries filter on: annual spend
+ * in cents, last purchase as an epoch day and the tier ordinal, one direct buffer per column. Rows
+ * stay dense (a delete moves the last row into the hole), so a scan is a walk over primitive
+ * columns that creates no object per row.
+ *
+ * Ids are kept as two long columns and resolved to rows through an open-addressing table with
+ * linear probing that is off-heap as well and stores only row numbers.
+ *
+ * Writes take the write lock for a single row; scans hold the read lock while a fork-join pool
+ * splits the rows into chunks.
+ */
+public class CustomerColumnStore {
+
+    public static final long NULL_SPEND = Long.MIN_VALUE;
+    public static final int NULL_DAY = Integer.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 1024;
+    private static final int SCAN_CHUNK = 1 << 16;
+    private static final Tier[] TIERS = Tier.values();
+
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(UUID id, long spendCents, int epochDay, Tier tier);
+    }
+
+    @FunctionalInterface
+    public interface TierFunction {
+        Tier tierOf(long spendCents, int epochDay);
+    }
+
+    // scanned is the number of rows in the store when the scan ran
+    public record SegmentResult(long scanned, long count, long spendCents, List<UUID> ids) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int capacity;
+    private LongBuffer idMsb;
+    private LongBuffer idLsb;
+    private LongBuffer spend;
+    private IntBuffer days;
+    private ByteBuffer tiers;
+    // Row + 1 per slot, 0 for an empty slot
+    private IntBuffer slots;
+    private int slotMask;
+
+    public CustomerColumnStore() {
+        this(MIN_CAPACITY);
+    }
+
+    public CustomerColumnStore(int initialCapacity) {
+        allocate(Math.max(MIN_CAPACITY, initialCapacity));
+    }
+
+    public void upsert(UUID id, long spendCents, int epochDay, Tier tier) {
+        lock.writeLock().lock();
+        try {
+            put(id.getMostSignificantBits(), id.getLeastSignificantBits(), spendCents, epochDay, tier);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot < 0) {
+                return false;
+            }
+            int row = slots.get(slot) - 1;
+            int last = size - 1;
+            if (row != last) {
+                slots.put(find(idMsb.get(last), idLsb.get(last)), row + 1);
+                idMsb.put(row, idMsb.get(last));
+                idLsb.put(row, idLsb.get(last));
+                spend.put(row, spend.get(last));
+                days.put(row, days.get(last));
+                tiers.put(row, tiers.get(last));
+            }
+            size--;
+            deleteSlot(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with the rows {@code source} feeds to its sink. Writers wait until the
+     * load is complete, so no change can be overwritten by an older loaded row.
+     */
+    public void replaceAll(Consumer<RowSink> source) {
+        replaceAll(0, source);
+    }
+
+    /**
+     * Like {@link #replaceAll(Consumer)}, but first sizes the columns for {@code expectedRows} plus
+     * an eighth of headroom. The old buffers are dropped before the new ones are allocated, so the
+     * load never holds two copies of the columns the way {@link #grow()} does.
+     */
+    public void replaceAll(int expectedRows, Consumer<RowSink> source) {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            int wanted = Math.max(MIN_CAPACITY, expectedRows + expectedRows / 8);
+            if (wanted > capacity || wanted < capacity / 2) {
+                release();
+                allocate(wanted);
+            } else {
+                for (int i = 0; i <= slotMask; i++) {
+                    slots.put(i, 0);
+                }
+            }
+            source.accept((id, spendCents, epochDay, tier) ->
+                    put(id.getMostSignificantBits(), id.getLeastSignificantBits(), spendCents, epochDay, tier));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recomputes the tier column in chunks, releasing the write lock between them. A row moved by a
+     * concurrent delete can be skipped; it keeps its previous tier until it changes again.
+     */
+    public void recomputeTiers(TierFunction function) {
+        for (int from = 0;; from += SCAN_CHUNK) {
+            lock.writeLock().lock();
+            try {
+                if (from >= size) {
+                    return;
+                }
+                int to = Math.min(size, from + SCAN_CHUNK);
+                for (int row = from; row < to; row++) {
+                    tiers.put(row, (byte) function.tierOf(spend.get(row), days.get(row)).ordinal());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Counts and sums the rows matching {@code filter} and returns the ids of up to {@code limit}
+     * of them.
+     */
+    public SegmentResult scan(SegmentFilter filter, int limit, ForkJoinPool pool) {
+        lock.readLock().lock();
+        try {
+            Partial partial = pool.invoke(new ScanTask(filter, limit, 0, size));
+            List<UUID> ids = new ArrayList<>(partial.rowCount);
+            for (int i = 0; i < partial.rowCount; i++) {
+                int row = partial.rows[i];
+                ids.add(new UUID(idMsb.get(row), idLsb.get(row)));
+            }
+            return new SegmentResult(size, partial.count, partial.spendCents, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Tier tierOf(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return slot < 0 ? null : TIERS[tiers.get(slots.get(slot) - 1)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Direct memory held by the columns and the id table
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) capacity * (Long.BYTES * 3 + Integer.BYTES + 1) + (long) (slotMask + 1) * Integer.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(long msb, long lsb, long spendCents, int epochDay, Tier tier) {
+        int slot = find(msb, lsb);
+        int row;
+        if (slot >= 0) {
+            row = slots.get(slot) - 1;
+        } else {
+            if (size == capacity) {
+                grow();
+                slot = find(msb, lsb);
+            }
+            row = size++;
+            idMsb.put(row, msb);
+            idLsb.put(row, lsb);
+            slots.put(~slot, row + 1);
+        }
+        spend.put(row, spendCents);
+        days.put(row, epochDay);
+        tiers.put(row, (byte) tier.ordinal());
+    }
+
+    // Slot holding the id, or ~(free slot it would go into)
+    private int find(long msb, long lsb) {
+        int slot = hash(msb, lsb) & slotMask;
+        while (true) {
+            int entry = slots.get(slot);
+            if (entry == 0) {
+                return ~slot;
+            }
+            if (idMsb.get(entry - 1) == msb && idLsb.get(entry - 1) == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    // Backward-shift deletion keeps probe sequences intact without tombstones
+    private void deleteSlot(int hole) {
+        int slot = (hole + 1) & slotMask;
+        while (true) {
+            int entry = slots.get(slot);
+            if (entry == 0) {
+                break;
+            }
+            int home = hash(idMsb.get(entry - 1), idLsb.get(entry - 1)) & slotMask;
+            boolean movable = hole <= slot ? (home <= hole || home > slot) : (home <= hole && home > slot);
+            if (movable) {
+                slots.put(hole, entry);
+                hole = slot;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        slots.put(hole, 0);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 29));
+    }
+
+    private void grow() {
+        LongBuffer oldMsb = idMsb;
+        LongBuffer oldLsb = idLsb;
+        LongBuffer oldSpend = spend;
+        IntBuffer oldDays = days;
+        ByteBuffer oldTiers = tiers;
+        allocate(capacity * 2);
+        idMsb.put(0, oldMsb, 0, size);
+        idLsb.put(0, oldLsb, 0, size);
+        spend.put(0, oldSpend, 0, size);
+        days.put(0, oldDays, 0, size);
+        tiers.put(0, oldTiers, 0, size);
+        for (int row = 0; row < size; row++) {
+            slots.put(~find(idMsb.get(row), idLsb.get(row)), row + 1);
+        }
+    }
+
+    private void release() {
+        idMsb = null;
+        idLsb = null;
+        spend = null;
+        days = null;
+        tiers = null;
+        slots = null;
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        idMsb = direct(newCapacity * Long.BYTES).asLongBuffer();
+        idLsb = direct(newCapacity * Long.BYTES).asLongBuffer();
+        spend = direct(newCapacity * Long.BYTES).asLongBuffer();
+        days = direct(newCapacity * Integer.BYTES).asIntBuffer();
+        tiers = direct(newCapacity);
+        // Power of two with at least half again as many slots as rows, so the table stays under 2/3 full
+        int slotCount = Integer.highestOneBit(newCapacity + newCapacity / 2 - 1) << 1;
+        slots = direct(slotCount * Integer.BYTES).asIntBuffer();
+        slotMask = slotCount - 1;
+    }
+
+    private static ByteBuffer direct(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private record Partial(long count, long spendCents, int[] rows, int rowCount) {
+
+        Partial merge(Partial other, int limit) {
+            int take = Math.min(other.rowCount, limit - rowCount);
+            int[] merged = rows;
+            if (take > 0) {
+                merged = Arrays.copyOf(rows, rowCount + take);
+                System.arraycopy(other.rows, 0, merged, rowCount, take);
+            }
+            return new Partial(count + other.count, spendCents + other.spendCents, merged, rowCount + Math.max(0, take));
+        }
+    }
+
+    private final class ScanTask extends RecursiveTask<Partial> {
+
+        private final SegmentFilter filter;
+        private final int limit;
+        private final int from;
+        private final int to;
+
+        ScanTask(SegmentFilter filter, int limit, int from, int to) {
+            this.filter = filter;
+            this.limit = limit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > SCAN_CHUNK) {
+                int middle = (from + to) >>> 1;
+                ScanTask right = new ScanTask(filter, limit, middle, to);
+                right.fork();
+                Partial left = new ScanTask(filter, limit, from, middle).compute();
+                return left.merge(right.join(), limit);
+            }
+            // Filter bounds in locals and non-short-circuit tests keep the loop free of
+            // data-dependent branches except for the rare id capture
+            long minSpend = filter.minSpendCents();
+            long maxSpend = filter.maxSpendCents();
+            int minDay = filter.minEpochDay();
+            int maxDay = filter.maxEpochDay();
+            int tierMask = filter.tierMask();
+            long count = 0;
+            long spendCents = 0;
+            int[] rows = new int[Math.min(limit, 16)];
+            int rowCount = 0;
+            for (int row = from; row < to; row++) {
+                long cents = spend.get(row);
+                int day = days.get(row);
+                boolean match = cents >= minSpend & cents <= maxSpend & day >= minDay & day <= maxDay
+                        & ((tierMask >>> tiers.get(row)) & 1) != 0;
+                count += match ? 1 : 0;
+                spendCents += match & cents != NULL_SPEND ? cents : 0;
+                if (match && rowCount < limit) {
+                    if (rowCount == rows.length) {
+                        rows = Arrays.copyOf(rows, Math.min(limit, rows.length * 2));
+                    }
+                    rows[rowCount++] = row;
+                }
+            }
+            return new Partial(count, spendCents, rows, rowCount);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.customermanagement.service.columnar;
+
+import com.example.customermanagement.enums.Tier;
+
+/**
+ * Conjunction of the predicates a segment scan applies per row, as inclusive ranges. The null
+ * markers are the minimum values of their columns and bounded ranges start above them, so a bounded
+ * column never matches a null while an unbounded one matches everything.
+ */
+public record SegmentFilter(long minSpendCents, long maxSpendCents, int minEpochDay, int maxEpochDay, int tierMask) {
+
+    private static final int ALL_TIERS = (1 << Tier.values().length) - 1;
+
+    public static SegmentFilter all() {
+        return new SegmentFilter(Long.MIN_VALUE, Long.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, ALL_TIERS);
+    }
+
+    public SegmentFilter spendBetween(long minCents, long maxCents) {
+        return new SegmentFilter(Math.max(minCents, CustomerColumnStore.NULL_SPEND + 1), maxCents, minEpochDay,
+                maxEpochDay, tierMask);
+    }
+
+    public SegmentFilter purchasedBetween(int firstEpochDay, int lastEpochDay) {
+        return new SegmentFilter(minSpendCents, maxSpendCents, Math.max(firstEpochDay, CustomerColumnStore.NULL_DAY + 1),
+                lastEpochDay, tierMask);
+    }
+
+    public SegmentFilter tier(Tier tier) {
+        return new SegmentFilter(minSpendCents, maxSpendCents, minEpochDay, maxEpochDay, 1 << tier.ordinal());
+    }
+
+    boolean matches(long spendCents, int epochDay, byte tier) {
+        return spendCents >= minSpendCents && spendCents <= maxSpendCents && epochDay >= minEpochDay
+                && epochDay <= maxEpochDay && (tierMask & (1 << tier)) != 0;
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.customermanagement.service.directory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * Customers packed into primitive arrays instead of one object graph each. A customer is a slot:
+ * its id as two longs, spend in cents, last purchase as an epoch day, and the offset and lengths
+ * of its name and email, stored back to back as UTF-8 in one shared byte arena. Ids are found
+ * through an open-addressing table of slot numbers that hashes and compares the id longs in place,
+ * so no UUID, String, BigDecimal or LocalDate objects are held. About 44 bytes per customer plus
+ * the UTF-8 text, against 300 and more for a HashMap of entity-like objects.
+ *
+ * Slots are handed out in order and never reused: a customer that is replaced or removed leaves a
+ * dead slot and dead text behind, and {@link #compact()} copies the live customers into a new
+ * directory. Not thread-safe; callers guard it with their own lock.
+ */
+public final class CustomerDirectory {
+
+    public static final long NO_SPEND = Long.MIN_VALUE;
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int MAX_TEXT_BYTES = 0xFFFF;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] mostSignificant;
+    private long[] leastSignificant;
+    private long[] spendCents;
+    private int[] epochDays;
+    private int[] textOffsets;
+    // Name length in the high 16 bits, email length in the low 16; 0xFFFF marks a null text
+    private int[] textLengths;
+    private byte[] arena;
+    private int arenaSize;
+    private int slots;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+    private long deadTextBytes;
+    // Slot + 1 per bucket, 0 for empty
+    private int[] table;
+    private int tableMask;
+
+    public CustomerDirectory() {
+        this(1024);
+    }
+
+    public CustomerDirectory(int expectedCustomers) {
+        int capacity = Math.max(16, expectedCustomers);
+        mostSignificant = new long[capacity];
+        leastSignificant = new long[capacity];
+        spendCents = new long[capacity];
+        epochDays = new int[capacity];
+        textOffsets = new int[capacity];
+        textLengths = new int[capacity];
+        arena = new byte[capacity * 32];
+        table = new int[tableSize(capacity)];
+        tableMask = table.length - 1;
+    }
+
+    /**
+     * Adds the customer, replacing any earlier one with the same id, and returns its slot.
+     */
+    public int put(UUID id, String name, String email, BigDecimal annualSpend, LocalDate lastPurchaseDate) {
+        return put(id, name, email, annualSpend == null ? NO_SPEND
+                        : annualSpend.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact(),
+                lastPurchaseDate == null ? NO_DATE : Math.toIntExact(lastPurchaseDate.toEpochDay()));
+    }
+
+    public int put(UUID id, String name, String email, long annualSpendCents, int lastPurchaseEpochDay) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int previous = find(msb, lsb);
+        if (previous >= 0) {
+            remove(previous);
+        }
+        int slot = slots;
+        if (slot == mostSignificant.length) {
+            growSlots();
+        }
+        byte[] nameBytes = utf8(name);
+        byte[] emailBytes = utf8(email);
+        int nameLength = nameBytes == null ? 0 : nameBytes.length;
+        int emailLength = emailBytes == null ? 0 : emailBytes.length;
+        ensureArena(nameLength + emailLength);
+        textOffsets[slot] = arenaSize;
+        if (nameBytes != null) {
+            System.arraycopy(nameBytes, 0, arena, arenaSize, nameLength);
+            arenaSize += nameLength;
+        }
+        if (emailBytes != null) {
+            System.arraycopy(emailBytes, 0, arena, arenaSize, emailLength);
+            arenaSize += emailLength;
+        }
+        textLengths[slot] = (nameBytes == null ? 0xFFFF : nameLength) << 16 | (emailBytes == null ? 0xFFFF : emailLength);
+        mostSignificant[slot] = msb;
+        leastSignificant[slot] = lsb;
+        spendCents[slot] = annualSpendCents;
+        epochDays[slot] = lastPurchaseEpochDay;
+        slots++;
+        if (slots - removedCount > table.length * LOAD_FACTOR) {
+            rehash(tableSize((slots - removedCount) * 2));
+        }
+        insert(slot);
+        return slot;
+    }
+
+    /**
+     * Removes the customer and returns the slot it held, or -1 if it was not present.
+     */
+    public int remove(UUID id) {
+        int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot >= 0) {
+            remove(slot);
+        }
+        return slot;
+    }
+
+    // Slot of the live customer with this id, or -1
+    public int slotOf(UUID id) {
+        return find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    public boolean isLive(int slot) {
+        return slot >= 0 && slot < slots && !removed.get(slot);
+    }
+
+    public UUID id(int slot) {
+        return new UUID(mostSignificant[slot], leastSignificant[slot]);
+    }
+
+    public boolean hasId(int slot, UUID id) {
+        return mostSignificant[slot] == id.getMostSignificantBits() && leastSignificant[slot] == id.getLeastSignificantBits();
+    }
+
+    public String name(int slot) {
+        int length = nameLength(slot);
+        return length < 0 ? null : new String(arena, textOffsets[slot], length, StandardCharsets.UTF_8);
+    }
+
+    public String email(int slot) {
+        int length = emailLength(slot);
+        return length < 0 ? null : new String(arena, textOffsets[slot] + Math.max(0, nameLength(slot)), length,
+                StandardCharsets.UTF_8);
+    }
+
+    // Decodes the name into a reusable buffer, so a scan over many customers allocates nothing for ASCII text
+    public Text name(int slot, Text into) {
+        return into.decode(arena, textOffsets[slot], nameLength(slot));
+    }
+
+    public Text email(int slot, Text into) {
+        return into.decode(arena, textOffsets[slot] + Math.max(0, nameLength(slot)), emailLength(slot));
+    }
+
+    public long spendCents(int slot) {
+        return spendCents[slot];
+    }
+
+    public int lastPurchaseEpochDay(int slot) {
+        return epochDays[slot];
+    }
+
+    // Live customers
+    public int size() {
+        return slots - removedCount;
+    }
+
+    // Slots handed out so far, live or not; valid slots are below this
+    public int slots() {
+        return slots;
+    }
+
+    public int removedCount() {
+        return removedCount;
+    }
+
+    /**
+     * Live customers copied into a new directory in slot order, without dead slots or text. Slot
+     * numbers change; a caller that keys other state by slot must renumber it the same way.
+     */
+    public CustomerDirectory compact() {
+        CustomerDirectory compacted = new CustomerDirectory(size());
+        compacted.ensureArena((int) (arenaSize - deadTextBytes));
+        for (int slot = removed.nextClearBit(0); slot < slots; slot = removed.nextClearBit(slot + 1)) {
+            compacted.copyFrom(this, slot);
+        }
+        return compacted;
+    }
+
+    /**
+     * Bytes held by the arrays, the arena and the table, counting unused capacity and array headers.
+     */
+    public long footprintBytes() {
+        long bytes = 0;
+        bytes += arrayBytes(mostSignificant.length, 8) * 3;
+        bytes += arrayBytes(epochDays.length, 4) * 3;
+        bytes += arrayBytes(arena.length, 1);
+        bytes += arrayBytes(table.length, 4);
+        bytes += removed.size() / 8;
+        return bytes;
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return 16 + (long) length * elementBytes;
+    }
+
+    private void copyFrom(CustomerDirectory source, int sourceSlot) {
+        int slot = slots++;
+        int nameLength = Math.max(0, source.nameLength(sourceSlot));
+        int emailLength = Math.max(0, source.emailLength(sourceSlot));
+        System.arraycopy(source.arena, source.textOffsets[sourceSlot], arena, arenaSize, nameLength + emailLength);
+        textOffsets[slot] = arenaSize;
+        arenaSize += nameLength + emailLength;
+        textLengths[slot] = source.textLengths[sourceSlot];
+        mostSignificant[slot] = source.mostSignificant[sourceSlot];
+        leastSignificant[slot] = source.leastSignificant[sourceSlot];
+        spendCents[slot] = source.spendCents[sourceSlot];
+        epochDays[slot] = source.epochDays[sourceSlot];
+        insert(slot);
+    }
+
+    private int nameLength(int slot) {
+        int length = textLengths[slot] >>> 16;
+        return length == 0xFFFF ? -1 : length;
+    }
+
+    private int emailLength(int slot) {
+        int length = textLengths[slot] & 0xFFFF;
+        return length == 0xFFFF ? -1 : length;
+    }
+
+    private void remove(int slot) {
+        removed.set(slot);
+        removedCount++;
+        deadTextBytes += Math.max(0, nameLength(slot)) + Math.max(0, emailLength(slot));
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int bucket = bucketOf(slot);
+        int next = (bucket + 1) & tableMask;
+        while (table[next] != 0) {
+            int ideal = hash(mostSignificant[table[next] - 1], leastSignificant[table[next] - 1]) & tableMask;
+            // Move the entry back if bucket lies on its probe path from ideal to next
+            if (((next - ideal) & tableMask) >= ((next - bucket) & tableMask)) {
+                table[bucket] = table[next];
+                bucket = next;
+            }
+            next = (next + 1) & tableMask;
+        }
+        table[bucket] = 0;
+    }
+
+    private int bucketOf(int slot) {
+        int bucket = hash(mostSignificant[slot], leastSignificant[slot]) & tableMask;
+        while (table[bucket] != slot + 1) {
+            bucket = (bucket + 1) & tableMask;
+        }
+        return bucket;
+    }
+
+    private int find(long msb, long lsb) {
+        int bucket = hash(msb, lsb) & tableMask;
+        for (int entry = table[bucket]; entry != 0; entry = table[bucket]) {
+            if (mostSignificant[entry - 1] == msb && leastSignificant[entry - 1] == lsb) {
+                return entry - 1;
+            }
+            bucket = (bucket + 1) & tableMask;
+        }
+        return -1;
+    }
+
+    private void insert(int slot) {
+        int bucket = hash(mostSignificant[slot], leastSignificant[slot]) & tableMask;
+        while (table[bucket] != 0) {
+            bucket = (bucket + 1) & tableMask;
+        }
+        table[bucket] = slot + 1;
+    }
+
+    private void rehash(int size) {
+        int[] old = table;
+        table = new int[size];
+        tableMask = size - 1;
+        for (int entry : old) {
+            if (entry != 0) {
+                insert(entry - 1);
+            }
+        }
+    }
+
+    private void growSlots() {
+        int capacity = mostSignificant.length * 2;
+        mostSignificant = Arrays.copyOf(mostSignificant, capacity);
+        leastSignificant = Arrays.copyOf(leastSignificant, capacity);
+        spendCents = Arrays.copyOf(spendCents, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        textOffsets = Arrays.copyOf(textOffsets, capacity);
+        textLengths = Arrays.copyOf(textLengths, capacity);
+    }
+
+    private void ensureArena(int bytes) {
+        if ((long) arenaSize + bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Customer directory text exceeds 2 GB");
+        }
+        if (arenaSize + bytes > arena.length) {
+            arena = Arrays.copyOf(arena, (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max((long) arena.length * 3 / 2, (long) arenaSize + bytes)));
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException("Value of " + bytes.length + " bytes does not fit the customer directory");
+        }
+        return bytes;
+    }
+
+    private static int tableSize(int entries) {
+        return Integer.highestOneBit(Math.max(16, (int) (entries / LOAD_FACTOR)) - 1) << 1;
+    }
+
+    // Random UUIDs are already well mixed, but ids built from counters or time are not
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * A reusable character view of one stored text. ASCII is widened byte by byte; anything else
+     * goes through the UTF-8 decoder.
+     */
+    public static final class Text implements CharSequence {
+
+        private char[] chars = new char[64];
+        private int length;
+        private boolean isNull;
+
+        Text decode(byte[] bytes, int offset, int byteLength) {
+            isNull = byteLength < 0;
+            length = 0;
+            if (isNull) {
+                return this;
+            }
+            if (chars.length < byteLength) {
+                chars = new char[Math.max(byteLength, chars.length * 2)];
+            }
+            for (int i = 0; i < byteLength; i++) {
+                byte b = bytes[offset + i];
+                if (b < 0) {
+                    String decoded = new String(bytes, offset, byteLength, StandardCharsets.UTF_8);
+                    length = decoded.length();
+                    decoded.getChars(0, length, chars, 0);
+                    return this;
+                }
+                chars[i] = (char) b;
+            }
+            length = byteLength;
+            return this;
+        }
+
+        public boolean isNull() {
+            return isNull;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
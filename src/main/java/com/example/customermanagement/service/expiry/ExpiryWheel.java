@@ -0,0 +1,83 @@
+package com.example.customermanagement.service.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.example.customermanagement.enums.Tier;
+
+/**
+ * Day-granular timing wheel of upcoming tier drops. Each slot holds the customers due on one day,
+ * so popping a day costs only the customers due that day. A second map remembers each customer's
+ * due day, so rescheduling or cancelling after a purchase or delete is O(1).
+ *
+ * Days are epoch days. Slots are reused once the wheel turns past them, so a customer can be
+ * scheduled at most {@code horizonDays} ahead of the next day to poll.
+ *
+ * Every method holds the wheel's monitor. A schedule that raced a poll could otherwise land in the
+ * day being polled just after the poll passed it, and sit there until the wheel came round again.
+ */
+public class ExpiryWheel {
+
+    private final List<Map<UUID, Tier>> slots;
+    private final int mask;
+    private final Map<UUID, Long> dueDays = new HashMap<>();
+    private volatile long nextDay;
+
+    public ExpiryWheel(int horizonDays, long firstDay) {
+        int size = Integer.highestOneBit(Math.max(2, horizonDays) - 1) << 1;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new HashMap<>());
+        }
+        this.mask = size - 1;
+        this.nextDay = firstDay;
+    }
+
+    /**
+     * Schedules the customer to leave {@code tier} on {@code day}, replacing any earlier schedule.
+     * Days already polled are moved to the next day to poll.
+     */
+    public synchronized void schedule(UUID id, long day, Tier tier) {
+        long due = Math.max(day, nextDay);
+        if (due - nextDay > mask) {
+            throw new IllegalArgumentException("Day " + day + " is beyond the wheel horizon of " + (mask + 1) + " days");
+        }
+        Long previous = dueDays.put(id, due);
+        if (previous != null) {
+            slot(previous).remove(id);
+        }
+        slot(due).put(id, tier);
+    }
+
+    public synchronized void cancel(UUID id) {
+        Long previous = dueDays.remove(id);
+        if (previous != null) {
+            slot(previous).remove(id);
+        }
+    }
+
+    // Customers due on the next day to poll, with the tier they are leaving; advances the wheel
+    public synchronized Map<UUID, Tier> pollNextDay() {
+        long day = nextDay;
+        Map<UUID, Tier> due = slot(day);
+        slots.set((int) (day & mask), new HashMap<>());
+        due.keySet().forEach(dueDays::remove);
+        nextDay = day + 1;
+        return due;
+    }
+
+    public long nextDay() {
+        return nextDay;
+    }
+
+    public synchronized int size() {
+        return dueDays.size();
+    }
+
+    private Map<UUID, Tier> slot(long day) {
+        return slots.get((int) (day & mask));
+    }
+}
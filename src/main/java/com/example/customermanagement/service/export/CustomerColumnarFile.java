@@ -0,0 +1,347 @@
+package com.example.customermanagement.service.export;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+import com.example.customermanagement.enums.Tier;
+
+/**
+ * Columnar export of the customers table for warehouse loads. The file describes its own schema
+ * and is split into row groups, each holding one chunk per column, so a reader can decode a column
+ * without touching the others and can start on a row group before the next one has arrived.
+ *
+ * Layout (big-endian; varints are unsigned LEB128, signed values are zigzag-encoded first):
+ * <pre>
+ * header     int magic, short version, long created (epoch millis), int row group size,
+ *            byte column count, then per column: short name length, UTF-8 name, byte type
+ *            (ENUM columns follow with byte value count and short-length-prefixed value names)
+ * row group  int rows (0 ends the file), int payload length, int CRC32C of the payload, payload
+ * payload    one chunk per column in schema order: int chunk length, byte encoding, byte null flag,
+ *            a presence bitmap of (rows + 7) / 8 bytes if the flag is set, then the non-null values
+ * trailer    long total rows
+ * </pre>
+ *
+ * Encodings: UUID columns are PLAIN as all most significant longs followed by all least
+ * significant longs. STRING columns are PLAIN (varint length and UTF-8 bytes per value) or
+ * DICTIONARY (varint entry count, the entries as in PLAIN, then a varint index per value); a chunk
+ * uses the dictionary only when at most half its values are distinct. INT64 and DATE (epoch day)
+ * columns are DELTA_VARINT, each value a zigzag varint of its difference to the previous non-null
+ * value, starting from 0. ENUM columns are PLAIN, one byte per value indexing the names in the
+ * header.
+ */
+public final class CustomerColumnarFile {
+
+    public static final int MAGIC = 0x43434F4C; // "CCOL"
+    public static final short VERSION = 1;
+
+    public static final byte TYPE_UUID = 1;
+    public static final byte TYPE_STRING = 2;
+    public static final byte TYPE_INT64 = 3;
+    public static final byte TYPE_DATE = 4;
+    public static final byte TYPE_ENUM = 5;
+
+    public static final byte ENCODING_PLAIN = 0;
+    public static final byte ENCODING_DICTIONARY = 1;
+    public static final byte ENCODING_DELTA_VARINT = 2;
+
+    public record Info(int rows, int rowGroups, Instant createdAt, long bytes) {
+    }
+
+    private CustomerColumnarFile() {
+    }
+
+    /**
+     * Starts an export that replaces {@code file} atomically once {@link Writer#commit()} returns.
+     */
+    public static Writer create(Path file, int rowGroupSize) throws IOException {
+        return new Writer(file, rowGroupSize);
+    }
+
+    /**
+     * Buffers one row group at a time in primitive arrays and encodes it into the file when full.
+     */
+    public static final class Writer implements Closeable {
+
+        private static final long NULL_VALUE = Long.MIN_VALUE;
+
+        private final Path target;
+        private final Path temp;
+        private final DataOutputStream out;
+        private final long createdAt = System.currentTimeMillis();
+        private final int rowGroupSize;
+        private final long[] mostSignificant;
+        private final long[] leastSignificant;
+        private final String[] names;
+        private final String[] emails;
+        private final long[] spendCents;
+        private final long[] epochDays;
+        private final byte[] tiers;
+        private final Chunk payload = new Chunk();
+        private final CRC32C crc = new CRC32C();
+        private int buffered;
+        private int rows;
+        private int rowGroups;
+        private boolean committed;
+
+        private Writer(Path target, int rowGroupSize) throws IOException {
+            if (rowGroupSize < 1) {
+                throw new IllegalArgumentException("Row group size must be positive");
+            }
+            this.target = target;
+            this.rowGroupSize = rowGroupSize;
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            this.temp = directory.resolve(target.getFileName() + ".tmp");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16));
+            this.mostSignificant = new long[rowGroupSize];
+            this.leastSignificant = new long[rowGroupSize];
+            this.names = new String[rowGroupSize];
+            this.emails = new String[rowGroupSize];
+            this.spendCents = new long[rowGroupSize];
+            this.epochDays = new long[rowGroupSize];
+            this.tiers = new byte[rowGroupSize];
+            writeHeader();
+        }
+
+        private void writeHeader() throws IOException {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(createdAt);
+            out.writeInt(rowGroupSize);
+            out.writeByte(6);
+            column("id", TYPE_UUID);
+            column("name", TYPE_STRING);
+            column("email", TYPE_STRING);
+            column("annual_spend_cents", TYPE_INT64);
+            column("last_purchase_date", TYPE_DATE);
+            column("tier", TYPE_ENUM);
+            Tier[] values = Tier.values();
+            out.writeByte(values.length);
+            for (Tier tier : values) {
+                out.writeUTF(tier.name());
+            }
+        }
+
+        // writeUTF is a short length followed by the bytes, identical to UTF-8 for ASCII column names
+        private void column(String name, byte type) throws IOException {
+            out.writeUTF(name);
+            out.writeByte(type);
+        }
+
+        public void add(UUID id, String name, String email, BigDecimal annualSpend, LocalDate lastPurchaseDate,
+                Tier tier) throws IOException {
+            mostSignificant[buffered] = id.getMostSignificantBits();
+            leastSignificant[buffered] = id.getLeastSignificantBits();
+            names[buffered] = name;
+            emails[buffered] = email;
+            spendCents[buffered] = annualSpend == null ? NULL_VALUE
+                    : annualSpend.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            epochDays[buffered] = lastPurchaseDate == null ? NULL_VALUE : lastPurchaseDate.toEpochDay();
+            tiers[buffered] = (byte) tier.ordinal();
+            if (++buffered == rowGroupSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            if (buffered == 0) {
+                return;
+            }
+            payload.clear();
+            int start = payload.beginChunk(ENCODING_PLAIN);
+            payload.writeByte(0);
+            for (int i = 0; i < buffered; i++) {
+                payload.writeLong(mostSignificant[i]);
+            }
+            for (int i = 0; i < buffered; i++) {
+                payload.writeLong(leastSignificant[i]);
+            }
+            payload.endChunk(start);
+            writeStrings(names);
+            writeStrings(emails);
+            writeDeltas(spendCents);
+            writeDeltas(epochDays);
+            start = payload.beginChunk(ENCODING_PLAIN);
+            payload.writeByte(0);
+            payload.write(tiers, 0, buffered);
+            payload.endChunk(start);
+
+            crc.reset();
+            crc.update(payload.data, 0, payload.size);
+            out.writeInt(buffered);
+            out.writeInt(payload.size);
+            out.writeInt((int) crc.getValue());
+            out.write(payload.data, 0, payload.size);
+            rows += buffered;
+            rowGroups++;
+            Arrays.fill(names, 0, buffered, null);
+            Arrays.fill(emails, 0, buffered, null);
+            buffered = 0;
+        }
+
+        private void writeStrings(String[] values) {
+            Map<String, Integer> dictionary = dictionary(values);
+            int start = payload.beginChunk(dictionary == null ? ENCODING_PLAIN : ENCODING_DICTIONARY);
+            payload.writeByte(0);
+            if (dictionary == null) {
+                for (int i = 0; i < buffered; i++) {
+                    payload.writeString(values[i]);
+                }
+            } else {
+                payload.writeVarint(dictionary.size());
+                // HashMap iteration order is not insertion order, so entries are placed by index
+                String[] entries = new String[dictionary.size()];
+                dictionary.forEach((value, index) -> entries[index] = value);
+                for (String entry : entries) {
+                    payload.writeString(entry);
+                }
+                for (int i = 0; i < buffered; i++) {
+                    payload.writeVarint(dictionary.get(values[i]));
+                }
+            }
+            payload.endChunk(start);
+        }
+
+        // Null when more than half the values are distinct; the dictionary would then cost more than it saves
+        private Map<String, Integer> dictionary(String[] values) {
+            int limit = buffered / 2;
+            Map<String, Integer> dictionary = new HashMap<>();
+            for (int i = 0; i < buffered; i++) {
+                if (dictionary.putIfAbsent(values[i], dictionary.size()) == null && dictionary.size() > limit) {
+                    return null;
+                }
+            }
+            return dictionary;
+        }
+
+        private void writeDeltas(long[] values) {
+            int start = payload.beginChunk(ENCODING_DELTA_VARINT);
+            boolean hasNulls = false;
+            for (int i = 0; i < buffered && !hasNulls; i++) {
+                hasNulls = values[i] == NULL_VALUE;
+            }
+            payload.writeByte(hasNulls ? 1 : 0);
+            if (hasNulls) {
+                byte[] present = new byte[(buffered + 7) >>> 3];
+                for (int i = 0; i < buffered; i++) {
+                    if (values[i] != NULL_VALUE) {
+                        present[i >>> 3] |= (byte) (1 << (i & 7));
+                    }
+                }
+                payload.write(present, 0, present.length);
+            }
+            long previous = 0;
+            for (int i = 0; i < buffered; i++) {
+                if (values[i] != NULL_VALUE) {
+                    long delta = values[i] - previous;
+                    payload.writeVarint((delta << 1) ^ (delta >> 63));
+                    previous = values[i];
+                }
+            }
+            payload.endChunk(start);
+        }
+
+        /**
+         * Writes the last row group and the trailer and replaces the target with the result.
+         */
+        public Info commit() throws IOException {
+            flush();
+            out.writeInt(0);
+            out.writeLong(rows);
+            out.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return new Info(rows, rowGroups, Instant.ofEpochMilli(createdAt), Files.size(target));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    // Growable byte array a row group is encoded into before its length and checksum are known
+    private static final class Chunk {
+
+        private byte[] data = new byte[1 << 16];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        // Reserves the chunk length, filled in by endChunk
+        int beginChunk(byte encoding) {
+            int start = size;
+            ensure(4);
+            size += 4;
+            writeByte(encoding);
+            return start;
+        }
+
+        void endChunk(int start) {
+            int length = size - start - 4;
+            data[start] = (byte) (length >>> 24);
+            data[start + 1] = (byte) (length >>> 16);
+            data[start + 2] = (byte) (length >>> 8);
+            data[start + 3] = (byte) length;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            data[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                data[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void write(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, data, size, length);
+            size += length;
+        }
+
+        private void ensure(int bytes) {
+            if (size + bytes > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + bytes));
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.customermanagement.service.feed;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size multi-producer, multi-consumer broadcast ring. Publishers claim a sequence with a
+ * single atomic increment and overwrite the oldest slot, never one holding a newer sequence; they
+ * never wait for readers. Each reader
+ * keeps its own cursor, and a reader that falls more than {@code capacity} events behind finds
+ * its next slot overwritten and is told it has lagged.
+ */
+public class BroadcastRingBuffer<T> {
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+    private final long initialSequence;
+    private final AtomicLong nextSequence;
+
+    public BroadcastRingBuffer(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * @param initialSequence first sequence to hand out; seeding it from the clock keeps ids
+     *        increasing across restarts, so a stale resume id is recognised as lagged
+     */
+    public BroadcastRingBuffer(int capacity, long initialSequence) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two, was " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.initialSequence = initialSequence;
+        this.nextSequence = new AtomicLong(initialSequence);
+    }
+
+    public long publish(T value) {
+        long sequence = nextSequence.getAndIncrement();
+        int index = (int) (sequence & mask);
+        Slot<T> slot = new Slot<>(sequence, value);
+        // A publisher that stalls between claiming and writing may find a later lap already in the
+        // slot; it must not put the older event back over it, or readers would wait on a sequence
+        // that never reappears. The stalled event is then lost as if it had been overwritten.
+        Slot<T> current;
+        do {
+            current = slots.get(index);
+            if (current != null && current.sequence > sequence) {
+                return sequence;
+            }
+        } while (!slots.compareAndSet(index, current, slot));
+        return sequence;
+    }
+
+    /**
+     * Returns the event at {@code sequence}, or a result telling the reader to wait
+     * (not published yet) or that it has lagged (already overwritten).
+     */
+    public Read<T> read(long sequence) {
+        // Covers ids from before a restart too: their slot may be empty or hold an unrelated event
+        if (sequence < oldestSequence()) {
+            return Read.lagged();
+        }
+        Slot<T> slot = slots.get((int) (sequence & mask));
+        if (slot == null || slot.sequence < sequence) {
+            return Read.pending();
+        }
+        if (slot.sequence > sequence) {
+            return Read.lagged();
+        }
+        return Read.of(slot.value);
+    }
+
+    // Sequence the next published event will get
+    public long nextSequence() {
+        return nextSequence.get();
+    }
+
+    // Oldest sequence that may still be readable
+    public long oldestSequence() {
+        return Math.max(initialSequence, nextSequence.get() - slots.length());
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    private record Slot<T>(long sequence, T value) {
+    }
+
+    public record Read<T>(Status status, T value) {
+
+        public enum Status { AVAILABLE, PENDING, LAGGED }
+
+        private static final Read<?> PENDING = new Read<>(Status.PENDING, null);
+        private static final Read<?> LAGGED = new Read<>(Status.LAGGED, null);
+
+        static <T> Read<T> of(T value) {
+            return new Read<>(Status.AVAILABLE, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Read<T> pending() {
+            return (Read<T>) PENDING;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Read<T> lagged() {
+            return (Read<T>) LAGGED;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.customermanagement.service.feed;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+
+/**
+ * Publishes UPDATED changes for customers rewritten by bulk SQL (purchase flushes, ledger
+ * age-out). Call inside the transaction that made the change so the journal sees it as part
+ * of the same unit of work.
+ */
+@Component
+public class CustomerChangePublisher {
+
+    private static final int IDS_PER_QUERY = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CustomerChangePublisher(CustomerRepository customerRepository, ApplicationEventPublisher eventPublisher) {
+        this.customerRepository = customerRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void publishUpdated(Collection<UUID> customerIds) {
+        List<UUID> ids = new ArrayList<>(customerIds);
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()));
+            for (Customer customer : customerRepository.findAllById(chunk)) {
+                eventPublisher.publishEvent(CustomerChangedEvent.of(CustomerChangedEvent.Type.UPDATED, customer));
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.customermanagement.service.feed;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.customermanagement.config.TierChangeFeedProperties;
+import com.example.customermanagement.config.TierChangeFeedProperties.LagPolicy;
+import com.example.customermanagement.event.TierChangedEvent;
+import com.example.customermanagement.service.feed.BroadcastRingBuffer.Read;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fans tier changes out to Server-Sent Events subscribers. Writers only publish into the
+ * {@link BroadcastRingBuffer}; each subscriber drains it from its own cursor on its own virtual
+ * thread, so a slow client can only fall behind, never hold up a write.
+ */
+@Component
+public class TierChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(TierChangeBroadcaster.class);
+
+    private final TierChangeFeedProperties properties;
+    private final BroadcastRingBuffer<TierChangedEvent> ring;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter publishedEvents;
+    private final Counter laggedSubscribers;
+
+    public TierChangeBroadcaster(TierChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        // Seeded from the clock so event ids keep increasing across restarts
+        this.ring = new BroadcastRingBuffer<>(properties.getBufferSize(), System.currentTimeMillis() << 10);
+        this.publishedEvents = meterRegistry.counter("customers.tier.changes.published");
+        this.laggedSubscribers = meterRegistry.counter("customers.tier.changes.lagged");
+        Gauge.builder("customers.tier.changes.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    // Only committed changes are broadcast; fallbackExecution covers writes made outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTierChanged(TierChangedEvent event) {
+        ring.publish(event);
+        publishedEvents.increment();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.wake();
+        }
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many tier change subscribers");
+        }
+        long next = ring.nextSequence();
+        long start = lastEventId == null || lastEventId >= next ? next : lastEventId + 1;
+
+        SseEmitter emitter = new SseEmitter(0L); // stream stays open until the client goes away
+        Subscriber subscriber = new Subscriber(emitter, start);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        Thread.ofVirtual().name("tier-feed-subscriber").start(subscriber::run);
+        log.debug("Tier change subscriber attached at sequence {} ({} subscribers)", start, subscribers.size());
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private long cursor;
+        private volatile Thread thread;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void run() {
+            thread = Thread.currentThread();
+            long heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(properties.getHeartbeatIntervalMs());
+            long lastSent = System.nanoTime();
+            try {
+                while (!closed) {
+                    Read<TierChangedEvent> read = ring.read(cursor);
+                    switch (read.status()) {
+                        case AVAILABLE -> {
+                            emitter.send(SseEmitter.event()
+                                    .id(Long.toString(cursor))
+                                    .name("tier-change")
+                                    .data(read.value()));
+                            cursor++;
+                            lastSent = System.nanoTime();
+                        }
+                        case LAGGED -> {
+                            laggedSubscribers.increment();
+                            if (properties.getLagPolicy() == LagPolicy.DISCONNECT) {
+                                emitter.complete();
+                                return;
+                            }
+                            long oldest = ring.oldestSequence();
+                            emitter.send(SseEmitter.event().name("lagged").data(oldest - cursor));
+                            cursor = oldest;
+                        }
+                        case PENDING -> {
+                            if (System.nanoTime() - lastSent >= heartbeatNanos) {
+                                emitter.send(SseEmitter.event().comment("heartbeat"));
+                                lastSent = System.nanoTime();
+                            }
+                            LockSupport.parkNanos(heartbeatNanos);
+                        }
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Tier change subscriber disconnected: {}", ex.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        void wake() {
+            Thread current = thread;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+
+        void close() {
+            closed = true;
+            if (subscribers.remove(this)) {
+                wake();
+            }
+        }
+    }
+}
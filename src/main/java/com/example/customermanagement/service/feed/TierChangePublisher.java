@@ -0,0 +1,66 @@
+package com.example.customermanagement.service.feed;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.TierChangedEvent;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.repository.CustomerTierView;
+import com.example.customermanagement.service.CustomerService;
+
+/**
+ * Detects tier changes caused by bulk recomputes (purchase flushes, ledger age-out) that bypass
+ * the per-customer service methods: snapshot tiers before, snapshot after, publish the diff.
+ */
+@Component
+public class TierChangePublisher {
+
+    private static final int IDS_PER_QUERY = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final CustomerService customerService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // CustomerService is lazy because the ledger service, which it depends on, uses this class
+    public TierChangePublisher(CustomerRepository customerRepository, @Lazy CustomerService customerService,
+            ApplicationEventPublisher eventPublisher) {
+        this.customerRepository = customerRepository;
+        this.customerService = customerService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Map<UUID, Tier> snapshot(Collection<UUID> customerIds) {
+        Map<UUID, Tier> tiers = new HashMap<>(customerIds.size() * 2);
+        List<UUID> ids = new ArrayList<>(customerIds);
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()));
+            for (CustomerTierView view : customerRepository.findTierViewsByIdIn(chunk)) {
+                tiers.put(view.getId(), customerService.calculateTier(view.getAnnualSpend(), view.getLastPurchaseDate()));
+            }
+        }
+        return tiers;
+    }
+
+    public int publishChanges(Map<UUID, Tier> before, Map<UUID, Tier> after) {
+        Instant now = Instant.now();
+        int changes = 0;
+        for (Map.Entry<UUID, Tier> entry : after.entrySet()) {
+            Tier previous = before.get(entry.getKey());
+            if (previous != null && previous != entry.getValue()) {
+                eventPublisher.publishEvent(new TierChangedEvent(entry.getKey(), previous, entry.getValue(), now));
+                changes++;
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.customermanagement.service.feed;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.customermanagement.config.BulkheadConfig;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.TierRulesChangedEvent;
+import com.example.customermanagement.service.tier.TierDecisionTable;
+
+/**
+ * Publishes the tier changes caused by new tier rules. Every customer is evaluated under the old
+ * and the new rules in one pass over the table, and the differences go to the tier change feed in
+ * chunks, like any other bulk recompute.
+ */
+@Component
+@ConditionalOnExpression("!${app.sharding.enabled:false}")
+public class TierRulesChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TierRulesChangeFeed.class);
+
+    private static final String SCAN_SQL = "SELECT id, annual_spend, last_purchase_date FROM customers";
+    private static final int CHANGES_PER_PUBLISH = 1000;
+
+    private final JdbcTemplate bulkJdbcTemplate;
+    private final TierChangePublisher tierChangePublisher;
+
+    public TierRulesChangeFeed(@Qualifier(BulkheadConfig.BULK) JdbcTemplate bulkJdbcTemplate,
+            TierChangePublisher tierChangePublisher) {
+        this.bulkJdbcTemplate = bulkJdbcTemplate;
+        this.tierChangePublisher = tierChangePublisher;
+    }
+
+    @EventListener
+    public void onTierRulesChanged(TierRulesChangedEvent event) {
+        long started = System.nanoTime();
+        TierDecisionTable previous = event.previous();
+        TierDecisionTable rules = event.rules();
+        Map<UUID, Tier> before = new HashMap<>();
+        Map<UUID, Tier> after = new HashMap<>();
+        int[] published = new int[1];
+        bulkJdbcTemplate.query(SCAN_SQL, rs -> {
+            LocalDate lastPurchaseDate = rs.getObject(3, LocalDate.class);
+            Tier from = previous.evaluate(rs.getBigDecimal(2), lastPurchaseDate);
+            Tier to = rules.evaluate(rs.getBigDecimal(2), lastPurchaseDate);
+            if (from != to) {
+                UUID id = rs.getObject(1, UUID.class);
+                before.put(id, from);
+                after.put(id, to);
+                if (after.size() == CHANGES_PER_PUBLISH) {
+                    published[0] += tierChangePublisher.publishChanges(before, after);
+                    before.clear();
+                    after.clear();
+                }
+            }
+        });
+        published[0] += tierChangePublisher.publishChanges(before, after);
+        log.info("New tier rules changed the tier of {} customers ({} ms)", published[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+}
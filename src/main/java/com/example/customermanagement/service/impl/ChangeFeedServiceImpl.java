@@ -0,0 +1,247 @@
+package com.example.customermanagement.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.customermanagement.config.ChangeJournalProperties;
+import com.example.customermanagement.dto.ChangeFeedResponse;
+import com.example.customermanagement.dto.ChangeRecordResponse;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.service.ChangeFeedService;
+import com.example.customermanagement.service.journal.ChangeJournal;
+import com.example.customermanagement.service.journal.ChangeRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Transactional outbox in front of the change journal. A change is first inserted into
+ * customer_change_outbox in the transaction that makes it, so it is recorded exactly when the
+ * change commits. A relay thread moves committed rows into the journal in sequence, forces the
+ * journal and only then deletes them from the outbox: a crash can repeat a change in the journal,
+ * never lose one.
+ *
+ * Rows are tagged with the journal directory they are bound for, and the relay only takes its own,
+ * so instances journaling to different directories can share the database. The relay runs when a
+ * transaction commits and when a change is read; the timer only retries after a failed relay and
+ * picks up what a previous run left behind.
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+    private static final byte[] NO_PAYLOAD = new byte[0];
+
+    private static final String INSERT_SQL = "INSERT INTO customer_change_outbox (journal, change_type, customer_id, changed_at, "
+            + "payload) VALUES (?, ?, ?, ?, ?)";
+    private static final String PENDING_SQL = "SELECT id, change_type, customer_id, changed_at, payload FROM customer_change_outbox "
+            + "WHERE journal = ? ORDER BY id LIMIT ?";
+
+    private record OutboxRow(long id, CustomerChangedEvent.Type type, UUID customerId, Instant changedAt, byte[] payload) {
+    }
+
+    private final ChangeJournalProperties properties;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeJournal journal;
+    private final String journalKey;
+    private final Counter appendedRecords;
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private final AtomicBoolean relayRequested = new AtomicBoolean();
+    // Set until a relay succeeds, starting with the one that recovers a previous run's rows
+    private volatile boolean relayBehind = true;
+    private final ScheduledExecutorService relayExecutor = Executors.newSingleThreadScheduledExecutor(
+            r -> new Thread(r, "change-relay"));
+
+    public ChangeFeedServiceImpl(ChangeJournalProperties properties, ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        Path directory = Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+        this.journal = new ChangeJournal(directory, (int) properties.getSegmentSize().toBytes());
+        this.journalKey = directory.toString();
+        this.appendedRecords = meterRegistry.counter("customers.changes.appended");
+        Gauge.builder("customers.changes.segments", journal, ChangeJournal::segmentCount)
+                .description("Change journal segment files on disk")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS customer_change_outbox ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "journal VARCHAR(1024) NOT NULL, "
+                + "change_type VARCHAR(16) NOT NULL, "
+                + "customer_id UUID NOT NULL, "
+                + "changed_at TIMESTAMP(9) NOT NULL, "
+                + "payload VARBINARY(4096) NOT NULL)");
+        relayExecutor.scheduleWithFixedDelay(() -> {
+            if (relayBehind) {
+                relayQuietly();
+            }
+        }, 0, properties.getRelayIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs synchronously in the publisher's transaction, so the outbox row commits or rolls back
+     * with the change. The relay is woken once the transaction has committed.
+     */
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        jdbcTemplate.update(INSERT_SQL, journalKey, event.type().name(), event.customerId(), Timestamp.from(event.changedAt()),
+                payload(event));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestRelay();
+                }
+            });
+        } else {
+            requestRelay();
+        }
+        log.trace("Queued {} of customer {} for the change journal", event.type(), event.customerId());
+    }
+
+    // Moves committed outbox rows into the journal; returns how many were moved
+    int relay() {
+        relayLock.lock();
+        try {
+            int relayed = 0;
+            while (true) {
+                List<OutboxRow> rows = jdbcTemplate.query(PENDING_SQL, (rs, rowNum) -> new OutboxRow(rs.getLong(1),
+                        CustomerChangedEvent.Type.valueOf(rs.getString(2)), rs.getObject(3, UUID.class),
+                        rs.getTimestamp(4).toInstant(), rs.getBytes(5)), journalKey, properties.getMaxBatchSize());
+                if (rows.isEmpty()) {
+                    return relayed;
+                }
+                for (OutboxRow row : rows) {
+                    journal.append(row.type(), row.customerId(), row.changedAt(), row.payload());
+                }
+                journal.force();
+                jdbcTemplate.batchUpdate("DELETE FROM customer_change_outbox WHERE id = ?",
+                        rows.stream().map(row -> new Object[] { row.id() }).toList());
+                appendedRecords.increment(rows.size());
+                relayed += rows.size();
+                if (rows.size() < properties.getMaxBatchSize()) {
+                    return relayed;
+                }
+            }
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private void requestRelay() {
+        if (relayRequested.compareAndSet(false, true)) {
+            relayExecutor.execute(this::relayQuietly);
+        }
+    }
+
+    private void relayQuietly() {
+        relayRequested.set(false);
+        try {
+            relay();
+            relayBehind = false;
+        } catch (RuntimeException ex) {
+            // Rows stay in the outbox and are picked up by the next relay
+            relayBehind = true;
+            log.error("Failed to relay customer changes to the journal: {}", ex.getMessage());
+        }
+    }
+
+    // Relays first, so a reader sees every change committed before its request
+    @Override
+    public ChangeFeedResponse readChanges(long since, Integer limit) {
+        relay();
+        int batch = limit == null ? properties.getMaxBatchSize() : Math.clamp(limit, 1, properties.getMaxBatchSize());
+        long oldest = journal.oldestSequence();
+        List<ChangeRecord> records = journal.read(Math.max(since, 1), batch);
+
+        ChangeFeedResponse response = new ChangeFeedResponse();
+        response.setChanges(records.stream().map(this::toResponse).toList());
+        response.setNextSince(records.isEmpty() ? Math.max(since, oldest) : records.getLast().sequence() + 1);
+        response.setOldestAvailable(oldest);
+        response.setLastSequence(journal.lastSequence());
+        return response;
+    }
+
+    @Scheduled(cron = "${app.change-journal.maintenance-cron:0 30 * * * *}")
+    public void maintain() {
+        Instant cutoff = Instant.now().minus(properties.getRetention().getMaxAge());
+        int removed = journal.applyRetention(cutoff, properties.getRetention().getMaxSegments());
+        int compacted = properties.getCompaction().isEnabled()
+                ? journal.compact(properties.getCompaction().getMinGarbageRatio())
+                : 0;
+        log.info("Change journal maintenance removed {} and compacted {} segment(s)", removed, compacted);
+    }
+
+    @PreDestroy
+    void close() {
+        relayExecutor.shutdown();
+        try {
+            relayExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            relay();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Unrelayed customer changes stay in the outbox: {}", ex.getMessage());
+        } finally {
+            journal.close();
+        }
+    }
+
+    private byte[] payload(CustomerChangedEvent event) {
+        if (event.type() == CustomerChangedEvent.Type.DELETED) {
+            return NO_PAYLOAD;
+        }
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("name", event.name());
+        customer.put("email", event.email());
+        customer.put("annualSpend", event.annualSpend());
+        customer.put("lastPurchaseDate", event.lastPurchaseDate());
+        try {
+            return objectMapper.writeValueAsBytes(customer);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize change of customer " + event.customerId(), ex);
+        }
+    }
+
+    private ChangeRecordResponse toResponse(ChangeRecord record) {
+        ChangeRecordResponse response = new ChangeRecordResponse();
+        response.setSequence(record.sequence());
+        response.setChangedAt(record.changedAt());
+        response.setType(record.type());
+        response.setCustomerId(record.customerId());
+        if (record.payload().length > 0) {
+            response.setCustomer(new String(record.payload(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+}
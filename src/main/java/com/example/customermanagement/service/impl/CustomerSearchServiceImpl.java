@@ -0,0 +1,179 @@
+package com.example.customermanagement.service.impl;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.customermanagement.config.BulkheadConfig;
+import com.example.customermanagement.config.SearchProperties;
+import com.example.customermanagement.dto.CustomerSearchResponse;
+import com.example.customermanagement.dto.SearchHitResponse;
+import com.example.customermanagement.event.CustomerChangeOrder;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.service.CustomerSearchService;
+import com.example.customermanagement.service.directory.CustomerDirectory;
+import com.example.customermanagement.service.search.TrigramIndex;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Serves name and email search from a {@link TrigramIndex} instead of LIKE scans. The index is
+ * built in parallel on startup and then follows the CustomerChangedEvents published on create,
+ * update and delete. Compaction runs on its own thread, so the thread that committed a change never
+ * rebuilds the index.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnExpression("${app.search.enabled:true} and !${app.sharding.enabled:false}")
+public class CustomerSearchServiceImpl implements CustomerSearchService, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchServiceImpl.class);
+
+    private static final String LOAD_SQL = "SELECT id, name, email FROM customers";
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SearchProperties properties;
+    private final JdbcTemplate bulkJdbcTemplate;
+    private final TrigramIndex index = new TrigramIndex();
+    private final CustomerChangeOrder changeOrder = new CustomerChangeOrder();
+    private final Timer queryTimer;
+    // Changes hold the read lock and the startup load the write lock, so a change committed while
+    // the load runs can't be overwritten by the older row the load read
+    private final ReentrantReadWriteLock loadLock = new ReentrantReadWriteLock();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "search-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+
+    public CustomerSearchServiceImpl(SearchProperties properties,
+            @Qualifier(BulkheadConfig.BULK) JdbcTemplate bulkJdbcTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bulkJdbcTemplate = bulkJdbcTemplate;
+        Gauge.builder("customers.search.index.size", index, TrigramIndex::size)
+                .description("Customers in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("customers.search.index.bytes", index, TrigramIndex::postingBytes)
+                .description("Approximate heap held by the search posting lists")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("customers.search.directory.bytes", index, TrigramIndex::directoryBytes)
+                .description("Approximate heap held by the ids, names and emails of indexed customers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.queryTimer = Timer.builder("customers.search.query")
+                .description("Customer search queries")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        loadLock.writeLock().lock();
+        try {
+            // Rows go straight into the compact directory, so the load holds no per-customer objects
+            CustomerDirectory customers = new CustomerDirectory();
+            bulkJdbcTemplate.query(LOAD_SQL, rs -> {
+                customers.put(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3),
+                        CustomerDirectory.NO_SPEND, CustomerDirectory.NO_DATE);
+            });
+            index.rebuild(customers, properties.getParallelism());
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+        log.info("Indexed {} customers for search in {} ms ({} KB of postings, {} KB of customer data)", index.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), index.postingBytes() / 1024,
+                index.directoryBytes() / 1024);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        loadLock.readLock().lock();
+        try {
+            changeOrder.applyIfNewer(event, () -> {
+                if (event.type() == CustomerChangedEvent.Type.DELETED) {
+                    index.remove(event.customerId());
+                } else {
+                    index.put(event.customerId(), event.name(), event.email());
+                }
+            });
+        } finally {
+            loadLock.readLock().unlock();
+        }
+        if (index.needsCompaction() && compactionQueued.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    private void compact() {
+        compactionQueued.set(false);
+        long started = System.nanoTime();
+        try {
+            if (index.compact(properties.getParallelism())) {
+                log.debug("Compacted the search index to {} customers in {} ms", index.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            }
+        } catch (RuntimeException ex) {
+            log.error("Search index compaction failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        compactor.shutdownNow();
+    }
+
+    @Override
+    public CustomerSearchResponse search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must not be blank");
+        }
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        long started = System.nanoTime();
+        List<TrigramIndex.Hit> hits = index.search(query,
+                Math.min(limit == null ? DEFAULT_LIMIT : limit, properties.getMaxResults()));
+        long took = System.nanoTime() - started;
+        queryTimer.record(took, TimeUnit.NANOSECONDS);
+
+        CustomerSearchResponse response = new CustomerSearchResponse();
+        response.setQuery(query);
+        response.setResults(hits.stream().map(CustomerSearchServiceImpl::toResponse).toList());
+        response.setTookMicros(TimeUnit.NANOSECONDS.toMicros(took));
+        return response;
+    }
+
+    private static SearchHitResponse toResponse(TrigramIndex.Hit hit) {
+        SearchHitResponse response = new SearchHitResponse();
+        response.setId(hit.id());
+        response.setName(hit.name());
+        response.setEmail(hit.email());
+        response.setScore(hit.score());
+        response.setTypo(hit.typo());
+        return response;
+    }
+}
@@ -1,21 +1,35 @@
 package com.example.customermanagement.service.impl;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.customermanagement.dto.CustomerRequest;
 import com.example.customermanagement.dto.CustomerResponse;
 import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.event.TierChangedEvent;
 import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.jfr.CustomerOperationEvent;
+import com.example.customermanagement.jfr.TierCalculationEvent;
+import com.example.customermanagement.logging.LogRateLimiter;
 import com.example.customermanagement.model.Customer;
 import com.example.customermanagement.repository.CustomerRepository;
 import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.lookup.CustomerCache;
+import com.example.customermanagement.service.lookup.CustomerLookupCoalescer;
+import com.example.customermanagement.service.tier.TierRules;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
@@ -24,126 +38,272 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
     private final ModelMapper modelMapper;
+    private final PurchaseLedgerService purchaseLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CustomerLookupCoalescer lookupCoalescer;
+    private final CustomerCache customerCache;
+    private final TierRules tierRules;
 
-    // Tier calculation constants
-    private static final BigDecimal PLATINUM_SPEND_THRESHOLD = new BigDecimal("10000");
-    private static final BigDecimal GOLD_SPEND_THRESHOLD = new BigDecimal("1000");
-    private static final int PLATINUM_RECENCY_MONTHS = 6;
-    private static final int GOLD_RECENCY_MONTHS = 12;
+    // calculateTier runs for every customer read and every bulk recompute
+    private final LogRateLimiter tierLogSampler = new LogRateLimiter(10);
 
-    public CustomerServiceImpl(CustomerRepository customerRepository, ModelMapper modelMapper) {
+    public CustomerServiceImpl(CustomerRepository customerRepository, ModelMapper modelMapper,
+            PurchaseLedgerService purchaseLedgerService, ApplicationEventPublisher eventPublisher,
+            CustomerLookupCoalescer lookupCoalescer, CustomerCache customerCache, TierRules tierRules) {
         this.customerRepository = customerRepository;
         this.modelMapper = modelMapper;
+        this.purchaseLedgerService = purchaseLedgerService;
+        this.eventPublisher = eventPublisher;
+        this.lookupCoalescer = lookupCoalescer;
+        this.customerCache = customerCache;
+        this.tierRules = tierRules;
     }
 
     @Override
     public Tier calculateTier(BigDecimal annualSpend, LocalDate lastPurchaseDate) {
-        log.debug("Calculating tier for annualSpend: {} and lastPurchaseDate: {}", annualSpend, lastPurchaseDate);
-        if (annualSpend == null || lastPurchaseDate == null) {
-            log.info("Annual spend or last purchase date is null, defaulting to SILVER tier.");
-            return Tier.SILVER; // Default tier for incomplete data
-        }
+        TierCalculationEvent event = new TierCalculationEvent();
+        event.begin();
+        Tier tier = evaluateTier(annualSpend, lastPurchaseDate);
+        event.complete(annualSpend, lastPurchaseDate, tier);
+        return tier;
+    }
 
-        LocalDate currentDate = LocalDate.now();
-        Tier calculatedTier = Tier.SILVER; // Default to SILVER
+    @Override
+    public BigDecimal spendThreshold(Tier tier) {
+        return tierRules.current().spendThreshold(tier);
+    }
 
-        // Platinum Tier Check
-        if (annualSpend.compareTo(PLATINUM_SPEND_THRESHOLD) >= 0) {
-            LocalDate sixMonthsAgo = currentDate.minusMonths(PLATINUM_RECENCY_MONTHS);
-            if (!lastPurchaseDate.isBefore(sixMonthsAgo)) {
-                calculatedTier = Tier.PLATINUM;
-            }
-        }
+    @Override
+    public Integer recencyMonths(Tier tier) {
+        return tierRules.current().recencyMonths(tier);
+    }
 
-        // Gold Tier Check
-        // Only check for Gold if not already Platinum
-        if (calculatedTier == Tier.SILVER && annualSpend.compareTo(GOLD_SPEND_THRESHOLD) >= 0) {
-            LocalDate twelveMonthsAgo = currentDate.minusMonths(GOLD_RECENCY_MONTHS);
-            if (!lastPurchaseDate.isBefore(twelveMonthsAgo)) {
-                calculatedTier = Tier.GOLD;
+    @Override
+    public Tier defaultTier() {
+        return tierRules.current().defaultTier();
+    }
+
+    private Tier evaluateTier(BigDecimal annualSpend, LocalDate lastPurchaseDate) {
+        log.debug("Calculating tier for annualSpend: {} and lastPurchaseDate: {}", annualSpend, lastPurchaseDate);
+        Tier calculatedTier = tierRules.current().evaluate(annualSpend, lastPurchaseDate);
+        if (annualSpend == null || lastPurchaseDate == null) {
+            if (tierLogSampler.tryAcquire()) {
+                log.info("Annual spend or last purchase date is null, defaulting to {} tier.{}", calculatedTier,
+                        tierLogSampler.suppressedSuffix());
             }
+            return calculatedTier; // Default tier for incomplete data
+        }
+        if (tierLogSampler.tryAcquire()) {
+            log.info("Calculated tier: {} for annualSpend: {}, lastPurchaseDate: {}{}", calculatedTier, annualSpend, lastPurchaseDate,
+                    tierLogSampler.suppressedSuffix());
         }
-        log.info("Calculated tier: {} for annualSpend: {}, lastPurchaseDate: {}", calculatedTier, annualSpend, lastPurchaseDate);
         return calculatedTier;
     }
 
     @Override
+    @Transactional(timeoutString = "${app.timeouts.write-transaction-seconds:5}")
     public CustomerResponse createCustomer(CustomerRequest customerRequest) {
-        log.info("Attempting to create customer with request: {}", customerRequest);
-        Customer customer = modelMapper.map(customerRequest, Customer.class);
-        Customer savedCustomer = customerRepository.save(customer);
-        log.info("Customer created successfully with ID: {}", savedCustomer.getId());
-        return mapToCustomerResponse(savedCustomer);
+        log.debug("Attempting to create customer with request: {}", customerRequest);
+        CustomerOperationEvent event = CustomerOperationEvent.begin("create", null);
+        String outcome = CustomerOperationEvent.ERROR;
+        UUID id = null;
+        try {
+            long mark = event.mark();
+            Customer customer = modelMapper.map(customerRequest, Customer.class);
+            mark = event.mapping(mark);
+            Customer savedCustomer = customerRepository.save(customer);
+            // Flush first so constraint violations surface before the change is journaled
+            customerRepository.flush();
+            event.database(mark);
+            id = savedCustomer.getId();
+            eventPublisher.publishEvent(CustomerChangedEvent.of(CustomerChangedEvent.Type.CREATED, savedCustomer));
+            log.info("Customer created successfully with ID: {}", id);
+            mark = event.mark();
+            CustomerResponse response = mapToCustomerResponse(savedCustomer);
+            event.mapping(mark);
+            eventPublisher.publishEvent(new TierChangedEvent(id, null, response.getTier(), Instant.now()));
+            outcome = CustomerOperationEvent.SUCCESS;
+            return response;
+        } finally {
+            event.complete(outcome, id);
+        }
     }
 
     @Override
     public CustomerResponse getCustomerById(UUID id) {
-        log.info("Attempting to retrieve customer with ID: {}", id);
-        Customer customer = customerRepository.findById(id)
+        log.debug("Attempting to retrieve customer with ID: {}", id);
+        CustomerResponse customer = findCustomerById(id)
                 .orElseThrow(() -> {
-                    log.warn("Customer not found with ID: {}", id);
+                    log.debug("Customer not found with ID: {}", id);
                     return new ResourceNotFoundException("Customer not found with id: " + id);
                 });
-        log.info("Customer found with ID: {}", id);
-        return mapToCustomerResponse(customer);
+        log.debug("Customer found with ID: {}", id);
+        return customer;
     }
 
     @Override
     public CustomerResponse getCustomerByName(String name) {
-        log.info("Attempting to retrieve customer by name: {}", name);
-        Customer customer = customerRepository.findByName(name)
+        log.debug("Attempting to retrieve customer by name: {}", name);
+        CustomerResponse customer = findCustomerByName(name)
                 .orElseThrow(() -> {
-                    log.warn("Customer not found with name: {}", name);
+                    log.debug("Customer not found with name: {}", name);
                     return new ResourceNotFoundException("Customer not found with name: " + name);
                 });
-        log.info("Customer found with name: {}", name);
-        return mapToCustomerResponse(customer);
+        log.debug("Customer found with name: {}", name);
+        return customer;
     }
 
     @Override
     public CustomerResponse getCustomerByEmail(String email) {
-        log.info("Attempting to retrieve customer by email: {}", email);
-        Customer customer = customerRepository.findByEmail(email)
+        log.debug("Attempting to retrieve customer by email: {}", email);
+        CustomerResponse customer = findCustomerByEmail(email)
                 .orElseThrow(() -> {
-                    log.warn("Customer not found with email: {}", email);
+                    log.debug("Customer not found with email: {}", email);
                     return new ResourceNotFoundException("Customer not found with email: " + email);
                 });
-        log.info("Customer found with email: {}", email);
-        return mapToCustomerResponse(customer);
+        log.debug("Customer found with email: {}", email);
+        return customer;
+    }
+
+    // Concurrent lookups of the same customer share one load, including a miss
+    @Override
+    public Optional<CustomerResponse> findCustomerById(UUID id) {
+        CustomerOperationEvent event = CustomerOperationEvent.begin("get", "id");
+        Optional<CustomerResponse> customer = null;
+        try {
+            customer = lookupCoalescer.byId(id,
+                    () -> load(event, () -> customerCache.byId(id, () -> customerRepository.findById(id))));
+            return customer;
+        } finally {
+            event.complete(outcome(customer), id);
+        }
+    }
+
+    @Override
+    public Optional<CustomerResponse> findCustomerByName(String name) {
+        CustomerOperationEvent event = CustomerOperationEvent.begin("get", "name");
+        Optional<CustomerResponse> customer = null;
+        try {
+            customer = lookupCoalescer.byName(name,
+                    () -> load(event, () -> customerCache.byName(name, () -> customerRepository.findByName(name))));
+            return customer;
+        } finally {
+            event.complete(outcome(customer), idOf(customer));
+        }
     }
 
     @Override
+    public Optional<CustomerResponse> findCustomerByEmail(String email) {
+        CustomerOperationEvent event = CustomerOperationEvent.begin("get", "email");
+        Optional<CustomerResponse> customer = null;
+        try {
+            customer = lookupCoalescer.byEmail(email,
+                    () -> load(event, () -> customerCache.byEmail(email, () -> customerRepository.findByEmail(email))));
+            return customer;
+        } finally {
+            event.complete(outcome(customer), idOf(customer));
+        }
+    }
+
+    // Runs on the caller that actually loads; coalesced followers record no database or mapping time
+    private Optional<CustomerResponse> load(CustomerOperationEvent event, Supplier<Optional<Customer>> query) {
+        long mark = event.mark();
+        Optional<Customer> customer = query.get();
+        mark = event.database(mark);
+        Optional<CustomerResponse> response = customer.map(this::mapToCustomerResponse);
+        event.mapping(mark);
+        return response;
+    }
+
+    private static String outcome(Optional<CustomerResponse> customer) {
+        if (customer == null) {
+            return CustomerOperationEvent.ERROR;
+        }
+        return customer.isPresent() ? CustomerOperationEvent.SUCCESS : CustomerOperationEvent.NOT_FOUND;
+    }
+
+    private static UUID idOf(Optional<CustomerResponse> customer) {
+        return customer == null ? null : customer.map(CustomerResponse::getId).orElse(null);
+    }
+
+    @Override
+    @Transactional(timeoutString = "${app.timeouts.write-transaction-seconds:5}")
     public CustomerResponse updateCustomer(UUID id, CustomerRequest customerRequest) {
-        log.info("Attempting to update customer with ID: {}. Request data: {}", id, customerRequest);
-        Customer existingCustomer = customerRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Customer not found for update with ID: {}", id);
-                    return new ResourceNotFoundException("Customer not found with id: " + id);
-                });
+        log.debug("Attempting to update customer with ID: {}. Request data: {}", id, customerRequest);
+        CustomerOperationEvent event = CustomerOperationEvent.begin("update", null);
+        String outcome = CustomerOperationEvent.ERROR;
+        try {
+            long mark = event.mark();
+            Optional<Customer> found = customerRepository.findById(id);
+            mark = event.database(mark);
+            if (found.isEmpty()) {
+                outcome = CustomerOperationEvent.NOT_FOUND;
+                log.debug("Customer not found for update with ID: {}", id);
+                throw new ResourceNotFoundException("Customer not found with id: " + id);
+            }
+            Customer existingCustomer = found.get();
 
-        modelMapper.map(customerRequest, existingCustomer); // Update existing entity
-        Customer updatedCustomer = customerRepository.save(existingCustomer);
-        log.info("Customer with ID: {} updated successfully.", updatedCustomer.getId());
-        return mapToCustomerResponse(updatedCustomer);
+            Tier previousTier = calculateTier(effectiveAnnualSpend(existingCustomer), existingCustomer.getLastPurchaseDate());
+            modelMapper.map(customerRequest, existingCustomer); // Update existing entity
+            mark = event.mapping(mark);
+            Customer updatedCustomer = customerRepository.save(existingCustomer);
+            customerRepository.flush();
+            event.database(mark);
+            eventPublisher.publishEvent(CustomerChangedEvent.of(CustomerChangedEvent.Type.UPDATED, updatedCustomer));
+            log.info("Customer with ID: {} updated successfully.", updatedCustomer.getId());
+            mark = event.mark();
+            CustomerResponse response = mapToCustomerResponse(updatedCustomer);
+            event.mapping(mark);
+            if (response.getTier() != previousTier) {
+                eventPublisher.publishEvent(new TierChangedEvent(id, previousTier, response.getTier(), Instant.now()));
+            }
+            outcome = CustomerOperationEvent.SUCCESS;
+            return response;
+        } finally {
+            event.complete(outcome, id);
+        }
     }
 
     @Override
+    @Transactional(timeoutString = "${app.timeouts.write-transaction-seconds:5}")
     public void deleteCustomer(UUID id) {
-        log.info("Attempting to delete customer with ID: {}", id);
-        if (!customerRepository.existsById(id)) {
-            log.warn("Customer not found for deletion with ID: {}", id);
-            throw new ResourceNotFoundException("Customer not found with id: " + id + " for deletion.");
+        log.debug("Attempting to delete customer with ID: {}", id);
+        CustomerOperationEvent event = CustomerOperationEvent.begin("delete", null);
+        String outcome = CustomerOperationEvent.ERROR;
+        try {
+            long mark = event.mark();
+            if (!customerRepository.existsById(id)) {
+                outcome = CustomerOperationEvent.NOT_FOUND;
+                log.debug("Customer not found for deletion with ID: {}", id);
+                throw new ResourceNotFoundException("Customer not found with id: " + id + " for deletion.");
+            }
+            customerRepository.deleteById(id);
+            purchaseLedgerService.removeCustomer(id);
+            customerRepository.flush();
+            event.database(mark);
+            eventPublisher.publishEvent(CustomerChangedEvent.deleted(id));
+            log.info("Customer with ID: {} deleted successfully.", id);
+            outcome = CustomerOperationEvent.SUCCESS;
+        } finally {
+            event.complete(outcome, id);
         }
-        customerRepository.deleteById(id);
-        log.info("Customer with ID: {} deleted successfully.", id);
     }
 
     private CustomerResponse mapToCustomerResponse(Customer customer) {
         log.debug("Mapping Customer entity (ID: {}) to CustomerResponse.", customer.getId());
         CustomerResponse response = modelMapper.map(customer, CustomerResponse.class);
-        Tier tier = calculateTier(customer.getAnnualSpend(), customer.getLastPurchaseDate());
+        BigDecimal annualSpend = effectiveAnnualSpend(customer);
+        response.setAnnualSpend(annualSpend);
+        Tier tier = calculateTier(annualSpend, customer.getLastPurchaseDate());
         response.setTier(tier);
         log.debug("Mapped CustomerResponse: Tier set to {} for customer ID: {}", tier, customer.getId());
         return response;
     }
+
+    // Customers with purchase history are tiered on their live trailing-12-month spend, which can be
+    // ahead of the stored annual_spend until the next purchase flush
+    private BigDecimal effectiveAnnualSpend(Customer customer) {
+        return purchaseLedgerService.trailingTwelveMonthSpend(customer.getId())
+                .orElse(customer.getAnnualSpend());
+    }
 }
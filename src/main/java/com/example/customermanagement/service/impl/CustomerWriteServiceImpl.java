@@ -0,0 +1,394 @@
+package com.example.customermanagement.service.impl;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.customermanagement.config.GroupCommitProperties;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.ErrorResponse;
+import com.example.customermanagement.dto.WriteStatusResponse;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.event.TierChangedEvent;
+import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.CustomerWriteService;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.feed.TierChangePublisher;
+import com.example.customermanagement.service.write.PendingWrite;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Group commit for customer creates and updates. Callers queue their write and a single writer
+ * thread takes up to max-group-size writes, waiting at most max-wait-micros after the first, and
+ * commits them in one transaction with one JDBC batch per statement type. Each caller's future
+ * completes after that commit with its own customer or not-found error.
+ *
+ * A constraint violation fails the whole batch, so a group that can't commit is rolled back and
+ * replayed one write at a time through {@link CustomerService}; only the offending writes fail,
+ * with the same exception the synchronous path throws.
+ *
+ * A group's change events are published only after every statement in it has succeeded, as the
+ * last step of its transaction, where each listener is bound to the commit: the change journal's
+ * outbox row commits with the group and the other listeners run after commit. A group that fails
+ * and is replayed therefore leaves one journal record per replayed write and none for the write
+ * that failed.
+ *
+ * If the writer stops, on shutdown or because it died, every write still queued or in its hands
+ * fails with 503 rather than leaving its caller waiting.
+ */
+@Service
+@ConditionalOnExpression("${app.group-commit.enabled:false} and !${app.sharding.enabled:false}")
+public class CustomerWriteServiceImpl implements CustomerWriteService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerWriteServiceImpl.class);
+
+    private static final String INSERT_SQL = "INSERT INTO customers (id, name, email, annual_spend, last_purchase_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE customers SET name = ?, email = ?, annual_spend = ?, last_purchase_date = ? WHERE id = ?";
+    private static final long IDLE_POLL_MS = 100;
+
+    private final GroupCommitProperties properties;
+    private final CustomerService customerService;
+    private final PurchaseLedgerService purchaseLedgerService;
+    private final TierChangePublisher tierChangePublisher;
+    private final ModelMapper modelMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingWrite> queue;
+    // Writes accepted with 202, kept until their status has been retained long enough
+    private final Cache<UUID, PendingWrite> tracked;
+    private final Thread writer = new Thread(this::run, "customer-group-commit");
+    private volatile boolean running = true;
+
+    private final DistributionSummary groupSizes;
+    private final Counter replayedGroups;
+
+    public CustomerWriteServiceImpl(GroupCommitProperties properties, CustomerService customerService,
+            PurchaseLedgerService purchaseLedgerService, TierChangePublisher tierChangePublisher,
+            ModelMapper modelMapper, JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.customerService = customerService;
+        this.purchaseLedgerService = purchaseLedgerService;
+        this.tierChangePublisher = tierChangePublisher;
+        this.modelMapper = modelMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) properties.getTransactionTimeout().toSeconds());
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.tracked = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedStatuses())
+                .expireAfterWrite(properties.getStatusRetention())
+                .build();
+
+        this.groupSizes = DistributionSummary.builder("customers.writes.group.size")
+                .description("Creates and updates committed together in one transaction")
+                .register(meterRegistry);
+        this.replayedGroups = meterRegistry.counter("customers.writes.group.replayed");
+        Gauge.builder("customers.writes.queued", queue, BlockingQueue::size)
+                .description("Creates and updates waiting for the group commit writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Group commit enabled (up to {} writes or {} us per group, queue of {})",
+                properties.getMaxGroupSize(), properties.getMaxWaitMicros(), properties.getQueueCapacity());
+    }
+
+    @Override
+    public PendingWrite submitCreate(CustomerRequest customerRequest) {
+        return enqueue(PendingWrite.create(customerRequest, properties.getTransactionTimeout()));
+    }
+
+    @Override
+    public PendingWrite submitUpdate(UUID id, CustomerRequest customerRequest) {
+        return enqueue(PendingWrite.update(id, customerRequest, properties.getTransactionTimeout()));
+    }
+
+    private PendingWrite enqueue(PendingWrite write) {
+        if (!running || !queue.offer(write)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Customer write queue is full");
+        }
+        if (!running && queue.remove(write)) {
+            // Raced with the writer stopping; it may already have failed everything queued
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Customer writer is stopped");
+        }
+        return write;
+    }
+
+    @Override
+    public WriteStatusResponse track(PendingWrite write) {
+        tracked.put(write.ticket(), write);
+        return toStatus(write);
+    }
+
+    @Override
+    public Optional<WriteStatusResponse> status(UUID ticket) {
+        return Optional.ofNullable(tracked.getIfPresent(ticket)).map(this::toStatus);
+    }
+
+    private void run() {
+        int maxGroupSize = properties.getMaxGroupSize();
+        long maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(properties.getMaxWaitMicros());
+        List<PendingWrite> group = new ArrayList<>(maxGroupSize);
+        try {
+            drain(group, maxGroupSize, maxWaitNanos);
+        } catch (Throwable ex) {
+            log.error("Group commit writer died: {}", ex.getMessage(), ex);
+            throw ex;
+        } finally {
+            running = false;
+            failAll(group, "Customer writer stopped");
+        }
+    }
+
+    private void drain(List<PendingWrite> group, int maxGroupSize, long maxWaitNanos) {
+        while (running || !queue.isEmpty()) {
+            try {
+                group.clear();
+                PendingWrite first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (group.size() < maxGroupSize) {
+                    if (queue.drainTo(group, maxGroupSize - group.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                commit(group);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Group commit writer failed: {}", ex.getMessage(), ex);
+                group.forEach(write -> write.result().completeExceptionally(ex));
+            }
+        }
+    }
+
+    // Fails the writes in hand and every write still queued with 503
+    private void failAll(List<PendingWrite> inHand, String reason) {
+        List<PendingWrite> writes = new ArrayList<>(inHand);
+        queue.drainTo(writes);
+        ResponseStatusException unavailable = new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, reason);
+        int failed = 0;
+        for (PendingWrite write : writes) {
+            if (write.result().completeExceptionally(unavailable)) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            log.warn("Failed {} customer writes that had not committed: {}", failed, reason);
+        }
+    }
+
+    private void commit(List<PendingWrite> group) {
+        groupSizes.record(group.size());
+        List<CustomerResponse> responses;
+        try {
+            responses = transactionTemplate.execute(status -> {
+                List<Object> events = new ArrayList<>(group.size() * 2);
+                List<CustomerResponse> applied = apply(group, events);
+                events.forEach(eventPublisher::publishEvent);
+                return applied;
+            });
+        } catch (RuntimeException ex) {
+            log.debug("Group of {} writes failed ({}), replaying them one at a time", group.size(), ex.getMessage());
+            replayedGroups.increment();
+            group.forEach(this::commitAlone);
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            PendingWrite write = group.get(i);
+            if (responses.get(i) != null) {
+                write.result().complete(responses.get(i));
+            } else {
+                write.result().completeExceptionally(new ResourceNotFoundException("Customer not found with id: " + write.customerId()));
+            }
+        }
+    }
+
+    private void commitAlone(PendingWrite write) {
+        try {
+            write.result().complete(write.isCreate()
+                    ? customerService.createCustomer(write.request())
+                    : customerService.updateCustomer(write.customerId(), write.request()));
+        } catch (RuntimeException ex) {
+            write.result().completeExceptionally(ex);
+        }
+    }
+
+    // One response per write, in order; null for an update whose customer does not exist. Events are collected, not published.
+    private List<CustomerResponse> apply(List<PendingWrite> group, List<Object> events) {
+        List<UUID> updatedIds = group.stream().filter(write -> !write.isCreate()).map(PendingWrite::customerId).toList();
+        Map<UUID, Tier> tiersBefore = updatedIds.isEmpty() ? Map.of() : tierChangePublisher.snapshot(updatedIds);
+
+        List<Customer> customers = new ArrayList<>(group.size());
+        List<Customer> inserts = new ArrayList<>();
+        List<Customer> updates = new ArrayList<>();
+        for (PendingWrite write : group) {
+            Customer customer = modelMapper.map(write.request(), Customer.class);
+            customer.setId(write.isCreate() ? UUID.randomUUID() : write.customerId());
+            customers.add(customer);
+            if (write.isCreate()) {
+                inserts.add(customer);
+            } else if (tiersBefore.containsKey(customer.getId())) {
+                updates.add(customer);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, customer) -> {
+                ps.setObject(1, customer.getId());
+                setColumns(ps, customer, 2);
+            });
+        }
+        Set<UUID> applied = new HashSet<>(inserts.size() + updates.size());
+        inserts.forEach(customer -> applied.add(customer.getId()));
+        if (!updates.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, customer) -> {
+                setColumns(ps, customer, 1);
+                ps.setObject(5, customer.getId());
+            })[0];
+            // A customer deleted since the snapshot matches no row
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    applied.add(updates.get(i).getId());
+                }
+            }
+        }
+
+        List<CustomerResponse> responses = new ArrayList<>(group.size());
+        Instant now = Instant.now();
+        for (int i = 0; i < group.size(); i++) {
+            Customer customer = customers.get(i);
+            if (!applied.contains(customer.getId())) {
+                responses.add(null);
+                continue;
+            }
+            boolean created = group.get(i).isCreate();
+            events.add(CustomerChangedEvent.of(
+                    created ? CustomerChangedEvent.Type.CREATED : CustomerChangedEvent.Type.UPDATED, customer));
+            CustomerResponse response = toResponse(customer);
+            Tier previousTier = tiersBefore.get(customer.getId());
+            if (previousTier != response.getTier()) {
+                events.add(new TierChangedEvent(customer.getId(), previousTier, response.getTier(), now));
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private static void setColumns(PreparedStatement ps, Customer customer, int first) throws SQLException {
+        ps.setString(first, customer.getName());
+        ps.setString(first + 1, customer.getEmail());
+        ps.setBigDecimal(first + 2, customer.getAnnualSpend());
+        ps.setDate(first + 3, customer.getLastPurchaseDate() == null ? null : Date.valueOf(customer.getLastPurchaseDate()));
+    }
+
+    // Same view as the synchronous path: tiered on the live trailing spend where there is one
+    private CustomerResponse toResponse(Customer customer) {
+        CustomerResponse response = modelMapper.map(customer, CustomerResponse.class);
+        response.setAnnualSpend(purchaseLedgerService.trailingTwelveMonthSpend(customer.getId())
+                .orElse(customer.getAnnualSpend()));
+        response.setTier(customerService.calculateTier(response.getAnnualSpend(), customer.getLastPurchaseDate()));
+        return response;
+    }
+
+    private WriteStatusResponse toStatus(PendingWrite write) {
+        WriteStatusResponse status = new WriteStatusResponse();
+        status.setTicket(write.ticket());
+        if (!write.result().isDone()) {
+            status.setState(WriteStatusResponse.State.PENDING);
+        } else if (write.result().isCompletedExceptionally()) {
+            status.setState(WriteStatusResponse.State.FAILED);
+            status.setError(toError(write));
+        } else {
+            status.setState(WriteStatusResponse.State.COMMITTED);
+            status.setCustomer(write.result().join());
+        }
+        return status;
+    }
+
+    // Mirrors what GlobalExceptionHandler answers the synchronous request with
+    private static ErrorResponse toError(PendingWrite write) {
+        Throwable failure = write.result().exceptionNow();
+        String path = write.isCreate() ? "/customers" : "/customers/" + write.customerId();
+        if (failure instanceof ResponseStatusException unavailable) {
+            return new ErrorResponse(unavailable.getStatusCode().value(), "Service Unavailable", unavailable.getReason(), path);
+        }
+        if (failure instanceof ResourceNotFoundException) {
+            return new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Resource Not Found", failure.getMessage(), path);
+        }
+        if (failure instanceof DataIntegrityViolationException) {
+            return new ErrorResponse(HttpStatus.CONFLICT.value(), "Conflict",
+                    "The customer conflicts with existing data, e.g. a name or email already in use.", path);
+        }
+        if (failure instanceof QueryTimeoutException || failure instanceof TransactionTimedOutException) {
+            return new ErrorResponse(HttpStatus.GATEWAY_TIMEOUT.value(), "Database Timeout",
+                    "The request took too long to complete in the database. Please retry later.", path);
+        }
+        return new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal Server Error",
+                "An unexpected internal server error occurred. Please contact support.", path);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // Stop accepting writes and let the writer drain what is already queued
+        running = false;
+        writer.join(properties.getTransactionTimeout().toMillis() * 2);
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+        failAll(List.of(), "Customer writer shut down");
+    }
+}
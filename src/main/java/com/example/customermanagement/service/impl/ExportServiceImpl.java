@@ -0,0 +1,136 @@
+package com.example.customermanagement.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.customermanagement.config.BulkheadConfig;
+import com.example.customermanagement.config.ExportProperties;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.ExportService;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.export.CustomerColumnarFile;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Builds columnar export files from the bulk pool and hands out the newest one, so repeated
+ * downloads within app.export.max-age are served straight from disk. Each build gets its own file
+ * name and the previous file is kept, so a download still reading it is not cut short by a rebuild.
+ *
+ * Spend and tier are exported as the API reports them: the trailing ledger spend where a customer
+ * has purchase history, the stored annual_spend otherwise.
+ */
+@Service
+@ConditionalOnExpression("${app.export.enabled:true} and !${app.sharding.enabled:false}")
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private static final String SELECT_SQL = "SELECT id, name, email, annual_spend, last_purchase_date FROM customers ORDER BY id";
+    private static final String PREFIX = "customers-";
+    private static final String SUFFIX = ".ccol";
+    private static final int KEEP_FILES = 2;
+
+    private final ExportProperties properties;
+    private final Path directory;
+    private final JdbcTemplate bulkJdbcTemplate;
+    private final CustomerService customerService;
+    private final PurchaseLedgerService purchaseLedgerService;
+    private final Timer buildTimer;
+
+    private volatile ExportFile current;
+
+    public ExportServiceImpl(ExportProperties properties, @Qualifier(BulkheadConfig.BULK) JdbcTemplate bulkJdbcTemplate,
+            CustomerService customerService, PurchaseLedgerService purchaseLedgerService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.directory = Path.of(properties.getDirectory());
+        this.bulkJdbcTemplate = bulkJdbcTemplate;
+        this.customerService = customerService;
+        this.purchaseLedgerService = purchaseLedgerService;
+        this.buildTimer = Timer.builder("customers.export.build.duration")
+                .description("Time to build a columnar customer export")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ExportFile columnar() {
+        ExportFile file = current;
+        if (fresh(file)) {
+            return file;
+        }
+        synchronized (this) {
+            // Concurrent requests for a stale file wait for one build instead of each running their own
+            file = current;
+            return fresh(file) ? file : rebuildColumnar();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.export.cron:-}")
+    public synchronized ExportFile rebuildColumnar() {
+        long started = System.nanoTime();
+        Path path = directory.resolve(PREFIX + System.currentTimeMillis() + SUFFIX);
+        CustomerColumnarFile.Info info;
+        try (CustomerColumnarFile.Writer writer = CustomerColumnarFile.create(path, properties.getRowGroupSize())) {
+            bulkJdbcTemplate.query(SELECT_SQL, rs -> {
+                UUID id = rs.getObject(1, UUID.class);
+                BigDecimal annualSpend = purchaseLedgerService.trailingTwelveMonthSpend(id).orElse(rs.getBigDecimal(4));
+                LocalDate lastPurchaseDate = rs.getObject(5, LocalDate.class);
+                try {
+                    writer.add(id, rs.getString(2), rs.getString(3), annualSpend, lastPurchaseDate,
+                            customerService.calculateTier(annualSpend, lastPurchaseDate));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            info = writer.commit();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write customer export " + path, ex);
+        }
+        long elapsed = System.nanoTime() - started;
+        buildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        current = new ExportFile(path, info.rows(), info.bytes(), info.createdAt());
+        log.info("Wrote columnar customer export {}: {} rows in {} row groups, {} bytes in {} ms", path, info.rows(),
+                info.rowGroups(), info.bytes(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        deleteOldFiles();
+        return current;
+    }
+
+    private boolean fresh(ExportFile file) {
+        return file != null && Files.isRegularFile(file.path())
+                && file.createdAt().plus(properties.getMaxAge()).isAfter(Instant.now());
+    }
+
+    // File names carry the build time, so sorting them by name sorts them by age
+    private void deleteOldFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> exports = files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+            for (Path file : exports.subList(0, Math.max(0, exports.size() - KEEP_FILES))) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ex) {
+            log.warn("Cannot delete old customer exports in {}: {}", directory, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.customermanagement.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.customermanagement.config.BulkheadConfig;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.repository.PurchaseLedgerRepository;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.feed.CustomerChangePublisher;
+import com.example.customermanagement.service.feed.TierChangePublisher;
+import com.example.customermanagement.service.ledger.RollingSpendEngine;
+import com.example.customermanagement.service.purchase.PendingPurchase;
+
+import jakarta.annotation.PostConstruct;
+
+@Service
+public class PurchaseLedgerServiceImpl implements PurchaseLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseLedgerServiceImpl.class);
+
+    private static final String BOOK_SQL = "MERGE INTO purchase_ledger l "
+            + "USING (SELECT CAST(? AS UUID) AS customer_id, CAST(? AS INT) AS period_month, CAST(? AS NUMERIC(12, 2)) AS spend) s "
+            + "ON l.customer_id = s.customer_id AND l.period_month = s.period_month "
+            + "WHEN MATCHED THEN UPDATE SET spend = l.spend + s.spend "
+            + "WHEN NOT MATCHED THEN INSERT (customer_id, period_month, spend) VALUES (s.customer_id, s.period_month, s.spend)";
+
+    // Re-derived from the ledger like a purchase flush, so a flush committing meanwhile is never overwritten
+    private static final String AGE_OUT_SQL = "UPDATE customers SET "
+            + "annual_spend = (SELECT COALESCE(SUM(l.spend), 0) FROM purchase_ledger l WHERE l.customer_id = customers.id AND l.period_month >= ?) "
+            + "WHERE id = ?";
+
+    private final PurchaseLedgerRepository purchaseLedgerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate bulkJdbcTemplate;
+    private final TierChangePublisher tierChangePublisher;
+    private final CustomerChangePublisher customerChangePublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final RollingSpendEngine engine = new RollingSpendEngine(Clock.systemDefaultZone());
+
+    public PurchaseLedgerServiceImpl(PurchaseLedgerRepository purchaseLedgerRepository, JdbcTemplate jdbcTemplate,
+            @Qualifier(BulkheadConfig.BULK) JdbcTemplate bulkJdbcTemplate, TierChangePublisher tierChangePublisher, CustomerChangePublisher customerChangePublisher,
+            PlatformTransactionManager transactionManager) {
+        this.purchaseLedgerRepository = purchaseLedgerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.bulkJdbcTemplate = bulkJdbcTemplate;
+        this.tierChangePublisher = tierChangePublisher;
+        this.customerChangePublisher = customerChangePublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @PostConstruct
+    public void rebuild() {
+        long started = System.nanoTime();
+        engine.clear();
+        // Full ledger scan, so it runs on the bulk pool
+        bulkJdbcTemplate.query("SELECT customer_id, period_month, spend FROM purchase_ledger WHERE period_month >= ?",
+                rs -> {
+                    engine.record(rs.getObject(1, UUID.class), rs.getInt(2), rs.getBigDecimal(3).movePointRight(2).longValueExact());
+                }, engine.windowStartMonth());
+        bulkJdbcTemplate.query("SELECT id, annual_spend FROM customers WHERE annual_spend IS NOT NULL "
+                + "AND id IN (SELECT customer_id FROM purchase_ledger)",
+                rs -> {
+                    engine.markPersisted(rs.getObject(1, UUID.class), rs.getBigDecimal(2).movePointRight(2).longValueExact());
+                });
+        log.info("Rebuilt rolling spend for {} customers from the purchase ledger in {} ms",
+                engine.trackedCustomers(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public Optional<BigDecimal> trailingTwelveMonthSpend(UUID customerId) {
+        OptionalLong cents = engine.trailingSpendCents(customerId);
+        return cents.isPresent() ? Optional.of(BigDecimal.valueOf(cents.getAsLong(), 2)) : Optional.empty();
+    }
+
+    @Override
+    public void book(Map<UUID, PendingPurchase> purchases) {
+        List<Object[]> rows = new ArrayList<>();
+        purchases.forEach((customerId, purchase) -> purchase.spendCentsByMonth().forEach((month, cents) ->
+                rows.add(new Object[] { customerId, month, BigDecimal.valueOf(cents, 2) })));
+        jdbcTemplate.batchUpdate(BOOK_SQL, rows);
+        log.debug("Booked {} monthly ledger rows for {} customers", rows.size(), purchases.size());
+    }
+
+    @Override
+    public void applyBooked(Map<UUID, PendingPurchase> purchases) {
+        purchases.forEach((customerId, purchase) -> {
+            purchase.spendCentsByMonth().forEach((month, cents) -> engine.record(customerId, month, cents));
+            engine.markPersisted(customerId);
+        });
+    }
+
+    @Override
+    public int windowStartMonth() {
+        return engine.windowStartMonth();
+    }
+
+    @Override
+    public void removeCustomer(UUID customerId) {
+        purchaseLedgerRepository.deleteByCustomerId(customerId);
+        engine.remove(customerId);
+    }
+
+    // The in-memory totals are marked only once the transaction has committed; a failed run is redone in full
+    @Override
+    public int ageOutExpiredMonths() {
+        long started = System.nanoTime();
+        Map<UUID, Long> changed = engine.pendingAgeOut();
+        int windowStart = engine.windowStartMonth();
+        Map<UUID, Tier> tiersBefore = new HashMap<>();
+        int deleted = transactionTemplate.execute(status -> {
+            tiersBefore.putAll(tierChangePublisher.snapshot(changed.keySet()));
+            List<Object[]> rows = new ArrayList<>(changed.size());
+            changed.keySet().forEach(customerId -> rows.add(new Object[] { windowStart, customerId }));
+            jdbcTemplate.batchUpdate(AGE_OUT_SQL, rows);
+            customerChangePublisher.publishUpdated(changed.keySet());
+            return purchaseLedgerRepository.deleteOlderThan(windowStart);
+        });
+        changed.forEach(engine::markPersisted);
+        int tierChanges = tierChangePublisher.publishChanges(tiersBefore, tierChangePublisher.snapshot(changed.keySet()));
+        log.info("Aged out purchase ledger: {} customers' rolling spend changed ({} tier changes), {} expired ledger rows removed in {} ms",
+                changed.size(), tierChanges, deleted, (System.nanoTime() - started) / 1_000_000);
+        return changed.size();
+    }
+}
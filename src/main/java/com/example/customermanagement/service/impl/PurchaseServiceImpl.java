@@ -0,0 +1,281 @@
+package com.example.customermanagement.service.impl;
+
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.customermanagement.config.PurchaseIngestionProperties;
+import com.example.customermanagement.dto.PurchaseEventRequest;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.PurchaseService;
+import com.example.customermanagement.service.feed.CustomerChangePublisher;
+import com.example.customermanagement.service.feed.TierChangePublisher;
+import com.example.customermanagement.service.purchase.PendingPurchase;
+import com.example.customermanagement.service.purchase.PurchaseEventBuffer;
+import com.example.customermanagement.service.purchase.PurchaseEventBuffer.Generation;
+import com.example.customermanagement.service.purchase.PurchaseJournal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Purchases are applied with SQL against the primary datasource, so ingestion is off with sharding.
+// Nothing is flushed until run(): the journal is replayed only after the snapshot restore has filled the tables.
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnExpression("${app.purchases.enabled:true} and !${app.sharding.enabled:false}")
+public class PurchaseServiceImpl implements PurchaseService, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseServiceImpl.class);
+
+    // Spend is re-derived from the ledger's trailing window; last_purchase_date only ever moves forward
+    private static final String APPLY_PURCHASES_SQL = "UPDATE customers SET "
+            + "annual_spend = (SELECT COALESCE(SUM(l.spend), 0) FROM purchase_ledger l WHERE l.customer_id = customers.id AND l.period_month >= ?), "
+            + "last_purchase_date = CASE WHEN last_purchase_date IS NULL OR last_purchase_date < ? THEN ? ELSE last_purchase_date END "
+            + "WHERE id = ?";
+
+    // Written in the transaction that books a generation, so a segment whose delete did not happen is never booked twice
+    private static final String MARK_APPLIED_SQL = "INSERT INTO purchase_journal_applied (segment_id, applied_at) "
+            + "VALUES (?, CURRENT_TIMESTAMP)";
+    private static final String UNMARK_APPLIED_SQL = "DELETE FROM purchase_journal_applied WHERE segment_id = ?";
+
+    private final PurchaseIngestionProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PurchaseLedgerService purchaseLedgerService;
+    private final TierChangePublisher tierChangePublisher;
+    private final CustomerChangePublisher customerChangePublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final PurchaseJournal journal;
+    private final PurchaseEventBuffer buffer;
+    private final List<Path> leftoverSegments;
+
+    // Sealed generations waiting to be written, oldest first. Only touched under flushLock.
+    private final Deque<Generation> unflushed = new ArrayDeque<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile boolean started;
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "purchase-flusher"));
+
+    private final Counter acceptedEvents;
+    private final Counter flushedCustomers;
+    private final Counter unknownCustomers;
+    private final Counter failedEvents;
+
+    public PurchaseServiceImpl(PurchaseIngestionProperties properties, JdbcTemplate jdbcTemplate,
+            PurchaseLedgerService purchaseLedgerService, TierChangePublisher tierChangePublisher,
+            CustomerChangePublisher customerChangePublisher, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.purchaseLedgerService = purchaseLedgerService;
+        this.tierChangePublisher = tierChangePublisher;
+        this.customerChangePublisher = customerChangePublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new PurchaseJournal(Path.of(properties.getJournalDirectory()), properties.isSyncWrites());
+        this.leftoverSegments = journal.existingSegments();
+        this.buffer = new PurchaseEventBuffer(journal);
+
+        this.acceptedEvents = meterRegistry.counter("customers.purchases.accepted");
+        this.flushedCustomers = meterRegistry.counter("customers.purchases.flushed.customers");
+        this.unknownCustomers = meterRegistry.counter("customers.purchases.unknown.customers");
+        this.failedEvents = meterRegistry.counter("customers.purchases.failed.events");
+        Gauge.builder("customers.purchases.pending", buffer, PurchaseEventBuffer::pendingEvents)
+                .description("Purchase events buffered but not yet flushed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS purchase_journal_applied ("
+                + "segment_id BIGINT PRIMARY KEY, "
+                + "applied_at TIMESTAMP WITH TIME ZONE NOT NULL)");
+        log.info("Purchase ingestion buffering to {} (flush every {} ms or {} events, syncWrites={})",
+                properties.getJournalDirectory(), properties.getFlushIntervalMs(), properties.getFlushThreshold(),
+                properties.isSyncWrites());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Set<Long> applied = new HashSet<>(jdbcTemplate.queryForList("SELECT segment_id FROM purchase_journal_applied", Long.class));
+        List<Path> alreadyApplied = new ArrayList<>();
+        List<Path> replay = new ArrayList<>();
+        for (Path file : leftoverSegments) {
+            if (applied.contains(PurchaseJournal.segmentId(file))) {
+                alreadyApplied.add(file);
+            } else {
+                replay.add(file);
+            }
+        }
+        if (!alreadyApplied.isEmpty()) {
+            log.info("Discarding {} purchase journal segments that were booked before the last shutdown", alreadyApplied.size());
+            unmarkApplied(journal.delete(alreadyApplied));
+        }
+        flushLock.lock();
+        try {
+            // Purchases accepted since the web server came up are already queued behind the replayed ones
+            if (!replay.isEmpty()) {
+                unflushed.addFirst(Generation.recovered(journal.recover(replay)));
+            }
+            started = true;
+        } finally {
+            flushLock.unlock();
+        }
+        flush();
+    }
+
+    @Override
+    public void recordPurchase(UUID customerId, PurchaseEventRequest purchaseEventRequest) {
+        long cents = purchaseEventRequest.getAmount().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        LocalDate purchaseDate = purchaseEventRequest.getPurchaseDate() != null
+                ? purchaseEventRequest.getPurchaseDate()
+                : LocalDate.now();
+        long pending = buffer.add(customerId, cents, (int) purchaseDate.toEpochDay());
+        acceptedEvents.increment();
+        log.debug("Buffered purchase of {} cents on {} for customer {}", cents, purchaseDate, customerId);
+
+        if (pending >= properties.getFlushThreshold() && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.purchases.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @Override
+    public int flush() {
+        if (!started || !flushLock.tryLock()) {
+            return 0; // not replayed yet, or another flush is already draining the buffer
+        }
+        try {
+            flushRequested.set(false);
+            if (buffer.pendingEvents() > 0) {
+                unflushed.add(buffer.rotate());
+            }
+            int customers = 0;
+            while (!unflushed.isEmpty()) {
+                Generation generation = unflushed.peek();
+                try {
+                    customers += write(generation);
+                    unmarkApplied(journal.delete(generation.journalFiles()));
+                } catch (DataAccessException ex) {
+                    // The generation stays queued with its journal on disk and is retried on the next flush
+                    log.error("Failed to flush buffered purchases, will retry: {}", ex.getMessage());
+                    return customers;
+                } catch (RuntimeException ex) {
+                    // Not a database outage, so retrying would fail the same way and hold up every later generation
+                    log.error("Cannot apply {} buffered purchase events, setting aside journal {}", generation.events(),
+                            generation.journalFiles(), ex);
+                    journal.quarantine(generation.journalFiles());
+                    failedEvents.increment(generation.events());
+                }
+                unflushed.poll();
+            }
+            return customers;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int write(Generation generation) {
+        Map<UUID, PendingPurchase> pending = generation.pending();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<UUID, PendingPurchase>> rows = List.copyOf(pending.entrySet());
+        int windowStart = purchaseLedgerService.windowStartMonth();
+        Map<UUID, Tier> tiersBefore = new HashMap<>();
+        List<UUID> missing = transactionTemplate.execute(status -> {
+            tiersBefore.putAll(tierChangePublisher.snapshot(pending.keySet()));
+            jdbcTemplate.batchUpdate(MARK_APPLIED_SQL, generation.journalFiles(), properties.getBatchSize(),
+                    (ps, file) -> ps.setLong(1, PurchaseJournal.segmentId(file)));
+            purchaseLedgerService.book(pending);
+            int[][] updateCounts = jdbcTemplate.batchUpdate(APPLY_PURCHASES_SQL, rows, properties.getBatchSize(), (ps, row) -> {
+                Date latest = Date.valueOf(row.getValue().latestPurchaseDate());
+                ps.setInt(1, windowStart);
+                ps.setDate(2, latest);
+                ps.setDate(3, latest);
+                ps.setObject(4, row.getKey());
+            });
+            List<UUID> unknown = new ArrayList<>();
+            int index = 0;
+            for (int[] batch : updateCounts) {
+                for (int count : batch) {
+                    if (count == 0) {
+                        unknown.add(rows.get(index).getKey());
+                    }
+                    index++;
+                }
+            }
+            // Events are accepted without a lookup, so purchases for unknown or deleted customers are dropped here
+            unknown.forEach(purchaseLedgerService::removeCustomer);
+            if (unknown.size() < rows.size()) {
+                List<UUID> updated = new ArrayList<>(pending.keySet());
+                updated.removeAll(new HashSet<>(unknown));
+                customerChangePublisher.publishUpdated(updated);
+            }
+            return unknown;
+        });
+
+        Map<UUID, PendingPurchase> applied = new HashMap<>(pending);
+        missing.forEach(applied::remove);
+        purchaseLedgerService.applyBooked(applied);
+        tierChangePublisher.publishChanges(tiersBefore, tierChangePublisher.snapshot(applied.keySet()));
+
+        if (!missing.isEmpty()) {
+            log.warn("Dropped buffered purchases for {} unknown customers", missing.size());
+            unknownCustomers.increment(missing.size());
+        }
+        flushedCustomers.increment(applied.size());
+        log.debug("Flushed coalesced purchases for {} customers", applied.size());
+        return applied.size();
+    }
+
+    // Only once a segment is gone; a marker left behind just takes up a row, since segment ids are never reused
+    private void unmarkApplied(List<Path> deleted) {
+        try {
+            jdbcTemplate.batchUpdate(UNMARK_APPLIED_SQL, deleted, properties.getBatchSize(),
+                    (ps, file) -> ps.setLong(1, PurchaseJournal.segmentId(file)));
+        } catch (DataAccessException ex) {
+            log.warn("Failed to clear applied markers for deleted purchase journal segments: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushExecutor.shutdown();
+        flush();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.customermanagement.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.customermanagement.config.BulkheadConfig;
+import com.example.customermanagement.config.ColumnarProperties;
+import com.example.customermanagement.dto.SegmentResponse;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.CustomerChangeOrder;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.event.TierRulesChangedEvent;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.SegmentService;
+import com.example.customermanagement.service.columnar.CustomerColumnStore;
+import com.example.customermanagement.service.columnar.CustomerColumnStore.SegmentResult;
+import com.example.customermanagement.service.columnar.SegmentFilter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Answers segment queries from a {@link CustomerColumnStore} replica of the customers table. The
+ * replica is loaded on startup, after a snapshot restore and before readiness, and then follows
+ * every committed create, update and delete through {@link CustomerChangedEvent}.
+ *
+ * Segments filter on the stored annual_spend, so a customer whose ledger spend is ahead of it
+ * moves between segments at the next purchase flush, like the database does.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnExpression("${app.columnar.enabled:true} and !${app.sharding.enabled:false}")
+public class SegmentServiceImpl implements SegmentService, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentServiceImpl.class);
+
+    private static final String LOAD_SQL = "SELECT id, annual_spend, last_purchase_date FROM customers";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM customers";
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final ColumnarProperties properties;
+    private final JdbcTemplate bulkJdbcTemplate;
+    private final CustomerService customerService;
+    private final CustomerColumnStore store = new CustomerColumnStore();
+    private final CustomerChangeOrder changeOrder = new CustomerChangeOrder();
+    private final ForkJoinPool scanPool;
+    private final Timer queryTimer;
+
+    public SegmentServiceImpl(ColumnarProperties properties, @Qualifier(BulkheadConfig.BULK) JdbcTemplate bulkJdbcTemplate,
+            CustomerService customerService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bulkJdbcTemplate = bulkJdbcTemplate;
+        this.customerService = customerService;
+        this.scanPool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+        this.queryTimer = Timer.builder("customers.segment.query")
+                .description("Segment scans over the columnar replica")
+                .register(meterRegistry);
+        Gauge.builder("customers.columnar.rows", store, CustomerColumnStore::size).register(meterRegistry);
+        Gauge.builder("customers.columnar.offheap.bytes", store, CustomerColumnStore::offHeapBytes)
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        // Sized up front: growing while loading would hold the old and new columns off-heap at once
+        Integer rows = bulkJdbcTemplate.queryForObject(COUNT_SQL, Integer.class);
+        store.replaceAll(rows == null ? 0 : rows, sink -> bulkJdbcTemplate.query(LOAD_SQL, rs -> {
+            BigDecimal annualSpend = rs.getBigDecimal(2);
+            LocalDate lastPurchaseDate = rs.getObject(3, LocalDate.class);
+            sink.accept(rs.getObject(1, UUID.class), toCents(annualSpend), toEpochDay(lastPurchaseDate),
+                    customerService.calculateTier(annualSpend, lastPurchaseDate));
+        }));
+        log.info("Loaded {} customers into the columnar replica ({} bytes off-heap) in {} ms", store.size(),
+                store.offHeapBytes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // After commit only, so a rolled-back write never reaches the replica
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        changeOrder.applyIfNewer(event, () -> {
+            if (event.type() == CustomerChangedEvent.Type.DELETED) {
+                store.remove(event.customerId());
+                return;
+            }
+            store.upsert(event.customerId(), toCents(event.annualSpend()), toEpochDay(event.lastPurchaseDate()),
+                    customerService.calculateTier(event.annualSpend(), event.lastPurchaseDate()));
+        });
+    }
+
+    @EventListener
+    public void onTierRulesChanged(TierRulesChangedEvent event) {
+        refreshTiers();
+    }
+
+    // Recency-based tiers change with the calendar even when no customer does
+    @Scheduled(cron = "${app.columnar.tier-refresh-cron:0 5 0 * * *}")
+    public void refreshTiers() {
+        long started = System.nanoTime();
+        store.recomputeTiers((spendCents, epochDay) -> customerService.calculateTier(
+                spendCents == CustomerColumnStore.NULL_SPEND ? null : BigDecimal.valueOf(spendCents, 2),
+                epochDay == CustomerColumnStore.NULL_DAY ? null : LocalDate.ofEpochDay(epochDay)));
+        log.info("Recomputed columnar tiers for {} customers in {} ms", store.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public SegmentResponse findSegment(BigDecimal minSpend, BigDecimal maxSpend, Integer purchasedWithinDays, Tier tier,
+            Integer limit) {
+        SegmentFilter filter = SegmentFilter.all();
+        if (minSpend != null || maxSpend != null) {
+            long min = minSpend == null ? Long.MIN_VALUE : toCents(minSpend);
+            long max = maxSpend == null ? Long.MAX_VALUE : toCents(maxSpend);
+            if (min > max) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minSpend must not be greater than maxSpend");
+            }
+            filter = filter.spendBetween(min, max);
+        }
+        if (purchasedWithinDays != null) {
+            if (purchasedWithinDays < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "purchasedWithinDays must not be negative");
+            }
+            filter = filter.purchasedBetween((int) LocalDate.now().minusDays(purchasedWithinDays).toEpochDay(),
+                    Integer.MAX_VALUE);
+        }
+        if (tier != null) {
+            filter = filter.tier(tier);
+        }
+        if (limit != null && limit < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must not be negative");
+        }
+        int ids = Math.min(limit == null ? DEFAULT_LIMIT : limit, properties.getMaxIds());
+
+        long started = System.nanoTime();
+        SegmentResult result = store.scan(filter, ids, scanPool);
+        long elapsed = System.nanoTime() - started;
+        queryTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        SegmentResponse response = new SegmentResponse();
+        response.setCount(result.count());
+        response.setTotalSpend(BigDecimal.valueOf(result.spendCents(), 2));
+        response.setAverageSpend(result.count() == 0 ? null
+                : BigDecimal.valueOf(result.spendCents(), 2).divide(BigDecimal.valueOf(result.count()), 2, RoundingMode.HALF_UP));
+        response.setCustomerIds(result.ids());
+        response.setScanned(result.scanned());
+        response.setTookMicros(TimeUnit.NANOSECONDS.toMicros(elapsed));
+        return response;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scanPool.shutdownNow();
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? CustomerColumnStore.NULL_SPEND
+                : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? CustomerColumnStore.NULL_DAY : (int) date.toEpochDay();
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.customermanagement.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.customermanagement.config.SnapshotProperties;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.SnapshotService;
+import com.example.customermanagement.service.snapshot.CustomerSnapshotFile;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the in-memory customers table and purchase ledger across restarts: snapshots on demand, on
+ * a schedule and on shutdown, and restores the last snapshot on startup. The restore runs as the
+ * first ApplicationRunner, so it finishes before the purchase journal is replayed, the warm-up and
+ * readiness. The rolling spend totals are rebuilt from the restored ledger.
+ *
+ * Both directions use the bulk pool. Snapshots read in primary key order, which makes the restore
+ * insert ids in index order. Names and emails arrive in random order, so their unique constraints
+ * are dropped for the load and rebuilt afterwards in one pass each.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SnapshotServiceImpl implements SnapshotService, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotServiceImpl.class);
+
+    private static final String SELECT_SQL = "SELECT id, name, email, annual_spend, last_purchase_date FROM customers ORDER BY id";
+    private static final String INSERT_SQL = "INSERT INTO customers (id, name, email, annual_spend, last_purchase_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_LEDGER_SQL = "SELECT customer_id, period_month, spend FROM purchase_ledger ORDER BY customer_id, period_month";
+    private static final String INSERT_LEDGER_SQL = "INSERT INTO purchase_ledger (customer_id, period_month, spend) VALUES (?, ?, ?)";
+    private static final String UNIQUE_CONSTRAINTS_SQL = "SELECT tc.constraint_name, kcu.column_name "
+            + "FROM information_schema.table_constraints tc JOIN information_schema.key_column_usage kcu "
+            + "ON kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name "
+            + "WHERE UPPER(tc.table_name) = 'CUSTOMERS' AND tc.constraint_type = 'UNIQUE' "
+            + "ORDER BY tc.constraint_name, kcu.ordinal_position";
+
+    private final SnapshotProperties properties;
+    private final Path file;
+    private final JdbcTemplate bulkJdbcTemplate;
+    private final TransactionTemplate bulkTransactionTemplate;
+    private final PurchaseLedgerService purchaseLedgerService;
+    private final Timer snapshotTimer;
+    private final Timer restoreTimer;
+
+    private volatile Report lastSnapshot;
+    private volatile Report lastRestore;
+
+    public SnapshotServiceImpl(SnapshotProperties properties, JdbcTemplate bulkJdbcTemplate,
+            TransactionTemplate bulkTransactionTemplate, PurchaseLedgerService purchaseLedgerService,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.file = Path.of(properties.getFile());
+        this.bulkJdbcTemplate = bulkJdbcTemplate;
+        this.bulkTransactionTemplate = bulkTransactionTemplate;
+        this.purchaseLedgerService = purchaseLedgerService;
+        this.snapshotTimer = Timer.builder("customers.snapshot.duration").tag("operation", "snapshot")
+                .description("Time to write or restore the customer snapshot")
+                .register(meterRegistry);
+        this.restoreTimer = Timer.builder("customers.snapshot.duration").tag("operation", "restore")
+                .description("Time to write or restore the customer snapshot")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isRestoreOnStartup()) {
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            log.info("No customer snapshot at {}, starting with an empty table", file);
+            return;
+        }
+        // A failed restore stops startup: running empty would overwrite the snapshot on shutdown
+        restore();
+    }
+
+    @Override
+    @Scheduled(cron = "${app.snapshot.cron:-}")
+    public synchronized Report snapshot() {
+        long started = System.nanoTime();
+        CustomerSnapshotFile.Info info;
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.create(file)) {
+            bulkJdbcTemplate.query(SELECT_SQL, rs -> {
+                try {
+                    writer.add(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getBigDecimal(4),
+                            rs.getObject(5, LocalDate.class));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            bulkJdbcTemplate.query(SELECT_LEDGER_SQL, rs -> {
+                try {
+                    writer.addLedger(rs.getObject(1, UUID.class), rs.getInt(2), rs.getBigDecimal(3));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            info = writer.commit();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write customer snapshot " + file, ex);
+        }
+        long elapsed = System.nanoTime() - started;
+        snapshotTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        lastSnapshot = report(info, elapsed);
+        log.info("Wrote customer snapshot {}: {} rows, {} ledger rows, {} bytes in {} ms", file, info.rows(),
+                info.ledgerRows(), info.bytes(), lastSnapshot.millis());
+        return lastSnapshot;
+    }
+
+    @Override
+    public synchronized Report restore() {
+        Long existing = bulkJdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Cannot restore " + file + ": the customers table already holds "
+                    + existing + " rows");
+        }
+        Long existingLedger = bulkJdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_ledger", Long.class);
+        if (existingLedger != null && existingLedger > 0) {
+            throw new IllegalStateException("Cannot restore " + file + ": the purchase ledger already holds "
+                    + existingLedger + " rows");
+        }
+        long started = System.nanoTime();
+        Map<String, List<String>> uniqueConstraints = uniqueConstraints();
+        uniqueConstraints.keySet().forEach(name -> bulkJdbcTemplate.execute("ALTER TABLE customers DROP CONSTRAINT " + name));
+        List<Row> pending = new ArrayList<>(properties.getRowsPerTransaction());
+        List<LedgerRow> pendingLedger = new ArrayList<>(properties.getRowsPerTransaction());
+        CustomerSnapshotFile.Info info;
+        RuntimeException failure = null;
+        try {
+            info = CustomerSnapshotFile.read(file, (id, name, email, annualSpend, lastPurchaseDate) -> {
+                pending.add(new Row(id, name, email, annualSpend, lastPurchaseDate));
+                if (pending.size() == properties.getRowsPerTransaction()) {
+                    insert(pending);
+                }
+            }, (customerId, periodMonth, spend) -> {
+                pendingLedger.add(new LedgerRow(customerId, periodMonth, spend));
+                if (pendingLedger.size() == properties.getRowsPerTransaction()) {
+                    insertLedger(pendingLedger);
+                }
+            });
+            insert(pending);
+            insertLedger(pendingLedger);
+        } catch (IOException ex) {
+            failure = new UncheckedIOException("Cannot read customer snapshot " + file, ex);
+            throw failure;
+        } catch (RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            addUniqueConstraints(uniqueConstraints, failure);
+        }
+        purchaseLedgerService.rebuild();
+        long elapsed = System.nanoTime() - started;
+        restoreTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        lastRestore = report(info, elapsed);
+        log.info("Restored {} customers and {} ledger rows from snapshot {} (taken {}) in {} ms", info.rows(),
+                info.ledgerRows(), file, info.createdAt(), lastRestore.millis());
+        return lastRestore;
+    }
+
+    @Override
+    public Status status() {
+        Report snapshot = lastSnapshot;
+        Report restore = lastRestore;
+        if (!Files.isRegularFile(file)) {
+            return new Status(file.toString(), false, null, null, null, null, snapshot, restore);
+        }
+        try {
+            CustomerSnapshotFile.Info info = CustomerSnapshotFile.info(file);
+            return new Status(file.toString(), true, info.rows(), info.ledgerRows(), info.bytes(), info.createdAt(),
+                    snapshot, restore);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read customer snapshot " + file, ex);
+        }
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        if (properties.isOnShutdown()) {
+            snapshot();
+        }
+    }
+
+    // Every constraint is attempted; a rebuild failure carries the restore failure, if any, as suppressed
+    private void addUniqueConstraints(Map<String, List<String>> constraints, RuntimeException restoreFailure) {
+        long started = System.nanoTime();
+        RuntimeException rebuildFailure = null;
+        for (Map.Entry<String, List<String>> constraint : constraints.entrySet()) {
+            try {
+                bulkJdbcTemplate.execute("ALTER TABLE customers ADD CONSTRAINT " + constraint.getKey() + " UNIQUE ("
+                        + String.join(", ", constraint.getValue()) + ")");
+            } catch (RuntimeException ex) {
+                log.error("Cannot rebuild unique constraint {} after the restore: {}", constraint.getKey(), ex.getMessage());
+                if (rebuildFailure == null) {
+                    rebuildFailure = ex;
+                } else {
+                    rebuildFailure.addSuppressed(ex);
+                }
+            }
+        }
+        if (rebuildFailure != null) {
+            if (restoreFailure != null) {
+                rebuildFailure.addSuppressed(restoreFailure);
+            }
+            throw rebuildFailure;
+        }
+        log.debug("Rebuilt {} unique constraint(s) in {} ms", constraints.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private Map<String, List<String>> uniqueConstraints() {
+        Map<String, List<String>> constraints = new LinkedHashMap<>();
+        bulkJdbcTemplate.query(UNIQUE_CONSTRAINTS_SQL, rs -> {
+            constraints.computeIfAbsent(rs.getString(1), name -> new ArrayList<>()).add(rs.getString(2));
+        });
+        return constraints;
+    }
+
+    private void insert(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        bulkTransactionTemplate.executeWithoutResult(status -> bulkJdbcTemplate.batchUpdate(INSERT_SQL, rows,
+                properties.getBatchSize(), (ps, row) -> {
+                    ps.setObject(1, row.id());
+                    ps.setString(2, row.name());
+                    ps.setString(3, row.email());
+                    ps.setBigDecimal(4, row.annualSpend());
+                    ps.setObject(5, row.lastPurchaseDate());
+                }));
+        rows.clear();
+    }
+
+    private void insertLedger(List<LedgerRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        bulkTransactionTemplate.executeWithoutResult(status -> bulkJdbcTemplate.batchUpdate(INSERT_LEDGER_SQL, rows,
+                properties.getBatchSize(), (ps, row) -> {
+                    ps.setObject(1, row.customerId());
+                    ps.setInt(2, row.periodMonth());
+                    ps.setBigDecimal(3, row.spend());
+                }));
+        rows.clear();
+    }
+
+    private static Report report(CustomerSnapshotFile.Info info, long elapsedNanos) {
+        return new Report(info.rows(), info.ledgerRows(), info.bytes(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Instant.now());
+    }
+
+    private record Row(UUID id, String name, String email, BigDecimal annualSpend, LocalDate lastPurchaseDate) {
+    }
+
+    private record LedgerRow(UUID customerId, int periodMonth, BigDecimal spend) {
+    }
+}
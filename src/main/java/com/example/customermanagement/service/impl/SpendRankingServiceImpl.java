@@ -0,0 +1,168 @@
+package com.example.customermanagement.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.customermanagement.config.BulkheadConfig;
+import com.example.customermanagement.config.SpendRankingProperties;
+import com.example.customermanagement.dto.NearThresholdResponse;
+import com.example.customermanagement.dto.RankedCustomerResponse;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.CustomerChangeOrder;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.SpendRankingService;
+import com.example.customermanagement.service.ranking.SpendIndex;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Serves top-spender and near-threshold queries from a {@link SpendIndex} instead of sorting the
+ * customers table. The index is loaded on startup and then follows the CustomerChangedEvents that
+ * CustomerServiceImpl publishes on create, update and delete, and the purchase flushes publish for
+ * bulk spend changes.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnExpression("${app.spend-ranking.enabled:true} and !${app.sharding.enabled:false}")
+public class SpendRankingServiceImpl implements SpendRankingService, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendRankingServiceImpl.class);
+
+    private static final String LOAD_SQL = "SELECT id, annual_spend, last_purchase_date FROM customers WHERE annual_spend IS NOT NULL";
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final SpendRankingProperties properties;
+    private final JdbcTemplate bulkJdbcTemplate;
+    private final CustomerService customerService;
+    private final SpendIndex index = new SpendIndex();
+    // Changes hold the read lock and the startup load the write lock, so a change committed while
+    // the load runs can't be overwritten by the older row the load read
+    private final ReentrantReadWriteLock loadLock = new ReentrantReadWriteLock();
+    private final CustomerChangeOrder changeOrder = new CustomerChangeOrder();
+
+    public SpendRankingServiceImpl(SpendRankingProperties properties,
+            @Qualifier(BulkheadConfig.BULK) JdbcTemplate bulkJdbcTemplate, CustomerService customerService,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bulkJdbcTemplate = bulkJdbcTemplate;
+        this.customerService = customerService;
+        Gauge.builder("customers.spend.index.size", index, SpendIndex::size)
+                .description("Customers in the in-memory spend ranking")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        loadLock.writeLock().lock();
+        try {
+            index.clear();
+            bulkJdbcTemplate.query(LOAD_SQL, rs -> {
+                LocalDate lastPurchaseDate = rs.getObject(3, LocalDate.class);
+                index.put(rs.getObject(1, UUID.class), toCents(rs.getBigDecimal(2)), toEpochDay(lastPurchaseDate));
+            });
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+        log.info("Loaded {} customers into the spend ranking in {} ms", index.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        loadLock.readLock().lock();
+        try {
+            changeOrder.applyIfNewer(event, () -> {
+                if (event.type() == CustomerChangedEvent.Type.DELETED || event.annualSpend() == null) {
+                    index.remove(event.customerId());
+                } else {
+                    index.put(event.customerId(), toCents(event.annualSpend()), toEpochDay(event.lastPurchaseDate()));
+                }
+            });
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<RankedCustomerResponse> topSpenders(Integer limit) {
+        return index.top(limit(limit)).stream().map(this::toResponse).toList();
+    }
+
+    @Override
+    public NearThresholdResponse nearThreshold(Tier targetTier, BigDecimal within, Tier currentTier, Integer limit) {
+        BigDecimal threshold = customerService.spendThreshold(targetTier);
+        if (threshold == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tier " + targetTier + " has no spend threshold");
+        }
+        BigDecimal distance = within == null ? properties.getDefaultWithin() : within;
+        if (distance.signum() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "within must be positive");
+        }
+        long thresholdCents = toCents(threshold);
+        List<RankedCustomerResponse> customers = index.between(thresholdCents - toCents(distance), thresholdCents,
+                        limit(limit), entry -> currentTier == null || tierOf(entry) == currentTier)
+                .stream().map(this::toResponse).toList();
+
+        NearThresholdResponse response = new NearThresholdResponse();
+        response.setTargetTier(targetTier);
+        response.setThreshold(threshold);
+        response.setWithin(distance);
+        response.setCustomers(customers);
+        return response;
+    }
+
+    private int limit(Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        return Math.min(limit == null ? DEFAULT_LIMIT : limit, properties.getMaxResults());
+    }
+
+    private Tier tierOf(SpendIndex.Entry entry) {
+        return customerService.calculateTier(BigDecimal.valueOf(entry.spendCents(), 2), dateOf(entry));
+    }
+
+    private RankedCustomerResponse toResponse(SpendIndex.Entry entry) {
+        RankedCustomerResponse response = new RankedCustomerResponse();
+        response.setId(entry.id());
+        response.setAnnualSpend(BigDecimal.valueOf(entry.spendCents(), 2));
+        response.setLastPurchaseDate(dateOf(entry));
+        response.setTier(tierOf(entry));
+        return response;
+    }
+
+    private static LocalDate dateOf(SpendIndex.Entry entry) {
+        return entry.lastPurchaseEpochDay() == SpendIndex.NO_DATE ? null : LocalDate.ofEpochDay(entry.lastPurchaseEpochDay());
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long toEpochDay(LocalDate date) {
+        return date == null ? SpendIndex.NO_DATE : date.toEpochDay();
+    }
+}
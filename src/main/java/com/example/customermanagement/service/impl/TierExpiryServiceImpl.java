@@ -0,0 +1,338 @@
+package com.example.customermanagement.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.customermanagement.config.BulkheadConfig;
+import com.example.customermanagement.config.TierExpiryProperties;
+import com.example.customermanagement.dto.ExpiringCustomerResponse;
+import com.example.customermanagement.dto.TierExpiringResponse;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.CustomerChangeOrder;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.event.TierRulesChangedEvent;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.repository.CustomerTierView;
+import com.example.customermanagement.service.TierExpiryService;
+import com.example.customermanagement.service.expiry.ExpiryWheel;
+import com.example.customermanagement.service.feed.TierChangePublisher;
+import com.example.customermanagement.service.tier.TierDecisionTable;
+import com.example.customermanagement.service.tier.TierRules;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Forecasts and applies tier drops caused by the recency rules alone. A customer in a tier with a
+ * recency window (PLATINUM, GOLD) drops on the first day its last purchase falls outside it.
+ *
+ * The forecast endpoint range-scans idx_customers_last_purchase_date per tier, with keyset
+ * pagination so deep pages cost the same as the first. The daily job instead pops the customers
+ * due today from an {@link ExpiryWheel}, kept current from CustomerChangedEvents, and publishes
+ * their tier changes to the tier change feed. New tier rules replace the wheel and reload it.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnExpression("${app.tier-expiry.enabled:true} and !${app.sharding.enabled:false}")
+public class TierExpiryServiceImpl implements TierExpiryService, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TierExpiryServiceImpl.class);
+
+    private static final String LOAD_SQL = "SELECT id, annual_spend, last_purchase_date FROM customers "
+            + "WHERE annual_spend >= ? AND last_purchase_date >= ?";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int IDS_PER_QUERY = 1000;
+    // Month arithmetic clamps to month ends, so a drop can land up to three days after date + months
+    private static final int MONTH_END_SLACK_DAYS = 3;
+
+    private final TierExpiryProperties properties;
+    private final CustomerRepository customerRepository;
+    private final JdbcTemplate bulkJdbcTemplate;
+    private final TierChangePublisher tierChangePublisher;
+    // Every forecast and schedule reads one instance, so its tiers and windows always belong together
+    private volatile Rules rules;
+    private volatile ExpiryWheel wheel;
+    private final ReentrantReadWriteLock loadLock = new ReentrantReadWriteLock();
+    private final CustomerChangeOrder changeOrder = new CustomerChangeOrder();
+    private final Counter expiredCustomers;
+
+    private record Expiry(Tier from, Tier to, LocalDate dropsOn) {
+    }
+
+    // The rules and their lapsing tiers, highest first
+    private record Rules(TierDecisionTable table, List<Tier> lapsingTiers) {
+    }
+
+    public TierExpiryServiceImpl(TierExpiryProperties properties, CustomerRepository customerRepository,
+            @Qualifier(BulkheadConfig.BULK) JdbcTemplate bulkJdbcTemplate, TierChangePublisher tierChangePublisher,
+            TierRules tierRules, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.customerRepository = customerRepository;
+        this.bulkJdbcTemplate = bulkJdbcTemplate;
+        this.tierChangePublisher = tierChangePublisher;
+        configureRules(tierRules.current());
+        this.expiredCustomers = Counter.builder("customers.tier.expired")
+                .description("Tier drops published by the daily expiry job")
+                .register(meterRegistry);
+        Gauge.builder("customers.tier.expiry.scheduled", this, service -> service.wheel.size())
+                .description("Customers with an upcoming tier drop in the expiry wheel")
+                .register(meterRegistry);
+    }
+
+    // Lapsing tiers, highest first, and a wheel long enough for the longest recency window
+    private void configureRules(TierDecisionTable table) {
+        List<Tier> tiers = new ArrayList<>();
+        int maxMonths = 0;
+        for (int i = Tier.values().length - 1; i >= 0; i--) {
+            Tier tier = Tier.values()[i];
+            Integer months = table.recencyMonths(tier);
+            if (months != null && table.spendThreshold(tier) != null) {
+                tiers.add(tier);
+                maxMonths = Math.max(maxMonths, months);
+            }
+        }
+        rules = new Rules(table, List.copyOf(tiers));
+        wheel = new ExpiryWheel(maxMonths * 31 + MONTH_END_SLACK_DAYS + 1, LocalDate.now().toEpochDay());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    // Synchronized with expireDue, so a run never schedules into a wheel that was just replaced
+    @EventListener
+    public synchronized void onTierRulesChanged(TierRulesChangedEvent event) {
+        loadLock.writeLock().lock();
+        try {
+            configureRules(event.rules());
+            load();
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        Rules current = rules;
+        if (current.lapsingTiers().isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        TierDecisionTable table = current.table();
+        BigDecimal minSpend = current.lapsingTiers().stream().map(table::spendThreshold).min(BigDecimal::compareTo).get();
+        LocalDate oldest = current.lapsingTiers().stream().map(tier -> today.minusMonths(table.recencyMonths(tier)))
+                .min(LocalDate::compareTo).get();
+        loadLock.writeLock().lock();
+        try {
+            bulkJdbcTemplate.query(LOAD_SQL, rs -> {
+                schedule(table, rs.getObject(1, UUID.class), rs.getBigDecimal(2), rs.getObject(3, LocalDate.class), today);
+            }, minSpend, oldest);
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+        log.info("Scheduled {} upcoming tier drops in {} ms", wheel.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        loadLock.readLock().lock();
+        try {
+            changeOrder.applyIfNewer(event, () -> {
+                if (event.type() == CustomerChangedEvent.Type.DELETED) {
+                    wheel.cancel(event.customerId());
+                } else {
+                    schedule(rules.table(), event.customerId(), event.annualSpend(), event.lastPurchaseDate(),
+                            LocalDate.now());
+                }
+            });
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.tier-expiry.cron:0 1 0 * * *}")
+    public synchronized int expireDue() {
+        LocalDate today = LocalDate.now();
+        Map<UUID, Tier> before = new HashMap<>();
+        while (wheel.nextDay() <= today.toEpochDay()) {
+            before.putAll(wheel.pollNextDay());
+        }
+        if (before.isEmpty()) {
+            return 0;
+        }
+        TierDecisionTable table = rules.table();
+        Map<UUID, Tier> after = new HashMap<>(before.size() * 2);
+        List<UUID> ids = new ArrayList<>(before.keySet());
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()));
+            for (CustomerTierView view : customerRepository.findTierViewsByIdIn(chunk)) {
+                after.put(view.getId(), table.evaluate(view.getAnnualSpend(), view.getLastPurchaseDate()));
+                // A PLATINUM customer dropping to GOLD is due again when the GOLD window closes
+                schedule(table, view.getId(), view.getAnnualSpend(), view.getLastPurchaseDate(), today);
+            }
+        }
+        int changes = tierChangePublisher.publishChanges(before, after);
+        expiredCustomers.increment(changes);
+        log.info("Tier expiry: {} customers due, {} tier changes published", before.size(), changes);
+        return changes;
+    }
+
+    @Override
+    public TierExpiringResponse findExpiring(int withinDays, String cursor, Integer limit) {
+        if (withinDays < 0 || withinDays > properties.getMaxWithinDays()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "withinDays must be between 0 and " + properties.getMaxWithinDays());
+        }
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        int pageSize = Math.min(limit == null ? DEFAULT_PAGE_SIZE : limit, properties.getMaxPageSize());
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(withinDays);
+
+        Rules current = rules;
+        TierDecisionTable table = current.table();
+        List<Tier> tiers = current.lapsingTiers();
+        Cursor position = cursor == null ? null : Cursor.parse(cursor, tiers);
+        int phase = position == null ? 0 : tiers.indexOf(position.tier());
+        List<ExpiringCustomerResponse> customers = new ArrayList<>(pageSize);
+        while (phase < tiers.size() && customers.size() < pageSize) {
+            Tier tier = tiers.get(phase);
+            int months = table.recencyMonths(tier);
+            LocalDate firstDate = today.minusMonths(months);
+            LocalDate lastDate = horizon.minusMonths(months).plusDays(MONTH_END_SLACK_DAYS);
+            LocalDate afterDate = position == null ? firstDate.minusDays(1) : position.lastPurchaseDate();
+            UUID afterId = position == null ? new UUID(0, 0) : position.id();
+            int wanted = pageSize - customers.size();
+            List<CustomerTierView> rows = customerRepository.findTierViewsByLastPurchaseDateBetween(
+                    table.spendThreshold(tier), firstDate, lastDate, afterDate, afterId, Limit.of(wanted));
+            for (CustomerTierView row : rows) {
+                // The date range is a superset: skip rows in another tier or dropping after the horizon
+                Expiry expiry = expiryOf(table, row.getAnnualSpend(), row.getLastPurchaseDate(), today);
+                if (expiry != null && expiry.from() == tier && !expiry.dropsOn().isAfter(horizon)) {
+                    customers.add(toResponse(row, expiry));
+                }
+            }
+            if (rows.size() < wanted) {
+                phase++;
+                position = null;
+            } else {
+                CustomerTierView last = rows.get(rows.size() - 1);
+                position = new Cursor(tier, last.getLastPurchaseDate(), last.getId());
+            }
+        }
+
+        TierExpiringResponse response = new TierExpiringResponse();
+        response.setHorizon(horizon);
+        response.setCustomers(customers);
+        response.setNextCursor(phase < tiers.size() && position != null ? position.encode() : null);
+        return response;
+    }
+
+    private void schedule(TierDecisionTable table, UUID id, BigDecimal annualSpend, LocalDate lastPurchaseDate,
+            LocalDate today) {
+        Expiry expiry = expiryOf(table, annualSpend, lastPurchaseDate, today);
+        if (expiry == null) {
+            wheel.cancel(id);
+        } else {
+            wheel.schedule(id, expiry.dropsOn().toEpochDay(), expiry.from());
+        }
+    }
+
+    private static Expiry expiryOf(TierDecisionTable table, BigDecimal annualSpend, LocalDate lastPurchaseDate,
+            LocalDate today) {
+        if (annualSpend == null || lastPurchaseDate == null) {
+            return null;
+        }
+        Tier current = table.evaluate(annualSpend, lastPurchaseDate);
+        Integer months = table.recencyMonths(current);
+        if (months == null) {
+            return null;
+        }
+        LocalDate dropsOn = lastPurchaseDate.plusMonths(months).plusDays(1);
+        while (!lastPurchaseDate.isBefore(dropsOn.minusMonths(months))) {
+            dropsOn = dropsOn.plusDays(1);
+        }
+        if (dropsOn.isBefore(today)) {
+            dropsOn = today;
+        }
+        return new Expiry(current, tierOn(table, dropsOn, current, annualSpend, lastPurchaseDate), dropsOn);
+    }
+
+    // Highest lower tier whose spend threshold and recency window still hold on the given day
+    private static Tier tierOn(TierDecisionTable table, LocalDate day, Tier current, BigDecimal annualSpend,
+            LocalDate lastPurchaseDate) {
+        for (int i = current.ordinal() - 1; i >= 0; i--) {
+            Tier tier = Tier.values()[i];
+            BigDecimal threshold = table.spendThreshold(tier);
+            Integer months = table.recencyMonths(tier);
+            if (threshold != null && annualSpend.compareTo(threshold) >= 0
+                    && (months == null || !lastPurchaseDate.isBefore(day.minusMonths(months)))) {
+                return tier;
+            }
+        }
+        return table.defaultTier();
+    }
+
+    private static ExpiringCustomerResponse toResponse(CustomerTierView row, Expiry expiry) {
+        ExpiringCustomerResponse response = new ExpiringCustomerResponse();
+        response.setId(row.getId());
+        response.setAnnualSpend(row.getAnnualSpend());
+        response.setLastPurchaseDate(row.getLastPurchaseDate());
+        response.setCurrentTier(expiry.from());
+        response.setNextTier(expiry.to());
+        response.setDropsOn(expiry.dropsOn());
+        return response;
+    }
+
+    // Opaque keyset position: tier being scanned and the last (date, id) returned for it
+    private record Cursor(Tier tier, LocalDate lastPurchaseDate, UUID id) {
+
+        String encode() {
+            return tier + "~" + lastPurchaseDate + "~" + id;
+        }
+
+        static Cursor parse(String value, List<Tier> tiers) {
+            String[] parts = value.split("~");
+            try {
+                Cursor cursor = new Cursor(Tier.valueOf(parts[0]), LocalDate.parse(parts[1]), UUID.fromString(parts[2]));
+                if (parts.length == 3 && tiers.contains(cursor.tier())) {
+                    return cursor;
+                }
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException ex) {
+                // fall through
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + value);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.customermanagement.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.customermanagement.config.BulkheadConfig;
+import com.example.customermanagement.config.BulkheadProperties;
+import com.example.customermanagement.config.TierSnapshotProperties;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.TierSnapshotService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Writes every customer's tier for the day into tier_history for loyalty accounting.
+ *
+ * The id space is split into keyset ranges planned once per day and kept in tier_snapshot_progress.
+ * The ranges are copied in parallel on a fork-join pool: each streams its slice of the customers
+ * table through one forward-only, read-only cursor and inserts JDBC batches on a second bulk
+ * connection. Every batch commits together with the range's last copied id, so a range that fails
+ * or is cut short by a restart is resumed from exactly that id, without duplicates and without
+ * redoing the ranges that finished. Each run first finishes any earlier day left incomplete, then
+ * runs or resumes today's.
+ *
+ * Spend and tier are recorded as the API reports them: the trailing ledger spend where a customer
+ * has purchase history, the stored annual_spend otherwise.
+ */
+@Service
+@ConditionalOnExpression("${app.tier-snapshot.enabled:true} and !${app.sharding.enabled:false}")
+public class TierSnapshotServiceImpl implements TierSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(TierSnapshotServiceImpl.class);
+
+    private static final String SELECT_SQL = "SELECT id, annual_spend, last_purchase_date FROM customers";
+    private static final String INSERT_SQL = "INSERT INTO tier_history (snapshot_date, customer_id, tier, annual_spend, last_purchase_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String PLAN_SQL = "INSERT INTO tier_snapshot_progress (snapshot_date, range_no, lower_id, upper_id, rows_written) VALUES (?, ?, ?, ?, 0)";
+    private static final String PROGRESS_SQL = "SELECT range_no, lower_id, upper_id, last_id, rows_written, completed_at "
+            + "FROM tier_snapshot_progress WHERE snapshot_date = ? ORDER BY range_no";
+    private static final String ADVANCE_SQL = "UPDATE tier_snapshot_progress SET last_id = ?, rows_written = rows_written + ? "
+            + "WHERE snapshot_date = ? AND range_no = ?";
+    private static final String INCOMPLETE_DATES_SQL = "SELECT DISTINCT snapshot_date FROM tier_snapshot_progress "
+            + "WHERE snapshot_date < ? AND completed_at IS NULL ORDER BY snapshot_date";
+    private static final String COMPLETE_SQL = "UPDATE tier_snapshot_progress SET completed_at = ? WHERE snapshot_date = ? AND range_no = ?";
+
+    private final TierSnapshotProperties properties;
+    private final JdbcTemplate bulkJdbcTemplate;
+    private final TransactionTemplate bulkTransactionTemplate;
+    private final CustomerService customerService;
+    private final PurchaseLedgerService purchaseLedgerService;
+    private final ForkJoinPool copyPool;
+    private final ExecutorService scheduledRuns = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "tier-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter rowsWritten;
+    private final Timer durationTimer;
+    private final AtomicInteger pendingRanges = new AtomicInteger();
+    private final LongAdder runRows = new LongAdder();
+
+    private volatile long runStartedNanos;
+    private volatile long runFinishedNanos;
+    private volatile Report lastRun;
+
+    private record HistoryRow(UUID id, Tier tier, BigDecimal annualSpend, LocalDate lastPurchaseDate) {
+    }
+
+    public TierSnapshotServiceImpl(TierSnapshotProperties properties, BulkheadProperties bulkheadProperties,
+            @Qualifier(BulkheadConfig.BULK) JdbcTemplate bulkJdbcTemplate,
+            @Qualifier(BulkheadConfig.BULK) TransactionTemplate bulkTransactionTemplate, CustomerService customerService,
+            PurchaseLedgerService purchaseLedgerService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bulkJdbcTemplate = bulkJdbcTemplate;
+        this.bulkTransactionTemplate = bulkTransactionTemplate;
+        this.customerService = customerService;
+        this.purchaseLedgerService = purchaseLedgerService;
+        int parallelism = Math.max(1, properties.getParallelism());
+        if (parallelism * 2 > bulkheadProperties.getMaximumPoolSize()) {
+            // Each range holds two connections at once; with too few, ranges wait on each other until the pool times out
+            throw new IllegalStateException("app.tier-snapshot.parallelism=" + parallelism + " needs " + parallelism * 2
+                    + " bulk connections, app.bulkhead.maximum-pool-size is " + bulkheadProperties.getMaximumPoolSize());
+        }
+        this.copyPool = new ForkJoinPool(parallelism);
+        this.rowsWritten = Counter.builder("customers.tier.snapshot.rows")
+                .description("Rows written to tier_history")
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("customers.tier.snapshot.duration")
+                .description("Time to run or resume the daily tier snapshot")
+                .register(meterRegistry);
+        Gauge.builder("customers.tier.snapshot.ranges.pending", pendingRanges, AtomicInteger::get)
+                .description("Ranges of the current or last tier snapshot run not yet completed")
+                .register(meterRegistry);
+        Gauge.builder("customers.tier.snapshot.throughput", this, TierSnapshotServiceImpl::rowsPerSecond)
+                .description("Rows per second written by the current or last tier snapshot run")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void initializeSchema() {
+        bulkJdbcTemplate.execute("CREATE TABLE IF NOT EXISTS tier_history ("
+                + "snapshot_date DATE NOT NULL, "
+                + "customer_id UUID NOT NULL, "
+                + "tier VARCHAR(20) NOT NULL, "
+                + "annual_spend NUMERIC(12, 2), "
+                + "last_purchase_date DATE, "
+                + "PRIMARY KEY (snapshot_date, customer_id))");
+        bulkJdbcTemplate.execute("CREATE TABLE IF NOT EXISTS tier_snapshot_progress ("
+                + "snapshot_date DATE NOT NULL, "
+                + "range_no INT NOT NULL, "
+                + "lower_id UUID, "
+                + "upper_id UUID, "
+                + "last_id UUID, "
+                + "rows_written BIGINT NOT NULL, "
+                + "completed_at TIMESTAMP WITH TIME ZONE, "
+                + "PRIMARY KEY (snapshot_date, range_no))");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduledRuns.shutdownNow();
+        copyPool.shutdownNow();
+    }
+
+    // Hands the run to its own thread, so the shared scheduler thread is not held for the whole copy
+    @Scheduled(cron = "${app.tier-snapshot.cron:0 30 0 * * *}")
+    void scheduledSnapshot() {
+        scheduledRuns.execute(() -> {
+            try {
+                snapshot();
+            } catch (RuntimeException ex) {
+                log.error("Scheduled tier snapshot failed: {}", ex.getMessage(), ex);
+            }
+        });
+    }
+
+    @Override
+    public synchronized Report snapshot() {
+        LocalDate today = LocalDate.now();
+        // Days left incomplete by failed ranges are finished first; their rows carry the tier at resume time
+        for (LocalDate date : incompleteDates(today)) {
+            run(date, progress(date));
+        }
+        List<RangeProgress> ranges = progress(today);
+        return run(today, ranges.isEmpty() ? plan(today) : ranges);
+    }
+
+    private Report run(LocalDate date, List<RangeProgress> ranges) {
+        List<Callable<Boolean>> copies = new ArrayList<>();
+        for (RangeProgress range : ranges) {
+            if (range.completedAt() == null) {
+                copies.add(() -> copy(date, range));
+            }
+        }
+        long started = System.nanoTime();
+        runRows.reset();
+        runFinishedNanos = 0;
+        runStartedNanos = started;
+        pendingRanges.set(copies.size());
+        int failed = 0;
+        for (Future<Boolean> copied : copyPool.invokeAll(copies)) {
+            if (!copied.resultNow()) {
+                failed++;
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        runFinishedNanos = started + elapsed;
+        durationTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        lastRun = new Report(date, ranges.size(), ranges.size() - failed, failed, runRows.sum(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed), Instant.now());
+        if (failed > 0) {
+            log.warn("Tier snapshot {}: {} of {} ranges failed, {} rows written in {} ms; the next run resumes them",
+                    date, failed, ranges.size(), lastRun.rows(), lastRun.millis());
+        } else {
+            log.info("Tier snapshot {}: {} ranges resumed or copied, {} rows written in {} ms", date, copies.size(),
+                    lastRun.rows(), lastRun.millis());
+        }
+        return lastRun;
+    }
+
+    @Override
+    public Status status() {
+        LocalDate date = bulkJdbcTemplate.queryForObject("SELECT MAX(snapshot_date) FROM tier_snapshot_progress",
+                LocalDate.class);
+        if (date == null) {
+            return new Status(null, 0, 0, 0, List.of(), List.of(), lastRun);
+        }
+        List<RangeProgress> progress = progress(date);
+        int completed = (int) progress.stream().filter(range -> range.completedAt() != null).count();
+        long rows = progress.stream().mapToLong(RangeProgress::rows).sum();
+        return new Status(date, progress.size(), completed, rows, progress, incompleteDates(date), lastRun);
+    }
+
+    private List<LocalDate> incompleteDates(LocalDate before) {
+        return bulkJdbcTemplate.queryForList(INCOMPLETE_DATES_SQL, LocalDate.class, before);
+    }
+
+    // Equal slices of the most significant id bits; ids are random, so the slices hold about the same
+    // number of customers. The database compares UUIDs as unsigned 128-bit numbers, as H2 and PostgreSQL do.
+    private List<RangeProgress> plan(LocalDate date) {
+        int count = Math.max(1, properties.getRanges());
+        long width = Long.divideUnsigned(-1L, count) + 1;
+        List<RangeProgress> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID lower = i == 0 ? null : new UUID(width * i, 0);
+            UUID upper = i == count - 1 ? null : new UUID(width * (i + 1), 0);
+            ranges.add(new RangeProgress(i, lower, upper, null, 0, null));
+        }
+        bulkTransactionTemplate.executeWithoutResult(status -> bulkJdbcTemplate.batchUpdate(PLAN_SQL, ranges,
+                ranges.size(), (ps, range) -> {
+                    ps.setObject(1, date);
+                    ps.setInt(2, range.range());
+                    ps.setObject(3, range.lowerId());
+                    ps.setObject(4, range.upperId());
+                }));
+        return ranges;
+    }
+
+    private List<RangeProgress> progress(LocalDate date) {
+        return bulkJdbcTemplate.query(PROGRESS_SQL, (rs, rowNum) -> {
+            OffsetDateTime completedAt = rs.getObject(6, OffsetDateTime.class);
+            return new RangeProgress(rs.getInt(1), rs.getObject(2, UUID.class), rs.getObject(3, UUID.class),
+                    rs.getObject(4, UUID.class), rs.getLong(5), completedAt == null ? null : completedAt.toInstant());
+        }, date);
+    }
+
+    // False if the range failed; the batches it committed stay and the next run continues after them
+    private boolean copy(LocalDate date, RangeProgress range) {
+        try {
+            long rows = stream(date, range);
+            bulkJdbcTemplate.update(COMPLETE_SQL, OffsetDateTime.now(ZoneOffset.UTC), date, range.range());
+            pendingRanges.decrementAndGet();
+            log.debug("Tier snapshot {} range {}: {} rows", date, range.range(), rows);
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Tier snapshot {} range {} failed", date, range.range(), ex);
+            return false;
+        }
+    }
+
+    private long stream(LocalDate date, RangeProgress range) {
+        List<String> conditions = new ArrayList<>(2);
+        List<Object> bounds = new ArrayList<>(2);
+        if (range.lastId() != null) {
+            conditions.add("id > ?");
+            bounds.add(range.lastId());
+        } else if (range.lowerId() != null) {
+            conditions.add("id >= ?");
+            bounds.add(range.lowerId());
+        }
+        if (range.upperId() != null) {
+            conditions.add("id < ?");
+            bounds.add(range.upperId());
+        }
+        String sql = SELECT_SQL + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY id";
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<HistoryRow> batch = new ArrayList<>(batchSize);
+        long written = bulkJdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            long rows = 0;
+            // A read-only transaction with a forward-only cursor lets the driver fetch the range in
+            // batch-size pieces; the inserts go through their own connection and transactions
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(batchSize);
+                for (int i = 0; i < bounds.size(); i++) {
+                    statement.setObject(i + 1, bounds.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        UUID id = rs.getObject(1, UUID.class);
+                        BigDecimal annualSpend = purchaseLedgerService.trailingTwelveMonthSpend(id).orElse(rs.getBigDecimal(2));
+                        LocalDate lastPurchaseDate = rs.getObject(3, LocalDate.class);
+                        batch.add(new HistoryRow(id, customerService.calculateTier(annualSpend, lastPurchaseDate),
+                                annualSpend, lastPurchaseDate));
+                        if (batch.size() == batchSize) {
+                            rows += write(date, range.range(), batch);
+                        }
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+            return rows;
+        });
+        return written + write(date, range.range(), batch);
+    }
+
+    private int write(LocalDate date, int range, List<HistoryRow> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        UUID lastId = batch.get(batch.size() - 1).id();
+        bulkTransactionTemplate.executeWithoutResult(status -> {
+            bulkJdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+                ps.setObject(1, date);
+                ps.setObject(2, row.id());
+                ps.setString(3, row.tier().name());
+                ps.setBigDecimal(4, row.annualSpend());
+                ps.setObject(5, row.lastPurchaseDate());
+            });
+            bulkJdbcTemplate.update(ADVANCE_SQL, lastId, batch.size(), date, range);
+        });
+        int rows = batch.size();
+        batch.clear();
+        rowsWritten.increment(rows);
+        runRows.add(rows);
+        return rows;
+    }
+
+    private double rowsPerSecond() {
+        long started = runStartedNanos;
+        if (started == 0) {
+            return 0;
+        }
+        long finished = runFinishedNanos;
+        long elapsed = (finished == 0 ? System.nanoTime() : finished) - started;
+        return elapsed <= 0 ? 0 : runRows.sum() * 1e9 / elapsed;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.customermanagement.service.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.customermanagement.event.CustomerChangedEvent;
+
+/**
+ * Append-only, sequence-numbered log of customer changes stored in fixed-size memory-mapped
+ * segments named after the first sequence they hold. Appends are serialized; reads run
+ * concurrently against the mappings. Sequences survive compaction, so a consumer's
+ * {@code since} position stays valid even when superseded records are dropped.
+ */
+public class ChangeJournal implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeJournal.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("changes-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+
+    private JournalSegment active;
+    private long nextSequence;
+
+    public ChangeJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.forEach(this::openExisting);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open change journal in " + directory, ex);
+        }
+        if (segments.isEmpty()) {
+            active = JournalSegment.create(segmentPath(1), 1, segmentSize);
+            segments.put(1L, active);
+        } else {
+            active = segments.lastEntry().getValue();
+        }
+        nextSequence = active.lastSequence() + 1;
+        logger.info("Change journal opened in {} with {} segment(s), next sequence {}", directory, segments.size(), nextSequence);
+    }
+
+    public long append(CustomerChangedEvent.Type type, UUID customerId, Instant changedAt, byte[] payload) {
+        if (JournalSegment.OVERHEAD + payload.length > segmentSize / 2) {
+            throw new IllegalArgumentException("Change record of " + payload.length + " bytes exceeds the segment size");
+        }
+        synchronized (writeLock) {
+            if (!active.hasRoomFor(payload.length)) {
+                roll();
+            }
+            long sequence = nextSequence++;
+            active.append(sequence, changedAt.toEpochMilli(), type, customerId, payload);
+            return sequence;
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} records with {@code sequence >= since}, oldest first.
+     */
+    public List<ChangeRecord> read(long since, int limit) {
+        List<ChangeRecord> records = new ArrayList<>(Math.min(limit, 1024));
+        Long start = segments.floorKey(since);
+        for (JournalSegment segment : (start == null ? segments : segments.tailMap(start)).values()) {
+            if (records.size() >= limit) {
+                break;
+            }
+            segment.read(since, limit - records.size(), records::add);
+        }
+        return records;
+    }
+
+    public long oldestSequence() {
+        return segments.firstKey();
+    }
+
+    public long lastSequence() {
+        synchronized (writeLock) {
+            return nextSequence - 1;
+        }
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public void force() {
+        JournalSegment current;
+        synchronized (writeLock) {
+            current = active;
+        }
+        current.force();
+    }
+
+    /**
+     * Drops sealed segments whose newest record is older than {@code cutoff}, and then the oldest
+     * sealed segments beyond {@code maxSegments}. The active segment is never removed.
+     */
+    public int applyRetention(Instant cutoff, int maxSegments) {
+        int removed = 0;
+        for (JournalSegment segment : sealedSegments()) {
+            boolean expired = segment.lastTimestamp() < cutoff.toEpochMilli();
+            boolean overLimit = segments.size() > maxSegments;
+            if (!expired && !overLimit) {
+                break;
+            }
+            segments.remove(segment.baseSequence());
+            JournalSegment.delete(segment.path());
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Rewrites sealed segments keeping only the newest record per customer across the whole
+     * journal. A segment is rewritten when at least {@code minGarbageRatio} of its records are
+     * superseded. Readers still holding the old mapping keep reading it until they finish.
+     */
+    public int compact(double minGarbageRatio) {
+        List<JournalSegment> sealed = sealedSegments();
+        if (sealed.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, Long> newest = new HashMap<>();
+        for (JournalSegment segment : segments.values()) {
+            segment.forEachRecord((position, sequence, customerId) -> newest.put(customerId, sequence));
+        }
+        int rewritten = 0;
+        for (JournalSegment segment : sealed) {
+            List<Integer> live = new ArrayList<>();
+            segment.forEachRecord((position, sequence, customerId) -> {
+                if (newest.get(customerId) == sequence) {
+                    live.add(position);
+                }
+            });
+            int records = segment.records();
+            if (records == 0 || (records - live.size()) < records * minGarbageRatio) {
+                continue;
+            }
+            Path temp = directory.resolve(segment.path().getFileName() + ".compact");
+            JournalSegment.delete(temp);
+            JournalSegment compacted = JournalSegment.create(temp, segment.baseSequence(), Math.max(segment.size(), 1) + Integer.BYTES);
+            compacted.copyFrom(segment, live);
+            compacted.force();
+            try {
+                Files.move(temp, segment.path(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot replace compacted segment " + segment.path(), ex);
+            }
+            segments.put(segment.baseSequence(), JournalSegment.open(segment.path(), segment.baseSequence(), 0));
+            rewritten++;
+            logger.debug("Compacted change journal segment {}: {} of {} records kept", segment.baseSequence(), live.size(), records);
+        }
+        return rewritten;
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private List<JournalSegment> sealedSegments() {
+        JournalSegment current;
+        synchronized (writeLock) {
+            current = active;
+        }
+        return segments.values().stream().filter(segment -> segment != current).toList();
+    }
+
+    private void roll() {
+        active.force();
+        active = JournalSegment.create(segmentPath(nextSequence), nextSequence, segmentSize);
+        segments.put(nextSequence, active);
+        logger.debug("Change journal rolled to segment {}", nextSequence);
+    }
+
+    private void openExisting(Path path) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            return;
+        }
+        long baseSequence = Long.parseLong(matcher.group(1));
+        segments.put(baseSequence, JournalSegment.open(path, baseSequence, 0));
+    }
+
+    private Path segmentPath(long baseSequence) {
+        return directory.resolve("changes-%020d.log".formatted(baseSequence));
+    }
+}
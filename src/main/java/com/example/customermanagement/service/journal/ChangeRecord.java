@@ -0,0 +1,10 @@
+package com.example.customermanagement.service.journal;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.example.customermanagement.event.CustomerChangedEvent;
+
+// payload is the customer's state as JSON (empty for deletes)
+public record ChangeRecord(long sequence, Instant changedAt, CustomerChangedEvent.Type type, UUID customerId, byte[] payload) {
+}
@@ -0,0 +1,249 @@
+package com.example.customermanagement.service.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import com.example.customermanagement.event.CustomerChangedEvent;
+
+/**
+ * One memory-mapped file of the change journal. Records are appended by a single writer (the
+ * journal holds the lock); readers work on duplicates of the mapping and only look below the
+ * volatile write position, so they never see a half-written record.
+ *
+ * Record layout:
+ * <pre>
+ * int    length (whole record; 0 marks the end of the segment)
+ * long   sequence
+ * long   timestamp (epoch millis)
+ * byte   change type ordinal
+ * long   customer id msb, long lsb
+ * int    payload length, then payload bytes
+ * int    CRC32C of everything between the length field and the checksum
+ * </pre>
+ */
+final class JournalSegment {
+
+    static final int OVERHEAD = 4 + 8 + 8 + 1 + 8 + 8 + 4 + 4;
+    private static final int INDEX_INTERVAL = 128;
+    private static final CustomerChangedEvent.Type[] TYPES = CustomerChangedEvent.Type.values();
+
+    private final long baseSequence;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    // Sparse sequence -> position index so reads don't scan from the start of the segment
+    private final ConcurrentSkipListMap<Long, Integer> index = new ConcurrentSkipListMap<>();
+
+    private volatile int writePosition;
+    private volatile long lastSequence;
+    private volatile long lastTimestamp;
+    private int records;
+
+    private JournalSegment(long baseSequence, Path path, MappedByteBuffer buffer) {
+        this.baseSequence = baseSequence;
+        this.path = path;
+        this.buffer = buffer;
+        this.lastSequence = baseSequence - 1;
+    }
+
+    static JournalSegment create(Path path, long baseSequence, int capacity) {
+        return new JournalSegment(baseSequence, path, map(path, capacity, true));
+    }
+
+    /**
+     * Maps an existing segment and finds its end by walking records until an empty or corrupt one.
+     */
+    static JournalSegment open(Path path, long baseSequence, int capacity) {
+        JournalSegment segment = new JournalSegment(baseSequence, path, map(path, capacity, false));
+        segment.recover();
+        return segment;
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    int records() {
+        return records;
+    }
+
+    int size() {
+        return writePosition;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    boolean hasRoomFor(int payloadLength) {
+        return writePosition + OVERHEAD + payloadLength <= buffer.capacity() - Integer.BYTES;
+    }
+
+    // Caller holds the journal's write lock
+    void append(long sequence, long timestamp, CustomerChangedEvent.Type type, UUID customerId, byte[] payload) {
+        int position = writePosition;
+        int length = OVERHEAD + payload.length;
+        ByteBuffer out = buffer.duplicate();
+        out.position(position);
+        out.putInt(length)
+                .putLong(sequence)
+                .putLong(timestamp)
+                .put((byte) type.ordinal())
+                .putLong(customerId.getMostSignificantBits())
+                .putLong(customerId.getLeastSignificantBits())
+                .putInt(payload.length)
+                .put(payload);
+        out.putInt(checksum(position, length));
+        if (records % INDEX_INTERVAL == 0) {
+            index.put(sequence, position);
+        }
+        records++;
+        lastSequence = sequence;
+        lastTimestamp = timestamp;
+        writePosition = position + length; // publishes the record to readers
+    }
+
+    /**
+     * Feeds records with {@code sequence >= since} to {@code sink} until it has taken {@code limit}.
+     * Returns how many were delivered.
+     */
+    int read(long since, int limit, Consumer<ChangeRecord> sink) {
+        int end = writePosition;
+        Map.Entry<Long, Integer> start = index.floorEntry(since);
+        int position = start == null ? 0 : start.getValue();
+        ByteBuffer in = buffer.duplicate();
+        int delivered = 0;
+        while (position < end && delivered < limit) {
+            in.position(position);
+            int length = in.getInt();
+            long sequence = in.getLong();
+            if (sequence >= since) {
+                long timestamp = in.getLong();
+                CustomerChangedEvent.Type type = TYPES[in.get()];
+                UUID customerId = new UUID(in.getLong(), in.getLong());
+                byte[] payload = new byte[in.getInt()];
+                in.get(payload);
+                sink.accept(new ChangeRecord(sequence, Instant.ofEpochMilli(timestamp), type, customerId, payload));
+                delivered++;
+            }
+            position += length;
+        }
+        return delivered;
+    }
+
+    // Appends the raw bytes of the given records to this (empty) segment; used by compaction
+    void copyFrom(JournalSegment source, List<Integer> positions) {
+        ByteBuffer in = source.buffer.duplicate();
+        for (int position : positions) {
+            in.position(position);
+            int length = in.getInt();
+            ByteBuffer record = in.duplicate();
+            record.position(position).limit(position + length);
+            long sequence = record.getLong(position + 4);
+            long timestamp = record.getLong(position + 12);
+            ByteBuffer out = buffer.duplicate();
+            out.position(writePosition);
+            out.put(record);
+            if (records % INDEX_INTERVAL == 0) {
+                index.put(sequence, writePosition);
+            }
+            records++;
+            lastSequence = sequence;
+            lastTimestamp = timestamp;
+            writePosition += length;
+        }
+    }
+
+    // Positions and customer ids of every record, in order; used by compaction
+    void forEachRecord(RecordVisitor visitor) {
+        int end = writePosition;
+        ByteBuffer in = buffer.duplicate();
+        int position = 0;
+        while (position < end) {
+            int length = in.getInt(position);
+            long sequence = in.getLong(position + 4);
+            UUID customerId = new UUID(in.getLong(position + 21), in.getLong(position + 29));
+            visitor.visit(position, sequence, customerId);
+            position += length;
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    private void recover() {
+        int position = 0;
+        int limit = buffer.capacity() - Integer.BYTES;
+        while (position < limit) {
+            int length = buffer.getInt(position);
+            if (length < OVERHEAD || position + length > limit || buffer.getInt(position + length - 4) != checksum(position, length)) {
+                break;
+            }
+            long sequence = buffer.getLong(position + 4);
+            if (records % INDEX_INTERVAL == 0) {
+                index.put(sequence, position);
+            }
+            records++;
+            lastSequence = sequence;
+            lastTimestamp = buffer.getLong(position + 12);
+            position += length;
+        }
+        writePosition = position;
+        // Clear whatever a crash left behind so the next append starts on a clean end marker
+        buffer.putInt(position, 0);
+    }
+
+    private int checksum(int position, int length) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(position + 4).limit(position + length - 4);
+        crc.update(slice);
+        return (int) crc.getValue();
+    }
+
+    private static MappedByteBuffer map(Path path, int capacity, boolean createNew) {
+        try (FileChannel channel = createNew
+                ? FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping past the end grows the file; the mapping outlives the channel
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacity, channel.size()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot map change journal segment " + path, ex);
+        }
+    }
+
+    static boolean delete(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot delete change journal segment " + path, ex);
+        }
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(int position, long sequence, UUID customerId);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.customermanagement.service.ledger;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.customermanagement.service.PurchaseLedgerService;
+
+/**
+ * Nightly ledger age-out. It rewrites annual_spend through the primary datasource, so like the
+ * other bulk jobs it does not run with sharding; the ledger is only fed by purchase ingestion,
+ * which is off there as well.
+ */
+@Component
+@ConditionalOnExpression("!${app.sharding.enabled:false}")
+public class LedgerAgeOutJob {
+
+    private final PurchaseLedgerService purchaseLedgerService;
+
+    public LedgerAgeOutJob(PurchaseLedgerService purchaseLedgerService) {
+        this.purchaseLedgerService = purchaseLedgerService;
+    }
+
+    @Scheduled(cron = "${app.ledger.age-out-cron:0 10 0 * * *}")
+    public void ageOut() {
+        purchaseLedgerService.ageOutExpiredMonths();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.customermanagement.service.ledger;
+
+import java.util.Arrays;
+
+/**
+ * Trailing twelve months of spend for one customer as a ring of monthly buckets. The running
+ * total is adjusted as buckets are added to or fall out of the window, so both recording a
+ * purchase and aging out a month are O(1) and history is never re-summed.
+ */
+final class MonthlySpendRing {
+
+    static final int WINDOW_MONTHS = 12;
+
+    private final long[] bucketCents = new long[WINDOW_MONTHS];
+    private int headMonth; // newest epoch month covered by the window
+    private long totalCents;
+    private long persistedCents; // annual_spend last committed for this customer
+
+    MonthlySpendRing(int headMonth) {
+        this.headMonth = headMonth;
+    }
+
+    synchronized void add(int epochMonth, long cents) {
+        advanceTo(epochMonth);
+        if (epochMonth <= headMonth - WINDOW_MONTHS) {
+            return; // older than the window, contributes nothing
+        }
+        bucketCents[Math.floorMod(epochMonth, WINDOW_MONTHS)] += cents;
+        totalCents += cents;
+    }
+
+    /**
+     * Slides the window so it ends at {@code epochMonth}. Returns true if the total changed.
+     */
+    synchronized boolean advanceTo(int epochMonth) {
+        if (epochMonth <= headMonth) {
+            return false;
+        }
+        long before = totalCents;
+        if (epochMonth - headMonth >= WINDOW_MONTHS) {
+            Arrays.fill(bucketCents, 0);
+            totalCents = 0;
+        } else {
+            for (int month = headMonth + 1; month <= epochMonth; month++) {
+                int slot = Math.floorMod(month, WINDOW_MONTHS);
+                totalCents -= bucketCents[slot];
+                bucketCents[slot] = 0;
+            }
+        }
+        headMonth = epochMonth;
+        return totalCents != before;
+    }
+
+    synchronized long totalCents(int currentMonth) {
+        advanceTo(currentMonth);
+        return totalCents;
+    }
+
+    synchronized long persistedCents() {
+        return persistedCents;
+    }
+
+    synchronized void markPersisted(long cents) {
+        persistedCents = cents;
+    }
+
+    synchronized boolean isEmpty() {
+        return totalCents == 0;
+    }
+}
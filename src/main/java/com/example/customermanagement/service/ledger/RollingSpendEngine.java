@@ -0,0 +1,91 @@
+package com.example.customermanagement.service.ledger;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.customermanagement.service.purchase.PendingPurchase;
+
+/**
+ * In-memory trailing-twelve-month spend per customer, maintained incrementally from the
+ * purchase ledger. Only customers with at least one ledger entry are tracked.
+ *
+ * Besides the live total, each customer carries the spend last committed to the customers table.
+ * Age-out compares the two rather than relying on the window moving, so a failed age-out, or a
+ * read that already slid the window, leaves the difference in place for the next run.
+ */
+public class RollingSpendEngine {
+
+    private final Map<UUID, MonthlySpendRing> rings = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public RollingSpendEngine(Clock clock) {
+        this.clock = clock;
+    }
+
+    public void record(UUID customerId, int epochMonth, long cents) {
+        int currentMonth = currentMonth();
+        rings.computeIfAbsent(customerId, id -> new MonthlySpendRing(currentMonth)).add(epochMonth, cents);
+    }
+
+    public OptionalLong trailingSpendCents(UUID customerId) {
+        MonthlySpendRing ring = rings.get(customerId);
+        return ring == null ? OptionalLong.empty() : OptionalLong.of(ring.totalCents(currentMonth()));
+    }
+
+    public void remove(UUID customerId) {
+        rings.remove(customerId);
+    }
+
+    public void clear() {
+        rings.clear();
+    }
+
+    /**
+     * Returns the current totals of the customers whose spend differs from what was last
+     * persisted, without marking anything. Customers whose window is now empty stay tracked with
+     * a zero total.
+     */
+    public Map<UUID, Long> pendingAgeOut() {
+        int currentMonth = currentMonth();
+        Map<UUID, Long> changed = new HashMap<>();
+        rings.forEach((customerId, ring) -> {
+            long total = ring.totalCents(currentMonth);
+            if (total != ring.persistedCents()) {
+                changed.put(customerId, total);
+            }
+        });
+        return changed;
+    }
+
+    // Records the spend committed for a customer; call only after the commit
+    public void markPersisted(UUID customerId, long cents) {
+        MonthlySpendRing ring = rings.get(customerId);
+        if (ring != null) {
+            ring.markPersisted(cents);
+        }
+    }
+
+    public void markPersisted(UUID customerId) {
+        MonthlySpendRing ring = rings.get(customerId);
+        if (ring != null) {
+            ring.markPersisted(ring.totalCents(currentMonth()));
+        }
+    }
+
+    public int trackedCustomers() {
+        return rings.size();
+    }
+
+    public int currentMonth() {
+        return PendingPurchase.epochMonth(LocalDate.now(clock).toEpochDay());
+    }
+
+    public int windowStartMonth() {
+        return currentMonth() - MonthlySpendRing.WINDOW_MONTHS + 1;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.customermanagement.service.lookup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.customermanagement.config.CustomerCacheProperties;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Customer rows for the read path, keyed by id, with name and email resolved to an id through
+ * small index caches. Only the row is cached: tier and trailing spend are still derived on every
+ * read, so they stay current.
+ *
+ * Every CustomerChangedEvent evicts the customer, once immediately and again after the
+ * surrounding transaction completes. A load that started before an eviction is not cached, so
+ * a reader racing a writer cannot put the old row back.
+ */
+@Component
+public class CustomerCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, CustomerSnapshot> byId;
+    private final Cache<String, UUID> idByName;
+    private final Cache<String, UUID> idByEmail;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public CustomerCache(CustomerCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .build();
+        this.idByName = Caffeine.newBuilder().maximumSize(properties.getMaxSize()).build();
+        this.idByEmail = Caffeine.newBuilder().maximumSize(properties.getMaxSize()).build();
+        this.hits = Counter.builder("customers.cache.requests").tag("result", "hit")
+                .description("Customer lookups answered from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("customers.cache.requests").tag("result", "miss")
+                .description("Customer lookups that went to the database")
+                .register(meterRegistry);
+        Gauge.builder("customers.cache.size", byId, Cache::estimatedSize)
+                .description("Customers held in the lookup cache")
+                .register(meterRegistry);
+    }
+
+    public Optional<Customer> byId(UUID id, Supplier<Optional<Customer>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CustomerSnapshot cached = byId.getIfPresent(id);
+        return cached != null ? hit(cached) : load(loader);
+    }
+
+    public Optional<Customer> byName(String name, Supplier<Optional<Customer>> loader) {
+        return byIndex(idByName, name, loader, true);
+    }
+
+    public Optional<Customer> byEmail(String email, Supplier<Optional<Customer>> loader) {
+        return byIndex(idByEmail, email, loader, false);
+    }
+
+    // Warm-up: caches customers read in bulk, returns how many were cached
+    public int preload(Supplier<List<Customer>> loader) {
+        if (!enabled) {
+            return 0;
+        }
+        long stamp = invalidations.get();
+        List<CustomerSnapshot> snapshots = loader.get().stream().map(CustomerSnapshot::of).toList();
+        snapshots.forEach(this::put);
+        if (invalidations.get() != stamp) {
+            snapshots.forEach(snapshot -> byId.invalidate(snapshot.id()));
+            return 0;
+        }
+        return snapshots.size();
+    }
+
+    // Most frequently used ids first, as ranked by the cache's eviction policy
+    public List<UUID> hottest(int limit) {
+        return byId.policy().eviction()
+                .map(eviction -> List.copyOf(eviction.hottest(limit).keySet()))
+                .orElse(List.of());
+    }
+
+    public long size() {
+        return byId.estimatedSize();
+    }
+
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        UUID id = event.customerId();
+        invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(id);
+                }
+            });
+        }
+    }
+
+    private Optional<Customer> byIndex(Cache<String, UUID> index, String key, Supplier<Optional<Customer>> loader,
+            boolean byName) {
+        if (!enabled) {
+            return loader.get();
+        }
+        UUID id = index.getIfPresent(key);
+        CustomerSnapshot cached = id != null ? byId.getIfPresent(id) : null;
+        // The index is not evicted on renames, so check the row still carries the key
+        if (cached != null && key.equals(byName ? cached.name() : cached.email())) {
+            return hit(cached);
+        }
+        return load(loader);
+    }
+
+    private Optional<Customer> hit(CustomerSnapshot cached) {
+        hits.increment();
+        return Optional.of(cached.toCustomer());
+    }
+
+    private Optional<Customer> load(Supplier<Optional<Customer>> loader) {
+        misses.increment();
+        long stamp = invalidations.get();
+        Optional<Customer> customer = loader.get();
+        if (customer.isPresent() && invalidations.get() == stamp) {
+            put(CustomerSnapshot.of(customer.get()));
+            // An eviction between the check and the put would otherwise be lost
+            if (invalidations.get() != stamp) {
+                byId.invalidate(customer.get().getId());
+            }
+        }
+        return customer;
+    }
+
+    private void put(CustomerSnapshot snapshot) {
+        byId.put(snapshot.id(), snapshot);
+        idByName.put(snapshot.name(), snapshot.id());
+        idByEmail.put(snapshot.email(), snapshot.id());
+    }
+
+    private void invalidate(UUID id) {
+        invalidations.incrementAndGet();
+        byId.invalidate(id);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.customermanagement.service.lookup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.example.customermanagement.config.LookupCoalescingProperties;
+import com.example.customermanagement.dto.CustomerResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight front for the customer lookups, one flight group per lookup kind so an id and a
+ * name that happen to be equal strings never share a load.
+ */
+@Component
+public class CustomerLookupCoalescer {
+
+    private final boolean enabled;
+    private final SingleFlight<UUID, Optional<CustomerResponse>> byId;
+    private final SingleFlight<String, Optional<CustomerResponse>> byName;
+    private final SingleFlight<String, Optional<CustomerResponse>> byEmail;
+
+    public CustomerLookupCoalescer(LookupCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.byId = new SingleFlight<>(properties.getMaxWait(), listener(meterRegistry, "id"));
+        this.byName = new SingleFlight<>(properties.getMaxWait(), listener(meterRegistry, "name"));
+        this.byEmail = new SingleFlight<>(properties.getMaxWait(), listener(meterRegistry, "email"));
+    }
+
+    public Optional<CustomerResponse> byId(UUID id, Supplier<Optional<CustomerResponse>> loader) {
+        return enabled ? byId.execute(id, loader) : loader.get();
+    }
+
+    public Optional<CustomerResponse> byName(String name, Supplier<Optional<CustomerResponse>> loader) {
+        return enabled ? byName.execute(name, loader) : loader.get();
+    }
+
+    public Optional<CustomerResponse> byEmail(String email, Supplier<Optional<CustomerResponse>> loader) {
+        return enabled ? byEmail.execute(email, loader) : loader.get();
+    }
+
+    private static SingleFlight.Listener listener(MeterRegistry meterRegistry, String lookup) {
+        Counter coalesced = Counter.builder("customers.lookup.coalesced")
+                .description("Lookups served by an identical in-flight lookup instead of a database load")
+                .tag("lookup", lookup)
+                .register(meterRegistry);
+        Counter timedOut = Counter.builder("customers.lookup.coalesce.timeouts")
+                .description("Coalesced lookups that gave up waiting and loaded themselves")
+                .tag("lookup", lookup)
+                .register(meterRegistry);
+        return new SingleFlight.Listener() {
+            @Override
+            public void coalesced() {
+                coalesced.increment();
+            }
+
+            @Override
+            public void timedOut() {
+                timedOut.increment();
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.customermanagement.service.lookup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.example.customermanagement.model.Customer;
+
+// Immutable copy of a customer row, so cached state can never be changed through a managed entity
+record CustomerSnapshot(UUID id, String name, String email, BigDecimal annualSpend, LocalDate lastPurchaseDate) {
+
+    static CustomerSnapshot of(Customer customer) {
+        return new CustomerSnapshot(customer.getId(), customer.getName(), customer.getEmail(),
+                customer.getAnnualSpend(), customer.getLastPurchaseDate());
+    }
+
+    // Detached entity for the read path; it is never saved
+    Customer toCustomer() {
+        Customer customer = new Customer(name, email, annualSpend, lastPurchaseDate);
+        customer.setId(id);
+        return customer;
+    }
+}
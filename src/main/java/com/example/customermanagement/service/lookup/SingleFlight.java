@@ -0,0 +1,85 @@
+package com.example.customermanagement.service.lookup;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. The first caller runs the
+ * loader on its own thread; callers arriving while it is in flight wait for its result (or its
+ * exception) instead of loading again. Nothing is cached: once the load finishes the next call
+ * starts a fresh one.
+ *
+ * Waiting is bounded. A follower that has not seen a result within {@code maxWait} stops waiting
+ * and runs the loader itself, so a stuck leader slows its followers down but never hangs them.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final Listener listener;
+
+    public SingleFlight(Duration maxWait, Listener listener) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.listener = listener;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, call);
+        if (leader == null) {
+            return lead(key, call, loader);
+        }
+        listener.coalesced();
+        try {
+            return leader.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        } catch (TimeoutException ex) {
+            listener.timedOut();
+            return loader.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight load of " + key, ex);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V lead(K key, CompletableFuture<V> call, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    // Followers get the leader's exception itself so handlers map it exactly as for the leader
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    public interface Listener {
+
+        void coalesced();
+
+        void timedOut();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.customermanagement.service.purchase;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesced, not-yet-flushed purchases for one customer. Both fields are striped cells, so
+ * concurrent events for the same hot customer don't contend on a single memory location.
+ */
+public final class PendingPurchase {
+
+    private final LongAdder spendCents = new LongAdder();
+    private final LongAccumulator latestEpochDay = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private final LongAdder events = new LongAdder();
+    // Almost always a single entry (the current month); kept so the ledger can book backdated purchases correctly
+    private final Map<Integer, LongAdder> centsByMonth = new ConcurrentHashMap<>(2);
+
+    void add(long cents, long epochDay) {
+        spendCents.add(cents);
+        centsByMonth.computeIfAbsent(epochMonth(epochDay), k -> new LongAdder()).add(cents);
+        latestEpochDay.accumulate(epochDay);
+        events.increment();
+    }
+
+    public long spendCents() {
+        return spendCents.sum();
+    }
+
+    public LocalDate latestPurchaseDate() {
+        return LocalDate.ofEpochDay(latestEpochDay.get());
+    }
+
+    public long events() {
+        return events.sum();
+    }
+
+    /**
+     * Spend in cents keyed by epoch month (see {@link #epochMonth(long)}).
+     */
+    public Map<Integer, Long> spendCentsByMonth() {
+        Map<Integer, Long> byMonth = new TreeMap<>();
+        centsByMonth.forEach((month, cents) -> byMonth.put(month, cents.sum()));
+        return byMonth;
+    }
+
+    // Months since 1970-01, so consecutive months are consecutive integers
+    public static int epochMonth(long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return (date.getYear() - 1970) * 12 + date.getMonthValue() - 1;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.customermanagement.service.purchase;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory write-behind buffer for purchase events, coalesced per customer.
+ *
+ * Events land in the current {@link Generation}. Writers never take a lock: they register on
+ * the generation's writer count, journal the event and fold it into the customer's
+ * {@link PendingPurchase}. A flush {@link #rotate() rotates} in a fresh generation, seals the old
+ * one and waits for its in-flight writers to drain, after which the old generation is stable and
+ * can be written to the database.
+ */
+public class PurchaseEventBuffer {
+
+    private final PurchaseJournal journal;
+    private volatile Generation current;
+
+    public PurchaseEventBuffer(PurchaseJournal journal) {
+        this.journal = journal;
+        this.current = new Generation(journal.openSegment());
+    }
+
+    /**
+     * Buffers one event and returns the number of events now pending in the current generation.
+     */
+    public long add(UUID customerId, long cents, int epochDay) {
+        while (true) {
+            Generation generation = current;
+            generation.writers.incrementAndGet();
+            try {
+                if (generation.sealed) {
+                    continue; // lost the race with rotate(); retry against the new generation
+                }
+                generation.segment.append(customerId, cents, epochDay);
+                generation.pending.computeIfAbsent(customerId, k -> new PendingPurchase()).add(cents, epochDay);
+                generation.events.increment();
+                return generation.events.sum();
+            } finally {
+                generation.writers.decrementAndGet();
+            }
+        }
+    }
+
+    public long pendingEvents() {
+        return current.events.sum();
+    }
+
+    /**
+     * Swaps in an empty generation and returns the previous one once no writer can touch it any
+     * more. Callers must serialize calls to this method.
+     */
+    public Generation rotate() {
+        Generation previous = current;
+        current = new Generation(journal.openSegment());
+        previous.sealed = true;
+        while (previous.writers.get() != 0) {
+            Thread.onSpinWait();
+        }
+        previous.segment.close();
+        return previous;
+    }
+
+    public static final class Generation {
+
+        private final PurchaseJournal.Segment segment;
+        private final List<Path> journalFiles;
+        private final Map<UUID, PendingPurchase> pending;
+        private final AtomicInteger writers = new AtomicInteger();
+        private final LongAdder events = new LongAdder();
+        private volatile boolean sealed;
+
+        private Generation(PurchaseJournal.Segment segment) {
+            this.segment = segment;
+            this.journalFiles = List.of(segment.path());
+            this.pending = new ConcurrentHashMap<>();
+        }
+
+        private Generation(PurchaseJournal.Recovery recovery) {
+            this.segment = null;
+            this.journalFiles = recovery.files();
+            this.pending = recovery.pending();
+            this.events.add(recovery.events());
+            this.sealed = true;
+        }
+
+        /**
+         * Wraps events replayed from a previous run's journal so they are flushed like any other
+         * sealed generation.
+         */
+        public static Generation recovered(PurchaseJournal.Recovery recovery) {
+            return new Generation(recovery);
+        }
+
+        public Map<UUID, PendingPurchase> pending() {
+            return pending;
+        }
+
+        public long events() {
+            return events.sum();
+        }
+
+        public List<Path> journalFiles() {
+            return journalFiles;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.customermanagement.service.purchase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local write-ahead journal for buffered purchase events. Every accepted event is appended to
+ * the segment of the buffer generation it lands in; a segment is deleted only after that
+ * generation has been committed to the database. Whatever segments exist at startup are
+ * replayed. Segment ids are seeded from the clock, so a name is never reused once its segment
+ * has been deleted.
+ *
+ * With sync writes on, an append returns only once its record has been forced to disk. Appends
+ * are written without DSYNC and forced in groups: whoever holds the sync lock forces everything
+ * written so far, and every appender whose record was in that force returns without one of its
+ * own. Concurrent requests therefore share a force instead of queueing one each.
+ *
+ * Record layout (32 bytes): customer id msb, lsb, spend in cents, epoch day (int), CRC32C (int).
+ */
+public class PurchaseJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseJournal.class);
+
+    static final int RECORD_SIZE = 32;
+    private static final String SEGMENT_PREFIX = "purchases-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String QUARANTINE_SUFFIX = ".failed";
+
+    private final Path directory;
+    private final boolean syncWrites;
+    private final AtomicLong nextSegmentId;
+
+    public PurchaseJournal(Path directory, boolean syncWrites) {
+        this.directory = directory;
+        this.syncWrites = syncWrites;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create purchase journal directory " + directory, ex);
+        }
+        this.nextSegmentId = new AtomicLong(Math.max(existingSegments().stream()
+                .mapToLong(PurchaseJournal::segmentId)
+                .max()
+                .orElse(0) + 1, System.currentTimeMillis() * 1000));
+    }
+
+    public Segment openSegment() {
+        Path path = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, nextSegmentId.getAndIncrement(), SEGMENT_SUFFIX));
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            return new Segment(path, channel, syncWrites);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open purchase journal segment " + path, ex);
+        }
+    }
+
+    /**
+     * Reads every segment left behind by a previous run. Must be called before any new segment
+     * is opened. A torn record at the end of a segment (crash mid-write) is ignored.
+     */
+    public Recovery recover() {
+        return recover(existingSegments());
+    }
+
+    /**
+     * Reads the given segments, as {@link #recover()} does for all of them.
+     */
+    public Recovery recover(List<Path> files) {
+        Map<UUID, PendingPurchase> pending = new HashMap<>();
+        long events = 0;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (true) {
+                    record.clear();
+                    while (record.hasRemaining() && channel.read(record) > 0) {
+                        // keep reading until the record is complete or the file ends
+                    }
+                    if (record.hasRemaining()) {
+                        break;
+                    }
+                    record.flip();
+                    long msb = record.getLong();
+                    long lsb = record.getLong();
+                    long cents = record.getLong();
+                    int epochDay = record.getInt();
+                    int checksum = record.getInt();
+                    if (checksum != checksum(record, RECORD_SIZE - Integer.BYTES)) {
+                        log.warn("Purchase journal {} has a corrupt record at offset {}; ignoring the rest of the segment",
+                                file, channel.position() - RECORD_SIZE);
+                        break;
+                    }
+                    pending.computeIfAbsent(new UUID(msb, lsb), k -> new PendingPurchase()).add(cents, epochDay);
+                    events++;
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot read purchase journal segment " + file, ex);
+            }
+        }
+        if (events > 0) {
+            log.info("Recovered {} unflushed purchase events for {} customers from {} journal segments",
+                    events, pending.size(), files.size());
+        }
+        return new Recovery(pending, events, files);
+    }
+
+    /**
+     * Returns the segments that are gone afterwards.
+     */
+    public List<Path> delete(List<Path> files) {
+        List<Path> deleted = new ArrayList<>();
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+                deleted.add(file);
+            } catch (IOException ex) {
+                // The caller's applied-segment record keeps it from being replayed; log loudly so it can be cleaned up
+                log.error("Failed to delete flushed purchase journal segment {}: {}", file, ex.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Sets aside the segments of a generation that cannot be applied, under a name recovery does
+     * not pick up, so they are kept for inspection without blocking later generations.
+     */
+    public void quarantine(List<Path> files) {
+        for (Path file : files) {
+            try {
+                if (Files.exists(file)) {
+                    Files.move(file, file.resolveSibling(file.getFileName() + QUARANTINE_SUFFIX));
+                }
+            } catch (IOException ex) {
+                log.error("Failed to quarantine purchase journal segment {}: {}", file, ex.getMessage());
+            }
+        }
+    }
+
+    public List<Path> existingSegments() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot list purchase journal directory " + directory, ex);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    public static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(ByteBuffer record, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), record.arrayOffset(), length);
+        return (int) crc.getValue();
+    }
+
+    public record Recovery(Map<UUID, PendingPurchase> pending, long events, List<Path> files) {
+    }
+
+    public static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final boolean syncWrites;
+
+        // Appends whose write has completed, and how many of them the last force covered
+        private final AtomicLong written = new AtomicLong();
+        private final ReentrantLock syncLock = new ReentrantLock();
+        private long forced;
+        private long forces;
+
+        private Segment(Path path, FileChannel channel, boolean syncWrites) {
+            this.path = path;
+            this.channel = channel;
+            this.syncWrites = syncWrites;
+        }
+
+        public Path path() {
+            return path;
+        }
+
+        void append(UUID customerId, long cents, int epochDay) {
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            record.putLong(customerId.getMostSignificantBits())
+                    .putLong(customerId.getLeastSignificantBits())
+                    .putLong(cents)
+                    .putInt(epochDay);
+            record.putInt(checksum(record, RECORD_SIZE - Integer.BYTES));
+            record.flip();
+            try {
+                // APPEND channels position-and-write atomically, so concurrent appenders never interleave
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+                long ticket = written.incrementAndGet();
+                if (syncWrites) {
+                    awaitForced(ticket);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot append to purchase journal " + path, ex);
+            }
+        }
+
+        private void awaitForced(long ticket) throws IOException {
+            syncLock.lock();
+            try {
+                if (forced >= ticket) {
+                    return; // a force that started after our write already covered it
+                }
+                long upTo = written.get();
+                channel.force(false);
+                forced = upTo;
+                forces++;
+            } finally {
+                syncLock.unlock();
+            }
+        }
+
+        long forces() {
+            syncLock.lock();
+            try {
+                return forces;
+            } finally {
+                syncLock.unlock();
+            }
+        }
+
+        void close() {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException ex) {
+                log.warn("Failed to close purchase journal segment {}: {}", path, ex.getMessage());
+            }
+        }
+    }
+}
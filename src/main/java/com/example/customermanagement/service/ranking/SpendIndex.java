@@ -0,0 +1,93 @@
+package com.example.customermanagement.service.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+/**
+ * Customers ordered by annual spend in a lock-free skip list keyed by (spend in cents, id), so the
+ * highest spenders and any spend band are read in O(log n + k) without sorting. A second map holds
+ * each customer's current entry, which is what an update or delete has to take out of the list.
+ *
+ * Changes to one customer are serialized through the map; changes to different customers and all
+ * reads run concurrently. A reader racing an update can see the customer at the old position, the
+ * new one, or momentarily neither, never a mix of old and new values. Customers without a spend are
+ * not ranked.
+ */
+public class SpendIndex {
+
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::spendCents).thenComparing(Entry::id);
+
+    // lastPurchaseEpochDay travels with the entry so callers can derive the tier without a lookup
+    public record Entry(long spendCents, UUID id, long lastPurchaseEpochDay) {
+    }
+
+    private final ConcurrentSkipListSet<Entry> bySpend = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<UUID, Entry> current = new ConcurrentHashMap<>();
+
+    public void put(UUID id, long spendCents, long lastPurchaseEpochDay) {
+        Entry entry = new Entry(spendCents, id, lastPurchaseEpochDay);
+        current.compute(id, (key, previous) -> {
+            if (previous != null) {
+                bySpend.remove(previous);
+            }
+            bySpend.add(entry);
+            return entry;
+        });
+    }
+
+    public void remove(UUID id) {
+        current.computeIfPresent(id, (key, previous) -> {
+            bySpend.remove(previous);
+            return null;
+        });
+    }
+
+    public void clear() {
+        current.clear();
+        bySpend.clear();
+    }
+
+    // Highest spend first; ties in id order, descending
+    public List<Entry> top(int limit) {
+        return take(bySpend.descendingSet(), limit, entry -> true);
+    }
+
+    /**
+     * Entries with fromCents <= spend < toCents that pass {@code filter}, highest spend first. Stops
+     * after {@code limit} matches, so the cost is the band walked up to that point.
+     */
+    public List<Entry> between(long fromCents, long toCents, int limit, Predicate<Entry> filter) {
+        if (fromCents >= toCents) {
+            return List.of();
+        }
+        NavigableSet<Entry> band = bySpend.subSet(new Entry(fromCents, LOWEST_ID, NO_DATE), true,
+                new Entry(toCents, LOWEST_ID, NO_DATE), false);
+        return take(band.descendingSet(), limit, filter);
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    private static List<Entry> take(Iterable<Entry> entries, int limit, Predicate<Entry> filter) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, 256));
+        for (Entry entry : entries) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (filter.test(entry)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,632 @@
+package com.example.customermanagement.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+import com.example.customermanagement.service.directory.CustomerDirectory;
+
+/**
+ * Inverted index from the trigrams of the words in customer names and emails to the customers
+ * containing them. Every word is padded with two start markers, so "^^j", "^jo", "joh" identify
+ * words starting with "joh", and a query word of length L maps to exactly L trigrams.
+ *
+ * Customers are numbered densely in insertion order by their slot in a {@link CustomerDirectory},
+ * which also holds their ids and texts without per-customer objects, and each posting list is a
+ * growable int array in that order, so lists stay sorted. An update or delete only leaves the old
+ * slot dead, and an update that leaves name and email as they are leaves the index untouched. Once
+ * dead entries outnumber live ones {@link #needsCompaction()} says so and the owner calls
+ * {@link #compact(int)} off the write path: the posting lists are rebuilt from a copy without the
+ * lock, and only the changes made meanwhile are replayed under it.
+ *
+ * A query word is a prefix of some word when all its L trigrams are present, and within k typos of
+ * one when at least L - 3k are (one edit touches at most three trigrams). Candidates for t of L
+ * come from merging the L - t + 1 shortest lists, since a document with t trigrams must be in one of
+ * them, and are then verified against the words themselves with a bounded edit distance.
+ */
+public class TrigramIndex {
+
+    private static final char START = '\u0001';
+    private static final int TWO_TYPO_LENGTH = 9;
+    private static final int ONE_TYPO_LENGTH = 5;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparing(Hit::typo)
+            .thenComparing(Comparator.comparingInt(Hit::score).reversed())
+            .thenComparing(Hit::name, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    // typo is set when some query word matched only with a typo; such hits rank after all others
+    public record Hit(UUID id, String name, String email, int score, boolean typo) {
+    }
+
+    // A put or remove made while a compaction builds its copy; name and email are null for a remove
+    private record Change(UUID id, String name, String email, boolean removed) {
+    }
+
+    // Sorted document numbers; the array grows by half when full
+    private static final class Postings {
+        static final Postings EMPTY = new Postings();
+
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+    }
+
+    // Open-addressing map from packed trigram to postings, avoiding a boxed key per lookup
+    private static final class PostingsTable {
+        long[] keys = new long[1024];
+        Postings[] values = new Postings[1024];
+        int size;
+
+        Postings get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        Postings getOrAdd(long key) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            for (; values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            Postings postings = new Postings();
+            keys[slot] = key;
+            values[slot] = postings;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return postings;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Postings[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Postings[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    int slot = slot(oldKeys[i], mask);
+                    while (values[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private PostingsTable postings = new PostingsTable();
+    // Document numbers are directory slots; a replaced or removed customer's slot is dead
+    private CustomerDirectory directory = new CustomerDirectory();
+    // Changes since the running compaction copied the directory, or null when none runs
+    private List<Change> sinceCompaction;
+    // Bumped by every rebuild, so a compaction that overlapped one discards its copy
+    private long generation;
+
+    public void put(UUID id, String name, String email) {
+        lock.writeLock().lock();
+        try {
+            int slot = directory.slotOf(id);
+            if (slot >= 0 && Objects.equals(directory.name(slot), name) && Objects.equals(directory.email(slot), email)) {
+                return;
+            }
+            add(directory, postings, id, name, email);
+            if (sinceCompaction != null) {
+                sinceCompaction.add(new Change(id, name, email, false));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            if (directory.remove(id) >= 0 && sinceCompaction != null) {
+                sinceCompaction.add(new Change(id, null, null, true));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void add(CustomerDirectory customers, PostingsTable table, UUID id, String name, String email) {
+        int doc = customers.put(id, name, email, CustomerDirectory.NO_SPEND, CustomerDirectory.NO_DATE);
+        for (long trigram : documentTrigrams(name, email)) {
+            table.getOrAdd(trigram).add(doc);
+        }
+    }
+
+    // Whether dead entries outnumber live ones and no compaction is already running
+    public boolean needsCompaction() {
+        lock.readLock().lock();
+        try {
+            return sinceCompaction == null && directory.removedCount() > 1024 && directory.removedCount() > directory.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops dead entries. The live customers are copied under the write lock, their posting lists
+     * are built without it, and the puts and removes made in the meantime are replayed into the copy
+     * before it is swapped in. Returns false if another compaction was running or a rebuild overlapped.
+     */
+    public boolean compact(int parallelism) {
+        CustomerDirectory customers;
+        long startedGeneration;
+        lock.writeLock().lock();
+        try {
+            if (sinceCompaction != null) {
+                return false;
+            }
+            customers = directory.compact();
+            startedGeneration = generation;
+            sinceCompaction = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        PostingsTable built = null;
+        try {
+            built = build(customers, parallelism);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (built != null && generation == startedGeneration) {
+                    for (Change change : sinceCompaction) {
+                        if (change.removed()) {
+                            customers.remove(change.id());
+                        } else {
+                            add(customers, built, change.id(), change.name(), change.email());
+                        }
+                    }
+                    postings = built;
+                    directory = customers;
+                    generation++;
+                } else {
+                    built = null;
+                }
+                sinceCompaction = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return built != null;
+    }
+
+    public void rebuild(List<UUID> customerIds, List<String> customerNames, List<String> customerEmails, int parallelism) {
+        CustomerDirectory customers = new CustomerDirectory(customerIds.size());
+        for (int i = 0; i < customerIds.size(); i++) {
+            customers.put(customerIds.get(i), customerNames.get(i), customerEmails.get(i), CustomerDirectory.NO_SPEND,
+                    CustomerDirectory.NO_DATE);
+        }
+        rebuild(customers, parallelism);
+    }
+
+    /**
+     * Replaces the contents with the live customers of the directory, which the index takes over,
+     * building posting lists for slices of them in parallel and concatenating the slices in order.
+     */
+    public void rebuild(CustomerDirectory customers, int parallelism) {
+        PostingsTable built = build(customers, parallelism);
+        lock.writeLock().lock();
+        try {
+            postings = built;
+            directory = customers;
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static PostingsTable build(CustomerDirectory customers, int parallelism) {
+        int count = customers.slots();
+        int slices = Math.max(1, Math.min(parallelism, count / 10_000 + 1));
+        List<PostingsTable> partial = IntStream.range(0, slices).parallel()
+                .mapToObj(slice -> {
+                    PostingsTable table = new PostingsTable();
+                    for (int doc = (int) ((long) count * slice / slices); doc < (long) count * (slice + 1) / slices; doc++) {
+                        if (!customers.isLive(doc)) {
+                            continue;
+                        }
+                        for (long trigram : documentTrigrams(customers.name(doc), customers.email(doc))) {
+                            table.getOrAdd(trigram).add(doc);
+                        }
+                    }
+                    return table;
+                })
+                .toList();
+
+        // Slices cover ascending document ranges, so appending them in order keeps every list sorted
+        PostingsTable merged = partial.get(0);
+        for (PostingsTable slice : partial.subList(1, partial.size())) {
+            for (int i = 0; i < slice.keys.length; i++) {
+                Postings part = slice.values[i];
+                if (part == null) {
+                    continue;
+                }
+                Postings list = merged.getOrAdd(slice.keys[i]);
+                list.docs = Arrays.copyOf(list.docs, list.size + part.size);
+                System.arraycopy(part.docs, 0, list.docs, list.size, part.size);
+                list.size += part.size;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Hits where every query word starts a word of the name or email, best first; when there are
+     * fewer than {@code limit}, followed by hits that need typos.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Hit> hits = collect(words, false, limit, Set.of());
+            if (hits.size() < limit) {
+                // Typo candidates are far more expensive to find, so they are only looked for when needed
+                Set<UUID> found = new HashSet<>();
+                hits.forEach(hit -> found.add(hit.id()));
+                hits = new ArrayList<>(hits);
+                hits.addAll(collect(words, true, limit - hits.size(), found));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return directory.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Approximate bytes held by posting lists, including unused capacity
+    public long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 12L * postings.keys.length;
+            for (Postings list : postings.values) {
+                if (list != null) {
+                    bytes += 32L + 4L * list.docs.length;
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Approximate bytes held by the ids and texts of indexed customers
+    public long directoryBytes() {
+        lock.readLock().lock();
+        try {
+            return directory.footprintBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> collect(List<String> words, boolean typos, int limit, Set<UUID> exclude) {
+        // Candidates come from the word with the fewest postings to merge; the other words only
+        // filter them, and every survivor is verified when scoring
+        List<Postings[]> lists = new ArrayList<>(words.size());
+        for (String word : words) {
+            lists.add(postingsOf(word));
+        }
+        lists.sort(Comparator.comparingLong(wordLists -> mergeCost(wordLists, typos)));
+        int[] candidates = candidates(lists.get(0), required(lists.get(0).length, typos));
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = retain(candidates, lists.get(i), required(lists.get(i).length, typos));
+        }
+
+        // Worst kept hit on top, so a candidate that can't make the cut costs no allocation
+        PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+        CustomerDirectory.Text name = new CustomerDirectory.Text();
+        CustomerDirectory.Text email = new CustomerDirectory.Text();
+        for (int doc : candidates) {
+            if (!directory.isLive(doc)) {
+                continue;
+            }
+            CharSequence docName = textOrNull(directory.name(doc, name));
+            int score = score(words, docName, textOrNull(directory.email(doc, email)), typos);
+            if (score == 0 || best.size() == limit && !beats(score, docName, best.peek())
+                    || !exclude.isEmpty() && exclude.contains(directory.id(doc))) {
+                continue;
+            }
+            best.add(new Hit(directory.id(doc), directory.name(doc), directory.email(doc), score, typos));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    // Whether a hit with this score and name ranks ahead of worst, which has the same typo flag
+    private static boolean beats(int score, CharSequence name, Hit worst) {
+        if (score != worst.score()) {
+            return score > worst.score();
+        }
+        return name != null && (worst.name() == null || CharSequence.compare(name, worst.name()) < 0);
+    }
+
+    private static CharSequence textOrNull(CustomerDirectory.Text text) {
+        return text.isNull() ? null : text;
+    }
+
+    // Posting lists of the word's trigrams, shortest first
+    private Postings[] postingsOf(String word) {
+        String padded = "" + START + START + word;
+        Postings[] lists = new Postings[word.length()];
+        for (int i = 0; i < lists.length; i++) {
+            Postings list = postings.get(trigram(padded, i));
+            lists[i] = list == null ? Postings.EMPTY : list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        return lists;
+    }
+
+    private static int required(int length, boolean typos) {
+        return length - 3 * (typos ? maxTypos(length) : 0);
+    }
+
+    // Postings merged to find the candidates; any document holding t of n lists is in the n - t + 1 shortest
+    private static long mergeCost(Postings[] lists, boolean typos) {
+        long cost = 0;
+        for (int i = 0; i < lists.length - required(lists.length, typos) + 1; i++) {
+            cost += lists[i].size;
+        }
+        return cost;
+    }
+
+    // Documents holding at least required of the lists
+    private static int[] candidates(Postings[] lists, int required) {
+        int length = lists.length;
+        // Merge the shortest lists, counting how many of them hold each document; the longer ones are
+        // probed with forward-only cursors since candidates come out in ascending order
+        int probes = length - required + 1;
+        int[] heads = new int[probes];
+        int[] cursors = new int[length];
+        int[] kept = new int[16];
+        int keptCount = 0;
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < probes; i++) {
+                if (heads[i] < lists[i].size) {
+                    doc = Math.min(doc, lists[i].docs[heads[i]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            int present = 0;
+            for (int i = 0; i < probes; i++) {
+                if (heads[i] < lists[i].size && lists[i].docs[heads[i]] == doc) {
+                    heads[i]++;
+                    present++;
+                }
+            }
+            for (int i = probes; i < length && present < required && present + (length - i) >= required; i++) {
+                cursors[i] = advance(lists[i], cursors[i], doc);
+                if (cursors[i] < lists[i].size && lists[i].docs[cursors[i]] == doc) {
+                    present++;
+                }
+            }
+            if (present >= required) {
+                if (keptCount == kept.length) {
+                    kept = Arrays.copyOf(kept, keptCount * 2);
+                }
+                kept[keptCount++] = doc;
+            }
+        }
+        return Arrays.copyOf(kept, keptCount);
+    }
+
+    // The ascending docs that hold at least required of the lists, compacted in place
+    private static int[] retain(int[] docs, Postings[] lists, int required) {
+        int[] cursors = new int[lists.length];
+        int kept = 0;
+        for (int doc : docs) {
+            int present = 0;
+            for (int i = 0; i < lists.length && present < required && present + (lists.length - i) >= required; i++) {
+                cursors[i] = advance(lists[i], cursors[i], doc);
+                if (cursors[i] < lists[i].size && lists[i].docs[cursors[i]] == doc) {
+                    present++;
+                }
+            }
+            if (present >= required) {
+                docs[kept++] = doc;
+            }
+        }
+        return Arrays.copyOf(docs, kept);
+    }
+
+    // First position at or after from holding a document >= doc, by galloping then binary search
+    private static int advance(Postings list, int from, int doc) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < list.size && list.docs[high] < doc) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int found = Arrays.binarySearch(list.docs, low, Math.min(high + 1, list.size), doc);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    // 3 per exact word, 2 per prefix, 1 per typo match, plus 1 when the match is in the name; 0 if any word fails
+    static int score(List<String> queryWords, CharSequence name, CharSequence email, boolean typos) {
+        int total = 0;
+        for (String word : queryWords) {
+            int best = Math.max(bestMatch(word, name, typos) + 1, bestMatch(word, email, typos));
+            if (best <= 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    // Walks the words of text in place, lower-casing as it compares, since this runs for every candidate
+    private static int bestMatch(String queryWord, CharSequence text, boolean allowTypos) {
+        if (text == null) {
+            return -1;
+        }
+        int typos = allowTypos ? maxTypos(queryWord.length()) : 0;
+        int best = -1;
+        int end = 0;
+        while (true) {
+            int start = end;
+            while (start < text.length() && !Character.isLetterOrDigit(text.charAt(start))) {
+                start++;
+            }
+            if (start == text.length()) {
+                return best;
+            }
+            end = start;
+            while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+                end++;
+            }
+            int common = 0;
+            while (common < queryWord.length() && start + common < end
+                    && Character.toLowerCase(text.charAt(start + common)) == queryWord.charAt(common)) {
+                common++;
+            }
+            if (common == queryWord.length()) {
+                if (end - start == common) {
+                    return 3;
+                }
+                best = 2;
+            } else if (best < 1 && typos > 0 && prefixDistance(queryWord, text, start, end, typos) <= typos) {
+                best = 1;
+            }
+        }
+    }
+
+    static int prefixDistance(String query, String word, int max) {
+        return prefixDistance(query, word, 0, word.length(), max);
+    }
+
+    /**
+     * Smallest edit distance between {@code query} and any prefix of the word at text[start, end), or
+     * max + 1 when it exceeds {@code max}.
+     */
+    private static int prefixDistance(String query, CharSequence text, int start, int end, int max) {
+        int columns = Math.min(end - start, query.length() + max);
+        int[] previous = new int[columns + 1];
+        int[] current = new int[columns + 1];
+        for (int j = 0; j <= columns; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= columns; j++) {
+                int cost = query.charAt(i - 1) == Character.toLowerCase(text.charAt(start + j - 1)) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = max + 1;
+        for (int j = Math.max(0, query.length() - max); j <= columns; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    private static int maxTypos(int length) {
+        return length >= TWO_TYPO_LENGTH ? 2 : length >= ONE_TYPO_LENGTH ? 1 : 0;
+    }
+
+    // Lower-cased letter and digit runs; everything else separates words
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            if (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                word.append(Character.toLowerCase(text.charAt(i)));
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    // Distinct trigrams of all words in the name and email
+    private static long[] documentTrigrams(String name, String email) {
+        long[] trigrams = new long[16];
+        int count = 0;
+        for (String text : new String[] { name, email }) {
+            for (String word : words(text)) {
+                String padded = "" + START + START + word;
+                for (int i = 0; i < word.length(); i++) {
+                    if (count == trigrams.length) {
+                        trigrams = Arrays.copyOf(trigrams, count * 2);
+                    }
+                    trigrams[count++] = trigram(padded, i);
+                }
+            }
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static long trigram(String padded, int at) {
+        return ((long) padded.charAt(at) << 32) | ((long) padded.charAt(at + 1) << 16) | padded.charAt(at + 2);
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.customermanagement.service.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary dump of the customers table and their purchase ledger: a header, one fixed-width record
+ * per row, a string table holding the names and emails the records point into, and one
+ * fixed-width record per ledger row. Restores map the file read-only and decode records straight
+ * from the mapping.
+ *
+ * Layout:
+ * <pre>
+ * header   int magic, int version, long created (epoch millis), int rows, int string table length,
+ *          int CRC32C of the records, int CRC32C of the string table, int ledger rows,
+ *          int CRC32C of the ledger
+ * record   long id msb, long id lsb, int name offset, short name length, int email offset,
+ *          short email length, long annual spend in cents (Long.MIN_VALUE if null),
+ *          int last purchase epoch day (Integer.MIN_VALUE if null)
+ * strings  UTF-8 bytes, referenced by offset and length
+ * ledger   long customer id msb, long customer id lsb, int period month, long spend in cents
+ * </pre>
+ *
+ * Version 1 files end after the string table and have no ledger fields in the header; they are
+ * still read, with no ledger rows.
+ */
+public final class CustomerSnapshotFile {
+
+    static final int MAGIC = 0x43534E50; // "CSNP"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 4 + 4 + 4 + 4;
+    static final int RECORD_SIZE = 8 + 8 + 4 + 2 + 4 + 2 + 8 + 4;
+    static final int LEDGER_RECORD_SIZE = 8 + 8 + 4 + 8;
+    private static final int V1_HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 4 + 4;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final long NULL_SPEND = Long.MIN_VALUE;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+
+    public record Info(int rows, int ledgerRows, Instant createdAt, long bytes) {
+    }
+
+    @FunctionalInterface
+    public interface RowVisitor {
+        void row(UUID id, String name, String email, BigDecimal annualSpend, LocalDate lastPurchaseDate);
+    }
+
+    @FunctionalInterface
+    public interface LedgerVisitor {
+        void row(UUID customerId, int periodMonth, BigDecimal spend);
+    }
+
+    private CustomerSnapshotFile() {
+    }
+
+    /**
+     * Starts a snapshot that replaces {@code file} atomically once {@link Writer#commit()} returns.
+     */
+    public static Writer create(Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    /**
+     * Reads only the header.
+     */
+    public static Info info(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // fill the header
+            }
+            header.flip();
+            return header(header, channel.size()).info();
+        }
+    }
+
+    /**
+     * Verifies the checksums and feeds every customer row to {@code visitor} in file order,
+     * skipping the ledger.
+     */
+    public static Info read(Path file, RowVisitor visitor) throws IOException {
+        return read(file, visitor, (customerId, periodMonth, spend) -> { });
+    }
+
+    /**
+     * Verifies the checksums, feeds every customer row to {@code visitor} and then every ledger
+     * row to {@code ledgerVisitor}, both in file order.
+     */
+    public static Info read(Path file, RowVisitor visitor, LedgerVisitor ledgerVisitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Header header = header(channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, HEADER_SIZE)), size);
+            // Each section is mapped separately, so each may use the full 2 GB a mapping allows
+            long recordsStart = header.headerSize;
+            long stringsStart = recordsStart + (long) header.rows * RECORD_SIZE;
+            long ledgerStart = stringsStart + header.stringTableLength;
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, recordsStart,
+                    (long) header.rows * RECORD_SIZE);
+            MappedByteBuffer strings = channel.map(FileChannel.MapMode.READ_ONLY, stringsStart, header.stringTableLength);
+            MappedByteBuffer ledger = channel.map(FileChannel.MapMode.READ_ONLY, ledgerStart,
+                    (long) header.ledgerRows * LEDGER_RECORD_SIZE);
+            verify(records, header.recordsCrc, "records");
+            verify(strings, header.stringsCrc, "string table");
+            verify(ledger, header.ledgerCrc, "ledger");
+
+            byte[] scratch = new byte[MAX_STRING_BYTES];
+            for (int i = 0, position = 0; i < header.rows; i++, position += RECORD_SIZE) {
+                UUID id = new UUID(records.getLong(position), records.getLong(position + 8));
+                String name = string(strings, records.getInt(position + 16), records.getShort(position + 20), scratch);
+                String email = string(strings, records.getInt(position + 22), records.getShort(position + 26), scratch);
+                long cents = records.getLong(position + 28);
+                int epochDay = records.getInt(position + 36);
+                visitor.row(id, name, email,
+                        cents == NULL_SPEND ? null : BigDecimal.valueOf(cents, 2),
+                        epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay));
+            }
+            for (int i = 0, position = 0; i < header.ledgerRows; i++, position += LEDGER_RECORD_SIZE) {
+                ledgerVisitor.row(new UUID(ledger.getLong(position), ledger.getLong(position + 8)),
+                        ledger.getInt(position + 16), BigDecimal.valueOf(ledger.getLong(position + 20), 2));
+            }
+            return header.info();
+        }
+    }
+
+    private static String string(ByteBuffer strings, int offset, short length, byte[] scratch) {
+        int bytes = Short.toUnsignedInt(length);
+        strings.get(offset, scratch, 0, bytes);
+        return new String(scratch, 0, bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void verify(ByteBuffer region, int expected, String what) throws IOException {
+        CRC32C crc = new CRC32C();
+        crc.update(region.duplicate());
+        if ((int) crc.getValue() != expected) {
+            throw new IOException("Snapshot " + what + " failed the checksum, the file is corrupt");
+        }
+    }
+
+    private static Header header(ByteBuffer buffer, long fileSize) throws IOException {
+        if (fileSize < V1_HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a customer snapshot");
+        }
+        int version = buffer.getInt(4);
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        if (version == VERSION && fileSize < HEADER_SIZE) {
+            throw new IOException("Snapshot is truncated");
+        }
+        Header header = version == 1
+                ? new Header(V1_HEADER_SIZE, buffer.getLong(8), buffer.getInt(16), buffer.getInt(20), buffer.getInt(24),
+                        buffer.getInt(28), 0, 0, fileSize)
+                : new Header(HEADER_SIZE, buffer.getLong(8), buffer.getInt(16), buffer.getInt(20), buffer.getInt(24),
+                        buffer.getInt(28), buffer.getInt(32), buffer.getInt(36), fileSize);
+        if (header.headerSize + (long) header.rows * RECORD_SIZE + header.stringTableLength
+                + (long) header.ledgerRows * LEDGER_RECORD_SIZE != fileSize) {
+            throw new IOException("Snapshot is truncated");
+        }
+        return header;
+    }
+
+    private record Header(int headerSize, long createdAt, int rows, int stringTableLength, int recordsCrc,
+            int stringsCrc, int ledgerRows, int ledgerCrc, long fileSize) {
+
+        Info info() {
+            return new Info(rows, ledgerRows, Instant.ofEpochMilli(createdAt), fileSize);
+        }
+    }
+
+    /**
+     * Streams records into a temporary file, strings into a second one and ledger rows into a
+     * third. On commit the string table and the ledger are appended, the header is filled in and
+     * the result replaces the target.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path target;
+        private final Path temp;
+        private final Path stringsTemp;
+        private final Path ledgerTemp;
+        private final CRC32C recordsCrc = new CRC32C();
+        private final CRC32C stringsCrc = new CRC32C();
+        private final CRC32C ledgerCrc = new CRC32C();
+        private final DataOutputStream records;
+        private final DataOutputStream strings;
+        private final DataOutputStream ledger;
+        private int rows;
+        private long stringTableLength;
+        private int ledgerRows;
+        private boolean committed;
+
+        private Writer(Path target) throws IOException {
+            this.target = target;
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            this.temp = directory.resolve(target.getFileName() + ".tmp");
+            this.stringsTemp = directory.resolve(target.getFileName() + ".strings.tmp");
+            this.ledgerTemp = directory.resolve(target.getFileName() + ".ledger.tmp");
+            this.records = open(temp, recordsCrc, HEADER_SIZE);
+            this.strings = open(stringsTemp, stringsCrc, 0);
+            this.ledger = open(ledgerTemp, ledgerCrc, 0);
+        }
+
+        // Leaves room for the header, which is written on commit and not covered by the checksum
+        private static DataOutputStream open(Path path, CRC32C crc, int reserved) throws IOException {
+            OutputStream out = Files.newOutputStream(path);
+            out.write(new byte[reserved]);
+            return new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(out, crc), 1 << 16));
+        }
+
+        public void add(UUID id, String name, String email, BigDecimal annualSpend, LocalDate lastPurchaseDate)
+                throws IOException {
+            records.writeLong(id.getMostSignificantBits());
+            records.writeLong(id.getLeastSignificantBits());
+            writeString(name);
+            writeString(email);
+            records.writeLong(annualSpend == null ? NULL_SPEND
+                    : annualSpend.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+            records.writeInt(lastPurchaseDate == null ? NULL_DATE : (int) lastPurchaseDate.toEpochDay());
+            rows++;
+        }
+
+        public void addLedger(UUID customerId, int periodMonth, BigDecimal spend) throws IOException {
+            if (ledgerRows == Integer.MAX_VALUE) {
+                throw new IOException("Snapshot ledger exceeds " + Integer.MAX_VALUE + " rows");
+            }
+            ledger.writeLong(customerId.getMostSignificantBits());
+            ledger.writeLong(customerId.getLeastSignificantBits());
+            ledger.writeInt(periodMonth);
+            ledger.writeLong(spend.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+            ledgerRows++;
+        }
+
+        private void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_STRING_BYTES) {
+                throw new IOException("Value of " + bytes.length + " bytes does not fit a snapshot record");
+            }
+            if (stringTableLength + bytes.length > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot string table exceeds 2 GB");
+            }
+            records.writeInt((int) stringTableLength);
+            records.writeShort(bytes.length);
+            strings.write(bytes);
+            stringTableLength += bytes.length;
+        }
+
+        /**
+         * Finishes the file and replaces the target with it. Returns the snapshot's header.
+         */
+        public Info commit() throws IOException {
+            records.close();
+            strings.close();
+            ledger.close();
+            long createdAt = System.currentTimeMillis();
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long recordsEnd = HEADER_SIZE + (long) rows * RECORD_SIZE;
+                append(stringsTemp, stringTableLength, out, recordsEnd);
+                append(ledgerTemp, (long) ledgerRows * LEDGER_RECORD_SIZE, out, recordsEnd + stringTableLength);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC)
+                        .putInt(VERSION)
+                        .putLong(createdAt)
+                        .putInt(rows)
+                        .putInt((int) stringTableLength)
+                        .putInt((int) recordsCrc.getValue())
+                        .putInt((int) stringsCrc.getValue())
+                        .putInt(ledgerRows)
+                        .putInt((int) ledgerCrc.getValue())
+                        .flip();
+                while (header.hasRemaining()) {
+                    out.write(header, header.position());
+                }
+                out.force(true);
+            }
+            Files.delete(stringsTemp);
+            Files.delete(ledgerTemp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return new Info(rows, ledgerRows, Instant.ofEpochMilli(createdAt), Files.size(target));
+        }
+
+        private static void append(Path section, long length, FileChannel out, long position) throws IOException {
+            try (FileChannel in = FileChannel.open(section, StandardOpenOption.READ)) {
+                for (long done = 0; done < length;) {
+                    done += in.transferTo(done, length - done, out.position(position + done));
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                records.close();
+                strings.close();
+                ledger.close();
+                Files.deleteIfExists(temp);
+                Files.deleteIfExists(stringsTemp);
+                Files.deleteIfExists(ledgerTemp);
+            }
+        }
+    }
+}
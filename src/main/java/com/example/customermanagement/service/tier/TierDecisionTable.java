@@ -0,0 +1,155 @@
+package com.example.customermanagement.service.tier;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.example.customermanagement.enums.Tier;
+
+/**
+ * Tier rules compiled into parallel arrays, ordered from the highest tier down. A customer gets the
+ * tier of the first row whose minimum spend and recency cut-off it meets, else the default tier.
+ *
+ * Recency is kept as a cut-off epoch day per row, today minus the row's months, so evaluating is a
+ * BigDecimal comparison and a long comparison per row with no date arithmetic and no allocation.
+ * The cut-offs are recomputed once when the date changes, into a fresh array published through a
+ * volatile field, so a reader always sees one day's cut-offs as a whole.
+ */
+public final class TierDecisionTable {
+
+    // Rows without a recency requirement: every purchase date meets the cut-off
+    private static final long NO_CUTOFF = Long.MIN_VALUE;
+
+    public record Rule(Tier tier, BigDecimal minSpend, Integer recencyMonths) {
+    }
+
+    private final Tier defaultTier;
+    private final Tier[] tiers;
+    private final BigDecimal[] minSpend;
+    private final int[] recencyMonths;
+    private final BigDecimal[] thresholdByTier;
+    private final Integer[] monthsByTier;
+    private final ZoneId zone;
+
+    private volatile Cutoffs cutoffs;
+
+    private record Cutoffs(long[] epochDays, long validUntilMillis) {
+    }
+
+    private TierDecisionTable(Tier defaultTier, List<Rule> rules, ZoneId zone) {
+        this.defaultTier = defaultTier;
+        this.zone = zone;
+        int rows = rules.size();
+        this.tiers = new Tier[rows];
+        this.minSpend = new BigDecimal[rows];
+        this.recencyMonths = new int[rows];
+        this.thresholdByTier = new BigDecimal[Tier.values().length];
+        this.monthsByTier = new Integer[Tier.values().length];
+        for (int i = 0; i < rows; i++) {
+            Rule rule = rules.get(i);
+            tiers[i] = rule.tier();
+            minSpend[i] = rule.minSpend();
+            recencyMonths[i] = rule.recencyMonths() == null ? -1 : rule.recencyMonths();
+            thresholdByTier[rule.tier().ordinal()] = rule.minSpend();
+            monthsByTier[rule.tier().ordinal()] = rule.recencyMonths();
+        }
+        this.cutoffs = cutoffs(System.currentTimeMillis());
+    }
+
+    /**
+     * Checks and compiles a rule set. Rules are evaluated from the highest tier down whatever their
+     * order in the list; each tier may appear once and must rank above the default tier, so a
+     * customer only ever falls back to a lower tier.
+     */
+    public static TierDecisionTable compile(Tier defaultTier, List<Rule> rules) {
+        return compile(defaultTier, rules, ZoneId.systemDefault());
+    }
+
+    static TierDecisionTable compile(Tier defaultTier, List<Rule> rules, ZoneId zone) {
+        if (defaultTier == null) {
+            throw new IllegalArgumentException("A default tier is required");
+        }
+        Set<Tier> seen = EnumSet.noneOf(Tier.class);
+        for (Rule rule : rules) {
+            if (rule.tier() == null || rule.minSpend() == null) {
+                throw new IllegalArgumentException("Every tier rule needs a tier and a min-spend");
+            }
+            if (!seen.add(rule.tier())) {
+                throw new IllegalArgumentException("More than one rule for tier " + rule.tier());
+            }
+            if (rule.tier().compareTo(defaultTier) <= 0) {
+                throw new IllegalArgumentException("Tier " + rule.tier() + " does not rank above the default tier "
+                        + defaultTier);
+            }
+            if (rule.minSpend().signum() < 0 || (rule.recencyMonths() != null && rule.recencyMonths() < 0)) {
+                throw new IllegalArgumentException("Negative min-spend or recency-months for tier " + rule.tier());
+            }
+        }
+        List<Rule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparing(Rule::tier).reversed());
+        return new TierDecisionTable(defaultTier, ordered, zone);
+    }
+
+    public Tier evaluate(BigDecimal annualSpend, LocalDate lastPurchaseDate) {
+        if (annualSpend == null || lastPurchaseDate == null) {
+            return defaultTier;
+        }
+        Cutoffs today = cutoffs;
+        if (System.currentTimeMillis() >= today.validUntilMillis()) {
+            today = rollOver();
+        }
+        long[] cutoffDays = today.epochDays();
+        long day = lastPurchaseDate.toEpochDay();
+        for (int i = 0; i < tiers.length; i++) {
+            if (annualSpend.compareTo(minSpend[i]) >= 0 & day >= cutoffDays[i]) {
+                return tiers[i];
+            }
+        }
+        return defaultTier;
+    }
+
+    public Tier defaultTier() {
+        return defaultTier;
+    }
+
+    // Minimum annual spend for a tier, or null if no rule assigns it
+    public BigDecimal spendThreshold(Tier tier) {
+        return thresholdByTier[tier.ordinal()];
+    }
+
+    // Months a tier holds after the last purchase, or null if the tier does not lapse or no rule assigns it
+    public Integer recencyMonths(Tier tier) {
+        return monthsByTier[tier.ordinal()];
+    }
+
+    public List<Rule> rules() {
+        List<Rule> rules = new ArrayList<>(tiers.length);
+        for (int i = 0; i < tiers.length; i++) {
+            rules.add(new Rule(tiers[i], minSpend[i], monthsByTier[tiers[i].ordinal()]));
+        }
+        return rules;
+    }
+
+    private synchronized Cutoffs rollOver() {
+        long now = System.currentTimeMillis();
+        if (now >= cutoffs.validUntilMillis()) {
+            cutoffs = cutoffs(now);
+        }
+        return cutoffs;
+    }
+
+    private Cutoffs cutoffs(long nowMillis) {
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(nowMillis), zone);
+        long[] epochDays = new long[tiers.length];
+        for (int i = 0; i < tiers.length; i++) {
+            epochDays[i] = recencyMonths[i] < 0 ? NO_CUTOFF : today.minusMonths(recencyMonths[i]).toEpochDay();
+        }
+        return new Cutoffs(epochDays, today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+    }
+}
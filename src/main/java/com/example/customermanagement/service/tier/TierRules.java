@@ -0,0 +1,110 @@
+package com.example.customermanagement.service.tier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.customermanagement.config.TierRulesProperties;
+import com.example.customermanagement.event.TierRulesChangedEvent;
+
+/**
+ * Holds the compiled tier rules behind a volatile reference. The rules come from app.tier-rules,
+ * or from app.tier-rules.file while that file exists. The file is checked every
+ * app.tier-rules.reload-interval-ms; a changed file is compiled into a new table and swapped in
+ * whole, so every calculation sees either the old rules or the new ones. A file that does not
+ * compile is logged and ignored, leaving the current rules in place.
+ */
+@Component
+public class TierRules {
+
+    private static final Logger log = LoggerFactory.getLogger(TierRules.class);
+
+    private final TierRulesProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path file;
+
+    private volatile TierDecisionTable table;
+    private FileTime loadedVersion;
+
+    public TierRules(TierRulesProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.file = properties.getFile() == null || properties.getFile().isBlank() ? null : Path.of(properties.getFile());
+        if (file != null && Files.isRegularFile(file)) {
+            // A rules file that does not compile stops startup instead of running with the fallback rules
+            try {
+                loadedVersion = Files.getLastModifiedTime(file);
+                table = compile(read(file));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot read tier rules " + file, ex);
+            }
+            log.info("Tier rules from {}: {}, default {}", file, table.rules(), table.defaultTier());
+        } else {
+            table = compile(properties);
+        }
+    }
+
+    public TierDecisionTable current() {
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${app.tier-rules.reload-interval-ms:10000}")
+    public synchronized void reloadIfChanged() {
+        if (file == null) {
+            return;
+        }
+        FileTime version;
+        try {
+            version = Files.isRegularFile(file) ? Files.getLastModifiedTime(file) : null;
+        } catch (IOException ex) {
+            log.warn("Cannot check tier rules {}: {}", file, ex.getMessage());
+            return;
+        }
+        if (Objects.equals(version, loadedVersion)) {
+            return;
+        }
+        // Remembered even if the file fails to compile, so a bad file is reported once, not on every check
+        loadedVersion = version;
+        TierDecisionTable rules;
+        try {
+            rules = version == null ? compile(properties) : compile(read(file));
+        } catch (IOException | RuntimeException ex) {
+            log.error("Cannot load tier rules {}, keeping the current rules: {}", file, ex.getMessage());
+            return;
+        }
+        TierDecisionTable previous = table;
+        table = rules;
+        log.info("Tier rules reloaded from {}: {}, default {}", version == null ? "app.tier-rules" : file, rules.rules(),
+                rules.defaultTier());
+        eventPublisher.publishEvent(new TierRulesChangedEvent(previous, rules, Instant.now()));
+    }
+
+    private static TierDecisionTable compile(TierRulesProperties properties) {
+        List<TierDecisionTable.Rule> rules = properties.getRules().stream()
+                .map(rule -> new TierDecisionTable.Rule(rule.getTier(), rule.getMinSpend(), rule.getRecencyMonths()))
+                .toList();
+        return TierDecisionTable.compile(properties.getDefaultTier(), rules);
+    }
+
+    private static TierRulesProperties read(Path file) throws IOException {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader().load(file.toString(), new FileSystemResource(file));
+        return new Binder(ConfigurationPropertySources.from(sources)).bindOrCreate("app.tier-rules",
+                TierRulesProperties.class);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.customermanagement.service.write;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.transaction.TransactionTimedOutException;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+
+/**
+ * A create (customerId null) or update waiting for its group to commit. The result completes
+ * after the commit with the customer, or exceptionally with the same exception the synchronous
+ * service method would have thrown.
+ */
+public record PendingWrite(UUID ticket, UUID customerId, CustomerRequest request, CompletableFuture<CustomerResponse> result,
+        Duration timeout) {
+
+    public static PendingWrite create(CustomerRequest request, Duration timeout) {
+        return new PendingWrite(UUID.randomUUID(), null, request, new CompletableFuture<>(), timeout);
+    }
+
+    public static PendingWrite update(UUID customerId, CustomerRequest request, Duration timeout) {
+        return new PendingWrite(UUID.randomUUID(), customerId, request, new CompletableFuture<>(), timeout);
+    }
+
+    public boolean isCreate() {
+        return customerId == null;
+    }
+
+    /**
+     * Blocks until the group commits, at most the timeout; rethrows the write's own failure
+     * unwrapped. A write still pending at the deadline is answered like a database timeout: it
+     * may yet commit, and its ticket tells which.
+     */
+    public CustomerResponse await() {
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new TransactionTimedOutException("Customer write " + ticket + " did not commit within " + timeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new TransactionTimedOutException("Interrupted while waiting for customer write " + ticket);
+        }
+    }
+}
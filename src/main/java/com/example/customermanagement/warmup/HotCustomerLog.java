@@ -0,0 +1,86 @@
+package com.example.customermanagement.warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.customermanagement.config.WarmupProperties;
+import com.example.customermanagement.service.lookup.CustomerCache;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Records the ids the customer cache currently ranks hottest, one per line, so the next instance
+ * can preload them before it reports ready.
+ */
+@Component
+public class HotCustomerLog {
+
+    private static final Logger log = LoggerFactory.getLogger(HotCustomerLog.class);
+
+    private final Path file;
+    private final int size;
+    private final CustomerCache customerCache;
+
+    public HotCustomerLog(WarmupProperties properties, CustomerCache customerCache) {
+        this.file = Path.of(properties.getPreload().getAccessLog());
+        this.size = properties.getPreload().getSize();
+        this.customerCache = customerCache;
+    }
+
+    @Scheduled(fixedDelayString = "${app.warmup.preload.record-interval-ms:300000}",
+            initialDelayString = "${app.warmup.preload.record-interval-ms:300000}")
+    public void record() {
+        List<UUID> hottest = customerCache.hottest(size);
+        if (hottest.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, hottest.stream().map(UUID::toString).toList());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Recorded {} hot customer ids to {}", hottest.size(), file);
+        } catch (IOException ex) {
+            log.warn("Could not record hot customer ids to {}: {}", file, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void recordOnShutdown() {
+        record();
+    }
+
+    // Hottest first; empty if nothing has been recorded yet
+    public List<UUID> read() {
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try {
+            List<UUID> ids = new ArrayList<>();
+            for (String line : Files.readAllLines(file)) {
+                if (ids.size() == size) {
+                    break;
+                }
+                try {
+                    ids.add(UUID.fromString(line.trim()));
+                } catch (IllegalArgumentException ex) {
+                    // skip damaged lines
+                }
+            }
+            return ids;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
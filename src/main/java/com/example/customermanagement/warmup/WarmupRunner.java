@@ -0,0 +1,182 @@
+package com.example.customermanagement.warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.example.customermanagement.config.WarmupProperties;
+import com.example.customermanagement.config.WarmupProperties.Preload.Source;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.lookup.CustomerCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Runs before the application reports ready: Boot only moves readiness to ACCEPTING_TRAFFIC once
+ * every ApplicationRunner has returned. Drives the tier, mapping and JSON paths with synthetic
+ * customers until the JIT has compiled them, then preloads the hottest customers into the lookup
+ * cache.
+ *
+ * The speedup metric compares the first fixed-size batch of the loop with the last one.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    static final int BATCH = 256;
+    private static final int PRELOAD_CHUNK = 500;
+
+    private final WarmupProperties properties;
+    private final CustomerService customerService;
+    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
+    private final CustomerRepository customerRepository;
+    private final CustomerCache customerCache;
+    private final HotCustomerLog hotCustomerLog;
+
+    private final AtomicLong durationNanos = new AtomicLong();
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong preloaded = new AtomicLong();
+    private volatile double speedup;
+
+    public WarmupRunner(WarmupProperties properties, CustomerService customerService, ModelMapper modelMapper,
+            ObjectMapper objectMapper, CustomerRepository customerRepository, CustomerCache customerCache,
+            HotCustomerLog hotCustomerLog, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.customerService = customerService;
+        this.modelMapper = modelMapper;
+        this.objectMapper = objectMapper;
+        this.customerRepository = customerRepository;
+        this.customerCache = customerCache;
+        this.hotCustomerLog = hotCustomerLog;
+        TimeGauge.builder("customers.warmup.duration", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Time spent warming up before readiness")
+                .register(meterRegistry);
+        Gauge.builder("customers.warmup.iterations", iterations, AtomicLong::get)
+                .description("Synthetic customers run through the tier, mapping and JSON paths")
+                .register(meterRegistry);
+        Gauge.builder("customers.warmup.speedup", this, runner -> runner.speedup)
+                .description("First warm-up batch time divided by the last one")
+                .register(meterRegistry);
+        Gauge.builder("customers.warmup.preloaded", preloaded, AtomicLong::get)
+                .description("Customers preloaded into the lookup cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        exercise();
+        preloaded.set(preload());
+        durationNanos.set(System.nanoTime() - start);
+        log.info("Warm-up finished in {} ms: {} iterations, {}x faster by the last batch, {} customers preloaded",
+                TimeUnit.NANOSECONDS.toMillis(durationNanos.get()), iterations.get(),
+                "%.1f".formatted(speedup), preloaded.get());
+    }
+
+    void exercise() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.now();
+        long deadline = System.nanoTime() + properties.getDuration().toNanos();
+        long firstBatch = 0;
+        long lastBatch = 0;
+        long sink = 0;
+        int batches = 0;
+        do {
+            long batchStart = System.nanoTime();
+            for (int i = 0; i < BATCH; i++) {
+                sink += exerciseOnce(random, today);
+            }
+            lastBatch = System.nanoTime() - batchStart;
+            if (batches++ == 0) {
+                firstBatch = lastBatch;
+            }
+        } while (System.nanoTime() < deadline);
+        iterations.set((long) batches * BATCH);
+        speedup = lastBatch > 0 ? (double) firstBatch / lastBatch : 1.0;
+        log.debug("Warm-up loop produced {} bytes of JSON", sink);
+    }
+
+    private int exerciseOnce(SplittableRandom random, LocalDate today) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Warm-up " + random.nextInt(1_000_000));
+        request.setEmail("warmup" + random.nextInt(1_000_000) + "@example.com");
+        // Spread spend and recency over every tier boundary
+        request.setAnnualSpend(BigDecimal.valueOf(random.nextInt(2_000_000), 2));
+        request.setLastPurchaseDate(random.nextInt(8) == 0 ? null : today.minusDays(random.nextInt(400)));
+
+        Customer customer = modelMapper.map(request, Customer.class);
+        customer.setId(new UUID(random.nextLong(), random.nextLong()));
+        CustomerResponse response = modelMapper.map(customer, CustomerResponse.class);
+        response.setTier(customerService.calculateTier(customer.getAnnualSpend(), customer.getLastPurchaseDate()));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            objectMapper.readValue(json, CustomerRequest.class);
+            return json.length;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Warm-up customer did not round-trip through JSON", ex);
+        }
+    }
+
+    int preload() {
+        int size = properties.getPreload().getSize();
+        if (size <= 0) {
+            return 0;
+        }
+        try {
+            if (properties.getPreload().getSource() == Source.ACCESS_LOG) {
+                List<UUID> ids = hotCustomerLog.read();
+                if (!ids.isEmpty()) {
+                    return customerCache.preload(() -> findAll(ids));
+                }
+                log.debug("No hot customer log yet, preloading the top {} by annual spend", size);
+            }
+            return customerCache.preload(
+                    () -> customerRepository.findByAnnualSpendNotNullOrderByAnnualSpendDesc(Limit.of(size)));
+        } catch (RuntimeException ex) {
+            // A cold cache only costs latency; readiness must not depend on it
+            log.warn("Skipping cache preload: {}", ex.getMessage());
+            return 0;
+        }
+    }
+
+    private List<Customer> findAll(List<UUID> ids) {
+        List<Customer> customers = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += PRELOAD_CHUNK) {
+            customers.addAll(customerRepository.findAllById(ids.subList(from, Math.min(ids.size(), from + PRELOAD_CHUNK))));
+        }
+        return customers;
+    }
+
+    double speedup() {
+        return speedup;
+    }
+
+    long iterations() {
+        return iterations.get();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.customermanagement.actuator;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.customermanagement.jfr.CustomerOperationEvent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = { "app.change-journal.directory=target/test-change-journal",
+        "management.endpoints.web.exposure.include=health,jfr" })
+public class JfrEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void whenRecordingStartedAndStopped_thenDumpContainsCustomerOperations() throws Exception {
+        mockMvc.perform(post("/actuator/jfr/start").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tierSampleEvery\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+
+        mockMvc.perform(get("/customers/" + UUID.randomUUID())).andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/actuator/jfr/stop").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+
+        byte[] dump = mockMvc.perform(get("/actuator/jfr/dump"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        Path file = Files.write(tempDir.resolve("dump.jfr"), dump);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream()
+                .anyMatch(event -> event.getEventType().getName().equals(CustomerOperationEvent.NAME)
+                        && "not_found".equals(event.getString("outcome"))));
+        assertFalse(events.stream()
+                .anyMatch(event -> JfrEndpoint.SECRET_BEARING_EVENTS.contains(event.getEventType().getName())));
+    }
+
+    @Test
+    public void whenActionUnknown_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/actuator/jfr/pause").contentType(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.customermanagement.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.customermanagement.config.AdmissionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void whenReadLimitExhausted_thenReadsShedButWritesAdmitted() throws Exception {
+        AdmissionControlFilter filter = filter();
+        GradientLimiter reads = filter.limiter(EndpointClass.READ);
+        List<Boolean> held = new ArrayList<>();
+        while (reads.tryAcquire()) {
+            held.add(true);
+        }
+
+        MockHttpServletResponse rejected = perform(filter, "GET", "/customers/" + held.size());
+        MockHttpServletResponse write = perform(filter, "POST", "/customers");
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, write.getStatus());
+        assertEquals(1.0, meterRegistry.get("customers.admission.rejected").tag("class", "read").counter().count());
+    }
+
+    @Test
+    public void whenReadsRunHot_thenBulkShedFirst() throws Exception {
+        AdmissionControlFilter filter = filter();
+        GradientLimiter reads = filter.limiter(EndpointClass.READ);
+        for (int i = 0; i < reads.limit() - 1; i++) {
+            reads.tryAcquire();
+        }
+
+        assertEquals(503, perform(filter, "GET", "/customers/changes").getStatus());
+        assertEquals(200, perform(filter, "GET", "/customers/42").getStatus());
+    }
+
+    @Test
+    public void whenHealthCheck_thenNeverLimited() throws Exception {
+        AdmissionControlFilter filter = filter();
+        GradientLimiter reads = filter.limiter(EndpointClass.READ);
+        while (reads.tryAcquire()) {
+            // exhaust
+        }
+
+        MockHttpServletResponse response = perform(filter, "GET", "/actuator/health");
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Retry-After"));
+    }
+
+    @Test
+    public void whenRequestCompletes_thenPermitReleased() throws Exception {
+        AdmissionControlFilter filter = filter();
+
+        perform(filter, "GET", "/customers/1");
+
+        assertEquals(0, filter.limiter(EndpointClass.READ).inFlight());
+        assertNotNull(meterRegistry.find("customers.admission.limit").tag("class", "bulk").gauge());
+    }
+
+    private AdmissionControlFilter filter() {
+        return new AdmissionControlFilter(new AdmissionProperties(), new ObjectMapper().registerModule(new JavaTimeModule()),
+                meterRegistry);
+    }
+
+    private static MockHttpServletResponse perform(AdmissionControlFilter filter, String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.customermanagement.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class GradientLimiterTest {
+
+    private static final long FAST = 2_000_000;
+    private static final long SLOW = 40_000_000;
+
+    @Test
+    public void whenAtLimit_thenFurtherRequestsRejected() {
+        GradientLimiter limiter = new GradientLimiter(2, 1, 10, 0.2, 100, 0.9);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(FAST, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void whenLatencyStableUnderLoad_thenLimitGrows() {
+        GradientLimiter limiter = new GradientLimiter(10, 2, 100, 0.2, 100, 0.9);
+
+        driveAtLimit(limiter, FAST, 200);
+
+        assertTrue(limiter.limit() > 10);
+    }
+
+    @Test
+    public void whenLatencyRises_thenLimitShrinksTowardsMinimum() {
+        GradientLimiter limiter = new GradientLimiter(50, 4, 100, 0.2, 1000, 0.9);
+        driveAtLimit(limiter, FAST, 50);
+        int before = limiter.limit();
+
+        driveAtLimit(limiter, SLOW, 3);
+
+        assertTrue(limiter.limit() < before / 2, "limit " + limiter.limit() + " did not back off from " + before);
+    }
+
+    @Test
+    public void whenRequestsDropped_thenLimitBacksOffButNotBelowMinimum() {
+        GradientLimiter limiter = new GradientLimiter(20, 5, 100, 0.2, 100, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+
+        assertEquals(5, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    // Fills the limit, then completes the whole batch with the given latency, for several rounds
+    private static void driveAtLimit(GradientLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(rttNanos, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.customermanagement.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.export.CustomerColumnarFile;
+import com.example.customermanagement.service.export.CustomerColumnarReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Size and write/read time of the columnar export against NDJSON of CustomerResponse, the shape the
+ * API returns, for the given number of in-memory customers. Sizes are shown raw and gzipped, since
+ * a warehouse transfer may compress either.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.ColumnarExportBenchmark
+ *          [-Dexec.args="rows [rowGroupSize]"]
+ */
+public class ColumnarExportBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rowGroupSize = args.length > 1 ? Integer.parseInt(args[1]) : 65_536;
+        Path directory = Files.createTempDirectory("export-bench");
+        Path columnar = directory.resolve("customers.ccol");
+        Path ndjson = directory.resolve("customers.ndjson");
+        List<CustomerResponse> customers = customers(rows);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        long columnarWrite = Long.MAX_VALUE;
+        long ndjsonWrite = Long.MAX_VALUE;
+        long columnarRead = Long.MAX_VALUE;
+        long ndjsonRead = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            writeColumnar(columnar, rowGroupSize, customers);
+            columnarWrite = Math.min(columnarWrite, System.nanoTime() - started);
+
+            started = System.nanoTime();
+            writeNdjson(ndjson, objectMapper.writerFor(CustomerResponse.class), customers);
+            ndjsonWrite = Math.min(ndjsonWrite, System.nanoTime() - started);
+
+            started = System.nanoTime();
+            try (InputStream in = Files.newInputStream(columnar)) {
+                check(rows, CustomerColumnarReader.read(in).rows().size());
+            }
+            columnarRead = Math.min(columnarRead, System.nanoTime() - started);
+
+            started = System.nanoTime();
+            int read = 0;
+            try (BufferedReader reader = Files.newBufferedReader(ndjson)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    objectMapper.readValue(line, CustomerResponse.class);
+                    read++;
+                }
+            }
+            check(rows, read);
+            ndjsonRead = Math.min(ndjsonRead, System.nanoTime() - started);
+        }
+
+        System.out.printf("%n%,d rows, row groups of %,d, best of %d rounds%n", rows, rowGroupSize, ROUNDS);
+        System.out.printf("%-9s %14s %10s %14s %10s %10s%n", "format", "bytes", "bytes/row", "gzipped", "write ms",
+                "read ms");
+        print("columnar", columnar, rows, columnarWrite, columnarRead);
+        print("ndjson", ndjson, rows, ndjsonWrite, ndjsonRead);
+        System.out.printf("columnar is %.1fx smaller, NDJSON gzipped is %.1fx larger than columnar gzipped%n",
+                Files.size(ndjson) / (double) Files.size(columnar), gzipped(ndjson) / (double) gzipped(columnar));
+        Files.delete(columnar);
+        Files.delete(ndjson);
+        Files.delete(directory);
+    }
+
+    private static void writeColumnar(Path file, int rowGroupSize, List<CustomerResponse> customers)
+            throws IOException {
+        try (CustomerColumnarFile.Writer writer = CustomerColumnarFile.create(file, rowGroupSize)) {
+            for (CustomerResponse customer : customers) {
+                writer.add(customer.getId(), customer.getName(), customer.getEmail(), customer.getAnnualSpend(),
+                        customer.getLastPurchaseDate(), customer.getTier());
+            }
+            writer.commit();
+        }
+    }
+
+    private static void writeNdjson(Path file, ObjectWriter writer, List<CustomerResponse> customers)
+            throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            for (CustomerResponse customer : customers) {
+                out.write(writer.writeValueAsBytes(customer));
+                out.write('\n');
+            }
+        }
+    }
+
+    private static long gzipped(Path file) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (OutputStream out = new GZIPOutputStream(counter, 1 << 16)) {
+            Files.copy(file, out);
+        }
+        return counter.count;
+    }
+
+    private static void print(String format, Path file, int rows, long writeNanos, long readNanos) throws IOException {
+        long bytes = Files.size(file);
+        System.out.printf("%-9s %,14d %10.1f %,14d %10d %10d%n", format, bytes, bytes / (double) rows, gzipped(file),
+                writeNanos / 1_000_000, readNanos / 1_000_000);
+    }
+
+    private static void check(int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalStateException("Read " + actual + " rows, expected " + expected);
+        }
+    }
+
+    // Same spend and recency spread as the other benchmarks; a tenth of the customers have no purchases yet
+    private static List<CustomerResponse> customers(int rows) {
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate today = LocalDate.now();
+        Tier[] tiers = Tier.values();
+        List<CustomerResponse> customers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            CustomerResponse customer = new CustomerResponse();
+            customer.setId(UUID.randomUUID());
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@example.com");
+            boolean purchased = random.nextInt(10) > 0;
+            customer.setAnnualSpend(purchased ? BigDecimal.valueOf(random.nextLong(2_000_000), 2) : null);
+            customer.setLastPurchaseDate(purchased ? today.minusDays(random.nextInt(730)) : null);
+            customer.setTier(tiers[random.nextInt(tiers.length)]);
+            customers.add(customer);
+        }
+        return customers;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
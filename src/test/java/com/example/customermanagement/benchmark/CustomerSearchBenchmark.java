@@ -0,0 +1,96 @@
+package com.example.customermanagement.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import com.example.customermanagement.service.search.TrigramIndex;
+
+/**
+ * Search latency over a trigram index of the given size, plus the memory its posting lists hold.
+ * Names are synthetic: a first name out of 5,000 and a last name out of 50,000 generated
+ * pronounceable words, and an email built from both.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.CustomerSearchBenchmark
+ *          [-Dexec.args="customers [parallelism]"]
+ */
+public class CustomerSearchBenchmark {
+
+    private static final String CONSONANTS = "bcdfghjklmnprstvwz";
+    private static final String VOWELS = "aeiouy";
+    private static final int ROUNDS = 500;
+
+    public static void main(String[] args) {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        SplittableRandom random = new SplittableRandom(11);
+        String[] firstNames = words(random, 5_000);
+        String[] lastNames = words(random, 50_000);
+
+        List<UUID> ids = new ArrayList<>(customers);
+        List<String> names = new ArrayList<>(customers);
+        List<String> emails = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            String first = firstNames[random.nextInt(firstNames.length)];
+            String last = lastNames[random.nextInt(lastNames.length)];
+            ids.add(new UUID(random.nextLong(), random.nextLong()));
+            names.add(capitalize(first) + " " + capitalize(last));
+            emails.add(first + "." + last + i + "@example.com");
+        }
+        TrigramIndex index = new TrigramIndex();
+        long buildStarted = System.nanoTime();
+        index.rebuild(ids, names, emails, parallelism);
+        long buildMillis = (System.nanoTime() - buildStarted) / 1_000_000;
+
+        System.out.printf("%n%,d customers indexed in %,d ms, parallelism %d, postings %,d bytes (%.1f bytes/customer)%n",
+                index.size(), buildMillis, parallelism, index.postingBytes(), index.postingBytes() / (double) customers);
+
+        String sample = names.get(customers / 2).toLowerCase();
+        String first = sample.substring(0, sample.indexOf(' '));
+        String last = sample.substring(sample.indexOf(' ') + 1);
+        String[] queries = { first + " " + last, last.substring(0, 3), first + " " + last.substring(0, 2),
+                typo(last), typo(first) + " " + typo(last) };
+        for (String query : queries) {
+            for (int i = 0; i < ROUNDS; i++) {
+                index.search(query, 20); // warm-up
+            }
+            long best = Long.MAX_VALUE;
+            long total = 0;
+            int hits = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                long started = System.nanoTime();
+                hits = index.search(query, 20).size();
+                long elapsed = System.nanoTime() - started;
+                best = Math.min(best, elapsed);
+                total += elapsed;
+            }
+            System.out.printf("%-28s %3d hits  best %8.1f us  mean %8.1f us%n", "'" + query + "'", hits,
+                    best / 1e3, total / 1e3 / ROUNDS);
+        }
+    }
+
+    private static String[] words(SplittableRandom random, int count) {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 2 + random.nextInt(3); s > 0; s--) {
+                word.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())))
+                        .append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    // Replaces the middle character
+    private static String typo(String word) {
+        int at = word.length() / 2;
+        return word.substring(0, at) + 'x' + word.substring(at + 1);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
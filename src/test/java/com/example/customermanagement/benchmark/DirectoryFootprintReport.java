@@ -0,0 +1,110 @@
+package com.example.customermanagement.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.directory.CustomerDirectory;
+
+/**
+ * Retained heap per customer of the object representation, a HashMap of CustomerResponse by id,
+ * and of the id map and text arrays the search index held before it moved to a directory, against
+ * a CustomerDirectory holding the same customers, measured as the heap still in use after a full
+ * GC. The directory's own accounting is printed next to it as a cross-check.
+ *
+ * Run with a fixed heap so the GC settles, e.g. -Xms3g -Xmx3g:
+ *      mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.DirectoryFootprintReport
+ *          [-Dexec.args="customers"]
+ */
+public class DirectoryFootprintReport {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) {
+        int customers = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        SplittableRandom seed = new SplittableRandom(7);
+        long[] idBits = new long[customers * 2];
+        for (int i = 0; i < idBits.length; i++) {
+            idBits[i] = seed.nextLong();
+        }
+        IntFunction<CustomerResponse> customer = i -> {
+            SplittableRandom random = new SplittableRandom(i);
+            CustomerResponse response = new CustomerResponse();
+            response.setId(new UUID(idBits[2 * i], idBits[2 * i + 1]));
+            response.setName("Customer " + i);
+            response.setEmail("customer" + i + "@example.com");
+            response.setAnnualSpend(BigDecimal.valueOf(random.nextLong(2_000_000), 2));
+            response.setLastPurchaseDate(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(730)));
+            response.setTier(Tier.values()[random.nextInt(4)]);
+            return response;
+        };
+
+        long baseline = retainedHeap();
+        Map<UUID, CustomerResponse> objects = new HashMap<>();
+        for (int i = 0; i < customers; i++) {
+            CustomerResponse response = customer.apply(i);
+            objects.put(response.getId(), response);
+        }
+        long objectBytes = retainedHeap() - baseline;
+        int check = objects.size();
+        objects = null;
+
+        baseline = retainedHeap();
+        Map<UUID, Integer> docsById = new HashMap<>();
+        UUID[] ids = new UUID[customers];
+        String[] names = new String[customers];
+        String[] emails = new String[customers];
+        for (int i = 0; i < customers; i++) {
+            CustomerResponse response = customer.apply(i);
+            ids[i] = response.getId();
+            names[i] = response.getName();
+            emails[i] = response.getEmail();
+            docsById.put(ids[i], i);
+        }
+        long searchBytes = retainedHeap() - baseline;
+        check += docsById.size() + names.length + emails.length;
+        docsById = null;
+        ids = null;
+        names = null;
+        emails = null;
+
+        baseline = retainedHeap();
+        CustomerDirectory directory = new CustomerDirectory();
+        for (int i = 0; i < customers; i++) {
+            CustomerResponse response = customer.apply(i);
+            directory.put(response.getId(), response.getName(), response.getEmail(), response.getAnnualSpend(),
+                    response.getLastPurchaseDate());
+        }
+        long directoryBytes = retainedHeap() - baseline;
+        check += directory.size();
+
+        System.out.printf("%n%,d customers (checksum %d)%n", customers, check);
+        System.out.printf("%-32s %,14d bytes %8.1f bytes/customer%n", "HashMap<UUID, CustomerResponse>",
+                objectBytes, objectBytes / (double) customers);
+        System.out.printf("%-32s %,14d bytes %8.1f bytes/customer%n", "search ids and texts, before",
+                searchBytes, searchBytes / (double) customers);
+        System.out.printf("%-32s %,14d bytes %8.1f bytes/customer%n", "CustomerDirectory (measured)",
+                directoryBytes, directoryBytes / (double) customers);
+        System.out.printf("%-32s %,14d bytes %8.1f bytes/customer%n", "CustomerDirectory (accounted)",
+                directory.footprintBytes(), directory.footprintBytes() / (double) customers);
+        System.out.printf("the directory is %.1fx smaller%n", objectBytes / (double) directoryBytes);
+    }
+
+    private static long retainedHeap() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, MEMORY.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
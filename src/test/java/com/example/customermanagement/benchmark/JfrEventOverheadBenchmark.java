@@ -0,0 +1,93 @@
+package com.example.customermanagement.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.jfr.CustomerOperationEvent;
+import com.example.customermanagement.jfr.SampleEveryControl;
+import com.example.customermanagement.jfr.TierCalculationEvent;
+
+import jdk.jfr.Recording;
+
+/**
+ * Per-call cost of the custom flight recorder events as used by CustomerServiceImpl, with no
+ * recording running and with one recording them (tier calculations sampled 1 in 100).
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.JfrEventOverheadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JfrEventOverheadBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean recording;
+
+    private Recording active;
+    private final UUID id = UUID.randomUUID();
+    private final BigDecimal annualSpend = new BigDecimal("1500");
+    private final LocalDate lastPurchaseDate = LocalDate.now();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (recording) {
+            active = new Recording();
+            active.enable(CustomerOperationEvent.NAME);
+            active.enable(TierCalculationEvent.NAME).with(SampleEveryControl.NAME, "100");
+            active.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (active != null) {
+            active.close();
+        }
+    }
+
+    @Benchmark
+    public void customerOperation(Blackhole blackhole) {
+        CustomerOperationEvent event = CustomerOperationEvent.begin("get", "id");
+        long mark = event.mark();
+        blackhole.consume(id);
+        mark = event.database(mark);
+        blackhole.consume(annualSpend);
+        event.mapping(mark);
+        event.complete(CustomerOperationEvent.SUCCESS, id);
+    }
+
+    @Benchmark
+    public void tierCalculation() {
+        TierCalculationEvent event = new TierCalculationEvent();
+        event.begin();
+        event.complete(annualSpend, lastPurchaseDate, Tier.GOLD);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JfrEventOverheadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
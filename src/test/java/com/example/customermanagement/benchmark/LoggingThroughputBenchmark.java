@@ -0,0 +1,104 @@
+package com.example.customermanagement.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.customermanagement.CustomerManagementApplication;
+
+/**
+ * Request throughput of GET /customers/{id} with the default logging setup (synchronous, TRACE
+ * service and SQL logging) and with the prod profile (async appender, sampled tier logs, request
+ * summaries). Each configuration boots the application on a random port and is driven by the same
+ * closed-loop client for the same time.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.LoggingThroughputBenchmark
+ *          [-Dexec.args="clients seconds"]
+ */
+public class LoggingThroughputBenchmark {
+
+    private static final int CUSTOMERS = 200;
+
+    public static void main(String[] args) throws Exception {
+        // devtools would restart the application in a new classloader on every run
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        List<String> results = new ArrayList<>();
+        for (String profile : List.of("default", "prod")) {
+            results.add(run(profile, clients, seconds));
+        }
+        System.out.printf("%nGET /customers/{id}, %d clients, %d s per configuration%n", clients, seconds);
+        results.forEach(System.out::println);
+    }
+
+    private static String run(String profile, int clients, int seconds) throws Exception {
+        SpringApplication application = new SpringApplication(CustomerManagementApplication.class);
+        if (!profile.equals("default")) {
+            application.setAdditionalProfiles(profile);
+        }
+        try (ConfigurableApplicationContext context = application.run("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:logbench-" + profile,
+                "--app.change-journal.directory=target/benchmark/" + profile + "/change-journal",
+                "--app.purchases.journal-directory=target/benchmark/" + profile + "/purchase-journal",
+                "--app.admission.enabled=false")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            List<String> ids = seed(client, port);
+
+            // Warm up for a quarter of the measured time, then measure
+            drive(client, port, ids, clients, Math.max(1, seconds / 4));
+            LongAdder completed = drive(client, port, ids, clients, seconds);
+            return "%-8s %10.0f req/s".formatted(profile, completed.sum() / (double) seconds);
+        }
+    }
+
+    private static List<String> seed(HttpClient client, int port) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String body = "{\"name\":\"Bench %d\",\"email\":\"bench%d@example.com\",\"annualSpend\":%d,\"lastPurchaseDate\":\"2024-01-01\"}"
+                    .formatted(i, i, i * 100);
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/customers"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            String json = response.body();
+            int start = json.indexOf("\"id\":\"") + 6;
+            ids.add(json.substring(start, json.indexOf('"', start)));
+        }
+        return ids;
+    }
+
+    private static LongAdder drive(HttpClient client, int port, List<String> ids, int clients, int seconds) {
+        LongAdder completed = new LongAdder();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/customers/" + id)).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        completed.increment();
+                    }
+                    return null;
+                });
+            }
+        }
+        return completed;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.customermanagement.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.customermanagement.dto.ErrorResponse;
+import com.example.customermanagement.exception.NotFoundResponse;
+import com.example.customermanagement.exception.NotFoundResponse.Lookup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Cost of rendering a customer 404, from the lookup miss to response bytes: the original path
+ * (exception with stack trace, ErrorResponse, Jackson) against returning the ErrorResponse directly.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.NotFoundPathBenchmark
+ * Add -prof gc through the JMH command line to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundPathBenchmark {
+
+    private ObjectMapper objectMapper;
+    private UUID id;
+    private String path;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        id = UUID.randomUUID();
+        path = "/customers/" + id;
+    }
+
+    @Benchmark
+    public byte[] exceptionWithStackTrace() throws Exception {
+        try {
+            throw new StackfulNotFoundException("Customer not found with id: " + id);
+        } catch (StackfulNotFoundException ex) {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(404, "Resource Not Found", ex.getMessage(), path));
+        }
+    }
+
+    @Benchmark
+    public byte[] withoutException() throws Exception {
+        return objectMapper.writeValueAsBytes(NotFoundResponse.customer(Lookup.ID, id.toString(), path).getBody());
+    }
+
+    // The exception as it was before it became stackless
+    static class StackfulNotFoundException extends RuntimeException {
+        StackfulNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(NotFoundPathBenchmark.class.getSimpleName()).build()).run();
+    }
+}
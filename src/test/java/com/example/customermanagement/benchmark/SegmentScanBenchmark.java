@@ -0,0 +1,75 @@
+package com.example.customermanagement.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.columnar.CustomerColumnStore;
+import com.example.customermanagement.service.columnar.CustomerColumnStore.SegmentResult;
+import com.example.customermanagement.service.columnar.SegmentFilter;
+
+/**
+ * Segment scan latency over a columnar store of the given size, plus the heap and off-heap memory
+ * the store holds. Rows are synthetic: spend up to 20,000.00, a purchase in the last two years and
+ * a random tier.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.SegmentScanBenchmark
+ *          [-Dexec.args="rows [parallelism]"]
+ */
+public class SegmentScanBenchmark {
+
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        CustomerColumnStore store = new CustomerColumnStore(rows);
+        SplittableRandom random = new SplittableRandom(7);
+        int today = (int) java.time.LocalDate.now().toEpochDay();
+        long loadStarted = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            store.upsert(new UUID(random.nextLong(), random.nextLong()), random.nextLong(2_000_000),
+                    today - random.nextInt(730), Tier.values()[random.nextInt(4)]);
+        }
+        long loadMillis = (System.nanoTime() - loadStarted) / 1_000_000;
+        System.gc();
+        long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        SegmentFilter[] filters = {
+                SegmentFilter.all(),
+                SegmentFilter.all().spendBetween(50_000, 200_000),
+                SegmentFilter.all().spendBetween(100_000, Long.MAX_VALUE).purchasedBetween(today - 30, today).tier(Tier.GOLD) };
+        String[] names = { "all", "spend 500..2000", "gold, spend >= 1000, last 30 days" };
+
+        System.out.printf("%n%,d rows loaded in %,d ms, parallelism %d%n", store.size(), loadMillis, parallelism);
+        System.out.printf("off-heap %,d bytes (%.1f bytes/row), heap growth %,d bytes%n", store.offHeapBytes(),
+                store.offHeapBytes() / (double) rows, heapAfter - heapBefore);
+        for (int f = 0; f < filters.length; f++) {
+            for (int i = 0; i < ROUNDS; i++) {
+                store.scan(filters[f], 100, pool); // warm-up
+            }
+            long best = Long.MAX_VALUE;
+            long total = 0;
+            SegmentResult result = null;
+            for (int i = 0; i < ROUNDS; i++) {
+                long started = System.nanoTime();
+                result = store.scan(filters[f], 100, pool);
+                long elapsed = System.nanoTime() - started;
+                best = Math.min(best, elapsed);
+                total += elapsed;
+            }
+            System.out.printf("%-36s %,12d matches  best %7.2f ms  mean %7.2f ms%n", names[f], result.count(),
+                    best / 1e6, total / 1e6 / ROUNDS);
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.customermanagement.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.customermanagement.config.SnapshotProperties;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.SnapshotService.Report;
+import com.example.customermanagement.service.impl.SnapshotServiceImpl;
+import com.example.customermanagement.service.snapshot.CustomerSnapshotFile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Snapshot and restore time for an in-memory H2 customers table of the given size, with the
+ * restore split into the memory-mapped decode alone and the full decode plus batched inserts.
+ * Times are also scaled to one million rows.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.SnapshotRestoreBenchmark
+ *          [-Dexec.args="rows [rowsPerTransaction [batchSize]]"]
+ */
+public class SnapshotRestoreBenchmark {
+
+    private static final String DDL = "CREATE TABLE customers (id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE, "
+            + "email VARCHAR(255) NOT NULL UNIQUE, annual_spend NUMERIC(10, 2), last_purchase_date DATE)";
+
+    private static final String LEDGER_DDL = "CREATE TABLE purchase_ledger (customer_id UUID NOT NULL, "
+            + "period_month INT NOT NULL, spend NUMERIC(12, 2) NOT NULL, PRIMARY KEY (customer_id, period_month))";
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path file = Files.createTempDirectory("snapshot-bench").resolve("customers.snap");
+
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setFile(file.toString());
+        if (args.length > 1) {
+            properties.setRowsPerTransaction(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            properties.setBatchSize(Integer.parseInt(args[2]));
+        }
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource("jdbc:h2:mem:snapshot-bench", "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        SnapshotServiceImpl snapshotService = new SnapshotServiceImpl(properties, jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), mock(PurchaseLedgerService.class),
+                new SimpleMeterRegistry());
+
+        jdbcTemplate.execute(DDL);
+        jdbcTemplate.execute(LEDGER_DDL);
+        long seedStarted = System.nanoTime();
+        seed(jdbcTemplate, rows);
+        long seedMillis = (System.nanoTime() - seedStarted) / 1_000_000;
+        Report snapshot = snapshotService.snapshot();
+
+        long started = System.nanoTime();
+        long[] checksum = new long[1];
+        CustomerSnapshotFile.read(file, (id, name, email, spend, date) -> checksum[0] += id.getLeastSignificantBits());
+        long decodeMillis = (System.nanoTime() - started) / 1_000_000;
+
+        jdbcTemplate.execute("DROP TABLE customers");
+        jdbcTemplate.execute(DDL);
+        Report restore = snapshotService.restore();
+
+        System.out.printf("%n%,d rows, snapshot file %,d bytes (%.1f bytes/row)%n", rows, snapshot.bytes(),
+                snapshot.bytes() / (double) rows);
+        print("seed (row-by-row batches)", seedMillis, rows);
+        print("snapshot", snapshot.millis(), rows);
+        print("decode only (mmap)", decodeMillis, rows);
+        print("restore (decode + insert)", restore.millis(), rows);
+        Files.deleteIfExists(file);
+        dataSource.destroy();
+    }
+
+    private static void print(String what, long millis, int rows) {
+        System.out.printf("%-26s %8d ms %12.0f rows/s %8.2f s per million rows%n", what, millis,
+                rows * 1000.0 / Math.max(1, millis), millis / 1000.0 * 1_000_000 / rows);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate today = LocalDate.now();
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[] { UUID.randomUUID(), "Customer " + i, "customer" + i + "@example.com",
+                    BigDecimal.valueOf(random.nextLong(2_000_000), 2), today.minusDays(random.nextInt(730)) });
+            if (batch.size() == 10_000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO customers VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
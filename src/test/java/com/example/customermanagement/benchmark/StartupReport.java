@@ -0,0 +1,136 @@
+package com.example.customermanagement.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup time and time to first request of the fast-start build, adding one technique at a time:
+ * the plain jar, the fast-start profile (lazy API docs, no H2 console), AOT, then AOT with the CDS
+ * archive. Each configuration is launched as a fresh JVM several times and the median is reported.
+ *
+ * Time to first request is measured by this process from launch until GET /customers/{id} first
+ * answers; startup is the application's own application.ready.time metric.
+ *
+ * Build first with scripts/fast-start.sh build, then
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.StartupReport [-Dexec.args="runs"]
+ */
+public class StartupReport {
+
+    private static final Path APP_DIR = Path.of("target", "fast-start");
+    private static final Pattern READY_TIME = Pattern.compile("\"value\":([0-9.]+)");
+
+    private record Mode(String name, List<String> jvmArgs, String profiles) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        String jar;
+        try (var files = Files.list(APP_DIR)) {
+            jar = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("customer-management-") && name.endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No fast-start build in " + APP_DIR
+                            + ", run scripts/fast-start.sh build first"));
+        }
+        List<Mode> modes = List.of(
+                new Mode("jar", List.of(), "prod"),
+                new Mode("+ fast-start profile", List.of(), "prod,fast-start"),
+                new Mode("+ AOT", List.of("-Dspring.aot.enabled=true"), "prod,fast-start"),
+                new Mode("+ CDS", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"),
+                        "prod,fast-start"));
+
+        List<String> rows = new ArrayList<>();
+        for (Mode mode : modes) {
+            double[] ready = new double[runs];
+            double[] firstRequest = new double[runs];
+            for (int run = 0; run < runs; run++) {
+                double[] result = launch(jar, mode);
+                ready[run] = result[0];
+                firstRequest[run] = result[1];
+            }
+            rows.add("%-22s %10.2f %18.2f".formatted(mode.name(), median(ready), median(firstRequest)));
+        }
+        System.out.printf("%nMedian of %d launches, seconds%n%-22s %10s %18s%n", runs, "", "ready", "first request");
+        rows.forEach(System.out::println);
+    }
+
+    private static double[] launch(String jar, Mode mode) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Path work = Files.createTempDirectory("startup-report-");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArgs());
+        command.addAll(Arrays.asList("-jar", jar,
+                "--spring.profiles.active=" + mode.profiles(),
+                "--server.port=" + port,
+                "--logging.file.name=" + work.resolve("application.log"),
+                "--app.change-journal.directory=" + work.resolve("change-journal"),
+                "--app.purchases.journal-directory=" + work.resolve("purchase-journal")));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        URI firstRequest = URI.create("http://localhost:" + port + "/customers/" + UUID.randomUUID());
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(APP_DIR.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(work.resolve("console.log").toFile())
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited early, see " + work.resolve("console.log"));
+                }
+                try {
+                    client.send(HttpRequest.newBuilder(firstRequest).build(), HttpResponse.BodyHandlers.discarding());
+                    break;
+                } catch (IOException ex) {
+                    Thread.sleep(10);
+                }
+            }
+            double untilFirstRequest = (System.nanoTime() - launched) / 1e9;
+            String metric = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                    + "/actuator/metrics/application.ready.time")).build(), HttpResponse.BodyHandlers.ofString()).body();
+            Matcher matcher = READY_TIME.matcher(metric);
+            double ready = matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+            return new double[] { ready, untilFirstRequest };
+        } finally {
+            process.destroy();
+            process.waitFor();
+            deleteRecursively(work.toFile());
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.customermanagement.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import com.example.customermanagement.config.TierRulesProperties;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.tier.TierDecisionTable;
+import com.example.customermanagement.service.tier.TierRules;
+
+/**
+ * Tier evaluation cost per call and bytes allocated per call, for the compiled decision table with
+ * the default rules against the hard-coded PLATINUM/GOLD checks it replaced. Inputs are synthetic:
+ * spend up to 20,000.00 and a purchase in the last two years.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.benchmark.TierEvaluationBenchmark
+ *          [-Dexec.args="inputs"]
+ */
+public class TierEvaluationBenchmark {
+
+    private static final int ROUNDS = 15;
+
+    private static final BigDecimal PLATINUM_SPEND_THRESHOLD = new BigDecimal("10000");
+    private static final BigDecimal GOLD_SPEND_THRESHOLD = new BigDecimal("1000");
+
+    interface Evaluator {
+        Tier evaluate(BigDecimal annualSpend, LocalDate lastPurchaseDate);
+    }
+
+    public static void main(String[] args) {
+        int inputs = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        SplittableRandom random = new SplittableRandom(7);
+        BigDecimal[] spend = new BigDecimal[inputs];
+        LocalDate[] dates = new LocalDate[inputs];
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < inputs; i++) {
+            spend[i] = BigDecimal.valueOf(random.nextLong(2_000_000), 2);
+            dates[i] = today.minusDays(random.nextInt(730));
+        }
+        TierDecisionTable table = new TierRules(new TierRulesProperties(), event -> { }).current();
+
+        for (int i = 0; i < inputs; i++) {
+            if (table.evaluate(spend[i], dates[i]) != hardCoded(spend[i], dates[i])) {
+                throw new IllegalStateException("Decision table disagrees with the hard-coded rules for " + spend[i]
+                        + ", " + dates[i]);
+            }
+        }
+        System.out.printf("%n%,d inputs, both evaluators agree on every one%n", inputs);
+        run("hard-coded", TierEvaluationBenchmark::hardCoded, spend, dates);
+        run("decision table", table::evaluate, spend, dates);
+        run("hard-coded", TierEvaluationBenchmark::hardCoded, spend, dates);
+        run("decision table", table::evaluate, spend, dates);
+    }
+
+    private static void run(String name, Evaluator evaluator, BigDecimal[] spend, LocalDate[] dates) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long best = Long.MAX_VALUE;
+        long allocated = 0;
+        int checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long started = System.nanoTime();
+            for (int i = 0; i < spend.length; i++) {
+                checksum += evaluator.evaluate(spend[i], dates[i]).ordinal();
+            }
+            long elapsed = System.nanoTime() - started;
+            allocated = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            best = Math.min(best, elapsed);
+        }
+        System.out.printf("%-16s best %6.1f ns/call  %6.1f bytes/call  (checksum %d)%n", name,
+                best / (double) spend.length, allocated / (double) spend.length, checksum);
+    }
+
+    // CustomerServiceImpl's tier rules before they became configurable
+    private static Tier hardCoded(BigDecimal annualSpend, LocalDate lastPurchaseDate) {
+        if (annualSpend == null || lastPurchaseDate == null) {
+            return Tier.SILVER;
+        }
+        LocalDate currentDate = LocalDate.now();
+        Tier calculatedTier = Tier.SILVER;
+        if (annualSpend.compareTo(PLATINUM_SPEND_THRESHOLD) >= 0
+                && !lastPurchaseDate.isBefore(currentDate.minusMonths(6))) {
+            calculatedTier = Tier.PLATINUM;
+        }
+        if (calculatedTier == Tier.SILVER && annualSpend.compareTo(GOLD_SPEND_THRESHOLD) >= 0
+                && !lastPurchaseDate.isBefore(currentDate.minusMonths(12))) {
+            calculatedTier = Tier.GOLD;
+        }
+        return calculatedTier;
+    }
+}
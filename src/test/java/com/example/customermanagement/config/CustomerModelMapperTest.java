@@ -0,0 +1,82 @@
+package com.example.customermanagement.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.model.Customer;
+
+// The hand-written mappings must produce what plain ModelMapper produced before
+class CustomerModelMapperTest {
+
+    private final ModelMapper reference = new ModelMapper();
+    private final CustomerModelMapper mapper = new CustomerModelMapper();
+
+    @Test
+    void mapsRequestToNewCustomer() {
+        CustomerRequest request = request("Ada", "ada@example.com", new BigDecimal("1200.50"), LocalDate.of(2024, 3, 1));
+
+        assertSameCustomer(reference.map(request, Customer.class), mapper.map(request, Customer.class));
+    }
+
+    @Test
+    void mapsRequestOntoExistingCustomerIncludingNulls() {
+        CustomerRequest request = request("Ada", "ada@example.com", null, null);
+        Customer expected = customer();
+        Customer actual = customer();
+        actual.setId(expected.getId());
+
+        reference.map(request, expected);
+        mapper.map(request, actual);
+
+        assertSameCustomer(expected, actual);
+        assertNull(actual.getAnnualSpend());
+    }
+
+    @Test
+    void mapsCustomerToResponseWithoutTier() {
+        Customer customer = customer();
+
+        CustomerResponse expected = reference.map(customer, CustomerResponse.class);
+        CustomerResponse actual = mapper.map(customer, CustomerResponse.class);
+
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getAnnualSpend(), actual.getAnnualSpend());
+        assertEquals(expected.getLastPurchaseDate(), actual.getLastPurchaseDate());
+        assertEquals(expected.getTier(), actual.getTier());
+        assertNull(actual.getTier());
+    }
+
+    private static void assertSameCustomer(Customer expected, Customer actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getAnnualSpend(), actual.getAnnualSpend());
+        assertEquals(expected.getLastPurchaseDate(), actual.getLastPurchaseDate());
+    }
+
+    private static CustomerRequest request(String name, String email, BigDecimal annualSpend, LocalDate lastPurchaseDate) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setAnnualSpend(annualSpend);
+        request.setLastPurchaseDate(lastPurchaseDate);
+        return request;
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer("Old", "old@example.com", new BigDecimal("99"), LocalDate.of(2023, 1, 1));
+        customer.setId(UUID.randomUUID());
+        return customer;
+    }
+}
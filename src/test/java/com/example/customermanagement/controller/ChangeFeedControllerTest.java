@@ -0,0 +1,88 @@
+package com.example.customermanagement.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.service.ChangeFeedService;
+import com.example.customermanagement.service.CustomerService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "app.change-journal.directory=target/test-change-journal")
+public class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void whenCustomerCreatedUpdatedAndDeleted_thenChangesReplayedInOrder() throws Exception {
+        long since = changeFeedService.readChanges(0, 1).getLastSequence() + 1;
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Journaled " + suffix);
+        request.setEmail("journaled-" + suffix + "@example.com");
+        request.setAnnualSpend(new BigDecimal("500.00"));
+        request.setLastPurchaseDate(LocalDate.now());
+
+        CustomerResponse created = customerService.createCustomer(request);
+        request.setAnnualSpend(new BigDecimal("1500.00"));
+        customerService.updateCustomer(created.getId(), request);
+        customerService.deleteCustomer(created.getId());
+
+        mockMvc.perform(get("/customers/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(3))
+                .andExpect(jsonPath("$.changes[0].sequence").value(since))
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].customer.name").value("Journaled " + suffix))
+                .andExpect(jsonPath("$.changes[1].type").value("UPDATED"))
+                .andExpect(jsonPath("$.changes[1].customer.annualSpend").value(1500.0))
+                .andExpect(jsonPath("$.changes[2].type").value("DELETED"))
+                .andExpect(jsonPath("$.changes[2].customerId").value(created.getId().toString()))
+                .andExpect(jsonPath("$.changes[2].customer").doesNotExist())
+                .andExpect(jsonPath("$.nextSince").value(since + 3));
+    }
+
+    @Test
+    public void whenChangeRolledBack_thenNotJournaled() {
+        long lastSequence = changeFeedService.readChanges(0, 1).getLastSequence();
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Rolled back " + suffix);
+        request.setEmail("rolled-back-" + suffix + "@example.com");
+        request.setAnnualSpend(new BigDecimal("500.00"));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            customerService.createCustomer(request);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(lastSequence, changeFeedService.readChanges(0, 1).getLastSequence());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.customermanagement.controller;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.service.CustomerService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CustomerSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    public void whenNameChanges_thenSearchFollows() throws Exception {
+        CustomerResponse customer = customerService.createCustomer(request("Quentavius Zebrowski", "qz@example.com"));
+
+        mockMvc.perform(get("/customers/search").param("q", "quentavius zebr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].id").value(customer.getId().toString()))
+                .andExpect(jsonPath("$.results[0].email").value("qz@example.com"));
+
+        // A typo in the last name
+        mockMvc.perform(get("/customers/search").param("q", "zebrowsky"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].id", hasItem(customer.getId().toString())));
+
+        customerService.updateCustomer(customer.getId(), request("Quentavius Ostrowski", "qz@example.com"));
+
+        mockMvc.perform(get("/customers/search").param("q", "zebrowski"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].id", not(hasItem(customer.getId().toString()))));
+
+        customerService.deleteCustomer(customer.getId());
+
+        mockMvc.perform(get("/customers/search").param("q", "quentavius"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].id", not(hasItem(customer.getId().toString()))));
+    }
+
+    @Test
+    public void whenQueryBlank_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/customers/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static CustomerRequest request(String name, String email) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setAnnualSpend(new BigDecimal("100.00"));
+        request.setLastPurchaseDate(LocalDate.now());
+        return request;
+    }
+}
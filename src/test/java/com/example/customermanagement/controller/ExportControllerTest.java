@@ -0,0 +1,69 @@
+package com.example.customermanagement.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.export.CustomerColumnarReader;
+
+@SpringBootTest(properties = { "app.export.directory=target/test-export", "app.export.max-age=0s" })
+@AutoConfigureMockMvc
+public class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    public void whenExportedAsColumnar_thenFileHoldsCustomers() throws Exception {
+        CustomerResponse created = customerService.createCustomer(request(new BigDecimal("12000.00")));
+
+        byte[] body = mockMvc.perform(get("/customers/export").param("format", "columnar"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_OCTET_STREAM_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CustomerColumnarReader.Row row = CustomerColumnarReader.read(new ByteArrayInputStream(body)).rows().stream()
+                .filter(candidate -> candidate.id().equals(created.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(created.getName(), row.name());
+        assertEquals(created.getEmail(), row.email());
+        assertEquals(0, created.getAnnualSpend().compareTo(row.annualSpend()));
+        assertEquals(created.getLastPurchaseDate(), row.lastPurchaseDate());
+        assertEquals(created.getTier().name(), row.tier());
+    }
+
+    @Test
+    public void whenFormatUnsupported_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/customers/export").param("format", "json"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static CustomerRequest request(BigDecimal annualSpend) {
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("export " + suffix);
+        request.setEmail("export-" + suffix + "@example.com");
+        request.setAnnualSpend(annualSpend);
+        request.setLastPurchaseDate(LocalDate.now().minusDays(10));
+        return request;
+    }
+}
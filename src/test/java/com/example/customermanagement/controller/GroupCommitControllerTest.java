@@ -0,0 +1,147 @@
+package com.example.customermanagement.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import com.example.customermanagement.dto.ChangeRecordResponse;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.service.ChangeFeedService;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.CustomerWriteService;
+import com.example.customermanagement.service.write.PendingWrite;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "app.group-commit.enabled=true")
+@AutoConfigureMockMvc
+public class GroupCommitControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerWriteService customerWriteService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    public void whenCreatedWithoutPreference_thenCreatedAfterCommit() throws Exception {
+        CustomerRequest request = request("sync");
+
+        mockMvc.perform(post("/customers").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.email").value(request.getEmail()));
+
+        assertEquals(request.getName(), customerService.getCustomerByEmail(request.getEmail()).getName());
+    }
+
+    @Test
+    public void whenRespondAsync_thenAcceptedAndStatusUrlReportsCommit() throws Exception {
+        CustomerRequest request = request("async");
+
+        String location = mockMvc.perform(post("/customers").header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.ticket").exists())
+                .andReturn().getResponse().getHeader("Location");
+
+        String state = "PENDING";
+        for (int attempt = 0; attempt < 100 && state.equals("PENDING"); attempt++) {
+            Thread.sleep(20);
+            String body = mockMvc.perform(get(location)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            state = objectMapper.readTree(body).get("state").asText();
+        }
+        assertEquals("COMMITTED", state);
+        mockMvc.perform(get(location))
+                .andExpect(jsonPath("$.customer.name").value(request.getName()));
+    }
+
+    @Test
+    public void whenGroupHasDuplicateAndMissingCustomer_thenOnlyThoseWritesFail() {
+        long since = changeFeedService.readChanges(0, 1).getLastSequence() + 1;
+        List<CustomerRequest> requests = new ArrayList<>();
+        List<PendingWrite> writes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(request("burst"));
+            writes.add(customerWriteService.submitCreate(requests.get(i)));
+        }
+        CustomerRequest duplicate = request("duplicate");
+        duplicate.setEmail(requests.get(3).getEmail());
+        PendingWrite duplicateWrite = customerWriteService.submitCreate(duplicate);
+        PendingWrite missingWrite = customerWriteService.submitUpdate(UUID.randomUUID(), request("missing"));
+
+        for (int i = 0; i < writes.size(); i++) {
+            CustomerResponse created = writes.get(i).await();
+            assertEquals(requests.get(i).getName(), customerService.getCustomerById(created.getId()).getName());
+        }
+        assertThrows(DataIntegrityViolationException.class, duplicateWrite::await);
+        assertThrows(ResourceNotFoundException.class, missingWrite::await);
+
+        // The failed group was replayed; each write is journaled once and the duplicate not at all
+        List<ChangeRecordResponse> changes = changeFeedService.readChanges(since, 1000).getChanges();
+        for (CustomerRequest request : requests) {
+            assertEquals(1, changes.stream().filter(change -> change.getCustomer() != null
+                    && change.getCustomer().contains(request.getEmail())).count());
+        }
+        assertEquals(0, changes.stream().filter(change -> change.getCustomer() != null
+                && change.getCustomer().contains(duplicate.getName())).count());
+    }
+
+    @Test
+    public void whenWriteNotCommittedWithinTimeout_thenTimesOut() {
+        PendingWrite write = new PendingWrite(UUID.randomUUID(), null, request("stuck"), new CompletableFuture<>(),
+                Duration.ofMillis(50));
+
+        assertThrows(TransactionTimedOutException.class, write::await);
+    }
+
+    @Test
+    public void whenTicketUnknown_thenNotFound() throws Exception {
+        mockMvc.perform(get("/customers/writes/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private static CustomerRequest request(String prefix) {
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName(prefix + " " + suffix);
+        request.setEmail(prefix + "-" + suffix + "@example.com");
+        request.setAnnualSpend(new BigDecimal("1500.00"));
+        request.setLastPurchaseDate(LocalDate.now());
+        return request;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.customermanagement.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.service.PurchaseService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "app.purchases.journal-directory=target/test-purchase-journal")
+public class PurchaseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PurchaseService purchaseService;
+
+    @Test
+    public void whenPurchasesPostedAndFlushed_thenSpendAndTierReflectThem() throws Exception {
+        String suffix = UUID.randomUUID().toString();
+        Customer customer = customerRepository.save(new Customer("Purchaser " + suffix, "purchaser-" + suffix + "@example.com",
+                BigDecimal.ZERO, LocalDate.now().minusYears(2)));
+        LocalDate today = LocalDate.now();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/customers/" + customer.getId() + "/purchases")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"amount\": 400.00, \"purchaseDate\": \"" + today + "\"}"))
+                    .andExpect(status().isAccepted());
+        }
+        purchaseService.flush();
+
+        mockMvc.perform(get("/customers/" + customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.annualSpend").value(1200.0))
+                .andExpect(jsonPath("$.lastPurchaseDate").value(today.toString()))
+                .andExpect(jsonPath("$.tier").value("GOLD"));
+    }
+
+    @Test
+    public void whenPurchaseAmountNotPositive_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/customers/" + UUID.randomUUID() + "/purchases")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": -5}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.customermanagement.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.service.CustomerService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SegmentControllerTest {
+
+    // Spend values no other test uses, so the segment only holds this test's customers
+    private static final String SPEND = "4321.17";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    public void whenCustomersWrittenAndDeleted_thenSegmentFollowsCommittedChanges() throws Exception {
+        CustomerResponse recent = customerService.createCustomer(request(SPEND, LocalDate.now()));
+        CustomerResponse lapsed = customerService.createCustomer(request(SPEND, LocalDate.now().minusMonths(18)));
+
+        mockMvc.perform(get("/customers/segments").param("minSpend", SPEND).param("maxSpend", SPEND))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.totalSpend").value(8642.34))
+                .andExpect(jsonPath("$.averageSpend").value(4321.17))
+                .andExpect(jsonPath("$.customerIds.length()").value(2));
+
+        mockMvc.perform(get("/customers/segments").param("minSpend", SPEND).param("maxSpend", SPEND)
+                        .param("purchasedWithinDays", "30").param("tier", "GOLD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.customerIds[0]").value(recent.getId().toString()));
+
+        customerService.updateCustomer(lapsed.getId(), request("4321.18", LocalDate.now()));
+        customerService.deleteCustomer(recent.getId());
+
+        mockMvc.perform(get("/customers/segments").param("minSpend", SPEND).param("maxSpend", SPEND))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0))
+                .andExpect(jsonPath("$.customerIds.length()").value(0));
+    }
+
+    @Test
+    public void whenMinSpendAboveMaxSpend_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/customers/segments").param("minSpend", "10").param("maxSpend", "5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static CustomerRequest request(String annualSpend, LocalDate lastPurchaseDate) {
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Segment " + suffix);
+        request.setEmail("segment-" + suffix + "@example.com");
+        request.setAnnualSpend(new BigDecimal(annualSpend));
+        request.setLastPurchaseDate(lastPurchaseDate);
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.customermanagement.controller;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.service.CustomerService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SpendRankingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    public void whenSpendChanges_thenTopSpendersFollow() throws Exception {
+        CustomerResponse first = customerService.createCustomer(request("99999999.99", LocalDate.now()));
+        CustomerResponse second = customerService.createCustomer(request("99999999.98", LocalDate.now()));
+
+        mockMvc.perform(get("/customers/top-spenders").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(first.getId().toString()))
+                .andExpect(jsonPath("$[0].tier").value("PLATINUM"))
+                .andExpect(jsonPath("$[1].id").value(second.getId().toString()));
+
+        customerService.deleteCustomer(first.getId());
+        customerService.updateCustomer(second.getId(), request("5.00", LocalDate.now()));
+
+        mockMvc.perform(get("/customers/top-spenders").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(first.getId().toString()))))
+                .andExpect(jsonPath("$[?(@.id == '" + second.getId() + "')].annualSpend", hasItem(5.0)));
+    }
+
+    @Test
+    public void whenGoldCustomerJustBelowPlatinum_thenListedNearThreshold() throws Exception {
+        CustomerResponse gold = customerService.createCustomer(request("9999.99", LocalDate.now()));
+        CustomerResponse lapsed = customerService.createCustomer(request("9999.99", LocalDate.now().minusMonths(18)));
+
+        mockMvc.perform(get("/customers/near-threshold").param("tier", "PLATINUM").param("within", "0.01")
+                        .param("currentTier", "GOLD").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.threshold").value(10000))
+                .andExpect(jsonPath("$.customers[*].id", hasItem(gold.getId().toString())))
+                .andExpect(jsonPath("$.customers[*].id", not(hasItem(lapsed.getId().toString()))));
+    }
+
+    @Test
+    public void whenTierHasNoThreshold_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/customers/near-threshold").param("tier", "SILVER"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static CustomerRequest request(String annualSpend, LocalDate lastPurchaseDate) {
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Ranked " + suffix);
+        request.setEmail("ranked-" + suffix + "@example.com");
+        request.setAnnualSpend(new BigDecimal(annualSpend));
+        request.setLastPurchaseDate(lastPurchaseDate);
+        return request;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.customermanagement.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.customermanagement.config.TierChangeFeedProperties;
+import com.example.customermanagement.config.TierChangeFeedProperties.LagPolicy;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.TierChangedEvent;
+import com.example.customermanagement.service.feed.TierChangeBroadcaster;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TierChangeControllerTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+
+    private TierChangeBroadcaster broadcaster;
+    private MockMvc mockMvc;
+
+    @Test
+    public void whenResumedWithLastEventId_thenOnlyLaterEventsReplayed() throws Exception {
+        setUp(8, LagPolicy.SKIP, 10);
+        MvcResult live = subscribe(null);
+        List<UUID> customers = publish(3);
+        List<Long> ids = eventIds(awaitContent(live, customers.get(2).toString()));
+        assertEquals(3, ids.size());
+
+        MvcResult resumed = subscribe(ids.get(0));
+        String content = awaitContent(resumed, customers.get(2).toString());
+
+        assertFalse(content.contains(customers.get(0).toString()));
+        assertTrue(content.contains(customers.get(1).toString()));
+        assertEquals(ids.subList(1, 3), eventIds(content));
+    }
+
+    @Test
+    public void whenResumeIdOverwrittenWithSkipPolicy_thenToldHowManyWereMissed() throws Exception {
+        setUp(4, LagPolicy.SKIP, 10);
+        MvcResult live = subscribe(null);
+        UUID first = publish(1).get(0);
+        long firstId = eventIds(awaitContent(live, first.toString())).get(0);
+        List<UUID> later = publish(9);
+
+        // Events firstId+1 .. firstId+5 have been overwritten by the 4-slot ring
+        String content = awaitContent(subscribe(firstId), later.get(8).toString());
+
+        assertTrue(content.contains("event:lagged\ndata:5\n"), content);
+        assertFalse(content.contains(later.get(4).toString()));
+        assertEquals(List.of(firstId + 6, firstId + 7, firstId + 8, firstId + 9), eventIds(content));
+    }
+
+    @Test
+    public void whenResumedWithIdFromBeforeRestart_thenToldItLaggedAndGetsNewEvents() throws Exception {
+        setUp(8, LagPolicy.SKIP, 10);
+        MvcResult beforeRestart = subscribe(null);
+        UUID old = publish(1).get(0);
+        long oldId = eventIds(awaitContent(beforeRestart, old.toString())).get(0);
+
+        // A new broadcaster seeds its ids from a later clock reading, like the one after a restart
+        Thread.sleep(2);
+        setUp(8, LagPolicy.SKIP, 10);
+        UUID fresh = publish(1).get(0);
+        String content = awaitContent(subscribe(oldId), fresh.toString());
+
+        assertTrue(content.contains("event:lagged"), content);
+        assertEquals(1, eventIds(content).size());
+        assertTrue(eventIds(content).get(0) > oldId);
+    }
+
+    @Test
+    public void whenResumeIdOverwrittenWithDisconnectPolicy_thenStreamClosed() throws Exception {
+        setUp(4, LagPolicy.DISCONNECT, 10);
+        MvcResult live = subscribe(null);
+        UUID first = publish(1).get(0);
+        long firstId = eventIds(awaitContent(live, first.toString())).get(0);
+        publish(9);
+
+        MvcResult lagged = subscribe(firstId);
+
+        // The async result is only set once the emitter completes; this waits for the stream to close
+        lagged.getAsyncResult(5_000);
+        assertEquals("", lagged.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void whenSubscriberLimitReached_thenRejected() throws Exception {
+        setUp(8, LagPolicy.SKIP, 1);
+        subscribe(null);
+
+        mockMvc.perform(get("/customers/tier-changes")).andExpect(status().isServiceUnavailable());
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    private void setUp(int bufferSize, LagPolicy lagPolicy, int maxSubscribers) {
+        TierChangeFeedProperties properties = new TierChangeFeedProperties();
+        properties.setBufferSize(bufferSize);
+        properties.setLagPolicy(lagPolicy);
+        properties.setMaxSubscribers(maxSubscribers);
+        broadcaster = new TierChangeBroadcaster(properties, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new TierChangeController(broadcaster)).build();
+    }
+
+    private MvcResult subscribe(Long lastEventId) throws Exception {
+        var request = get("/customers/tier-changes");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private List<UUID> publish(int count) {
+        List<UUID> customers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID customer = UUID.randomUUID();
+            customers.add(customer);
+            broadcaster.onTierChanged(new TierChangedEvent(customer, Tier.SILVER, Tier.GOLD, Instant.now()));
+        }
+        return customers;
+    }
+
+    private static List<Long> eventIds(String content) {
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = EVENT_ID.matcher(content);
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+}
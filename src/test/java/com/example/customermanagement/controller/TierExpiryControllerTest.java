@@ -0,0 +1,99 @@
+package com.example.customermanagement.controller;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.dto.TierExpiringResponse;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.TierExpiryService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TierExpiryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TierExpiryService tierExpiryService;
+
+    @Test
+    public void whenPlatinumWindowClosesSoon_thenForecastWithDropDateAndNextTier() throws Exception {
+        LocalDate lastPurchase = LocalDate.now().minusMonths(6).plusDays(10);
+        CustomerResponse lapsing = customerService.createCustomer(request("20000.00", lastPurchase));
+        CustomerResponse recent = customerService.createCustomer(request("20000.00", LocalDate.now()));
+
+        mockMvc.perform(get("/customers/tier-expiring").param("withinDays", "30").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers[?(@.id == '" + lapsing.getId() + "')].currentTier", hasItem("PLATINUM")))
+                .andExpect(jsonPath("$.customers[?(@.id == '" + lapsing.getId() + "')].nextTier", hasItem("GOLD")))
+                .andExpect(jsonPath("$.customers[?(@.id == '" + lapsing.getId() + "')].dropsOn",
+                        hasItem(lastPurchase.plusMonths(6).plusDays(1).toString())))
+                .andExpect(jsonPath("$.customers[*].id", not(hasItem(recent.getId().toString()))));
+
+        mockMvc.perform(get("/customers/tier-expiring").param("withinDays", "5").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers[*].id", not(hasItem(lapsing.getId().toString()))));
+    }
+
+    @Test
+    public void whenPagedWithCursor_thenEveryExpiringCustomerSeenOnce() {
+        List<UUID> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(customerService.createCustomer(request("1500.00", LocalDate.now().minusMonths(12).plusDays(5))).getId());
+            created.add(customerService.createCustomer(request("15000.00", LocalDate.now().minusMonths(6).plusDays(5))).getId());
+        }
+
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TierExpiringResponse page = tierExpiryService.findExpiring(20, cursor, 1);
+            page.getCustomers().forEach(customer -> seen.add(customer.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(seen.size(), seen.stream().distinct().count());
+        for (UUID id : created) {
+            assertEquals(1, seen.stream().filter(id::equals).count());
+        }
+    }
+
+    @Test
+    public void whenWithinDaysTooLargeOrCursorInvalid_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/customers/tier-expiring").param("withinDays", "10000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/customers/tier-expiring").param("withinDays", "10").param("cursor", "nonsense"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static CustomerRequest request(String annualSpend, LocalDate lastPurchaseDate) {
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Expiring " + suffix);
+        request.setEmail("expiring-" + suffix + "@example.com");
+        request.setAnnualSpend(new BigDecimal(annualSpend));
+        request.setLastPurchaseDate(lastPurchaseDate);
+        return request;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.customermanagement.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class CustomerChangeOrderTest {
+
+    @Test
+    public void whenOlderChangeArrivesAfterNewer_thenIgnored() {
+        CustomerChangeOrder order = new CustomerChangeOrder();
+        Map<UUID, BigDecimal> spend = new HashMap<>();
+        UUID id = UUID.randomUUID();
+        CustomerChangedEvent first = updated(id, "100.00", 1);
+        CustomerChangedEvent second = updated(id, "200.00", 2);
+
+        assertTrue(order.applyIfNewer(second, () -> spend.put(id, second.annualSpend())));
+        assertFalse(order.applyIfNewer(first, () -> spend.put(id, first.annualSpend())));
+
+        assertEquals(new BigDecimal("200.00"), spend.get(id));
+    }
+
+    @Test
+    public void whenDeleteOvertakenByOlderUpdate_thenCustomerStaysDeleted() {
+        CustomerChangeOrder order = new CustomerChangeOrder();
+        Map<UUID, BigDecimal> spend = new HashMap<>();
+        UUID id = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        order.applyIfNewer(updated(id, "100.00", 1), () -> spend.put(id, new BigDecimal("100.00")));
+        order.applyIfNewer(new CustomerChangedEvent(CustomerChangedEvent.Type.DELETED, id, null, null, null, null,
+                Instant.now(), 3), () -> spend.remove(id));
+        order.applyIfNewer(updated(id, "150.00", 2), () -> spend.put(id, new BigDecimal("150.00")));
+        // Versions are per customer: a lower version of another customer still applies
+        order.applyIfNewer(updated(other, "50.00", 1), () -> spend.put(other, new BigDecimal("50.00")));
+
+        assertFalse(spend.containsKey(id));
+        assertEquals(new BigDecimal("50.00"), spend.get(other));
+    }
+
+    private static CustomerChangedEvent updated(UUID id, String annualSpend, long version) {
+        return new CustomerChangedEvent(CustomerChangedEvent.Type.UPDATED, id, "Ordered", "ordered@example.com",
+                new BigDecimal(annualSpend), LocalDate.now(), Instant.now(), version);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.customermanagement.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.customermanagement.dto.ErrorResponse;
+import com.example.customermanagement.exception.NotFoundResponse.Lookup;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+public class NotFoundResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void whenRendered_thenMatchesSerializedErrorResponseApartFromTimestamp() throws Exception {
+        String name = "Quote \" Back\\slash\tTab";
+        ResponseEntity<ErrorResponse> response = NotFoundResponse.customer(Lookup.NAME, name, "/customers");
+        JsonNode lean = objectMapper.readTree(objectMapper.writeValueAsBytes(response.getBody()));
+        JsonNode reference = objectMapper.valueToTree(new ErrorResponse(404, "Resource Not Found",
+                "Customer not found with name: " + name, "/customers"));
+
+        ((ObjectNode) reference).set("timestamp", lean.get("timestamp"));
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(reference, lean);
+    }
+
+    @Test
+    public void whenPlainValue_thenMessageAndPathAsGiven() {
+        ErrorResponse body = NotFoundResponse.customer(Lookup.ID, "42", "/customers/42").getBody();
+
+        assertEquals("Customer not found with id: 42", body.getMessage());
+        assertEquals("/customers/42", body.getPath());
+    }
+}
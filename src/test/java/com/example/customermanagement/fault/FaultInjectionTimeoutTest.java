@@ -0,0 +1,55 @@
+package com.example.customermanagement.fault;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("fault-injection")
+@TestPropertySource(properties = {
+        "app.fault-injection.latency=5s",
+        "app.fault-injection.jitter=0ms",
+        "app.fault-injection.probability=1.0",
+        // Only lookups of customers by name or id are slowed down
+        "app.fault-injection.sql-pattern=^select .* from customers \\\\w+ where \\\\w+\\\\.(name|id)=",
+        "spring.jpa.properties.jakarta.persistence.query.timeout=1000" })
+public class FaultInjectionTimeoutTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    public void whenLookupExceedsQueryTimeout_thenGatewayTimeout() throws Exception {
+        String suffix = UUID.randomUUID().toString();
+        customerRepository.save(new Customer("Slow " + suffix, "slow-" + suffix + "@example.com", BigDecimal.TEN, LocalDate.now()));
+
+        mockMvc.perform(get("/customers").param("name", "Slow " + suffix))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error").value("Database Timeout"));
+    }
+
+    @Test
+    public void whenFindByIdExceedsQueryTimeout_thenGatewayTimeout() throws Exception {
+        mockMvc.perform(get("/customers/" + UUID.randomUUID()))
+                .andExpect(status().isGatewayTimeout());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.customermanagement.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.example.customermanagement.config.CustomerCacheProperties;
+import com.example.customermanagement.config.LookupCoalescingProperties;
+import com.example.customermanagement.config.TierRulesProperties;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.exception.ResourceNotFoundException;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.impl.CustomerServiceImpl;
+import com.example.customermanagement.service.lookup.CustomerCache;
+import com.example.customermanagement.service.lookup.CustomerLookupCoalescer;
+import com.example.customermanagement.service.tier.TierRules;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class CustomerOperationEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CustomerRepository customerRepository;
+    private CustomerServiceImpl customerService;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        customerService = new CustomerServiceImpl(customerRepository, new ModelMapper(), mock(PurchaseLedgerService.class),
+                mock(ApplicationEventPublisher.class),
+                new CustomerLookupCoalescer(new LookupCoalescingProperties(), new SimpleMeterRegistry()),
+                new CustomerCache(new CustomerCacheProperties(), new SimpleMeterRegistry()),
+                new TierRules(new TierRulesProperties(), event -> { }));
+    }
+
+    @Test
+    void recordsGetsWithOutcomeAndTimings() throws Exception {
+        Customer customer = customer();
+        UUID missing = UUID.randomUUID();
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        when(customerRepository.findById(missing)).thenReturn(Optional.empty());
+
+        List<RecordedEvent> events = record(1, () -> {
+            customerService.getCustomerById(customer.getId());
+            assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomerById(missing));
+        });
+
+        List<RecordedEvent> operations = of(events, CustomerOperationEvent.NAME);
+        assertEquals(2, operations.size());
+        RecordedEvent found = operations.get(0);
+        assertEquals("get", found.getString("operation"));
+        assertEquals("id", found.getString("lookup"));
+        assertEquals("success", found.getString("outcome"));
+        assertEquals(customer.getId().toString(), found.getString("customerId"));
+        assertTrue(found.getDuration("databaseTime").toNanos() > 0);
+        assertTrue(found.getDuration("mappingTime").toNanos() > 0);
+        assertEquals("not_found", operations.get(1).getString("outcome"));
+        assertEquals(missing.toString(), operations.get(1).getString("customerId"));
+
+        List<RecordedEvent> tiers = of(events, TierCalculationEvent.NAME);
+        assertEquals(1, tiers.size());
+        assertEquals("GOLD", tiers.get(0).getString("tier"));
+        assertEquals(5000.0, tiers.get(0).getDouble("annualSpend"));
+    }
+
+    @Test
+    void recordsFailedWritesAsErrors() throws Exception {
+        Customer customer = customer();
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        when(customerRepository.save(any(Customer.class))).thenThrow(new IllegalStateException("constraint"));
+
+        List<RecordedEvent> events = record(1, () -> assertThrows(IllegalStateException.class,
+                () -> customerService.updateCustomer(customer.getId(), new CustomerRequest())));
+
+        RecordedEvent update = of(events, CustomerOperationEvent.NAME).get(0);
+        assertEquals("update", update.getString("operation"));
+        assertEquals("error", update.getString("outcome"));
+        assertEquals(customer.getId().toString(), update.getString("customerId"));
+    }
+
+    @Test
+    void samplesTierCalculations() throws Exception {
+        List<RecordedEvent> events = record(50, () -> {
+            for (int i = 0; i < 5000; i++) {
+                customerService.calculateTier(new BigDecimal("500"), LocalDate.now());
+            }
+        });
+
+        int sampled = of(events, TierCalculationEvent.NAME).size();
+        assertTrue(sampled > 25 && sampled < 250, "sampled " + sampled);
+    }
+
+    private List<RecordedEvent> record(int tierSampleEvery, Runnable work) throws Exception {
+        Path file = tempDir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CustomerOperationEvent.NAME);
+            recording.enable(TierCalculationEvent.NAME).with(SampleEveryControl.NAME, String.valueOf(tierSampleEvery));
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> of(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .toList();
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setId(UUID.randomUUID());
+        customer.setName("Recorded");
+        customer.setEmail("recorded@example.com");
+        customer.setAnnualSpend(new BigDecimal("5000"));
+        customer.setLastPurchaseDate(LocalDate.now().minusMonths(1));
+        return customer;
+    }
+}
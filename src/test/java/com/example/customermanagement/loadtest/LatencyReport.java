@@ -0,0 +1,175 @@
+package com.example.customermanagement.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import com.example.customermanagement.loadtest.LoadGenerator.Result;
+
+/**
+ * Percentile table for a run, the raw histograms as an HdrHistogram log (one tagged histogram per
+ * operation, readable with HistogramLogProcessor or plotted with HdrHistogram's web plotter) and a
+ * flat summary that a later run can be compared against.
+ */
+public class LatencyReport {
+
+    static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    private final Result result;
+
+    public LatencyReport(Result result) {
+        this.result = result;
+    }
+
+    public void print(PrintStream out) {
+        Scenario scenario = result.scenario();
+        out.printf("%n%s%n", scenario);
+        out.printf("%d arrivals measured, %d dropped at the in-flight cap (recorded as timeouts), latency in ms from scheduled start%n",
+                result.arrivals(), result.dropped());
+        out.printf("%.0f successful requests/s%n", throughput());
+        out.printf("%-30s %8s %7s %8s %8s %8s %8s %8s%n", "operation", "count", "errors", "p50", "p90", "p99", "p99.9", "max");
+        result.histograms().forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            LongAdder failed = result.failures().get(operation);
+            out.printf("%-30s %8d %7s", operation.label(), histogram.getTotalCount(),
+                    operation == Operation.BATCH ? "-" : String.valueOf(failed.sum()));
+            for (double percentile : PERCENTILES) {
+                out.printf(" %8.2f", millis(histogram.getValueAtPercentile(percentile)));
+            }
+            out.printf(" %8.2f%n", millis(histogram.getMaxValue()));
+        });
+        result.statuses().forEach((operation, byStatus) -> {
+            Map<Integer, Long> unexpected = new TreeMap<>();
+            byStatus.forEach((status, count) -> {
+                if (!operation.succeeded(status)) {
+                    unexpected.put(status, count.sum());
+                }
+            });
+            if (!unexpected.isEmpty()) {
+                // -1 is a request that failed without a response, usually a timeout
+                out.printf("  %s unexpected statuses: %s%n", operation.label(), unexpected);
+            }
+        });
+    }
+
+    public void writeHistogramLog(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file); PrintStream print = new PrintStream(out)) {
+            HistogramLogWriter writer = new HistogramLogWriter(print);
+            writer.outputComment("scenario " + result.scenario());
+            writer.outputComment("values in microseconds");
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            result.histograms().forEach((operation, histogram) -> {
+                if (histogram.getTotalCount() > 0) {
+                    Histogram tagged = histogram.copy();
+                    tagged.setTag(operation.name());
+                    writer.outputIntervalHistogram(tagged);
+                }
+            });
+        }
+    }
+
+    public Properties summary() {
+        Properties summary = new Properties();
+        result.histograms().forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            String prefix = operation.name().toLowerCase() + ".";
+            summary.setProperty(prefix + "count", String.valueOf(histogram.getTotalCount()));
+            summary.setProperty(prefix + "errors", String.valueOf(result.failures().get(operation).sum()));
+            for (double percentile : PERCENTILES) {
+                summary.setProperty(prefix + key(percentile), String.valueOf(histogram.getValueAtPercentile(percentile)));
+            }
+            summary.setProperty(prefix + "max", String.valueOf(histogram.getMaxValue()));
+        });
+        summary.setProperty("dropped", String.valueOf(result.dropped()));
+        summary.setProperty("throughput", String.format(Locale.ROOT, "%.1f", throughput()));
+        return summary;
+    }
+
+    public void writeSummary(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            summary().store(writer, result.scenario().toString() + " (latencies in microseconds)");
+        }
+    }
+
+    /**
+     * Prints each operation's percentiles next to the baseline's and returns whether any p99 got
+     * worse by more than {@code tolerance} (0.1 = 10%), errors appeared where there were none, or
+     * more arrivals were dropped at the in-flight cap.
+     */
+    public boolean compare(Path baselineFile, double tolerance, PrintStream out) throws IOException {
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(baselineFile)) {
+            baseline.load(reader);
+        }
+        Properties current = summary();
+        boolean regressed = false;
+        out.printf("%nAgainst baseline %s (p99 tolerance %.0f%%)%n", baselineFile, tolerance * 100);
+        out.printf("%-30s %-6s %10s %10s %8s%n", "operation", "", "baseline", "current", "change");
+        for (Operation operation : Operation.values()) {
+            String prefix = operation.name().toLowerCase() + ".";
+            if (current.getProperty(prefix + "count") == null || baseline.getProperty(prefix + "count") == null) {
+                continue;
+            }
+            for (String metric : new String[] { "p50", "p99", "p99.9", "max" }) {
+                double before = Double.parseDouble(baseline.getProperty(prefix + metric));
+                double after = Double.parseDouble(current.getProperty(prefix + metric));
+                double change = before == 0 ? 0 : (after - before) / before;
+                boolean worse = metric.equals("p99") && change > tolerance;
+                regressed |= worse;
+                out.printf("%-30s %-6s %10.2f %10.2f %+7.1f%%%s%n", metric.equals("p50") ? operation.label() : "",
+                        metric, before / 1000, after / 1000, change * 100, worse ? "  REGRESSION" : "");
+            }
+            long errorsBefore = Long.parseLong(baseline.getProperty(prefix + "errors", "0"));
+            long errorsAfter = Long.parseLong(current.getProperty(prefix + "errors", "0"));
+            if (errorsBefore == 0 && errorsAfter > 0) {
+                out.printf("%-30s errors %10d %10d  REGRESSION%n", "", errorsBefore, errorsAfter);
+                regressed = true;
+            }
+        }
+        long droppedBefore = Long.parseLong(baseline.getProperty("dropped", "0"));
+        long droppedAfter = result.dropped();
+        boolean moreDropped = droppedAfter > droppedBefore * (1 + tolerance);
+        regressed |= moreDropped;
+        out.printf("%-30s %-6s %10d %10d%s%n", "dropped arrivals", "", droppedBefore, droppedAfter,
+                moreDropped ? "  REGRESSION" : "");
+        return regressed;
+    }
+
+    // Successful requests per second, batches counted by their requests
+    public double throughput() {
+        long succeeded = 0;
+        for (Map.Entry<Operation, Histogram> entry : result.histograms().entrySet()) {
+            if (entry.getKey() != Operation.BATCH) {
+                succeeded += entry.getValue().getTotalCount() - result.failures().get(entry.getKey()).sum();
+            }
+        }
+        return succeeded / (result.measuredNanos() / 1e9);
+    }
+
+    private static String key(double percentile) {
+        return percentile == Math.rint(percentile) ? "p" + (int) percentile : "p" + percentile;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.customermanagement.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load: arrivals are issued on a fixed schedule, each on its own virtual thread, and
+ * latency is measured from the time an arrival was scheduled rather than from when it was actually
+ * sent. A slow server therefore shows up as queueing in the percentiles instead of silently
+ * lowering the offered rate (coordinated omission). Arrivals dropped at the in-flight cap are
+ * recorded as timeouts of the operations they would have run, so a cap cannot hide the queueing either.
+ */
+public class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SEED_CONCURRENCY = 16;
+
+    private final Scenario scenario;
+    private final HttpClient client;
+    private final URI baseUri;
+    private final ZipfGenerator zipf;
+    private final List<SeededCustomer> customers = new ArrayList<>();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong created = new AtomicLong();
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private ExecutorService executor;
+    private volatile long measureFrom;
+
+    public LoadGenerator(Scenario scenario, HttpClient client, URI baseUri) {
+        this.scenario = scenario;
+        this.client = client;
+        this.baseUri = baseUri;
+        this.zipf = new ZipfGenerator(scenario.keys(), scenario.zipfExponent());
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            statuses.put(operation, new ConcurrentHashMap<>());
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    public void seed() throws InterruptedException {
+        List<SeededCustomer> seeded = new ArrayList<>();
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        try (ExecutorService seeding = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<SeededCustomer>> futures = new ArrayList<>();
+            for (int i = 0; i < scenario.keys(); i++) {
+                int index = i;
+                futures.add(seeding.submit(() -> {
+                    SeededCustomer customer = new SeededCustomer(null, "Load " + runId + " " + index,
+                            "load-" + runId + "-" + index + "@example.com");
+                    HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/customers"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body(customer.name(), customer.email())))
+                            .build();
+                    HttpResponse<String> response;
+                    permits.acquire();
+                    try {
+                        response = send(request, HttpResponse.BodyHandlers.ofString());
+                        // Admission control sheds bursts; seeding is not what is being measured
+                        for (int attempt = 1; response.statusCode() == 503 && attempt <= 5; attempt++) {
+                            Thread.sleep(100L * attempt);
+                            response = send(request, HttpResponse.BodyHandlers.ofString());
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                    if (response.statusCode() != 201) {
+                        throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+                    }
+                    String json = response.body();
+                    int start = json.indexOf("\"id\":\"") + 6;
+                    return new SeededCustomer(json.substring(start, json.indexOf('"', start)), customer.name(), customer.email());
+                }));
+            }
+            for (Future<SeededCustomer> future : futures) {
+                try {
+                    seeded.add(future.get());
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException("Seeding failed", ex.getCause());
+                }
+            }
+        }
+        customers.addAll(seeded);
+    }
+
+    /**
+     * Runs warm-up then measurement on one continuous schedule; only arrivals scheduled after the
+     * warm-up are recorded.
+     */
+    public Result run() {
+        long intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / scenario.rate()));
+        long start = System.nanoTime();
+        measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+        long arrivals = 0;
+        recorders.values().forEach(Recorder::reset);
+        try (ExecutorService arrivalsExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor = arrivalsExecutor;
+            for (long i = 0;; i++) {
+                long scheduled = start + i * intervalNanos;
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (inFlight.get() >= scenario.maxInFlight()) {
+                    if (scheduled >= measureFrom) {
+                        dropped.increment();
+                        recordDropped();
+                    }
+                    continue;
+                }
+                if (scheduled >= measureFrom) {
+                    arrivals++;
+                }
+                inFlight.incrementAndGet();
+                executor.execute(() -> arrival(scheduled));
+            }
+        }
+        // Until the last arrival completed, so a server that falls behind shows a lower throughput
+        long measuredNanos = System.nanoTime() - measureFrom;
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        return new Result(scenario, histograms, statuses, failures, arrivals, dropped.sum(), measuredNanos);
+    }
+
+    private void arrival(long scheduled) {
+        try {
+            if (scenario.batchSize() == 1) {
+                execute(scheduled);
+                return;
+            }
+            List<Future<?>> batch = new ArrayList<>(scenario.batchSize());
+            for (int i = 1; i < scenario.batchSize(); i++) {
+                batch.add(executor.submit(() -> execute(scheduled)));
+            }
+            execute(scheduled);
+            for (Future<?> future : batch) {
+                try {
+                    future.get();
+                } catch (Exception ex) {
+                    // already counted by execute
+                }
+            }
+            record(Operation.BATCH, scheduled, -1);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    // The operations the dropped arrival would have run, each as a timeout without a response
+    private void recordDropped() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < scenario.batchSize(); i++) {
+            recordTimeout(pick(random));
+        }
+        if (scenario.batchSize() > 1) {
+            recorders.get(Operation.BATCH).recordValue(HIGHEST_TRACKABLE_MICROS);
+        }
+    }
+
+    private void recordTimeout(Operation operation) {
+        recorders.get(operation).recordValue(HIGHEST_TRACKABLE_MICROS);
+        statuses.get(operation).computeIfAbsent(-1, s -> new LongAdder()).increment();
+        failures.get(operation).increment();
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        if (random.nextDouble() < scenario.readRatio()) {
+            return random.nextDouble() < scenario.notFoundRatio() ? Operation.READ_NOT_FOUND : Operation.READ;
+        }
+        return random.nextDouble() < scenario.createRatio() ? Operation.CREATE : Operation.UPDATE;
+    }
+
+    private void execute(long scheduled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Operation operation = pick(random);
+        HttpRequest request = switch (operation) {
+            case READ_NOT_FOUND -> HttpRequest.newBuilder(baseUri.resolve("/customers/" + UUID.randomUUID())).build();
+            case READ -> HttpRequest.newBuilder(baseUri.resolve("/customers/" + hotCustomer(random).id())).build();
+            case CREATE -> {
+                long n = created.incrementAndGet();
+                yield HttpRequest.newBuilder(baseUri.resolve("/customers"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body("Created " + runId + " " + n,
+                                "created-" + runId + "-" + n + "@example.com")))
+                        .build();
+            }
+            default -> {
+                SeededCustomer customer = hotCustomer(random);
+                yield HttpRequest.newBuilder(baseUri.resolve("/customers/" + customer.id()))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body(customer.name(), customer.email())))
+                        .build();
+            }
+        };
+        int status;
+        try {
+            status = send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception ex) {
+            status = -1;
+        }
+        record(operation, scheduled, status);
+    }
+
+    private void record(Operation operation, long scheduled, int status) {
+        if (scheduled < measureFrom) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+        recorders.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (operation == Operation.BATCH) {
+            return;
+        }
+        statuses.get(operation).computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (!operation.succeeded(status)) {
+            failures.get(operation).increment();
+        }
+    }
+
+    private SeededCustomer hotCustomer(ThreadLocalRandom random) {
+        return customers.get(zipf.next(random));
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws Exception {
+        return client.send(HttpRequest.newBuilder(request, (name, value) -> true).timeout(REQUEST_TIMEOUT).build(), handler);
+    }
+
+    private static String body(String name, String email) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"name\":\"%s\",\"email\":\"%s\",\"annualSpend\":%d,\"lastPurchaseDate\":\"%s\"}".formatted(name, email,
+                random.nextInt(20_000), LocalDate.now().minusDays(random.nextInt(500)));
+    }
+
+    private record SeededCustomer(String id, String name, String email) {
+    }
+
+    public record Result(Scenario scenario, Map<Operation, Histogram> histograms,
+            Map<Operation, Map<Integer, LongAdder>> statuses, Map<Operation, LongAdder> failures, long arrivals,
+            long dropped, long measuredNanos) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.customermanagement.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.customermanagement.CustomerManagementApplication;
+
+/**
+ * Runs one scenario against the application and reports latency percentiles.
+ *
+ * By default the application is started in-process on a random port with its in-memory H2
+ * database; pass target=http://host:port to drive an instance that is already running. Other
+ * arguments:
+ * <ul>
+ * <li>any scenario key, e.g. rate=800 zipfExponent=1.1 (see {@link Scenario})</li>
+ * <li>baseline=path/to/summary.properties to compare with an earlier run's summary</li>
+ * <li>tolerance=0.1 allowed p99 growth before the comparison reports a regression</li>
+ * <li>failOnRegression=true to exit with status 1 on a regression</li>
+ * <li>http=2 to drive the server over cleartext HTTP/2 (h2c) instead of HTTP/1.1</li>
+ * <li>spring.*, app.* and server.* properties for the in-process application, which runs with the
+ * prod profile unless spring.profiles.active says otherwise</li>
+ * </ul>
+ * Every run writes target/loadtest/&lt;scenario&gt;.hlog and &lt;scenario&gt;-summary.properties; keep
+ * a summary as the baseline for the next change.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *          -Dexec.mainClass=com.example.customermanagement.loadtest.LoadTest
+ *          -Dexec.args="read-heavy rate=500"
+ */
+public class LoadTest {
+
+    private static final Path OUTPUT = Path.of("target", "loadtest");
+
+    public static void main(String[] args) throws Exception {
+        // devtools would restart the application in a new classloader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String scenarioName = args.length > 0 ? args[0] : "read-heavy";
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + args[i]);
+            }
+            options.put(args[i].substring(0, eq), args[i].substring(eq + 1));
+        }
+        String target = options.remove("target");
+        String baseline = options.remove("baseline");
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.1"));
+        options.remove("tolerance");
+        boolean failOnRegression = Boolean.parseBoolean(options.remove("failOnRegression"));
+        HttpClient.Version version = "2".equals(options.remove("http")) ? HttpClient.Version.HTTP_2
+                : HttpClient.Version.HTTP_1_1;
+        Map<String, String> appProperties = new HashMap<>();
+        options.keySet().removeIf(key -> {
+            if (key.startsWith("spring.") || key.startsWith("app.") || key.startsWith("server.")) {
+                appProperties.put(key, options.get(key));
+                return true;
+            }
+            return false;
+        });
+        Scenario scenario = Scenario.load(scenarioName, options);
+
+        ConfigurableApplicationContext context = target == null ? start(scenarioName, appProperties) : null;
+        try {
+            URI baseUri = URI.create(target != null ? target
+                    : "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort());
+            HttpClient client = HttpClient.newBuilder()
+                    .version(version)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            LoadGenerator generator = new LoadGenerator(scenario, client, baseUri);
+            if (context != null) {
+                System.out.printf("Server %s, client %s%n",
+                        ((ServletWebServerApplicationContext) context).getWebServer().getClass().getSimpleName(), version);
+            }
+            System.out.printf("Seeding %d customers at %s%n", scenario.keys(), baseUri);
+            generator.seed();
+            System.out.printf("Running %s%n", scenario);
+
+            LatencyReport report = new LatencyReport(generator.run());
+            report.print(System.out);
+            Path histogramLog = OUTPUT.resolve(scenarioName + ".hlog");
+            Path summary = OUTPUT.resolve(scenarioName + "-summary.properties");
+            report.writeHistogramLog(histogramLog);
+            report.writeSummary(summary);
+            System.out.printf("%nHistograms: %s%nSummary: %s%n", histogramLog, summary);
+
+            if (baseline != null && report.compare(Path.of(baseline), tolerance, System.out) && failOnRegression) {
+                System.exit(1);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String scenarioName, Map<String, String> properties) {
+        Map<String, String> arguments = new HashMap<>();
+        arguments.put("server.port", "0");
+        arguments.put("spring.datasource.url", "jdbc:h2:mem:loadtest-" + scenarioName);
+        arguments.put("app.change-journal.directory", "target/loadtest/" + scenarioName + "/change-journal");
+        arguments.put("app.purchases.journal-directory", "target/loadtest/" + scenarioName + "/purchase-journal");
+        // The default profile's TRACE service and SQL logging would dominate every latency
+        arguments.put("spring.profiles.active", "prod");
+        arguments.putAll(properties);
+        return new SpringApplication(CustomerManagementApplication.class).run(arguments.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new));
+    }
+}
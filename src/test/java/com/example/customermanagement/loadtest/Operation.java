@@ -0,0 +1,27 @@
+package com.example.customermanagement.loadtest;
+
+public enum Operation {
+
+    READ("GET /customers/{id}", 200),
+    READ_NOT_FOUND("GET /customers/{id} (missing)", 404),
+    CREATE("POST /customers", 201),
+    UPDATE("PUT /customers/{id}", 200),
+    // Whole arrival when batchSize > 1, from its scheduled time until its last operation completed
+    BATCH("batch", 0);
+
+    private final String label;
+    private final int expectedStatus;
+
+    Operation(String label, int expectedStatus) {
+        this.label = label;
+        this.expectedStatus = expectedStatus;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public boolean succeeded(int status) {
+        return status == expectedStatus;
+    }
+}
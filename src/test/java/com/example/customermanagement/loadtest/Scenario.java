@@ -0,0 +1,61 @@
+package com.example.customermanagement.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * One load profile. Built-in scenarios live in src/test/resources/loadtest/&lt;name&gt;.properties;
+ * any key can be overridden on the command line as key=value.
+ *
+ * @param rate           arrivals per second, issued on schedule whether or not earlier requests finished
+ * @param readRatio      share of operations that are GET /customers/{id}; the rest are writes
+ * @param createRatio    share of writes that create a new customer; the rest update an existing one
+ * @param notFoundRatio  share of reads that ask for an id that does not exist
+ * @param keys           customers seeded before the run; reads and updates pick among them
+ * @param zipfExponent   skew of the key popularity, 0 for uniform, around 1 for a typical hot set
+ * @param batchSize      operations fired together per arrival, as a client rendering a page would
+ * @param maxInFlight    arrivals beyond this many outstanding ones are dropped and recorded as timeouts
+ */
+public record Scenario(String name, double rate, Duration duration, Duration warmup, double readRatio,
+        double createRatio, double notFoundRatio, int keys, double zipfExponent, int batchSize, int maxInFlight) {
+
+    public static Scenario load(String name, Map<String, String> overrides) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Scenario.class.getResourceAsStream("/loadtest/" + name + ".properties")) {
+            if (in == null) {
+                throw new IllegalArgumentException("No scenario named " + name + " in src/test/resources/loadtest");
+            }
+            properties.load(in);
+        }
+        properties.putAll(overrides);
+        return new Scenario(name,
+                Double.parseDouble(properties.getProperty("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(properties.getProperty("durationSeconds", "30"))),
+                Duration.ofSeconds(Long.parseLong(properties.getProperty("warmupSeconds", "10"))),
+                ratio(properties, "readRatio", "0.9"),
+                ratio(properties, "createRatio", "0.2"),
+                ratio(properties, "notFoundRatio", "0.0"),
+                Integer.parseInt(properties.getProperty("keys", "1000")),
+                Double.parseDouble(properties.getProperty("zipfExponent", "0.0")),
+                Integer.parseInt(properties.getProperty("batchSize", "1")),
+                Integer.parseInt(properties.getProperty("maxInFlight", "10000")));
+    }
+
+    private static double ratio(Properties properties, String key, String defaultValue) {
+        double value = Double.parseDouble(properties.getProperty(key, defaultValue));
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException(key + " must be between 0 and 1, was " + value);
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "%s: %.0f arrivals/s x %d ops for %d s (warm-up %d s), reads %.0f%% (not found %.0f%%), creates %.0f%% of writes, %d keys, zipf %.2f"
+                .formatted(name, rate, batchSize, duration.toSeconds(), warmup.toSeconds(), readRatio * 100,
+                        notFoundRatio * 100, createRatio * 100, keys, zipfExponent);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.customermanagement.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class ZipfGeneratorTest {
+
+    @Test
+    void exponentZeroIsUniform() {
+        int[] counts = draw(new ZipfGenerator(10, 0.0), 10, 100_000);
+        for (int count : counts) {
+            assertEquals(10_000, count, 600);
+        }
+    }
+
+    @Test
+    void skewFavoursLowRanks() {
+        int[] counts = draw(new ZipfGenerator(1000, 1.1), 1000, 100_000);
+        int top10 = 0;
+        for (int rank = 0; rank < 10; rank++) {
+            top10 += counts[rank];
+        }
+        // 1/(r+1)^1.1 over 1000 ranks puts ~48% of the mass on the first 1%
+        assertTrue(top10 > 45_000 && top10 < 51_000, "top 10 drew " + top10);
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[9]);
+    }
+
+    private static int[] draw(ZipfGenerator zipf, int n, int samples) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[n];
+        for (int i = 0; i < samples; i++) {
+            counts[zipf.next(random)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.customermanagement.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LogRateLimiterTest {
+
+    @Test
+    public void whenOverRate_thenExcessSuppressedAndReportedOnNextAdmittedLine() throws Exception {
+        LogRateLimiter limiter = new LogRateLimiter(3);
+        // Start at the beginning of a second so the burst stays within one window
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000);
+
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire()) {
+                admitted++;
+            }
+        }
+        assertEquals(3, admitted);
+
+        Thread.sleep(1000);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(" (7 similar messages suppressed)", limiter.suppressedSuffix());
+        assertEquals("", limiter.suppressedSuffix());
+    }
+}
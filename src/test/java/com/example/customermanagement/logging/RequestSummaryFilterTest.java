@@ -0,0 +1,61 @@
+package com.example.customermanagement.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class RequestSummaryFilterTest {
+
+    private final Logger summaryLogger = (Logger) LoggerFactory.getLogger("com.example.customermanagement.request-summary");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    public void attachAppender() {
+        summaryLogger.setLevel(Level.INFO);
+        appender.start();
+        summaryLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    public void detachAppender() {
+        summaryLogger.detachAppender(appender);
+        summaryLogger.setLevel(null);
+    }
+
+    @Test
+    public void whenRequestHandled_thenOneSummaryLineWithPatternStatusAndSqlCount() throws Exception {
+        SqlStatementCounter inspector = new SqlStatementCounter();
+        HttpServlet handler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/customers/{id}");
+                inspector.inspect("select 1");
+                inspector.inspect("select 2");
+                response.setStatus(404);
+            }
+        };
+
+        new RequestSummaryFilter().doFilter(new MockHttpServletRequest("GET", "/customers/42"),
+                new MockHttpServletResponse(), new MockFilterChain(handler));
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.getFirst().getFormattedMessage();
+        assertEquals("method=GET endpoint=/customers/{id} status=404 outcome=client_error sql=2",
+                line.replaceAll(" latencyMs=\\d+", ""));
+    }
+}
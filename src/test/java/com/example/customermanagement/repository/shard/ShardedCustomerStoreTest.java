@@ -0,0 +1,223 @@
+package com.example.customermanagement.repository.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.customermanagement.model.Customer;
+
+public class ShardedCustomerStoreTest {
+
+    private static final int CONFIGURED_SHARDS = 3;
+
+    private List<DataSource> dataSources;
+    private ShardedCustomerStore store;
+
+    @BeforeEach
+    void setUp() {
+        dataSources = new ArrayList<>();
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < CONFIGURED_SHARDS; i++) {
+            dataSources.add(new DriverManagerDataSource("jdbc:h2:mem:shard_" + i + "_" + run + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        store = new ShardedCustomerStore(dataSources, 2, Executors.newVirtualThreadPerTaskExecutor());
+        store.initializeSchema();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void whenSave_thenFoundByIdNameAndEmail() {
+        Customer saved = store.save(customer(1));
+
+        assertTrue(store.findById(saved.getId()).isPresent());
+        assertEquals(saved.getId(), store.findByName("Customer 1").orElseThrow().getId());
+        assertEquals(saved.getId(), store.findByEmail("customer1@example.com").orElseThrow().getId());
+        assertTrue(store.existsById(saved.getId()));
+    }
+
+    @Test
+    public void whenDuplicateEmailOnAnotherShard_thenRejected() {
+        store.save(customer(1));
+        Customer duplicate = customer(2);
+        duplicate.setEmail("customer1@example.com");
+
+        assertThrows(DataIntegrityViolationException.class, () -> store.save(duplicate));
+        assertEquals(1, store.count());
+    }
+
+    @Test
+    public void whenDelete_thenGoneFromShardAndRoutingIndex() {
+        Customer saved = store.save(customer(1));
+
+        store.deleteById(saved.getId());
+
+        assertFalse(store.findById(saved.getId()).isPresent());
+        assertFalse(store.findByEmail("customer1@example.com").isPresent());
+    }
+
+    @Test
+    public void whenManyCustomers_thenScatterGatherSeesAllShards() {
+        for (int i = 0; i < 50; i++) {
+            store.save(customer(i));
+        }
+
+        assertEquals(50, store.count());
+        assertEquals(50, store.findAll().size());
+        List<ShardStats> stats = store.stats();
+        assertEquals(2, stats.size());
+        assertEquals(50, stats.stream().mapToLong(ShardStats::customers).sum());
+        assertTrue(stats.stream().allMatch(s -> s.customers() > 0));
+    }
+
+    @Test
+    public void whenFindAllByIdAndTopBySpend_thenMergedAcrossShards() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(store.save(customer(i)).getId());
+        }
+
+        assertEquals(5, store.findAllById(ids.subList(0, 5)).size());
+        assertEquals(20, store.findTierViewsByIdIn(ids).size());
+        List<Customer> top = store.findTopBySpend(3);
+        assertEquals(List.of("Customer 19", "Customer 18", "Customer 17"), top.stream().map(Customer::getName).toList());
+    }
+
+    @Test
+    public void whenSaveRetried_thenSameRowAndRoute() {
+        Customer saved = store.save(customer(1));
+        saved.setEmail("renamed@example.com");
+
+        store.save(saved);
+        store.save(saved);
+
+        assertEquals(1, store.count());
+        assertEquals(saved.getId(), store.findByEmail("renamed@example.com").orElseThrow().getId());
+        assertFalse(store.findByEmail("customer1@example.com").isPresent());
+    }
+
+    @Test
+    public void whenRouteHasNoShardRow_thenRemovedOnRepair() {
+        Customer saved = store.save(customer(1));
+        UUID orphan = UUID.randomUUID();
+        store.routingIndex().register(orphan, "Half saved", "half@example.com");
+
+        assertEquals(1, store.removeOrphanedRoutes());
+
+        assertFalse(store.existsById(orphan));
+        assertTrue(store.existsById(saved.getId()));
+        store.save(new Customer("Half saved", "half@example.com", BigDecimal.ONE, null));
+    }
+
+    @Test
+    public void whenRebalanceOntoMoreShards_thenEveryCustomerLandsOnItsNewOwner() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            ids.add(store.save(customer(i)).getId());
+        }
+
+        ShardRebalancer.RebalanceReport report = new ShardRebalancer(store, 7).rebalance(3);
+
+        assertTrue(report.scanned() >= 60);
+        assertTrue(report.moved() > 0);
+        assertEquals(3, store.stats().size());
+        assertEquals(60, store.count());
+        ShardRouter router = new ShardRouter(3);
+        for (UUID id : ids) {
+            List<Customer> onOwner = store.scanShard(router.shardFor(id), null, 100);
+            assertTrue(onOwner.stream().anyMatch(c -> c.getId().equals(id)), "customer " + id + " not on its owning shard");
+        }
+    }
+
+    @Test
+    public void whenRebalanceFailsPartway_thenEveryCustomerStillFoundAndRetryFinishesIt() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            ids.add(store.save(customer(i)).getId());
+        }
+        // The spare shard rejects every copied row, so the move fails on the first customer it owns
+        JdbcTemplate spare = new JdbcTemplate(dataSources.get(2));
+        spare.execute("ALTER TABLE customers ADD CONSTRAINT no_copies CHECK (annual_spend < 0)");
+        ShardRebalancer rebalancer = new ShardRebalancer(store, 7);
+
+        assertThrows(DataAccessException.class, () -> rebalancer.rebalance(3));
+
+        for (UUID id : ids) {
+            assertTrue(store.findById(id).isPresent(), "customer " + id + " lost by the failed rebalance");
+        }
+        assertThrows(IllegalStateException.class, () -> rebalancer.rebalance(2));
+        spare.execute("ALTER TABLE customers DROP CONSTRAINT no_copies");
+        rebalancer.rebalance(3);
+        assertEquals(60, store.count());
+        ShardRouter router = new ShardRouter(3);
+        for (UUID id : ids) {
+            assertTrue(store.scanShard(router.shardFor(id), null, 100).stream().anyMatch(c -> c.getId().equals(id)));
+        }
+    }
+
+    @Test
+    public void whenRestartedWithStaleActiveShards_thenStartupRefused() {
+        for (int i = 0; i < 20; i++) {
+            store.save(customer(i));
+        }
+        new ShardRebalancer(store, 7).rebalance(3);
+
+        ShardedCustomerStore stale = new ShardedCustomerStore(dataSources, 2, Executors.newVirtualThreadPerTaskExecutor());
+        assertThrows(IllegalStateException.class, stale::initializeSchema);
+        stale.close();
+
+        ShardedCustomerStore restarted = new ShardedCustomerStore(dataSources, 3, Executors.newVirtualThreadPerTaskExecutor());
+        restarted.initializeSchema();
+        assertEquals(20, restarted.count());
+        assertTrue(restarted.findByName("Customer 7").isPresent());
+        restarted.close();
+    }
+
+    @Test
+    public void whenRestartedDuringRebalance_thenBothLayoutsRouted() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(store.save(customer(i)).getId());
+        }
+        JdbcTemplate spare = new JdbcTemplate(dataSources.get(2));
+        spare.execute("ALTER TABLE customers ADD CONSTRAINT no_copies CHECK (annual_spend < 0)");
+        assertThrows(DataAccessException.class, () -> new ShardRebalancer(store, 7).rebalance(3));
+        spare.execute("ALTER TABLE customers DROP CONSTRAINT no_copies");
+
+        ShardedCustomerStore restarted = new ShardedCustomerStore(dataSources, 3, Executors.newVirtualThreadPerTaskExecutor());
+        restarted.initializeSchema();
+
+        for (UUID id : ids) {
+            assertTrue(restarted.findById(id).isPresent(), "customer " + id + " lost across the restart");
+        }
+        new ShardRebalancer(restarted, 7).rebalance(3);
+        assertEquals(40, restarted.count());
+        restarted.close();
+    }
+
+    private static Customer customer(int n) {
+        return new Customer("Customer " + n, "customer" + n + "@example.com",
+                new BigDecimal("100.00").multiply(BigDecimal.valueOf(n)), LocalDate.of(2024, 1, 1).plusDays(n));
+    }
+}
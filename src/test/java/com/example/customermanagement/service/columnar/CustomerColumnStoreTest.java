@@ -0,0 +1,146 @@
+package com.example.customermanagement.service.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.columnar.CustomerColumnStore.SegmentResult;
+
+public class CustomerColumnStoreTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    public void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void whenRowsUpsertedAndRemovedPastGrowth_thenScansMatchReferenceModel() {
+        CustomerColumnStore store = new CustomerColumnStore();
+        Map<UUID, long[]> model = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 300_000; i++) {
+            int action = random.nextInt(10);
+            if (action < 2 && !ids.isEmpty()) {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                assertTrue(store.remove(id));
+                model.remove(id);
+            } else {
+                UUID id = action < 4 && !ids.isEmpty() ? ids.get(random.nextInt(ids.size())) : UUID.randomUUID();
+                long spend = random.nextInt(20) == 0 ? CustomerColumnStore.NULL_SPEND : random.nextLong(2_000_000);
+                int day = random.nextInt(20) == 0 ? CustomerColumnStore.NULL_DAY : 19_000 + random.nextInt(730);
+                Tier tier = Tier.values()[random.nextInt(4)];
+                store.upsert(id, spend, day, tier);
+                if (model.put(id, new long[] { spend, day, tier.ordinal() }) == null) {
+                    ids.add(id);
+                }
+            }
+        }
+
+        assertEquals(model.size(), store.size());
+        for (UUID id : ids) {
+            assertEquals(Tier.values()[(int) model.get(id)[2]], store.tierOf(id));
+        }
+        SegmentFilter[] filters = {
+                SegmentFilter.all(),
+                SegmentFilter.all().spendBetween(100_000, 500_000),
+                SegmentFilter.all().purchasedBetween(19_300, Integer.MAX_VALUE).tier(Tier.GOLD),
+                SegmentFilter.all().spendBetween(0, 1_000_000).purchasedBetween(19_000, 19_100).tier(Tier.BRONZE) };
+        for (SegmentFilter filter : filters) {
+            long count = 0;
+            long spend = 0;
+            for (long[] row : model.values()) {
+                if (filter.matches(row[0], (int) row[1], (byte) row[2])) {
+                    count++;
+                    spend += row[0] == CustomerColumnStore.NULL_SPEND ? 0 : row[0];
+                }
+            }
+            SegmentResult result = store.scan(filter, 50, pool);
+            assertEquals(model.size(), result.scanned());
+            assertEquals(count, result.count());
+            assertEquals(spend, result.spendCents());
+            assertEquals(Math.min(50, count), result.ids().size());
+            assertEquals(result.ids().size(), new HashSet<>(result.ids()).size());
+            for (UUID id : result.ids()) {
+                long[] row = model.get(id);
+                assertTrue(filter.matches(row[0], (int) row[1], (byte) row[2]));
+            }
+        }
+    }
+
+    @Test
+    public void whenColumnBounded_thenNullValuesNeverMatch() {
+        CustomerColumnStore store = new CustomerColumnStore();
+        store.upsert(UUID.randomUUID(), CustomerColumnStore.NULL_SPEND, 19_500, Tier.SILVER);
+        store.upsert(UUID.randomUUID(), 50_000, CustomerColumnStore.NULL_DAY, Tier.SILVER);
+
+        assertEquals(2, store.scan(SegmentFilter.all(), 10, pool).count());
+        assertEquals(1, store.scan(SegmentFilter.all().spendBetween(Long.MIN_VALUE, Long.MAX_VALUE), 10, pool).count());
+        assertEquals(1, store.scan(SegmentFilter.all().purchasedBetween(Integer.MIN_VALUE, Integer.MAX_VALUE), 10, pool).count());
+    }
+
+    @Test
+    public void whenReplacedAndTiersRecomputed_thenOldRowsGoneAndTiersUpdated() {
+        CustomerColumnStore store = new CustomerColumnStore();
+        UUID old = UUID.randomUUID();
+        store.upsert(old, 1, 1, Tier.BRONZE);
+        UUID rich = UUID.randomUUID();
+        UUID poor = UUID.randomUUID();
+        store.replaceAll(sink -> {
+            sink.accept(rich, 2_000_000, 19_500, Tier.SILVER);
+            sink.accept(poor, 100, 19_500, Tier.SILVER);
+        });
+
+        assertNull(store.tierOf(old));
+        assertFalse(store.remove(old));
+        store.recomputeTiers((spend, day) -> spend >= 1_000_000 ? Tier.PLATINUM : Tier.BRONZE);
+
+        assertEquals(Tier.PLATINUM, store.tierOf(rich));
+        assertEquals(Tier.BRONZE, store.tierOf(poor));
+        assertEquals(List.of(rich), store.scan(SegmentFilter.all().tier(Tier.PLATINUM), 10, pool).ids());
+    }
+
+    @Test
+    public void whenReplacedWithExpectedRows_thenSizedOnceAndNoGrowthDuringLoad() {
+        CustomerColumnStore store = new CustomerColumnStore();
+        store.upsert(UUID.randomUUID(), 1, 1, Tier.BRONZE);
+        int rows = 5_000;
+        long presized = new CustomerColumnStore(rows + rows / 8).offHeapBytes();
+        List<UUID> ids = new ArrayList<>();
+
+        store.replaceAll(rows, sink -> {
+            assertEquals(presized, store.offHeapBytes());
+            for (int i = 0; i < rows; i++) {
+                UUID id = UUID.randomUUID();
+                ids.add(id);
+                sink.accept(id, i, 19_500, Tier.SILVER);
+            }
+        });
+
+        assertEquals(presized, store.offHeapBytes());
+        assertEquals(rows, store.size());
+        assertEquals(Tier.SILVER, store.tierOf(ids.get(rows - 1)));
+
+        // A much smaller reload gives the memory back
+        store.replaceAll(10, sink -> sink.accept(ids.get(0), 0, 19_500, Tier.GOLD));
+        assertEquals(new CustomerColumnStore().offHeapBytes(), store.offHeapBytes());
+        assertEquals(Tier.GOLD, store.tierOf(ids.get(0)));
+        assertNull(store.tierOf(ids.get(1)));
+    }
+}
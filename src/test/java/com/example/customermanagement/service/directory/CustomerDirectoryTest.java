@@ -0,0 +1,100 @@
+package com.example.customermanagement.service.directory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class CustomerDirectoryTest {
+
+    @Test
+    public void whenPut_thenFieldsReadBackWithoutLoss() {
+        CustomerDirectory directory = new CustomerDirectory();
+        UUID ada = UUID.randomUUID();
+        UUID zoe = UUID.randomUUID();
+
+        int adaSlot = directory.put(ada, "Ada", "ada@example.com", new BigDecimal("1234.5"), LocalDate.of(2024, 2, 29));
+        int zoeSlot = directory.put(zoe, "Zoë Ångström", null, null, null);
+
+        assertEquals(adaSlot, directory.slotOf(ada));
+        assertEquals(ada, directory.id(adaSlot));
+        assertEquals("Ada", directory.name(adaSlot));
+        assertEquals("ada@example.com", directory.email(adaSlot));
+        assertEquals(123450, directory.spendCents(adaSlot));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), directory.lastPurchaseEpochDay(adaSlot));
+        assertEquals("Zoë Ångström", directory.name(zoeSlot));
+        assertEquals("Zoë Ångström", directory.name(zoeSlot, new CustomerDirectory.Text()).toString());
+        assertNull(directory.email(zoeSlot));
+        assertTrue(directory.email(zoeSlot, new CustomerDirectory.Text()).isNull());
+        assertEquals(CustomerDirectory.NO_SPEND, directory.spendCents(zoeSlot));
+        assertEquals(CustomerDirectory.NO_DATE, directory.lastPurchaseEpochDay(zoeSlot));
+        assertEquals(2, directory.size());
+    }
+
+    @Test
+    public void whenReplacedOrRemoved_thenOldSlotIsDead() {
+        CustomerDirectory directory = new CustomerDirectory();
+        UUID id = UUID.randomUUID();
+        int first = directory.put(id, "Anne Lee", "anne@example.com", null, null);
+
+        int second = directory.put(id, "Anne Nguyen", "anne@example.com", null, null);
+
+        assertFalse(directory.isLive(first));
+        assertEquals(second, directory.slotOf(id));
+        assertEquals("Anne Nguyen", directory.name(second));
+        assertEquals(1, directory.size());
+        assertEquals(second, directory.remove(id));
+        assertEquals(-1, directory.slotOf(id));
+        assertEquals(-1, directory.remove(id));
+        assertEquals(0, directory.size());
+    }
+
+    @Test
+    public void whenRandomChanges_thenLookupsMatchHashMapAndSurviveCompaction() {
+        CustomerDirectory directory = new CustomerDirectory(16);
+        Map<UUID, String> model = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(11);
+        // Sequential ids collide in the high bits, which stresses probing and backward-shift deletion
+        UUID[] ids = new UUID[2_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new UUID(0, i);
+        }
+        for (int step = 0; step < 50_000; step++) {
+            UUID id = ids[random.nextInt(ids.length)];
+            if (random.nextInt(3) == 0) {
+                directory.remove(id);
+                model.remove(id);
+            } else {
+                String name = "customer " + step;
+                directory.put(id, name, name.replace(' ', '.') + "@example.com", null, null);
+                model.put(id, name);
+            }
+        }
+        assertMatches(model, ids, directory);
+        assertMatches(model, ids, directory.compact());
+        assertEquals(model.size(), directory.compact().slots());
+    }
+
+    private static void assertMatches(Map<UUID, String> model, UUID[] ids, CustomerDirectory directory) {
+        assertEquals(model.size(), directory.size());
+        for (UUID id : ids) {
+            int slot = directory.slotOf(id);
+            if (model.containsKey(id)) {
+                assertTrue(directory.isLive(slot));
+                assertEquals(model.get(id), directory.name(slot));
+                assertTrue(directory.hasId(slot, id));
+            } else {
+                assertEquals(-1, slot);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.customermanagement.service.expiry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.customermanagement.enums.Tier;
+
+public class ExpiryWheelTest {
+
+    @Test
+    public void whenDaysPolled_thenOnlyCustomersDueThatDayArePopped() {
+        ExpiryWheel wheel = new ExpiryWheel(400, 20_000);
+        UUID soon = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+        UUID aWheelTurnLater = UUID.randomUUID();
+        wheel.schedule(soon, 20_001, Tier.PLATINUM);
+        wheel.schedule(later, 20_003, Tier.GOLD);
+        wheel.schedule(aWheelTurnLater, 20_001 + 256, Tier.GOLD); // shares a slot index with 'soon' if the wheel were 256
+
+        assertTrue(wheel.pollNextDay().isEmpty());
+        assertEquals(Map.of(soon, Tier.PLATINUM), wheel.pollNextDay());
+        assertTrue(wheel.pollNextDay().isEmpty());
+        assertEquals(Map.of(later, Tier.GOLD), wheel.pollNextDay());
+        assertEquals(20_004, wheel.nextDay());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void whenRescheduledOrCancelled_thenOldDayNoLongerPopsCustomer() {
+        ExpiryWheel wheel = new ExpiryWheel(400, 20_000);
+        UUID moved = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        wheel.schedule(moved, 20_000, Tier.PLATINUM);
+        wheel.schedule(cancelled, 20_000, Tier.GOLD);
+        wheel.schedule(moved, 20_002, Tier.GOLD); // purchased again
+        wheel.cancel(cancelled);
+
+        assertTrue(wheel.pollNextDay().isEmpty());
+        wheel.schedule(UUID.randomUUID(), 19_000, Tier.GOLD); // overdue: goes to the next day polled
+        assertEquals(1, wheel.pollNextDay().size());
+        assertEquals(Map.of(moved, Tier.GOLD), wheel.pollNextDay());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void whenBeyondHorizon_thenRejected() {
+        ExpiryWheel wheel = new ExpiryWheel(400, 20_000);
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(UUID.randomUUID(), 20_000 + 512, Tier.GOLD));
+    }
+
+    @Test
+    public void whenScheduledWhilePolling_thenEveryCustomerPoppedOnce() throws Exception {
+        ExpiryWheel wheel = new ExpiryWheel(8, 20_000);
+        int customers = 50_000;
+        Thread scheduler = new Thread(() -> {
+            for (int i = 0; i < customers; i++) {
+                wheel.schedule(UUID.randomUUID(), wheel.nextDay(), Tier.GOLD);
+            }
+        });
+        scheduler.start();
+        int popped = 0;
+        while (scheduler.isAlive()) {
+            popped += wheel.pollNextDay().size();
+        }
+        scheduler.join();
+        popped += wheel.pollNextDay().size();
+
+        assertEquals(customers, popped);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.customermanagement.service.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.service.export.CustomerColumnarReader.Row;
+
+public class CustomerColumnarFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void whenWrittenAcrossRowGroups_thenRowsRoundTripInOrder() throws IOException {
+        Path file = tempDir.resolve("customers.ccol");
+        List<Row> rows = List.of(
+                new Row(UUID.randomUUID(), "Ada", "ada@example.com", new BigDecimal("1234.50"), LocalDate.of(2024, 2, 29), "SILVER"),
+                new Row(UUID.randomUUID(), "Zoë Ångström", "zoe@example.com", null, null, "BRONZE"),
+                new Row(UUID.randomUUID(), "Big", "big@example.com", new BigDecimal("99999999.99"), LocalDate.of(1970, 1, 1), "PLATINUM"),
+                new Row(UUID.randomUUID(), "Small", "small@example.com", new BigDecimal("0.01"), LocalDate.of(1969, 12, 31), "BRONZE"),
+                new Row(new UUID(-1L, Long.MIN_VALUE), "Edge", "edge@example.com", null, LocalDate.of(2025, 6, 1), "GOLD"));
+
+        CustomerColumnarFile.Info info = write(file, 2, rows);
+
+        assertEquals(5, info.rows());
+        assertEquals(3, info.rowGroups());
+        assertEquals(Files.size(file), info.bytes());
+        assertFalse(Files.exists(tempDir.resolve("customers.ccol.tmp")));
+        CustomerColumnarReader.Contents contents = read(file);
+        assertEquals(rows, contents.rows());
+        assertEquals(2, contents.rowGroupSize());
+        assertEquals(List.of("id", "name", "email", "annual_spend_cents", "last_purchase_date", "tier"),
+                contents.columns().stream().map(CustomerColumnarReader.Column::name).toList());
+        assertEquals(List.of("BRONZE", "SILVER", "GOLD", "PLATINUM"), contents.columns().get(5).values());
+    }
+
+    @Test
+    public void whenStringsRepeat_thenDictionaryEncoded() throws IOException {
+        Path file = tempDir.resolve("repeated.ccol");
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(new Row(UUID.randomUUID(), "Name " + (i % 3), "user" + i + "@example.com",
+                    new BigDecimal("100.00"), LocalDate.of(2025, 1, 1), "SILVER"));
+        }
+
+        write(file, 100, rows);
+
+        CustomerColumnarReader.Contents contents = read(file);
+        assertEquals(rows, contents.rows());
+        assertArrayEquals(new byte[] { CustomerColumnarFile.ENCODING_PLAIN, CustomerColumnarFile.ENCODING_DICTIONARY,
+                CustomerColumnarFile.ENCODING_PLAIN, CustomerColumnarFile.ENCODING_DELTA_VARINT,
+                CustomerColumnarFile.ENCODING_DELTA_VARINT, CustomerColumnarFile.ENCODING_PLAIN },
+                contents.encodings().get(0));
+        // 100 equal spends and dates are one varint for the first value and a zero byte for the others
+        assertTrue(Files.size(file) < 100 * (16 + 20 + 2 + 1) + 200);
+    }
+
+    @Test
+    public void whenEmpty_thenReadsNoRows() throws IOException {
+        Path file = tempDir.resolve("empty.ccol");
+
+        CustomerColumnarFile.Info info = write(file, 10, List.of());
+
+        assertEquals(0, info.rows());
+        assertEquals(0, info.rowGroups());
+        assertTrue(read(file).rows().isEmpty());
+    }
+
+    @Test
+    public void whenPayloadCorrupted_thenChecksumFails() throws IOException {
+        Path file = tempDir.resolve("corrupt.ccol");
+        write(file, 10, List.of(new Row(UUID.randomUUID(), "Ada", "ada@example.com", new BigDecimal("10.00"),
+                LocalDate.of(2025, 1, 1), "BRONZE")));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 20] ^= 0x40;
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> read(file));
+    }
+
+    private static CustomerColumnarFile.Info write(Path file, int rowGroupSize, List<Row> rows) throws IOException {
+        try (CustomerColumnarFile.Writer writer = CustomerColumnarFile.create(file, rowGroupSize)) {
+            for (Row row : rows) {
+                writer.add(row.id(), row.name(), row.email(), row.annualSpend(), row.lastPurchaseDate(),
+                        Tier.valueOf(row.tier()));
+            }
+            return writer.commit();
+        }
+    }
+
+    private static CustomerColumnarReader.Contents read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return CustomerColumnarReader.read(in);
+        }
+    }
+}
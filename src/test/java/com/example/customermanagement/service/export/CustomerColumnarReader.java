@@ -0,0 +1,191 @@
+package com.example.customermanagement.service.export;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Reference reader for {@link CustomerColumnarFile}, written from the format description rather
+ * than from the writer: it decodes columns by the schema in the header and checks every row group
+ * checksum, the terminator and the trailer.
+ */
+public class CustomerColumnarReader {
+
+    public record Column(String name, byte type, List<String> values) {
+    }
+
+    public record Row(UUID id, String name, String email, BigDecimal annualSpend, LocalDate lastPurchaseDate,
+            String tier) {
+    }
+
+    // Encoding of each column chunk per row group, for checking which encoding the writer picked
+    public record Contents(Instant createdAt, int rowGroupSize, List<Column> columns, List<Row> rows,
+            List<byte[]> encodings) {
+    }
+
+    public static Contents read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        if (in.readInt() != CustomerColumnarFile.MAGIC) {
+            throw new IOException("Not a columnar customer export");
+        }
+        if (in.readShort() != CustomerColumnarFile.VERSION) {
+            throw new IOException("Unsupported version");
+        }
+        Instant createdAt = Instant.ofEpochMilli(in.readLong());
+        int rowGroupSize = in.readInt();
+        List<Column> columns = new ArrayList<>();
+        for (int i = in.readUnsignedByte(); i > 0; i--) {
+            String name = in.readUTF();
+            byte type = in.readByte();
+            List<String> values = new ArrayList<>();
+            if (type == CustomerColumnarFile.TYPE_ENUM) {
+                for (int j = in.readUnsignedByte(); j > 0; j--) {
+                    values.add(in.readUTF());
+                }
+            }
+            columns.add(new Column(name, type, values));
+        }
+
+        List<Object[]> values = new ArrayList<>();
+        List<byte[]> encodings = new ArrayList<>();
+        long total = 0;
+        for (int rows = in.readInt(); rows != 0; rows = in.readInt()) {
+            byte[] payload = new byte[in.readInt()];
+            int expectedCrc = in.readInt();
+            in.readFully(payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("Row group " + encodings.size() + " failed the checksum");
+            }
+            Object[][] group = new Object[rows][columns.size()];
+            byte[] groupEncodings = new byte[columns.size()];
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            for (int c = 0; c < columns.size(); c++) {
+                int length = buffer.getInt();
+                ByteBuffer chunk = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                groupEncodings[c] = chunk.get(0);
+                decodeChunk(columns.get(c), chunk, rows, group, c);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException("Trailing bytes in row group");
+            }
+            values.addAll(List.of(group));
+            encodings.add(groupEncodings);
+            total += rows;
+        }
+        if (in.readLong() != total) {
+            throw new IOException("Trailer row count does not match the row groups");
+        }
+        if (in.read() != -1) {
+            throw new IOException("Bytes after the trailer");
+        }
+
+        List<Row> rows = new ArrayList<>(values.size());
+        for (Object[] row : values) {
+            Long cents = (Long) row[3];
+            Long epochDay = (Long) row[4];
+            rows.add(new Row((UUID) row[0], (String) row[1], (String) row[2],
+                    cents == null ? null : BigDecimal.valueOf(cents, 2),
+                    epochDay == null ? null : LocalDate.ofEpochDay(epochDay), (String) row[5]));
+        }
+        return new Contents(createdAt, rowGroupSize, columns, rows, encodings);
+    }
+
+    private static void decodeChunk(Column column, ByteBuffer chunk, int rows, Object[][] group, int c)
+            throws IOException {
+        byte encoding = chunk.get();
+        byte[] present = null;
+        if (chunk.get() == 1) {
+            present = new byte[(rows + 7) >>> 3];
+            chunk.get(present);
+        }
+        switch (column.type()) {
+            case CustomerColumnarFile.TYPE_UUID -> {
+                expect(encoding, CustomerColumnarFile.ENCODING_PLAIN);
+                int lsbStart = chunk.position() + rows * 8;
+                for (int r = 0; r < rows; r++) {
+                    group[r][c] = new UUID(chunk.getLong(chunk.position() + r * 8), chunk.getLong(lsbStart + r * 8));
+                }
+                chunk.position(lsbStart + rows * 8);
+            }
+            case CustomerColumnarFile.TYPE_STRING -> {
+                String[] dictionary = null;
+                if (encoding == CustomerColumnarFile.ENCODING_DICTIONARY) {
+                    dictionary = new String[(int) varint(chunk)];
+                    for (int i = 0; i < dictionary.length; i++) {
+                        dictionary[i] = string(chunk);
+                    }
+                } else {
+                    expect(encoding, CustomerColumnarFile.ENCODING_PLAIN);
+                }
+                for (int r = 0; r < rows; r++) {
+                    if (isPresent(present, r)) {
+                        group[r][c] = dictionary == null ? string(chunk) : dictionary[(int) varint(chunk)];
+                    }
+                }
+            }
+            case CustomerColumnarFile.TYPE_INT64, CustomerColumnarFile.TYPE_DATE -> {
+                expect(encoding, CustomerColumnarFile.ENCODING_DELTA_VARINT);
+                long previous = 0;
+                for (int r = 0; r < rows; r++) {
+                    if (isPresent(present, r)) {
+                        long zigzag = varint(chunk);
+                        previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                        group[r][c] = previous;
+                    }
+                }
+            }
+            case CustomerColumnarFile.TYPE_ENUM -> {
+                expect(encoding, CustomerColumnarFile.ENCODING_PLAIN);
+                for (int r = 0; r < rows; r++) {
+                    if (isPresent(present, r)) {
+                        group[r][c] = column.values().get(chunk.get());
+                    }
+                }
+            }
+            default -> throw new IOException("Unknown column type " + column.type());
+        }
+        if (chunk.hasRemaining()) {
+            throw new IOException("Trailing bytes in column " + column.name());
+        }
+    }
+
+    private static boolean isPresent(byte[] present, int row) {
+        return present == null || (present[row >>> 3] & (1 << (row & 7))) != 0;
+    }
+
+    private static void expect(byte encoding, byte expected) throws IOException {
+        if (encoding != expected) {
+            throw new IOException("Unexpected encoding " + encoding);
+        }
+    }
+
+    private static long varint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0;; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[(int) varint(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.customermanagement.service.feed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.customermanagement.service.feed.BroadcastRingBuffer.Read.Status;
+
+public class BroadcastRingBufferTest {
+
+    @Test
+    public void whenPublished_thenEveryReaderSeesEventsInOrder() {
+        BroadcastRingBuffer<String> ring = new BroadcastRingBuffer<>(8, 100);
+        ring.publish("a");
+        ring.publish("b");
+
+        assertEquals("a", ring.read(100).value());
+        assertEquals("b", ring.read(101).value());
+        assertEquals("a", ring.read(100).value()); // reads don't consume
+        assertEquals(Status.PENDING, ring.read(102).status());
+    }
+
+    @Test
+    public void whenReaderFallsBehindCapacity_thenItIsToldItLagged() {
+        BroadcastRingBuffer<Integer> ring = new BroadcastRingBuffer<>(4);
+        for (int i = 0; i < 10; i++) {
+            ring.publish(i);
+        }
+
+        assertEquals(Status.LAGGED, ring.read(0).status());
+        assertEquals(6, ring.oldestSequence());
+        assertEquals(6, ring.read(ring.oldestSequence()).value());
+        assertEquals(9, ring.read(9).value());
+    }
+
+    @Test
+    public void whenSequenceBeforeTheFirstOneHandedOut_thenLaggedNotPending() {
+        BroadcastRingBuffer<String> ring = new BroadcastRingBuffer<>(8, 1_000);
+        ring.publish("a");
+
+        assertEquals(Status.LAGGED, ring.read(500).status());
+        assertEquals(Status.LAGGED, ring.read(999).status());
+        assertEquals("a", ring.read(1_000).value());
+    }
+
+    @Test
+    public void whenCapacityNotPowerOfTwo_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BroadcastRingBuffer<>(100));
+    }
+
+    @Test
+    public void whenPublishersRaceAcrossLaps_thenEverySlotKeepsTheNewestSequence() throws Exception {
+        BroadcastRingBuffer<Long> ring = new BroadcastRingBuffer<>(4);
+        int publishers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < publishers; p++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (long i = 0; i < 20_000; i++) {
+                    ring.publish(i);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // The last lap is readable in full; an older lap left behind would read as lagged
+        for (long sequence = ring.oldestSequence(); sequence < ring.nextSequence(); sequence++) {
+            assertEquals(Status.AVAILABLE, ring.read(sequence).status(), "sequence " + sequence);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.customermanagement.service.feed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.TierChangedEvent;
+import com.example.customermanagement.event.TierRulesChangedEvent;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.tier.TierDecisionTable;
+import com.example.customermanagement.service.tier.TierRules;
+
+@SpringBootTest
+@RecordApplicationEvents
+public class TierRulesChangeFeedTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TierRules tierRules;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    public void whenRulesChange_thenTierChangesPublished() {
+        CustomerResponse gold = customerService.createCustomer(request("5000.00"));
+        CustomerResponse silver = customerService.createCustomer(request("200.00"));
+        TierDecisionTable rules = TierDecisionTable.compile(Tier.SILVER,
+                List.of(new TierDecisionTable.Rule(Tier.PLATINUM, new BigDecimal("4000"), null)));
+        events.clear();
+
+        // The live rules stay as they are; listeners that rebuilt for the event are set back afterwards
+        List<TierChangedEvent> changes;
+        try {
+            eventPublisher.publishEvent(new TierRulesChangedEvent(tierRules.current(), rules, Instant.now()));
+            changes = events.stream(TierChangedEvent.class)
+                    .filter(change -> change.customerId().equals(gold.getId()) || change.customerId().equals(silver.getId()))
+                    .toList();
+        } finally {
+            eventPublisher.publishEvent(new TierRulesChangedEvent(rules, tierRules.current(), Instant.now()));
+        }
+
+        assertEquals(1, changes.size());
+        assertEquals(gold.getId(), changes.get(0).customerId());
+        assertEquals(Tier.GOLD, changes.get(0).previousTier());
+        assertEquals(Tier.PLATINUM, changes.get(0).currentTier());
+    }
+
+    private static CustomerRequest request(String annualSpend) {
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Rules " + suffix);
+        request.setEmail("rules-" + suffix + "@example.com");
+        request.setAnnualSpend(new BigDecimal(annualSpend));
+        request.setLastPurchaseDate(LocalDate.now());
+        return request;
+    }
+}
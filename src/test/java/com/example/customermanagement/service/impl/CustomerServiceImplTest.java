@@ -3,7 +3,9 @@ package com.example.customermanagement.service.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
@@ -22,15 +24,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.example.customermanagement.config.CustomerCacheProperties;
+import com.example.customermanagement.config.LookupCoalescingProperties;
+import com.example.customermanagement.config.TierRulesProperties;
 import com.example.customermanagement.dto.CustomerRequest;
 import com.example.customermanagement.dto.CustomerResponse;
 import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.event.TierChangedEvent;
 import com.example.customermanagement.exception.ResourceNotFoundException;
 import com.example.customermanagement.model.Customer;
 import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.lookup.CustomerCache;
+import com.example.customermanagement.service.lookup.CustomerLookupCoalescer;
+import com.example.customermanagement.service.tier.TierRules;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class CustomerServiceImplTest {
@@ -41,6 +56,23 @@ public class CustomerServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private PurchaseLedgerService purchaseLedgerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CustomerLookupCoalescer lookupCoalescer = new CustomerLookupCoalescer(new LookupCoalescingProperties(),
+            new SimpleMeterRegistry());
+
+    // Disabled, so every lookup reaches the repository mock
+    @Spy
+    private CustomerCache customerCache = new CustomerCache(disabledCache(), new SimpleMeterRegistry());
+
+    @Spy
+    private TierRules tierRules = new TierRules(new TierRulesProperties(), event -> { });
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
@@ -141,6 +173,34 @@ public class CustomerServiceImplTest {
         verify(customerRepository, times(1)).save(customer);
     }
 
+    @Test
+    @DisplayName("Create Customer - Publishes initial tier")
+    void createCustomer_publishesTierChangedEvent() {
+        when(modelMapper.map(customerRequest, Customer.class)).thenReturn(customer);
+        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+        when(modelMapper.map(customer, CustomerResponse.class)).thenReturn(customerResponse);
+
+        customerService.createCustomer(customerRequest);
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TierChangedEvent changed
+                && changed.customerId().equals(customerId)
+                && changed.previousTier() == null
+                && changed.currentTier() == Tier.GOLD));
+    }
+
+    @Test
+    @DisplayName("Update Customer - Unchanged tier publishes nothing")
+    void updateCustomer_whenTierUnchanged_thenNoEvent() {
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+        when(modelMapper.map(customer, CustomerResponse.class)).thenReturn(customerResponse);
+        doNothing().when(modelMapper).map(eq(customerRequest), eq(customer));
+
+        customerService.updateCustomer(customerId, customerRequest);
+
+        verify(eventPublisher, never()).publishEvent(argThat((Object event) -> event instanceof TierChangedEvent));
+    }
+
     @Test
     @DisplayName("Get Customer By ID - Success")
     void getCustomerById_success() {
@@ -249,6 +309,27 @@ public class CustomerServiceImplTest {
         verify(customerRepository, times(1)).deleteById(customerId);
     }
 
+    @Test
+    @DisplayName("Find Customer By ID - Missing Returns Empty")
+    void findCustomerById_whenMissing_thenEmpty() {
+        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+
+        assertTrue(customerService.findCustomerById(customerId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Delete Customer - Journals DELETED Change")
+    void deleteCustomer_publishesDeletedChange() {
+        when(customerRepository.existsById(customerId)).thenReturn(true);
+
+        customerService.deleteCustomer(customerId);
+
+        verify(customerRepository).flush();
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CustomerChangedEvent changed
+                && changed.type() == CustomerChangedEvent.Type.DELETED
+                && changed.customerId().equals(customerId)));
+    }
+
     @Test
     @DisplayName("Delete Customer - Not Found")
     void deleteCustomer_notFound() {
@@ -258,4 +339,10 @@ public class CustomerServiceImplTest {
         verify(customerRepository, times(1)).existsById(customerId);
         verify(customerRepository, never()).deleteById(any());
     }
-}
\ No newline at end of file
+
+    private static CustomerCacheProperties disabledCache() {
+        CustomerCacheProperties properties = new CustomerCacheProperties();
+        properties.setEnabled(false);
+        return properties;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.customermanagement.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.customermanagement.config.PurchaseIngestionProperties;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.PurchaseEventRequest;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.feed.CustomerChangePublisher;
+import com.example.customermanagement.service.feed.TierChangePublisher;
+import com.example.customermanagement.service.purchase.PurchaseJournal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+public class PurchaseServiceImplTest {
+
+    @TempDir
+    Path journalDir;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PurchaseLedgerService purchaseLedgerService;
+
+    @Autowired
+    private TierChangePublisher tierChangePublisher;
+
+    @Autowired
+    private CustomerChangePublisher customerChangePublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void whenBookedSegmentOutlivesItsDelete_thenRestartDoesNotBookItAgain() throws IOException {
+        UUID customerId = customerService.createCustomer(customer()).getId();
+        PurchaseServiceImpl first = restart();
+        first.recordPurchase(customerId, purchase("400.00"));
+        Path segment = segments().get(0);
+        byte[] journaled = Files.readAllBytes(segment);
+        first.flush();
+        first.shutdown();
+
+        // As if the delete after the commit had failed: the segment and its applied marker are both still there
+        Files.write(segment, journaled);
+        jdbcTemplate.update("INSERT INTO purchase_journal_applied (segment_id, applied_at) VALUES (?, CURRENT_TIMESTAMP)",
+                PurchaseJournal.segmentId(segment));
+        PurchaseServiceImpl second = restart();
+        second.flush();
+        second.shutdown();
+
+        assertEquals(0, new BigDecimal("400.00").compareTo(annualSpend(customerId)));
+        assertFalse(Files.exists(segment));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_journal_applied WHERE segment_id = ?",
+                Integer.class, PurchaseJournal.segmentId(segment)));
+    }
+
+    @Test
+    public void whenSegmentNeverBooked_thenRestartBooksIt() throws IOException {
+        UUID customerId = customerService.createCustomer(customer()).getId();
+        PurchaseServiceImpl crashed = restart();
+        crashed.recordPurchase(customerId, purchase("400.00"));
+        Path segment = segments().get(0);
+
+        PurchaseServiceImpl second = restart();
+        second.flush();
+        second.shutdown();
+
+        assertEquals(0, new BigDecimal("400.00").compareTo(annualSpend(customerId)));
+        assertFalse(Files.exists(segment));
+    }
+
+    @Test
+    public void whenNotRunYet_thenReplayedPurchasesWaitForTheRestore() throws IOException {
+        UUID customerId = customerService.createCustomer(customer()).getId();
+        PurchaseServiceImpl crashed = restart();
+        crashed.recordPurchase(customerId, purchase("400.00"));
+        Path segment = segments().get(0);
+
+        PurchaseServiceImpl second = construct();
+        second.recordPurchase(customerId, purchase("100.00"));
+        assertEquals(0, second.flush());
+        assertEquals(0, BigDecimal.ZERO.compareTo(annualSpend(customerId)));
+        assertTrue(Files.exists(segment));
+
+        second.run(null);
+        second.shutdown();
+        assertEquals(0, new BigDecimal("500.00").compareTo(annualSpend(customerId)));
+        assertFalse(Files.exists(segment));
+    }
+
+    private PurchaseServiceImpl restart() {
+        PurchaseServiceImpl service = construct();
+        service.run(null);
+        return service;
+    }
+
+    // What the container does before the ApplicationRunners, i.e. before any snapshot restore
+    private PurchaseServiceImpl construct() {
+        PurchaseIngestionProperties properties = new PurchaseIngestionProperties();
+        properties.setJournalDirectory(journalDir.toString());
+        properties.setSyncWrites(false);
+        PurchaseServiceImpl service = new PurchaseServiceImpl(properties, jdbcTemplate, purchaseLedgerService,
+                tierChangePublisher, customerChangePublisher, transactionManager, new SimpleMeterRegistry());
+        service.start();
+        return service;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private BigDecimal annualSpend(UUID customerId) {
+        return jdbcTemplate.queryForObject("SELECT annual_spend FROM customers WHERE id = ?", BigDecimal.class, customerId);
+    }
+
+    private static PurchaseEventRequest purchase(String amount) {
+        PurchaseEventRequest request = new PurchaseEventRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setPurchaseDate(LocalDate.now());
+        return request;
+    }
+
+    private static CustomerRequest customer() {
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Journal " + suffix);
+        request.setEmail("journal-" + suffix + "@example.com");
+        request.setAnnualSpend(BigDecimal.ZERO);
+        request.setLastPurchaseDate(LocalDate.now().minusYears(2));
+        return request;
+    }
+}
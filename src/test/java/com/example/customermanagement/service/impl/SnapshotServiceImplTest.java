@@ -0,0 +1,156 @@
+package com.example.customermanagement.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.customermanagement.config.SnapshotProperties;
+import com.example.customermanagement.service.PurchaseLedgerService;
+import com.example.customermanagement.service.SnapshotService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SnapshotServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private PurchaseLedgerService purchaseLedgerService;
+    private SnapshotServiceImpl snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:snapshot-" + UUID.randomUUID(), "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE customers (id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE, "
+                + "email VARCHAR(255) NOT NULL UNIQUE, annual_spend NUMERIC(10, 2), last_purchase_date DATE)");
+        jdbcTemplate.execute("CREATE TABLE purchase_ledger (customer_id UUID NOT NULL, period_month INT NOT NULL, "
+                + "spend NUMERIC(12, 2) NOT NULL, PRIMARY KEY (customer_id, period_month))");
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setFile(tempDir.resolve("customers.snap").toString());
+        properties.setBatchSize(7);
+        properties.setRowsPerTransaction(20);
+        purchaseLedgerService = mock(PurchaseLedgerService.class);
+        snapshotService = new SnapshotServiceImpl(properties, jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), purchaseLedgerService,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    public void whenSnapshotRestoredIntoEmptyTable_thenRowsMatch() {
+        for (int i = 0; i < 55; i++) {
+            jdbcTemplate.update("INSERT INTO customers VALUES (?, ?, ?, ?, ?)", UUID.randomUUID(), "Customer " + i,
+                    "c" + i + "@example.com", i % 5 == 0 ? null : new BigDecimal(i + ".25"),
+                    i % 7 == 0 ? null : LocalDate.of(2024, 1, 1).plusDays(i));
+        }
+        List<Map<String, Object>> before = jdbcTemplate.queryForList("SELECT * FROM customers ORDER BY id");
+
+        SnapshotService.Report written = snapshotService.snapshot();
+        jdbcTemplate.update("DELETE FROM customers");
+        SnapshotService.Report restored = snapshotService.restore();
+
+        assertEquals(55, written.rows());
+        assertEquals(55, restored.rows());
+        assertEquals(before, jdbcTemplate.queryForList("SELECT * FROM customers ORDER BY id"));
+        // Unique constraints are back after the load
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO customers VALUES (?, 'Customer 1', 'other@example.com', NULL, NULL)", UUID.randomUUID()));
+        SnapshotService.Status status = snapshotService.status();
+        assertTrue(status.exists());
+        assertEquals(55, status.rows());
+    }
+
+    @Test
+    public void whenSnapshotRestored_thenLedgerComesBackAndRollingSpendIsRebuilt() {
+        for (int i = 0; i < 30; i++) {
+            UUID id = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO customers VALUES (?, ?, ?, ?, NULL)", id, "Customer " + i, "c" + i + "@example.com",
+                    new BigDecimal(i + "0.50"));
+            for (int month = 0; month < i % 4; month++) {
+                jdbcTemplate.update("INSERT INTO purchase_ledger VALUES (?, ?, ?)", id, 660 + month, new BigDecimal(i + ".25"));
+            }
+        }
+        List<Map<String, Object>> ledger = jdbcTemplate.queryForList("SELECT * FROM purchase_ledger ORDER BY customer_id, period_month");
+
+        SnapshotService.Report written = snapshotService.snapshot();
+        jdbcTemplate.update("DELETE FROM purchase_ledger");
+        jdbcTemplate.update("DELETE FROM customers");
+        SnapshotService.Report restored = snapshotService.restore();
+
+        assertEquals(ledger.size(), written.ledgerRows());
+        assertEquals(ledger.size(), restored.ledgerRows());
+        assertEquals(ledger, jdbcTemplate.queryForList("SELECT * FROM purchase_ledger ORDER BY customer_id, period_month"));
+        assertEquals(ledger.size(), snapshotService.status().ledgerRows());
+        verify(purchaseLedgerService).rebuild();
+    }
+
+    @Test
+    public void whenLedgerNotEmpty_thenRestoreIsRefused() {
+        snapshotService.snapshot();
+        jdbcTemplate.update("INSERT INTO purchase_ledger VALUES (?, 660, 10.00)", UUID.randomUUID());
+
+        assertThrows(IllegalStateException.class, snapshotService::restore);
+    }
+
+    @Test
+    public void whenTableNotEmpty_thenRestoreIsRefused() {
+        jdbcTemplate.update("INSERT INTO customers VALUES (?, 'Ada', 'ada@example.com', NULL, NULL)", UUID.randomUUID());
+        snapshotService.snapshot();
+
+        assertThrows(IllegalStateException.class, snapshotService::restore);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Integer.class));
+    }
+
+    @Test
+    public void whenRestoreAndConstraintRebuildBothFail_thenRestoreFailureIsSuppressed() {
+        // A snapshot the strict table cannot take: a duplicate name in the first transaction and a
+        // duplicate id in the second
+        jdbcTemplate.execute("DROP TABLE customers");
+        jdbcTemplate.execute("CREATE TABLE customers (id UUID, name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL, "
+                + "annual_spend NUMERIC(10, 2), last_purchase_date DATE)");
+        for (int i = 0; i < 25; i++) {
+            jdbcTemplate.update("INSERT INTO customers VALUES (?, ?, ?, NULL, NULL)", new UUID(0, i),
+                    i < 2 ? "Duplicate" : "Customer " + i, "c" + i + "@example.com");
+        }
+        jdbcTemplate.update("INSERT INTO customers VALUES (?, 'Again', 'again@example.com', NULL, NULL)", new UUID(0, 24));
+        snapshotService.snapshot();
+        jdbcTemplate.execute("DROP TABLE customers");
+        jdbcTemplate.execute("CREATE TABLE customers (id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE, "
+                + "email VARCHAR(255) NOT NULL UNIQUE, annual_spend NUMERIC(10, 2), last_purchase_date DATE)");
+
+        RuntimeException thrown = assertThrows(DataIntegrityViolationException.class, snapshotService::restore);
+
+        assertEquals(1, thrown.getSuppressed().length);
+        assertTrue(thrown.getSuppressed()[0] instanceof DuplicateKeyException, thrown.getSuppressed()[0].toString());
+        // The email constraint is rebuilt even though the name constraint could not be
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO customers VALUES (?, 'Someone', 'c5@example.com', NULL, NULL)", UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.customermanagement.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.customermanagement.config.BulkheadConfig;
+import com.example.customermanagement.config.BulkheadProperties;
+import com.example.customermanagement.config.TierSnapshotProperties;
+import com.example.customermanagement.dto.CustomerRequest;
+import com.example.customermanagement.dto.CustomerResponse;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.TierSnapshotService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = { "app.tier-snapshot.ranges=4", "app.tier-snapshot.batch-size=7" })
+public class TierSnapshotServiceImplTest {
+
+    @Autowired
+    private TierSnapshotService tierSnapshotService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    @Qualifier(BulkheadConfig.BULK)
+    private JdbcTemplate jdbcTemplate;
+
+    // Today's snapshot is run once per day; start each test before it
+    @BeforeEach
+    void clearTodaysSnapshot() {
+        jdbcTemplate.update("DELETE FROM tier_history WHERE snapshot_date = ?", LocalDate.now());
+        jdbcTemplate.update("DELETE FROM tier_snapshot_progress WHERE snapshot_date = ?", LocalDate.now());
+    }
+
+    @Test
+    public void whenSnapshotRuns_thenEveryCustomerRecordedOnceWithCurrentTier() {
+        CustomerResponse platinum = customerService.createCustomer(request("20000.00", LocalDate.now()));
+        CustomerResponse lapsed = customerService.createCustomer(request("20000.00", LocalDate.now().minusYears(2)));
+        for (int i = 0; i < 60; i++) {
+            customerService.createCustomer(request(i + "00.00", LocalDate.now().minusDays(i * 7)));
+        }
+
+        tierSnapshotService.snapshot();
+
+        LocalDate today = LocalDate.now();
+        Long customers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+        assertEquals(customers, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT customer_id) FROM tier_history WHERE snapshot_date = ?", Long.class, today));
+        assertEquals(customers, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tier_history WHERE snapshot_date = ?", Long.class, today));
+        assertEquals("PLATINUM", tierOf(platinum.getId(), today));
+        assertEquals(customerService.calculateTier(lapsed.getAnnualSpend(), lapsed.getLastPurchaseDate()).name(),
+                tierOf(lapsed.getId(), today));
+
+        TierSnapshotService.Status status = tierSnapshotService.status();
+        assertEquals(today, status.snapshotDate());
+        assertEquals(4, status.ranges());
+        assertEquals(4, status.completedRanges());
+        assertEquals(customers.longValue(), status.rows());
+    }
+
+    @Test
+    public void whenRangeInterrupted_thenNextRunResumesOnlyThatRangeAfterLastCommittedId() {
+        for (int i = 0; i < 40; i++) {
+            customerService.createCustomer(request("1500.00", LocalDate.now().minusMonths(1)));
+        }
+        tierSnapshotService.snapshot();
+        LocalDate today = LocalDate.now();
+        Long customers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tier_history WHERE snapshot_date = ?",
+                Long.class, today);
+
+        // Roll the second range back to the middle of its rows, as if the job stopped after that batch
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT lower_id, upper_id FROM tier_snapshot_progress WHERE snapshot_date = ? AND range_no = 1", today);
+        List<UUID> ids = jdbcTemplate.queryForList("SELECT id FROM customers WHERE id >= ? AND id < ? ORDER BY id",
+                UUID.class, range.get("lower_id"), range.get("upper_id"));
+        assertTrue(ids.size() > 1);
+        UUID lastCommitted = ids.get(ids.size() / 2);
+        int removed = jdbcTemplate.update("DELETE FROM tier_history WHERE snapshot_date = ? AND customer_id > ? "
+                + "AND customer_id < ?", today, lastCommitted, range.get("upper_id"));
+        jdbcTemplate.update("UPDATE tier_snapshot_progress SET last_id = ?, rows_written = rows_written - ?, "
+                + "completed_at = NULL WHERE snapshot_date = ? AND range_no = 1", lastCommitted, removed, today);
+
+        TierSnapshotService.Report resumed = tierSnapshotService.snapshot();
+
+        assertEquals(removed, resumed.rows());
+        assertEquals(0, resumed.failedRanges());
+        assertEquals(customers, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tier_history WHERE snapshot_date = ?",
+                Long.class, today));
+        assertEquals(0, tierSnapshotService.snapshot().rows());
+    }
+
+    @Test
+    public void whenEarlierDayLeftIncomplete_thenNextRunFinishesItBeforeToday() {
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        jdbcTemplate.update("DELETE FROM tier_history WHERE snapshot_date = ?", yesterday);
+        jdbcTemplate.update("DELETE FROM tier_snapshot_progress WHERE snapshot_date = ?", yesterday);
+        for (int i = 0; i < 40; i++) {
+            customerService.createCustomer(request("2500.00", LocalDate.now().minusMonths(2)));
+        }
+        tierSnapshotService.snapshot();
+        Long customers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+
+        // Turn today's run into yesterday's with its second range failed halfway
+        jdbcTemplate.update("UPDATE tier_history SET snapshot_date = ? WHERE snapshot_date = ?", yesterday, today);
+        jdbcTemplate.update("UPDATE tier_snapshot_progress SET snapshot_date = ? WHERE snapshot_date = ?", yesterday, today);
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT lower_id, upper_id FROM tier_snapshot_progress WHERE snapshot_date = ? AND range_no = 1", yesterday);
+        List<UUID> ids = jdbcTemplate.queryForList("SELECT id FROM customers WHERE id >= ? AND id < ? ORDER BY id",
+                UUID.class, range.get("lower_id"), range.get("upper_id"));
+        UUID lastCommitted = ids.get(ids.size() / 2);
+        int removed = jdbcTemplate.update("DELETE FROM tier_history WHERE snapshot_date = ? AND customer_id > ? "
+                + "AND customer_id < ?", yesterday, lastCommitted, range.get("upper_id"));
+        jdbcTemplate.update("UPDATE tier_snapshot_progress SET last_id = ?, rows_written = rows_written - ?, "
+                + "completed_at = NULL WHERE snapshot_date = ? AND range_no = 1", lastCommitted, removed, yesterday);
+
+        TierSnapshotService.Report report = tierSnapshotService.snapshot();
+
+        assertEquals(today, report.snapshotDate());
+        assertEquals(customers, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tier_history WHERE snapshot_date = ?",
+                Long.class, yesterday));
+        assertEquals(customers, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tier_history WHERE snapshot_date = ?",
+                Long.class, today));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tier_snapshot_progress WHERE snapshot_date = ? "
+                + "AND completed_at IS NULL", Integer.class, yesterday));
+        assertEquals(List.of(), tierSnapshotService.status().incompleteDates());
+    }
+
+    @Test
+    public void whenParallelismNeedsMoreThanTheBulkPool_thenStartupFails() {
+        TierSnapshotProperties properties = new TierSnapshotProperties();
+        properties.setParallelism(3);
+        BulkheadProperties bulkhead = new BulkheadProperties();
+        bulkhead.setMaximumPoolSize(4);
+
+        assertThrows(IllegalStateException.class, () -> new TierSnapshotServiceImpl(properties, bulkhead, jdbcTemplate,
+                null, customerService, null, new SimpleMeterRegistry()));
+    }
+
+    private String tierOf(UUID id, LocalDate date) {
+        return jdbcTemplate.queryForObject("SELECT tier FROM tier_history WHERE snapshot_date = ? AND customer_id = ?",
+                String.class, date, id);
+    }
+
+    private static CustomerRequest request(String annualSpend, LocalDate lastPurchaseDate) {
+        String suffix = UUID.randomUUID().toString();
+        CustomerRequest request = new CustomerRequest();
+        request.setName("Snapshot " + suffix);
+        request.setEmail("snapshot-" + suffix + "@example.com");
+        request.setAnnualSpend(new BigDecimal(annualSpend));
+        request.setLastPurchaseDate(lastPurchaseDate);
+        return request;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.customermanagement.service.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.customermanagement.event.CustomerChangedEvent.Type;
+
+public class ChangeJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    public void whenRecordsAppended_thenReadFromSequenceAcrossSegments() {
+        try (ChangeJournal journal = new ChangeJournal(journalDir, SEGMENT_SIZE)) {
+            for (int i = 0; i < 200; i++) {
+                journal.append(Type.UPDATED, UUID.randomUUID(), Instant.now(), payload(i));
+            }
+
+            assertTrue(journal.segmentCount() > 1);
+            List<ChangeRecord> records = journal.read(150, 20);
+            assertEquals(20, records.size());
+            assertEquals(150, records.getFirst().sequence());
+            assertEquals("{\"n\":149}", new String(records.getFirst().payload(), StandardCharsets.UTF_8));
+            assertEquals(169, records.getLast().sequence());
+            assertEquals(200, journal.lastSequence());
+        }
+    }
+
+    @Test
+    public void whenReopened_thenRecordsAndSequenceRecovered() {
+        UUID customerId = UUID.randomUUID();
+        try (ChangeJournal journal = new ChangeJournal(journalDir, SEGMENT_SIZE)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(Type.UPDATED, customerId, Instant.now(), payload(i));
+            }
+        }
+
+        try (ChangeJournal reopened = new ChangeJournal(journalDir, SEGMENT_SIZE)) {
+            assertEquals(100, reopened.lastSequence());
+            assertEquals(101, reopened.append(Type.DELETED, customerId, Instant.now(), new byte[0]));
+            List<ChangeRecord> all = reopened.read(1, 1000);
+            assertEquals(101, all.size());
+            assertEquals(Type.DELETED, all.getLast().type());
+            assertEquals(customerId, all.getLast().customerId());
+        }
+    }
+
+    @Test
+    public void whenCompacted_thenOnlyNewestRecordPerCustomerKeptWithOriginalSequences() {
+        UUID hot = UUID.randomUUID();
+        UUID cold = UUID.randomUUID();
+        try (ChangeJournal journal = new ChangeJournal(journalDir, SEGMENT_SIZE)) {
+            long coldSequence = journal.append(Type.CREATED, cold, Instant.now(), payload(0));
+            for (int i = 0; i < 300; i++) {
+                journal.append(Type.UPDATED, hot, Instant.now(), payload(i));
+            }
+
+            assertTrue(journal.compact(0.5) > 0);
+
+            List<ChangeRecord> remaining = journal.read(1, 1000);
+            assertEquals(coldSequence, remaining.getFirst().sequence());
+            assertEquals(cold, remaining.getFirst().customerId());
+            assertEquals(301, remaining.getLast().sequence());
+            assertTrue(remaining.size() < 301);
+        }
+
+        try (ChangeJournal reopened = new ChangeJournal(journalDir, SEGMENT_SIZE)) {
+            assertEquals(301, reopened.lastSequence());
+            assertEquals(cold, reopened.read(1, 1).getFirst().customerId());
+        }
+    }
+
+    @Test
+    public void whenRetentionApplied_thenOldestSealedSegmentsDropped() {
+        try (ChangeJournal journal = new ChangeJournal(journalDir, SEGMENT_SIZE)) {
+            for (int i = 0; i < 300; i++) {
+                journal.append(Type.UPDATED, UUID.randomUUID(), Instant.now(), payload(i));
+            }
+            int segments = journal.segmentCount();
+
+            assertEquals(segments - 2, journal.applyRetention(Instant.EPOCH, 2));
+            assertEquals(2, journal.segmentCount());
+            assertTrue(journal.oldestSequence() > 1);
+            assertEquals(journal.oldestSequence(), journal.read(0, 1).getFirst().sequence());
+
+            // Everything sealed is older than a cutoff in the future; the active segment stays
+            journal.applyRetention(Instant.now().plusSeconds(60), 100);
+            assertEquals(1, journal.segmentCount());
+        }
+    }
+
+    private static byte[] payload(int n) {
+        return ("{\"n\":" + n + "}").getBytes(StandardCharsets.UTF_8);
+    }
+}
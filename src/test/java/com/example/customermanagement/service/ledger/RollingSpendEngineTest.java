@@ -0,0 +1,132 @@
+package com.example.customermanagement.service.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.customermanagement.service.purchase.PendingPurchase;
+
+public class RollingSpendEngineTest {
+
+    private MutableClock clock;
+    private RollingSpendEngine engine;
+    private UUID customerId;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(LocalDate.of(2025, 6, 15));
+        engine = new RollingSpendEngine(clock);
+        customerId = UUID.randomUUID();
+    }
+
+    @Test
+    public void whenPurchasesInsideWindow_thenTotalIsTheirSum() {
+        engine.record(customerId, month(2025, 6), 10_000);
+        engine.record(customerId, month(2025, 1), 5_000);
+        engine.record(customerId, month(2024, 7), 2_500); // oldest month still inside the window
+
+        assertEquals(17_500, engine.trailingSpendCents(customerId).getAsLong());
+    }
+
+    @Test
+    public void whenPurchaseOlderThanWindow_thenIgnored() {
+        engine.record(customerId, month(2024, 6), 99_999);
+
+        assertEquals(0, engine.trailingSpendCents(customerId).getAsLong());
+    }
+
+    @Test
+    public void whenMonthsPass_thenOldBucketsAgeOut() {
+        engine.record(customerId, month(2024, 8), 1_000);
+        engine.record(customerId, month(2025, 6), 4_000);
+        engine.markPersisted(customerId);
+
+        clock.set(LocalDate.of(2025, 8, 1));
+        Map<UUID, Long> changed = engine.pendingAgeOut();
+
+        assertEquals(Map.of(customerId, 4_000L), changed);
+        assertEquals(4_000, engine.trailingSpendCents(customerId).getAsLong());
+    }
+
+    @Test
+    public void whenAgeOutNotPersisted_thenReportedAgainEvenAfterReads() {
+        engine.record(customerId, month(2024, 8), 1_000);
+        engine.record(customerId, month(2025, 6), 4_000);
+        engine.markPersisted(customerId);
+
+        clock.set(LocalDate.of(2025, 8, 1));
+        assertEquals(Map.of(customerId, 4_000L), engine.pendingAgeOut());
+        engine.trailingSpendCents(customerId);
+
+        assertEquals(Map.of(customerId, 4_000L), engine.pendingAgeOut());
+        engine.markPersisted(customerId, 4_000);
+        assertTrue(engine.pendingAgeOut().isEmpty());
+    }
+
+    @Test
+    public void whenNothingExpires_thenAgeOutReportsNoChange() {
+        engine.record(customerId, month(2025, 6), 4_000);
+        engine.markPersisted(customerId);
+
+        clock.set(LocalDate.of(2025, 9, 1));
+
+        assertTrue(engine.pendingAgeOut().isEmpty());
+    }
+
+    @Test
+    public void whenYearPasses_thenWindowIsEmpty() {
+        engine.record(customerId, month(2025, 6), 4_000);
+
+        clock.set(LocalDate.of(2026, 7, 1));
+
+        assertEquals(0, engine.trailingSpendCents(customerId).getAsLong());
+    }
+
+    @Test
+    public void whenUnknownCustomer_thenNoSpend() {
+        assertFalse(engine.trailingSpendCents(UUID.randomUUID()).isPresent());
+    }
+
+    private static int month(int year, int month) {
+        return PendingPurchase.epochMonth(LocalDate.of(year, month, 1).toEpochDay());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDate date) {
+            set(date);
+        }
+
+        void set(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.customermanagement.service.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.customermanagement.config.CustomerCacheProperties;
+import com.example.customermanagement.event.CustomerChangedEvent;
+import com.example.customermanagement.model.Customer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CustomerCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CustomerCache cache = new CustomerCache(new CustomerCacheProperties(), meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void whenLoadedOnce_thenLaterLookupsAreHitsWithDetachedCopies() {
+        Customer customer = customer("Ada", "ada@example.com");
+
+        Optional<Customer> first = cache.byId(customer.getId(), () -> load(customer));
+        Optional<Customer> second = cache.byId(customer.getId(), () -> load(customer));
+        Optional<Customer> byEmail = cache.byEmail("ada@example.com", () -> load(customer));
+
+        assertEquals(1, loads.get());
+        assertEquals(customer.getId(), second.orElseThrow().getId());
+        assertEquals("ada@example.com", byEmail.orElseThrow().getEmail());
+        assertNotSame(first.orElseThrow(), second.orElseThrow());
+        assertEquals(2.0, meterRegistry.get("customers.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    public void whenCustomerChanges_thenNextLookupReloads() {
+        Customer customer = customer("Ada", "ada@example.com");
+        cache.byId(customer.getId(), () -> load(customer));
+
+        cache.onCustomerChanged(CustomerChangedEvent.of(CustomerChangedEvent.Type.UPDATED, customer));
+        cache.byId(customer.getId(), () -> load(customer));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void whenRenamed_thenOldNameNoLongerHits() {
+        Customer customer = customer("Ada", "ada@example.com");
+        cache.byName("Ada", () -> load(customer));
+        Customer renamed = customer("Grace", "ada@example.com");
+        renamed.setId(customer.getId());
+        cache.byId(customer.getId(), () -> load(renamed));
+        cache.onCustomerChanged(CustomerChangedEvent.of(CustomerChangedEvent.Type.UPDATED, renamed));
+        cache.byId(customer.getId(), () -> load(renamed));
+
+        Optional<Customer> byOldName = cache.byName("Ada", Optional::empty);
+
+        assertTrue(byOldName.isEmpty());
+    }
+
+    @Test
+    public void whenInvalidatedDuringLoad_thenLoadedRowIsNotCached() {
+        Customer customer = customer("Ada", "ada@example.com");
+
+        cache.byId(customer.getId(), () -> {
+            cache.onCustomerChanged(CustomerChangedEvent.of(CustomerChangedEvent.Type.UPDATED, customer));
+            return load(customer);
+        });
+        cache.byId(customer.getId(), () -> load(customer));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void whenPreloaded_thenLookupsHitAndHottestRanksThem() {
+        Customer ada = customer("Ada", "ada@example.com");
+        Customer grace = customer("Grace", "grace@example.com");
+
+        assertEquals(2, cache.preload(() -> List.of(ada, grace)));
+        cache.byId(grace.getId(), () -> load(grace));
+
+        assertEquals(0, loads.get());
+        assertTrue(cache.hottest(10).containsAll(List.of(ada.getId(), grace.getId())));
+    }
+
+    @Test
+    public void whenDisabled_thenEveryLookupLoads() {
+        CustomerCacheProperties properties = new CustomerCacheProperties();
+        properties.setEnabled(false);
+        CustomerCache disabled = new CustomerCache(properties, new SimpleMeterRegistry());
+        Customer customer = customer("Ada", "ada@example.com");
+
+        disabled.byId(customer.getId(), () -> load(customer));
+        disabled.byId(customer.getId(), () -> load(customer));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.preload(() -> List.of(customer)));
+    }
+
+    private Optional<Customer> load(Customer customer) {
+        loads.incrementAndGet();
+        return Optional.of(customer);
+    }
+
+    private static Customer customer(String name, String email) {
+        Customer customer = new Customer(name, email, new BigDecimal("1500"), LocalDate.now().minusDays(10));
+        customer.setId(UUID.randomUUID());
+        return customer;
+    }
+}
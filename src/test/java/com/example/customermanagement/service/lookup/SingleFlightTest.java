@@ -0,0 +1,132 @@
+package com.example.customermanagement.service.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.customermanagement.exception.ResourceNotFoundException;
+
+public class SingleFlightTest {
+
+    private final AtomicInteger coalesced = new AtomicInteger();
+    private final AtomicInteger timedOut = new AtomicInteger();
+    private final SingleFlight.Listener listener = new SingleFlight.Listener() {
+        @Override
+        public void coalesced() {
+            coalesced.incrementAndGet();
+        }
+
+        @Override
+        public void timedOut() {
+            timedOut.incrementAndGet();
+        }
+    };
+
+    @Test
+    public void whenConcurrentCallsForSameKey_thenLoaderRunsOnce() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(5), listener);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 20;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> flight.execute("hot", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "loaded";
+                })));
+            }
+            while (coalesced.get() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get());
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    public void whenLeaderFails_thenFollowersGetSameException() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(5), listener);
+        CountDownLatch release = new CountDownLatch(1);
+        ResourceNotFoundException failure = new ResourceNotFoundException("Customer not found");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> flight.execute("missing", () -> {
+                await(release);
+                throw failure;
+            }));
+            while (flight.inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<String> follower = executor.submit(() -> flight.execute("missing", () -> "unexpected"));
+            while (coalesced.get() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertSame(failure, assertThrows(ExecutionException.class, leader::get).getCause());
+            assertSame(failure, assertThrows(ExecutionException.class, follower::get).getCause());
+        }
+    }
+
+    @Test
+    public void whenLeaderTooSlow_thenFollowerLoadsItself() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMillis(50), listener);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> flight.execute("slow", () -> {
+                await(release);
+                return "leader";
+            }));
+            while (flight.inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertEquals("own", flight.execute("slow", () -> "own"));
+            assertEquals(1, timedOut.get());
+            release.countDown();
+            assertEquals("leader", leader.get());
+        }
+    }
+
+    @Test
+    public void whenCallsDoNotOverlap_thenEachLoads() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofSeconds(1), listener);
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute("key", loads::incrementAndGet);
+        flight.execute("key", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, coalesced.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.customermanagement.service.purchase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.customermanagement.service.purchase.PurchaseEventBuffer.Generation;
+
+public class PurchaseEventBufferTest {
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    public void whenEventsForSameCustomer_thenSpendIsSummedAndLatestDateKept() {
+        PurchaseEventBuffer buffer = new PurchaseEventBuffer(new PurchaseJournal(journalDir, false));
+        UUID customerId = UUID.randomUUID();
+        LocalDate early = LocalDate.of(2024, 3, 1);
+        LocalDate late = LocalDate.of(2024, 5, 1);
+
+        buffer.add(customerId, 1_050, (int) late.toEpochDay());
+        buffer.add(customerId, 2_000, (int) early.toEpochDay());
+
+        Generation generation = buffer.rotate();
+        PendingPurchase pending = generation.pending().get(customerId);
+        assertEquals(3_050, pending.spendCents());
+        assertEquals(late, pending.latestPurchaseDate());
+        assertEquals(2, generation.events());
+        assertEquals(0, buffer.pendingEvents());
+    }
+
+    @Test
+    public void whenConcurrentWritersRaceWithRotation_thenNoEventIsLost() throws Exception {
+        PurchaseEventBuffer buffer = new PurchaseEventBuffer(new PurchaseJournal(journalDir, false));
+        UUID hotCustomer = UUID.randomUUID();
+        int writers = 8;
+        int eventsPerWriter = 2_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < eventsPerWriter; i++) {
+                    buffer.add(hotCustomer, 1, 19_000);
+                }
+            }));
+        }
+        long flushedCents = 0;
+        while (futures.stream().anyMatch(f -> !f.isDone())) {
+            flushedCents += spendOf(buffer.rotate(), hotCustomer);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        flushedCents += spendOf(buffer.rotate(), hotCustomer);
+        executor.shutdown();
+
+        assertEquals((long) writers * eventsPerWriter, flushedCents);
+    }
+
+    @Test
+    public void whenRestartedWithUnflushedSegments_thenEventsAreRecovered() {
+        UUID customerId = UUID.randomUUID();
+        PurchaseEventBuffer buffer = new PurchaseEventBuffer(new PurchaseJournal(journalDir, true));
+        buffer.add(customerId, 500, 19_000);
+        buffer.add(customerId, 700, 19_010);
+        // simulated crash: nothing flushed, segments left on disk
+
+        PurchaseJournal.Recovery recovery = new PurchaseJournal(journalDir, true).recover();
+
+        assertEquals(2, recovery.events());
+        assertEquals(1_200, recovery.pending().get(customerId).spendCents());
+        assertEquals(LocalDate.ofEpochDay(19_010), recovery.pending().get(customerId).latestPurchaseDate());
+    }
+
+    @Test
+    public void whenConcurrentSyncAppends_thenAllDurableWithSharedForces() throws Exception {
+        PurchaseJournal journal = new PurchaseJournal(journalDir, true);
+        PurchaseJournal.Segment segment = journal.openSegment();
+        int writers = 8;
+        int eventsPerWriter = 200;
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < eventsPerWriter; i++) {
+                    segment.append(UUID.randomUUID(), 1, 19_000);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertTrue(segment.forces() > 0);
+        assertTrue(segment.forces() <= (long) writers * eventsPerWriter);
+        assertEquals((long) writers * eventsPerWriter, new PurchaseJournal(journalDir, true).recover().events());
+    }
+
+    @Test
+    public void whenSegmentHasTornTail_thenCompleteRecordsAreStillRecovered() throws IOException {
+        UUID customerId = UUID.randomUUID();
+        PurchaseJournal journal = new PurchaseJournal(journalDir, false);
+        PurchaseEventBuffer buffer = new PurchaseEventBuffer(journal);
+        buffer.add(customerId, 500, 19_000);
+        Path segment = buffer.rotate().journalFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5 }));
+        }
+
+        PurchaseJournal.Recovery recovery = new PurchaseJournal(journalDir, false).recover();
+
+        assertEquals(1, recovery.events());
+        assertTrue(Files.size(segment) > PurchaseJournal.RECORD_SIZE);
+    }
+
+    private static long spendOf(Generation generation, UUID customerId) {
+        PendingPurchase pending = generation.pending().get(customerId);
+        return pending == null ? 0 : pending.spendCents();
+    }
+}
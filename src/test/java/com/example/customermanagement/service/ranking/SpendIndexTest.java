@@ -0,0 +1,64 @@
+package com.example.customermanagement.service.ranking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class SpendIndexTest {
+
+    @Test
+    public void whenCustomersUpdatedAndRemoved_thenTopAndBandsMatchFullSort() {
+        SpendIndex index = new SpendIndex();
+        Map<UUID, Long> model = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 20_000; i++) {
+            int action = random.nextInt(10);
+            if (action < 2 && !ids.isEmpty()) {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                index.remove(id);
+                model.remove(id);
+            } else {
+                UUID id = action < 5 && !ids.isEmpty() ? ids.get(random.nextInt(ids.size())) : UUID.randomUUID();
+                long spend = random.nextLong(2_000_000); // duplicates are common
+                index.put(id, spend, 19_000);
+                if (model.put(id, spend) == null) {
+                    ids.add(id);
+                }
+            }
+        }
+
+        List<Map.Entry<UUID, Long>> sorted = new ArrayList<>(model.entrySet());
+        sorted.sort(Map.Entry.<UUID, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()).reversed());
+        assertEquals(model.size(), index.size());
+        assertEquals(sorted.subList(0, 100).stream().map(Map.Entry::getKey).toList(),
+                index.top(100).stream().map(SpendIndex.Entry::id).toList());
+
+        List<UUID> band = sorted.stream().filter(e -> e.getValue() >= 950_000 && e.getValue() < 1_000_000)
+                .map(Map.Entry::getKey).toList();
+        assertEquals(band, index.between(950_000, 1_000_000, Integer.MAX_VALUE, entry -> true).stream()
+                .map(SpendIndex.Entry::id).toList());
+    }
+
+    @Test
+    public void whenBandFiltered_thenOnlyMatchesCountTowardsLimit() {
+        SpendIndex index = new SpendIndex();
+        for (int i = 0; i < 10; i++) {
+            index.put(UUID.randomUUID(), 999_000 + i, i % 2 == 0 ? 19_000 : SpendIndex.NO_DATE);
+        }
+        index.put(UUID.randomUUID(), 1_000_000, 19_000); // at the threshold, outside the band
+
+        List<SpendIndex.Entry> dated = index.between(990_000, 1_000_000, 3, entry -> entry.lastPurchaseEpochDay() != SpendIndex.NO_DATE);
+
+        assertEquals(List.of(999_008L, 999_006L, 999_004L), dated.stream().map(SpendIndex.Entry::spendCents).toList());
+        assertEquals(List.of(), index.between(1_000_000, 1_000_000, 10, entry -> true));
+        assertEquals(1_000_000L, index.top(1).get(0).spendCents());
+    }
+}
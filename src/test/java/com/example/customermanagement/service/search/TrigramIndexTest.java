@@ -0,0 +1,183 @@
+package com.example.customermanagement.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class TrigramIndexTest {
+
+    private static final String[] FIRST = { "jonathan", "john", "joanna", "maria", "mario", "marius", "li", "anne" };
+    private static final String[] LAST = { "smith", "smyth", "schmidt", "garcia", "o'brien", "lee", "nguyen" };
+
+    @Test
+    public void whenPrefixOrTypo_thenMatchedAndRankedBelowExact() {
+        TrigramIndex index = new TrigramIndex();
+        UUID exact = UUID.randomUUID();
+        UUID prefix = UUID.randomUUID();
+        UUID typo = UUID.randomUUID();
+        index.put(exact, "Jon Smith", "js@example.com");
+        index.put(prefix, "Jonas Smithers", "jonas@example.com");
+        index.put(typo, "Jan Smyth", "jan@example.com");
+        index.put(UUID.randomUUID(), "Maria Garcia", "maria@example.com");
+
+        assertEquals(List.of(exact, prefix), ids(index.search("jon smith", 10)));
+        assertEquals(List.of(exact, prefix, typo), ids(index.search("smith", 10)));
+        assertTrue(index.search("smith", 10).get(2).typo());
+        assertEquals(List.of(exact), ids(index.search("smith", 1)));
+        assertEquals(List.of(exact, prefix), ids(index.search("JON", 10)));
+        assertEquals(Set.of(prefix), Set.copyOf(ids(index.search("jonas@exa", 10))));
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    public void whenUpdatedAndRemoved_thenOldValuesNoLongerMatch() {
+        TrigramIndex index = new TrigramIndex();
+        UUID id = UUID.randomUUID();
+        index.put(id, "Anne Lee", "anne@example.com");
+        index.put(id, "Anne Nguyen", "anne@example.com");
+
+        assertTrue(index.search("lee", 10).isEmpty());
+        assertEquals(List.of(id), ids(index.search("nguyen", 10)));
+
+        index.remove(id);
+        assertTrue(index.search("anne", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void whenRandomChanges_thenSearchMatchesBruteForce() {
+        TrigramIndex index = new TrigramIndex();
+        Map<UUID, String[]> model = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(7);
+        List<UUID> initialIds = new ArrayList<>();
+        List<String> initialNames = new ArrayList<>();
+        List<String> initialEmails = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) {
+            UUID id = UUID.randomUUID();
+            String[] customer = randomCustomer(random);
+            initialIds.add(id);
+            initialNames.add(customer[0]);
+            initialEmails.add(customer[1]);
+            model.put(id, customer);
+            ids.add(id);
+        }
+        index.rebuild(initialIds, initialNames, initialEmails, 4);
+        // Enough changes to need at least one compaction
+        boolean compacted = false;
+        for (int i = 0; i < 40_000; i++) {
+            if (index.needsCompaction()) {
+                compacted |= index.compact(4);
+            }
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                model.remove(id);
+            } else {
+                String[] customer = randomCustomer(random);
+                index.put(id, customer[0], customer[1]);
+                model.put(id, customer);
+            }
+        }
+
+        assertTrue(compacted);
+        assertMatchesBruteForce(index, model);
+    }
+
+    @Test
+    public void whenChangedWhileCompacting_thenChangesKept() throws Exception {
+        TrigramIndex index = new TrigramIndex();
+        Map<UUID, String[]> model = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = UUID.randomUUID();
+            String[] customer = randomCustomer(random);
+            index.put(id, customer[0], customer[1]);
+            model.put(id, customer);
+            ids.add(id);
+        }
+        while (!index.needsCompaction()) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            String[] customer = randomCustomer(random);
+            index.put(id, customer[0], customer[1]);
+            model.put(id, customer);
+        }
+
+        CompletableFuture<Boolean> compaction = CompletableFuture.supplyAsync(() -> index.compact(2));
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                model.remove(id);
+            } else {
+                String[] customer = randomCustomer(random);
+                index.put(id, customer[0], customer[1]);
+                model.put(id, customer);
+            }
+        }
+
+        assertTrue(compaction.get());
+        assertEquals(model.size(), index.size());
+        assertMatchesBruteForce(index, model);
+    }
+
+    @Test
+    public void whenUpdatedWithSameNameAndEmail_thenIndexUntouched() {
+        TrigramIndex index = new TrigramIndex();
+        UUID id = UUID.randomUUID();
+        index.put(id, "Anne Lee", "anne@example.com");
+        long bytes = index.directoryBytes();
+
+        for (int i = 0; i < 5_000; i++) {
+            index.put(id, "Anne Lee", "anne@example.com");
+        }
+
+        assertEquals(bytes, index.directoryBytes());
+        assertFalse(index.needsCompaction());
+        assertEquals(List.of(id), ids(index.search("anne lee", 10)));
+    }
+
+    private static void assertMatchesBruteForce(TrigramIndex index, Map<UUID, String[]> model) {
+        assertEquals(model.size(), index.size());
+        for (String query : List.of("jon", "jonathon", "smi", "mari", "scmidt", "li", "o brien", "garcia 4", "ann lee")) {
+            List<String> words = TrigramIndex.words(query);
+            Set<UUID> expected = model.entrySet().stream()
+                    .filter(entry -> TrigramIndex.score(words, entry.getValue()[0], entry.getValue()[1], true) > 0)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            assertEquals(expected, Set.copyOf(ids(index.search(query, Integer.MAX_VALUE))), query);
+        }
+    }
+
+    @Test
+    public void whenPrefixDistance_thenCountsEditsAgainstBestPrefix() {
+        assertEquals(0, TrigramIndex.prefixDistance("smi", "smith", 1));
+        assertEquals(1, TrigramIndex.prefixDistance("smyt", "smith", 1));
+        assertEquals(1, TrigramIndex.prefixDistance("jonathon", "jonathan", 2));
+        assertEquals(2, TrigramIndex.prefixDistance("garcia", "nguyen", 1));
+    }
+
+    private static String[] randomCustomer(SplittableRandom random) {
+        String first = FIRST[random.nextInt(FIRST.length)];
+        String last = LAST[random.nextInt(LAST.length)];
+        int number = random.nextInt(100);
+        return new String[] { first + " " + last, first + "." + last.replace("'", "") + number + "@example.com" };
+    }
+
+    private static List<UUID> ids(List<TrigramIndex.Hit> hits) {
+        return hits.stream().map(TrigramIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.customermanagement.service.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CustomerSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private record Row(UUID id, String name, String email, BigDecimal annualSpend, LocalDate lastPurchaseDate) {
+    }
+
+    @Test
+    public void whenWrittenAndRead_thenRowsRoundTripInOrder() throws IOException {
+        Path file = tempDir.resolve("customers.snap");
+        List<Row> rows = List.of(
+                new Row(UUID.randomUUID(), "Ada", "ada@example.com", new BigDecimal("1234.50"), LocalDate.of(2024, 2, 29)),
+                new Row(UUID.randomUUID(), "Zoë Ångström", "zoe@example.com", null, null),
+                new Row(UUID.randomUUID(), "Big", "big@example.com", new BigDecimal("99999999.99"), LocalDate.of(1970, 1, 1)));
+
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.create(file)) {
+            for (Row row : rows) {
+                writer.add(row.id(), row.name(), row.email(), row.annualSpend(), row.lastPurchaseDate());
+            }
+            CustomerSnapshotFile.Info info = writer.commit();
+            assertEquals(3, info.rows());
+            assertEquals(Files.size(file), info.bytes());
+        }
+
+        List<Row> read = new ArrayList<>();
+        CustomerSnapshotFile.Info info = CustomerSnapshotFile.read(file,
+                (id, name, email, spend, date) -> read.add(new Row(id, name, email, spend, date)));
+
+        assertEquals(rows, read);
+        assertEquals(3, CustomerSnapshotFile.info(file).rows());
+        assertEquals(info, CustomerSnapshotFile.info(file));
+        assertFalse(Files.exists(tempDir.resolve("customers.snap.tmp")));
+    }
+
+    @Test
+    public void whenLedgerWritten_thenItFollowsTheCustomerRows() throws IOException {
+        Path file = tempDir.resolve("customers.snap");
+        UUID customerId = UUID.randomUUID();
+        List<String> expected = List.of(customerId + " 660 1234.50", customerId + " 661 0.01", UUID.randomUUID() + " 700 99999999.99");
+
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.create(file)) {
+            writer.add(customerId, "Ada", "ada@example.com", new BigDecimal("1235.51"), LocalDate.of(2025, 2, 1));
+            for (String row : expected) {
+                String[] fields = row.split(" ");
+                writer.addLedger(UUID.fromString(fields[0]), Integer.parseInt(fields[1]), new BigDecimal(fields[2]));
+            }
+            CustomerSnapshotFile.Info info = writer.commit();
+            assertEquals(1, info.rows());
+            assertEquals(3, info.ledgerRows());
+            assertEquals(Files.size(file), info.bytes());
+        }
+
+        List<String> events = new ArrayList<>();
+        CustomerSnapshotFile.read(file, (id, name, email, spend, date) -> events.add(name),
+                (id, periodMonth, spend) -> events.add(id + " " + periodMonth + " " + spend));
+
+        List<String> all = new ArrayList<>(List.of("Ada"));
+        all.addAll(expected);
+        assertEquals(all, events);
+        assertEquals(3, CustomerSnapshotFile.info(file).ledgerRows());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void whenVersionOneFile_thenReadWithoutLedger() throws IOException {
+        Path file = tempDir.resolve("customers.snap");
+        UUID id = UUID.randomUUID();
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.create(file)) {
+            writer.add(id, "Ada", "ada@example.com", BigDecimal.TEN, null);
+            writer.commit();
+        }
+        // A version 1 file is the same without the two trailing header fields
+        byte[] current = Files.readAllBytes(file);
+        ByteBuffer legacy = ByteBuffer.allocate(current.length - 8)
+                .put(current, 0, CustomerSnapshotFile.HEADER_SIZE - 8)
+                .put(current, CustomerSnapshotFile.HEADER_SIZE, current.length - CustomerSnapshotFile.HEADER_SIZE)
+                .putInt(4, 1);
+        Files.write(file, legacy.array());
+
+        List<UUID> read = new ArrayList<>();
+        CustomerSnapshotFile.Info info = CustomerSnapshotFile.read(file, (rowId, name, email, spend, date) -> read.add(rowId),
+                (customerId, periodMonth, spend) -> {
+                    throw new AssertionError("no ledger expected");
+                });
+
+        assertEquals(List.of(id), read);
+        assertEquals(0, info.ledgerRows());
+    }
+
+    @Test
+    public void whenEmpty_thenReadsNoRows() throws IOException {
+        Path file = tempDir.resolve("empty.snap");
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.create(file)) {
+            writer.commit();
+        }
+
+        assertEquals(0, CustomerSnapshotFile.read(file, (id, name, email, spend, date) -> {
+            throw new AssertionError("no rows expected");
+        }).rows());
+    }
+
+    @Test
+    public void whenNotCommitted_thenTargetIsUntouched() throws IOException {
+        Path file = tempDir.resolve("customers.snap");
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.create(file)) {
+            writer.add(UUID.randomUUID(), "Ada", "ada@example.com", null, null);
+        }
+
+        assertFalse(Files.exists(file));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void whenCorruptOrTruncated_thenReadFails() throws IOException {
+        Path file = tempDir.resolve("customers.snap");
+        try (CustomerSnapshotFile.Writer writer = CustomerSnapshotFile.create(file)) {
+            writer.add(UUID.randomUUID(), "Ada", "ada@example.com", BigDecimal.TEN, LocalDate.now());
+            writer.commit();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+
+        bytes[CustomerSnapshotFile.HEADER_SIZE + 3] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> CustomerSnapshotFile.read(file, (id, name, email, spend, date) -> { }));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(bytes.length - 1);
+        }
+        IOException truncated = assertThrows(IOException.class, () -> CustomerSnapshotFile.info(file));
+        assertEquals("Snapshot is truncated", truncated.getMessage());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.customermanagement.service.tier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.customermanagement.config.TierRulesProperties;
+import com.example.customermanagement.enums.Tier;
+
+public class TierDecisionTableTest {
+
+    @Test
+    public void whenDefaultRules_thenSameTiersAsFixedThresholdsAtEveryBoundary() {
+        TierDecisionTable table = new TierRules(new TierRulesProperties(), event -> { }).current();
+        LocalDate today = LocalDate.now();
+
+        assertEquals(Tier.PLATINUM, table.evaluate(new BigDecimal("10000.00"), today.minusMonths(6)));
+        assertEquals(Tier.GOLD, table.evaluate(new BigDecimal("10000.00"), today.minusMonths(6).minusDays(1)));
+        assertEquals(Tier.GOLD, table.evaluate(new BigDecimal("9999.99"), today));
+        assertEquals(Tier.GOLD, table.evaluate(new BigDecimal("1000"), today.minusMonths(12)));
+        assertEquals(Tier.SILVER, table.evaluate(new BigDecimal("1000"), today.minusMonths(12).minusDays(1)));
+        assertEquals(Tier.SILVER, table.evaluate(new BigDecimal("999.99"), today));
+        assertEquals(Tier.SILVER, table.evaluate(null, today));
+        assertEquals(Tier.SILVER, table.evaluate(new BigDecimal("50000"), null));
+
+        assertEquals(0, new BigDecimal("10000").compareTo(table.spendThreshold(Tier.PLATINUM)));
+        assertEquals(12, table.recencyMonths(Tier.GOLD));
+        assertNull(table.spendThreshold(Tier.SILVER));
+        assertNull(table.recencyMonths(Tier.BRONZE));
+        assertEquals(Tier.SILVER, table.defaultTier());
+    }
+
+    @Test
+    public void whenBronzeIsDefaultAndSilverDoesNotLapse_thenRulesAppliedFromHighestTierDown() {
+        TierDecisionTable table = TierDecisionTable.compile(Tier.BRONZE, List.of(
+                new TierDecisionTable.Rule(Tier.SILVER, new BigDecimal("100"), null),
+                new TierDecisionTable.Rule(Tier.GOLD, new BigDecimal("1000"), 12)));
+        LocalDate today = LocalDate.now();
+
+        assertEquals(Tier.BRONZE, table.evaluate(new BigDecimal("99.99"), today));
+        assertEquals(Tier.SILVER, table.evaluate(new BigDecimal("100"), today.minusYears(5)));
+        assertEquals(Tier.SILVER, table.evaluate(new BigDecimal("5000"), today.minusYears(2)));
+        assertEquals(Tier.GOLD, table.evaluate(new BigDecimal("5000"), today));
+        assertEquals(Tier.BRONZE, table.evaluate(null, today));
+        assertNull(table.recencyMonths(Tier.SILVER));
+        assertEquals(List.of(Tier.GOLD, Tier.SILVER), table.rules().stream().map(TierDecisionTable.Rule::tier).toList());
+    }
+
+    @Test
+    public void whenRulesInconsistent_thenRejected() {
+        BigDecimal spend = new BigDecimal("100");
+        assertThrows(IllegalArgumentException.class, () -> TierDecisionTable.compile(Tier.SILVER, List.of(
+                new TierDecisionTable.Rule(Tier.GOLD, spend, 12), new TierDecisionTable.Rule(Tier.GOLD, spend, 6))));
+        assertThrows(IllegalArgumentException.class, () -> TierDecisionTable.compile(Tier.GOLD,
+                List.of(new TierDecisionTable.Rule(Tier.SILVER, spend, null))));
+        assertThrows(IllegalArgumentException.class, () -> TierDecisionTable.compile(Tier.SILVER,
+                List.of(new TierDecisionTable.Rule(Tier.GOLD, null, 12))));
+        assertThrows(IllegalArgumentException.class, () -> TierDecisionTable.compile(Tier.SILVER,
+                List.of(new TierDecisionTable.Rule(Tier.GOLD, spend.negate(), 12))));
+    }
+}
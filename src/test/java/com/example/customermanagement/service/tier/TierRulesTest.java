@@ -0,0 +1,115 @@
+package com.example.customermanagement.service.tier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.customermanagement.config.TierRulesProperties;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.event.TierRulesChangedEvent;
+
+public class TierRulesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void whenRulesFileChanges_thenNewTableSwappedInAndPublished() throws IOException {
+        Path file = tempDir.resolve("tier-rules.yaml");
+        write(file, """
+                app:
+                  tier-rules:
+                    default-tier: BRONZE
+                    rules:
+                      - tier: SILVER
+                        min-spend: 100
+                """, 1);
+        List<Object> events = new ArrayList<>();
+        TierRules rules = new TierRules(properties(file), events::add);
+        TierDecisionTable loaded = rules.current();
+        assertEquals(Tier.BRONZE, loaded.evaluate(new BigDecimal("99"), LocalDate.now()));
+        assertEquals(Tier.SILVER, loaded.evaluate(new BigDecimal("100"), LocalDate.now()));
+
+        rules.reloadIfChanged();
+        assertSame(loaded, rules.current());
+
+        write(file, """
+                app:
+                  tier-rules:
+                    rules:
+                      - tier: PLATINUM
+                        min-spend: 5000
+                        recency-months: 3
+                """, 2);
+        rules.reloadIfChanged();
+
+        assertEquals(Tier.SILVER, rules.current().defaultTier());
+        assertEquals(0, new BigDecimal("5000").compareTo(rules.current().spendThreshold(Tier.PLATINUM)));
+        assertEquals(3, rules.current().recencyMonths(Tier.PLATINUM));
+        assertEquals(1, events.size());
+        assertSame(loaded, ((TierRulesChangedEvent) events.get(0)).previous());
+        assertSame(rules.current(), ((TierRulesChangedEvent) events.get(0)).rules());
+        assertEquals(Tier.BRONZE, loaded.defaultTier());
+    }
+
+    @Test
+    public void whenRulesFileInvalidOrRemoved_thenCurrentRulesKeptOrFallback() throws IOException {
+        Path file = tempDir.resolve("tier-rules.yaml");
+        List<Object> events = new ArrayList<>();
+        TierRules rules = new TierRules(properties(file), events::add);
+        TierDecisionTable fallback = rules.current();
+        assertEquals(0, new BigDecimal("10000").compareTo(fallback.spendThreshold(Tier.PLATINUM)));
+
+        write(file, """
+                app:
+                  tier-rules:
+                    rules:
+                      - tier: GOLD
+                        min-spend: 500
+                      - tier: GOLD
+                        min-spend: 900
+                """, 1);
+        rules.reloadIfChanged();
+        assertSame(fallback, rules.current());
+        assertEquals(0, events.size());
+
+        write(file, """
+                app:
+                  tier-rules:
+                    rules:
+                      - tier: GOLD
+                        min-spend: 500
+                """, 2);
+        rules.reloadIfChanged();
+        assertEquals(0, new BigDecimal("500").compareTo(rules.current().spendThreshold(Tier.GOLD)));
+
+        Files.delete(file);
+        rules.reloadIfChanged();
+        assertEquals(0, new BigDecimal("10000").compareTo(rules.current().spendThreshold(Tier.PLATINUM)));
+        assertEquals(2, events.size());
+    }
+
+    private static TierRulesProperties properties(Path file) {
+        TierRulesProperties properties = new TierRulesProperties();
+        properties.setFile(file.toString());
+        return properties;
+    }
+
+    // Explicit modification times, so a rewrite within the file system's timestamp resolution is still seen
+    private static void write(Path file, String content, int version) throws IOException {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.ofEpochSecond(1_700_000_000L + version)));
+    }
+}
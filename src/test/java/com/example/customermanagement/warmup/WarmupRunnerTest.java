@@ -0,0 +1,94 @@
+package com.example.customermanagement.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.customermanagement.config.CustomerCacheProperties;
+import com.example.customermanagement.config.CustomerModelMapper;
+import com.example.customermanagement.config.WarmupProperties;
+import com.example.customermanagement.enums.Tier;
+import com.example.customermanagement.model.Customer;
+import com.example.customermanagement.repository.CustomerRepository;
+import com.example.customermanagement.service.CustomerService;
+import com.example.customermanagement.service.lookup.CustomerCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class WarmupRunnerTest {
+
+    private final WarmupProperties properties = new WarmupProperties();
+    private final CustomerService customerService = mock(CustomerService.class);
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final HotCustomerLog hotCustomerLog = mock(HotCustomerLog.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CustomerCache customerCache = new CustomerCache(new CustomerCacheProperties(), meterRegistry);
+    private WarmupRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        properties.setDuration(Duration.ofMillis(50));
+        when(customerService.calculateTier(any(), any())).thenReturn(Tier.SILVER);
+        runner = new WarmupRunner(properties, customerService, new CustomerModelMapper(),
+                Jackson2ObjectMapperBuilder.json().build(), customerRepository, customerCache, hotCustomerLog,
+                meterRegistry);
+    }
+
+    @Test
+    public void whenRun_thenExercisesTierPathAndReportsMetrics() {
+        when(hotCustomerLog.read()).thenReturn(List.of());
+        when(customerRepository.findByAnnualSpendNotNullOrderByAnnualSpendDesc(Limit.of(1000)))
+                .thenReturn(List.of(customer(), customer()));
+
+        runner.run(null);
+
+        assertTrue(runner.iterations() >= WarmupRunner.BATCH);
+        verify(customerService, atLeast(WarmupRunner.BATCH)).calculateTier(any(), any());
+        assertEquals(2.0, meterRegistry.get("customers.warmup.preloaded").gauge().value());
+        assertEquals(2, customerCache.size());
+        assertTrue(meterRegistry.get("customers.warmup.duration").timeGauge().value() > 0);
+        assertTrue(meterRegistry.get("customers.warmup.speedup").gauge().value() > 0);
+    }
+
+    @Test
+    public void whenAccessLogHasIds_thenPreloadsThoseCustomers() {
+        Customer hot = customer();
+        when(hotCustomerLog.read()).thenReturn(List.of(hot.getId()));
+        when(customerRepository.findAllById(List.of(hot.getId()))).thenReturn(List.of(hot));
+
+        assertEquals(1, runner.preload());
+        verify(customerRepository, never()).findByAnnualSpendNotNullOrderByAnnualSpendDesc(any());
+    }
+
+    @Test
+    public void whenRepositoryCannotPreload_thenWarmupStillCompletes() {
+        properties.getPreload().setSource(WarmupProperties.Preload.Source.TOP_SPEND);
+        when(customerRepository.findByAnnualSpendNotNullOrderByAnnualSpendDesc(any()))
+                .thenThrow(new UnsupportedOperationException("not supported when sharding is enabled"));
+
+        assertEquals(0, runner.preload());
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer("Hot", UUID.randomUUID() + "@example.com", new BigDecimal("5000"),
+                LocalDate.now());
+        customer.setId(UUID.randomUUID());
+        return customer;
+    }
+}